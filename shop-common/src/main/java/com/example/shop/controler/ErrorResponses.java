@@ -0,0 +1,57 @@
+package com.example.shop.controler;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utility class building the error responses shared by the servlet shop and the reactive shop.
+ * Both shops answer an invalid body, an unknown id and a lost concurrent update with the same status codes and bodies.
+ */
+public final class ErrorResponses {
+
+    public static final String PRODUCT_NOT_FOUND = "Product with id %d not found.";
+    public static final String SUBSCRIBER_NOT_FOUND = "Subscriber with id %d not found.";
+    public static final String CONCURRENT_UPDATE = "The %s was changed by another request, read it again and retry.";
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Builds the response of a request whose body failed validation, with the error of every invalid field.
+     *
+     * @param bindingResult the BindingResult object containing the validation errors
+     * @return a ResponseEntity with a bad request status and the error map as the body
+     */
+    public static ResponseEntity<Object> validationErrors(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : bindingResult.getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    /**
+     * Builds the response of a request whose product or subscriber does not exist.
+     *
+     * @param message the format of the error message, taking the id
+     * @param id      the id that was not found
+     * @return a ResponseEntity with a bad request status and the error message as the body
+     */
+    public static ResponseEntity<Object> notFound(String message, Object id) {
+        return ResponseEntity.badRequest().body(String.format(message, id));
+    }
+
+    /**
+     * Builds the response of an update that lost the race against a concurrent update of the same product or subscriber.
+     *
+     * @param entityName the name of the kind of entity that was updated
+     * @return a ResponseEntity with a conflict status and an error message as the body
+     */
+    public static ResponseEntity<Object> conflict(String entityName) {
+        return ResponseEntity.status(409).body(String.format(CONCURRENT_UPDATE, entityName));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles the view models of the list endpoints from the flat rows of a projection query.
+ * A projection query joins every product to its subscribers, or every subscriber to its products, and returns one row per
+ * pair, with a row without the other side for a product or subscriber that has none. The rows are grouped by id, in the
+ * order their first row appears, so the order of the query is kept and no entity or collection is ever loaded.
+ * A streaming caller whose query orders the rows by id can instead pass the rows of one id at a time to
+ * {@link #toProductViewModel(List)} or {@link #toSubscriberViewModel(List)}, holding only them in memory.
+ */
+public final class RowAssembler {
+
+    private RowAssembler() {
+    }
+
+    /**
+     * Groups the rows of products and their subscribers into product view models.
+     *
+     * @param rows the rows, one per product and subscriber
+     * @return the view models of the products, in the order of the rows
+     */
+    public static List<ProductViewModel> toProductViewModels(List<ProductSubscriberRow> rows) {
+        Map<Long, ProductViewModel> products = new LinkedHashMap<>();
+        for (ProductSubscriberRow row : rows) {
+            ProductViewModel product = products.computeIfAbsent(row.getId(), id -> new ProductViewModel(id, row.getName(),
+                    row.getCreationDate(), row.isUnderSale(), new ArrayList<>(), row.getVersion()));
+            if (row.getSubscriberId() != null) {
+                product.getSubscribers().add(new ProductViewSubscriberModel(row.getSubscriberFirstName(),
+                        row.getSubscriberLastName(), row.getSubscriberJoinedDate()));
+            }
+        }
+        return new ArrayList<>(products.values());
+    }
+
+    /**
+     * Groups the rows of subscribers and their products into subscriber view models.
+     *
+     * @param rows the rows, one per subscriber and product
+     * @return the view models of the subscribers, in the order of the rows
+     */
+    public static List<SubscriberViewModel> toSubscriberViewModels(List<SubscriberProductRow> rows) {
+        Map<Long, SubscriberViewModel> subscribers = new LinkedHashMap<>();
+        for (SubscriberProductRow row : rows) {
+            SubscriberViewModel subscriber = subscribers.computeIfAbsent(row.getId(), id -> new SubscriberViewModel(id,
+                    row.getFirstName(), row.getLastName(), row.getJoinedDate(), new ArrayList<>(), row.getVersion()));
+            if (row.getProductId() != null) {
+                subscriber.getProducts().add(new SubscriberViewProductModel(row.getProductId(), row.getProductName(),
+                        row.getProductCreationDate(), row.getProductUnderSale()));
+            }
+        }
+        return new ArrayList<>(subscribers.values());
+    }
+
+    /**
+     * Builds the view model of one product from its rows.
+     *
+     * @param rows the rows of the product, one per subscriber, at least one
+     * @return the view model of the product
+     */
+    public static ProductViewModel toProductViewModel(List<ProductSubscriberRow> rows) {
+        ProductSubscriberRow first = rows.get(0);
+        List<ProductViewSubscriberModel> subscribers = new ArrayList<>(rows.size());
+        for (ProductSubscriberRow row : rows) {
+            if (row.getSubscriberId() != null) {
+                subscribers.add(new ProductViewSubscriberModel(row.getSubscriberFirstName(), row.getSubscriberLastName(),
+                        row.getSubscriberJoinedDate()));
+            }
+        }
+        return new ProductViewModel(first.getId(), first.getName(), first.getCreationDate(), first.isUnderSale(), subscribers,
+                first.getVersion());
+    }
+
+    /**
+     * Builds the view model of one subscriber from its rows.
+     *
+     * @param rows the rows of the subscriber, one per product, at least one
+     * @return the view model of the subscriber
+     */
+    public static SubscriberViewModel toSubscriberViewModel(List<SubscriberProductRow> rows) {
+        SubscriberProductRow first = rows.get(0);
+        List<SubscriberViewProductModel> products = new ArrayList<>(rows.size());
+        for (SubscriberProductRow row : rows) {
+            if (row.getProductId() != null) {
+                products.add(new SubscriberViewProductModel(row.getProductId(), row.getProductName(),
+                        row.getProductCreationDate(), row.getProductUnderSale()));
+            }
+        }
+        return new SubscriberViewModel(first.getId(), first.getFirstName(), first.getLastName(), first.getJoinedDate(),
+                products, first.getVersion());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.shop.model.view;
+
+/**
+ * The outcome of linking a product to a subscriber, or of unlinking it.
+ */
+public enum LinkStatus {
+    LINKED,
+    ALREADY_LINKED,
+    SUBSCRIBER_NOT_FOUND,
+    PRODUCT_NOT_FOUND,
+    PRODUCT_NOT_UNDER_SALE,
+    UNLINKED,
+    NOT_LINKED
+}
@@ -0,0 +1,18 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPopularityViewModel {
+
+    private Long id;
+
+    private String name;
+
+    private int subscriberCount;
+
+}
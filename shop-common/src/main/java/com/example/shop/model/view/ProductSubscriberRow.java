@@ -0,0 +1,32 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSubscriberRow {
+
+    private Long id;
+
+    private String name;
+
+    private LocalDateTime creationDate;
+
+    private boolean isUnderSale;
+
+    private Long version;
+
+    private Long subscriberId;
+
+    private String subscriberFirstName;
+
+    private String subscriberLastName;
+
+    private LocalDateTime subscriberJoinedDate;
+
+}
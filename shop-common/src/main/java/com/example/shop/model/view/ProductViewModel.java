@@ -1,6 +1,7 @@
 package com.example.shop.model.view;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,4 +25,7 @@ public class ProductViewModel {
 
     private List<ProductViewSubscriberModel> subscribers;
 
+    @JsonIgnore
+    private Long version;
+
 }
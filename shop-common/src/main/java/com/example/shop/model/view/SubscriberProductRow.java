@@ -0,0 +1,32 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriberProductRow {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDateTime joinedDate;
+
+    private Long version;
+
+    private Long productId;
+
+    private String productName;
+
+    private LocalDateTime productCreationDate;
+
+    private Boolean productUnderSale;
+
+}
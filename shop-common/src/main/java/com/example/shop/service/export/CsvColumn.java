@@ -0,0 +1,13 @@
+package com.example.shop.service.export;
+
+import java.util.function.Function;
+
+/**
+ * A column of a CSV export.
+ *
+ * @param header the name of the column in the header row
+ * @param value  the function reading the value of the column from a view model
+ * @param <V>    the type of the exported view models
+ */
+public record CsvColumn<V>(String header, Function<V, Object> value) {
+}
@@ -0,0 +1,39 @@
+package com.example.shop.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Utility class writing the rows of the CSV exports of both shops.
+ */
+public final class CsvRows {
+
+    private CsvRows() {
+    }
+
+    /**
+     * Writes one CSV row, quoting the values that contain a separator, a quote or a line break.
+     *
+     * @param out    the writer or buffer to write to
+     * @param values the values of the row; null values are written as empty fields
+     * @throws IOException if the row cannot be written
+     */
+    public static void write(Appendable out, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                out.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                out.append(text);
+            }
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.shop.service.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The formats of the streaming exports.
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline-delimited JSON: one view model per line, serialized like the list endpoints.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+
+    /**
+     * Comma-separated values with a header row. Linked entities are written in a single field, separated by semicolons.
+     */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return this.mediaType;
+    }
+
+    public String getExtension() {
+        return this.extension;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.shop.service.paging;
+
+/**
+ * Thrown when the cursor, page size or sort parameter of a paginated request cannot be used.
+ */
+public class InvalidPageRequestException extends IllegalArgumentException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidPageRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.model.view.SubscriberViewModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RowAssembler} class.
+ *
+ * This test class verifies that the view models assembled from all rows at once, as the servlet shop does, are the same
+ * as the ones assembled from the rows of one id at a time, as the reactive shop does.
+ */
+public class RowAssemblerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+    /**
+     * Tests that the products assembled from all rows and from the rows of each product are the same, and that a
+     * product without subscribers gets an empty list.
+     */
+    @Test
+    public void testProductsOfAllRowsAndOfOneProduct() {
+        List<ProductSubscriberRow> phone = List.of(
+                new ProductSubscriberRow(1L, "Phone", DATE, true, 2L, 10L, "John", "Doe", DATE),
+                new ProductSubscriberRow(1L, "Phone", DATE, true, 2L, 11L, "Jane", null, null));
+        List<ProductSubscriberRow> laptop = List.of(
+                new ProductSubscriberRow(2L, "Laptop", DATE, false, 0L, null, null, null, null));
+
+        List<ProductViewModel> products = RowAssembler.toProductViewModels(List.of(phone.get(0), phone.get(1), laptop.get(0)));
+
+        assertEquals(List.of(RowAssembler.toProductViewModel(phone), RowAssembler.toProductViewModel(laptop)), products);
+        assertEquals(List.of("John", "Jane"), products.get(0).getSubscribers().stream().map(s -> s.getFirstName()).toList());
+        assertEquals(2L, products.get(0).getVersion());
+        assertTrue(products.get(1).getSubscribers().isEmpty());
+    }
+
+    /**
+     * Tests that the subscribers assembled from all rows and from the rows of each subscriber are the same, and that a
+     * subscriber without products gets an empty list.
+     */
+    @Test
+    public void testSubscribersOfAllRowsAndOfOneSubscriber() {
+        List<SubscriberProductRow> john = List.of(
+                new SubscriberProductRow(1L, "John", "Doe", DATE, 1L, 10L, "Phone", DATE, true),
+                new SubscriberProductRow(1L, "John", "Doe", DATE, 1L, 11L, "Laptop", null, false));
+        List<SubscriberProductRow> jane = List.of(
+                new SubscriberProductRow(2L, "Jane", null, DATE, 0L, null, null, null, null));
+
+        List<SubscriberViewModel> subscribers = RowAssembler.toSubscriberViewModels(List.of(john.get(0), john.get(1), jane.get(0)));
+
+        assertEquals(List.of(RowAssembler.toSubscriberViewModel(john), RowAssembler.toSubscriberViewModel(jane)), subscribers);
+        assertEquals(List.of(10L, 11L), subscribers.get(0).getProducts().stream().map(p -> p.getId()).toList());
+        assertTrue(subscribers.get(1).getProducts().isEmpty());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.shop.reactive;
+
+import com.example.shop.reactive.config.ShopProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(ShopProperties.class)
+public class ReactiveShopApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveShopApplication.class, args);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.shop.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration properties of the reactive shop, bound from the {@code shop.*} keys of the application properties.
+ * The keys have the same meaning as in the servlet shop.
+ */
+@Data
+@ConfigurationProperties(prefix = "shop")
+public class ShopProperties {
+
+    private final Paging paging = new Paging();
+
+    private final Export export = new Export();
+
+    /**
+     * Settings of the endpoints returning a bounded number of items.
+     */
+    @Data
+    public static class Paging {
+
+        /**
+         * Largest number of items a client can request. Bigger requests are capped to this value.
+         */
+        private int maxSize = 100;
+    }
+
+    /**
+     * Settings of the streaming exports.
+     */
+    @Data
+    public static class Export {
+
+        /**
+         * Largest number of rows requested from the database at once while an export is streamed.
+         * The next rows are only requested once the client has taken most of them.
+         */
+        private int chunkSize = 500;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.shop.reactive.controler;
+
+import com.example.shop.controler.ErrorResponses;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.reactive.service.implementation.ProductServiceImpl;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive REST controller for managing products.
+ * It serves the paths, status codes and bodies of the servlet shop. The list endpoints stream their products: a JSON
+ * array is written element by element while the rows are read, and a request accepting
+ * {@code application/x-ndjson} receives one product per line instead.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    private final ProductServiceImpl productService;
+
+    /**
+     * Constructs a new ProductController with the given ProductService.
+     *
+     * @param productService the ProductService to use
+     */
+    @Autowired
+    public ProductController(ProductServiceImpl productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Adds a new product.
+     *
+     * @param productAddBindingModel the product data
+     * @return a ResponseEntity with the created product and a status of 201
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addProduct(@Valid @RequestBody ProductAddBindingModel productAddBindingModel) {
+        return this.productService.addProduct(productAddBindingModel)
+                .map(productViewModel -> ResponseEntity.status(201).body(productViewModel));
+    }
+
+    /**
+     * Retrieves a product by its id.
+     *
+     * @param id the id of the product to retrieve
+     * @return a ResponseEntity with the retrieved product and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getProduct(@PathVariable Long id) {
+        return this.productService.getProduct(id)
+                .map(productViewModel -> ResponseEntity.status(200).body((Object) productViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.PRODUCT_NOT_FOUND, id)));
+    }
+
+    /**
+     * Retrieves all products, streamed while they are read.
+     *
+     * @return all products
+     */
+    @GetMapping
+    public Flux<ProductViewModel> getAllProducts() {
+        return this.productService.getAllProducts();
+    }
+
+    /**
+     * Updates a product by its id.
+     *
+     * @param id                        the id of the product to update
+     * @param productUpdateBindingModel the new product data
+     * @return a ResponseEntity with the updated product and a status of 201 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductUpdateBindingModel productUpdateBindingModel) {
+        return this.productService.updateProduct(id, productUpdateBindingModel)
+                .map(productViewModel -> ResponseEntity.status(201).body((Object) productViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.PRODUCT_NOT_FOUND, id)));
+    }
+
+    /**
+     * Deletes a product by its id.
+     *
+     * @param id the id of the product to delete
+     * @return a ResponseEntity with the deleted product and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteProduct(@PathVariable Long id) {
+        return this.productService.deleteProduct(id)
+                .map(productViewModel -> ResponseEntity.status(200).body((Object) productViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.PRODUCT_NOT_FOUND, id)));
+    }
+
+    /**
+     * Retrieves the total count of products.
+     *
+     * @return a ResponseEntity with the total count of products and a status of 200
+     */
+    @GetMapping("/total")
+    public Mono<ResponseEntity<Object>> getAllProductsTotalCount() {
+        return this.productService.getProductsTotalCount()
+                .map(count -> ResponseEntity.status(200).body(count + " products in the database."));
+    }
+
+    /**
+     * Retrieves the total count of sold products.
+     *
+     * @return a ResponseEntity with the total count of sold products and a status of 200
+     */
+    @GetMapping("/total/sold")
+    public Mono<ResponseEntity<Object>> getAllSoldProductsTotalCount() {
+        return this.productService.getSoldProductsTotalCount()
+                .map(count -> ResponseEntity.status(200).body(count + " sold products."));
+    }
+
+    /**
+     * Retrieves the total count of active products.
+     *
+     * @return a ResponseEntity with the total count of active products and a status of 200
+     */
+    @GetMapping("/total/active")
+    public Mono<ResponseEntity<Object>> getAllActiveProductsTotalCount() {
+        return this.productService.getActiveProductsTotalCount()
+                .map(count -> ResponseEntity.status(200).body(count + " active products."));
+    }
+
+    /**
+     * Retrieves all products ordered by popularity, streamed while they are read.
+     *
+     * @return all products, the most popular product first
+     */
+    @GetMapping("/total/popular")
+    public Flux<ProductViewModel> getAllProductsByPopularity() {
+        return this.productService.getAllProductsByPopularity();
+    }
+
+    /**
+     * Retrieves all products with a creation date within a given range, streamed while they are read.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return the products with a creation date within the given range
+     */
+    @GetMapping("/date-range")
+    public Flux<ProductViewModel> getProductsByCreationDateBetween(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
+        return this.productService.getProductsByCreationDateBetween(startDate, endDate);
+    }
+
+    /**
+     * Exports all products as newline-delimited JSON or CSV.
+     * The products are read at the pace the client downloads the export, so a slow client holds no more than one chunk
+     * of products in memory.
+     *
+     * @param format the format of the export, NDJSON by default
+     * @return a ResponseEntity with the streamed export and a status of 200
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportProducts(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.status(200)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getExtension() + "\"")
+                .body(this.productService.exportProducts(format));
+    }
+
+    /**
+     * Retrieves the most popular products, without their subscribers.
+     *
+     * @param k the number of products to retrieve, capped to the maximum page size
+     * @return the most popular products
+     */
+    @GetMapping("/popular/top")
+    public Flux<ProductPopularityViewModel> getTopProductsByPopularity(@RequestParam(defaultValue = "10") int k) {
+        return this.productService.getTopProductsByPopularity(k);
+    }
+
+    /**
+     * Handles a request body that failed validation.
+     *
+     * @param exception the exception holding the validation errors
+     * @return a ResponseEntity with the validation errors and a status of 400
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidationErrors(WebExchangeBindException exception) {
+        return ErrorResponses.validationErrors(exception);
+    }
+
+    /**
+     * Handles a request for an invalid number of products.
+     *
+     * @param exception the exception describing the invalid parameter
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Object> handleInvalidPageRequest(InvalidPageRequestException exception) {
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles an update that was overtaken by a concurrent update of the same product before it was written.
+     *
+     * @param exception the exception raised by the version check of the update statement
+     * @return a ResponseEntity with an error message and a status of 409
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(OptimisticLockingFailureException exception) {
+        return ErrorResponses.conflict("product");
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.example.shop.reactive.controler;
+
+import com.example.shop.controler.ErrorResponses;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.reactive.service.implementation.SubscriberServiceImpl;
+import com.example.shop.service.export.ExportFormat;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for managing subscribers.
+ * It serves the paths, status codes and bodies of the servlet shop. The list endpoint streams its subscribers: a JSON
+ * array is written element by element while the rows are read, and a request accepting
+ * {@code application/x-ndjson} receives one subscriber per line instead.
+ */
+@RestController
+@RequestMapping("/api/subscribers")
+public class SubscriberController {
+
+    private final SubscriberServiceImpl subscriberService;
+
+    /**
+     * Constructs a new SubscriberController with the given SubscriberService.
+     *
+     * @param subscriberService the SubscriberService to use
+     */
+    @Autowired
+    public SubscriberController(SubscriberServiceImpl subscriberService) {
+        this.subscriberService = subscriberService;
+    }
+
+    /**
+     * Adds a new subscriber.
+     *
+     * @param subscriberAddBindingModel the subscriber data
+     * @return a ResponseEntity with the created subscriber and a status of 201
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addSubscriber(@Valid @RequestBody SubscriberAddBindingModel subscriberAddBindingModel) {
+        return this.subscriberService.addSubscriber(subscriberAddBindingModel)
+                .map(subscriberViewModel -> ResponseEntity.status(201).body(subscriberViewModel));
+    }
+
+    /**
+     * Retrieves a subscriber by its id.
+     *
+     * @param id the id of the subscriber to retrieve
+     * @return a ResponseEntity with the retrieved subscriber and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getSubscriber(@PathVariable Long id) {
+        return this.subscriberService.getSubscriber(id)
+                .map(subscriberViewModel -> ResponseEntity.status(200).body((Object) subscriberViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.SUBSCRIBER_NOT_FOUND, id)));
+    }
+
+    /**
+     * Retrieves all subscribers, streamed while they are read.
+     *
+     * @return all subscribers
+     */
+    @GetMapping
+    public Flux<SubscriberViewModel> getAllSubscribers() {
+        return this.subscriberService.getAllSubscribers();
+    }
+
+    /**
+     * Exports all subscribers as newline-delimited JSON or CSV.
+     * The subscribers are read at the pace the client downloads the export, so a slow client holds no more than one
+     * chunk of subscribers in memory.
+     *
+     * @param format the format of the export, NDJSON by default
+     * @return a ResponseEntity with the streamed export and a status of 200
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportSubscribers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.status(200)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"subscribers." + format.getExtension() + "\"")
+                .body(this.subscriberService.exportSubscribers(format));
+    }
+
+    /**
+     * Updates a subscriber by its id.
+     *
+     * @param id                           the id of the subscriber to update
+     * @param subscriberUpdateBindingModel the new subscriber data
+     * @return a ResponseEntity with the updated subscriber and a status of 201 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateSubscriber(@PathVariable Long id, @Valid @RequestBody SubscriberUpdateBindingModel subscriberUpdateBindingModel) {
+        return this.subscriberService.updateSubscriber(id, subscriberUpdateBindingModel)
+                .map(subscriberViewModel -> ResponseEntity.status(201).body((Object) subscriberViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.SUBSCRIBER_NOT_FOUND, id)));
+    }
+
+    /**
+     * Deletes a subscriber by its id.
+     *
+     * @param id the id of the subscriber to delete
+     * @return a ResponseEntity with the deleted subscriber and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteSubscriber(@PathVariable Long id) {
+        return this.subscriberService.deleteSubscriber(id)
+                .map(subscriberViewModel -> ResponseEntity.status(200).body((Object) subscriberViewModel))
+                .switchIfEmpty(Mono.fromSupplier(() -> ErrorResponses.notFound(ErrorResponses.SUBSCRIBER_NOT_FOUND, id)));
+    }
+
+    /**
+     * Retrieves the total count of subscribers.
+     *
+     * @return a ResponseEntity with the total count of subscribers and a status of 200
+     */
+    @GetMapping("/total")
+    public Mono<ResponseEntity<Object>> getAllSubscribersTotalCount() {
+        return this.subscriberService.getSubscribersTotalCount()
+                .map(count -> ResponseEntity.status(200).body(count + " subscribers in the database."));
+    }
+
+    /**
+     * Adds a product to a subscriber.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return a ResponseEntity with the outcome of the link and a status of 201 if the product was added, or a ResponseEntity with the outcome and a status of 400 if the product cannot be added
+     */
+    @PostMapping("/{subscriberId}/products/{productId}")
+    public Mono<ResponseEntity<Object>> addProductToSubscriber(@PathVariable Long subscriberId, @PathVariable Long productId) {
+        return this.subscriberService.addProductToSubscriber(subscriberId, productId)
+                .map(result -> ResponseEntity.status(result.getStatus() == LinkStatus.LINKED ? 201 : 400).body(result));
+    }
+
+    /**
+     * Handles a request body that failed validation.
+     *
+     * @param exception the exception holding the validation errors
+     * @return a ResponseEntity with the validation errors and a status of 400
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidationErrors(WebExchangeBindException exception) {
+        return ErrorResponses.validationErrors(exception);
+    }
+
+    /**
+     * Handles an update that was overtaken by a concurrent update of the same subscriber before it was written.
+     *
+     * @param exception the exception raised by the version check of the update statement
+     * @return a ResponseEntity with an error message and a status of 409
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(OptimisticLockingFailureException exception) {
+        return ErrorResponses.conflict("subscriber");
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.shop.reactive.model.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+
+/**
+ * Base entity class that provides an id field and a version field.
+ * The fields are mapped to the columns of the tables of its subclasses.
+ */
+@Data
+@NoArgsConstructor
+public abstract class BaseEntity {
+
+    /**
+     * The unique identifier for entities, generated by the identity column of the table when the entity is inserted.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The version of the entity, checked by Spring Data on every update so a concurrent update is never lost.
+     * It is also incremented whenever the representation of the entity changes without the entity itself being
+     * updated, such as when a product is linked to a subscriber.
+     */
+    @Version
+    private Long version;
+
+}
@@ -0,0 +1,33 @@
+package com.example.shop.reactive.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class for the Product, mapped to the product table of the servlet shop.
+ * It holds the columns of the product only: the subscribers of a product are read through the join table with a
+ * single query, as R2DBC maps no relationships.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("product")
+public class Product extends BaseEntity {
+
+    private String name;
+
+    private LocalDateTime creationDate;
+
+    private boolean isUnderSale;
+
+    /**
+     * The number of subscribers of the product, maintained together with the subscriber_product join table.
+     */
+    private int subscriberCount;
+}
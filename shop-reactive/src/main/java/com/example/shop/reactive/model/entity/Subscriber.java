@@ -0,0 +1,28 @@
+package com.example.shop.reactive.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class for the Subscriber, mapped to the subscriber table of the servlet shop.
+ * It holds the columns of the subscriber only: the products of a subscriber are read through the join table with a
+ * single query, as R2DBC maps no relationships.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("subscriber")
+public class Subscriber extends BaseEntity {
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDateTime joinedDate;
+}
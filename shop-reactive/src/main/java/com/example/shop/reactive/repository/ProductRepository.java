@@ -0,0 +1,148 @@
+package com.example.shop.reactive.repository;
+
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.reactive.model.entity.Product;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive repository interface for the Product entity.
+ * It extends ReactiveCrudRepository which provides non-blocking methods like save, findById and deleteById.
+ * The list queries select flat rows of the products joined to their subscribers, ordered by product so that the rows
+ * of one product are adjacent and can be grouped into a view model as soon as they arrive, without waiting for the
+ * whole result.
+ */
+@Repository
+public interface ProductRepository extends ReactiveCrudRepository<Product, Long> {
+
+    /**
+     * Selects the columns of the products and of their subscribers, one row per link and one row with empty
+     * subscriber columns per product without subscribers.
+     */
+    String PRODUCT_ROWS = "SELECT p.id, p.name, p.creation_date, p.is_under_sale, p.version, s.id AS subscriber_id, "
+            + "s.first_name AS subscriber_first_name, s.last_name AS subscriber_last_name, s.joined_date AS subscriber_joined_date "
+            + "FROM product p LEFT JOIN subscriber_product sp ON sp.product_id = p.id LEFT JOIN subscriber s ON s.id = sp.subscriber_id";
+
+    /**
+     * Finds the rows of a product and of its subscribers.
+     *
+     * @param id the id of the product
+     * @return the rows of the product, or an empty Flux if it does not exist
+     */
+    @Query(PRODUCT_ROWS + " WHERE p.id = :id ORDER BY s.id")
+    Flux<ProductSubscriberRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Finds the rows of all products and of their subscribers.
+     *
+     * @return the rows of all products, ordered by product id
+     */
+    @Query(PRODUCT_ROWS + " ORDER BY p.id, s.id")
+    Flux<ProductSubscriberRow> findAllRows();
+
+    /**
+     * Finds the rows of all products and of their subscribers, ordered by subscriber count in descending order.
+     *
+     * @return the rows of all products, the most popular product first
+     */
+    @Query(PRODUCT_ROWS + " ORDER BY p.subscriber_count DESC, p.id DESC, s.id")
+    Flux<ProductSubscriberRow> findRowsOrderBySubscribersDesc();
+
+    /**
+     * Finds the rows of the products with a creation date within a given range and of their subscribers.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return the rows of the products with a creation date within the given range, ordered by creation date
+     */
+    @Query(PRODUCT_ROWS + " WHERE p.creation_date BETWEEN :startDate AND :endDate ORDER BY p.creation_date, p.id, s.id")
+    Flux<ProductSubscriberRow> findRowsByCreationDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Finds the most popular products, without their subscribers, with the index on the subscriber count.
+     *
+     * @param limit the maximum number of products to return
+     * @return the most popular products
+     */
+    @Query("SELECT id, name, subscriber_count FROM product ORDER BY subscriber_count DESC, id DESC LIMIT :limit")
+    Flux<ProductPopularityViewModel> findTopByPopularity(@Param("limit") int limit);
+
+    /**
+     * Counts all products where isUnderSale is true.
+     *
+     * @return the number of products where isUnderSale is true
+     */
+    @Query("SELECT COUNT(*) FROM product WHERE is_under_sale = TRUE")
+    Mono<Long> countByIsUnderSaleTrue();
+
+    /**
+     * Counts all products that have at least one subscriber.
+     *
+     * @return the number of products that have at least one subscriber
+     */
+    @Query("SELECT COUNT(*) FROM product WHERE subscriber_count > 0")
+    Mono<Long> countWithAtLeastOneSubscriber();
+
+    /**
+     * Increments the subscriber count and the version of a product with a single statement.
+     *
+     * @param productId the id of the product
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE product SET subscriber_count = subscriber_count + 1, version = version + 1 WHERE id = :productId")
+    Mono<Integer> incrementSubscriberCount(@Param("productId") Long productId);
+
+    /**
+     * Decrements the subscriber count and increments the version of every product of the given subscriber.
+     * It must be called before the join table rows of the subscriber are removed.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE product SET subscriber_count = subscriber_count - 1, version = version + 1 "
+            + "WHERE id IN (SELECT product_id FROM subscriber_product WHERE subscriber_id = :subscriberId)")
+    Mono<Integer> decrementSubscriberCountOfSubscriberProducts(@Param("subscriberId") Long subscriberId);
+
+    /**
+     * Increments the version of every subscriber of the given product, whose representation embeds the product.
+     * It must be called before the join table rows of the product are removed.
+     *
+     * @param productId the id of the product
+     * @return the number of updated subscribers
+     */
+    @Modifying
+    @Query("UPDATE subscriber SET version = version + 1 "
+            + "WHERE id IN (SELECT subscriber_id FROM subscriber_product WHERE product_id = :productId)")
+    Mono<Integer> incrementSubscriberVersionsOfProduct(@Param("productId") Long productId);
+
+    /**
+     * Increments the version of every product of the given subscriber, whose representation embeds the subscriber.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE product SET version = version + 1 "
+            + "WHERE id IN (SELECT product_id FROM subscriber_product WHERE subscriber_id = :subscriberId)")
+    Mono<Integer> incrementVersionsOfSubscriberProducts(@Param("subscriberId") Long subscriberId);
+
+    /**
+     * Removes every subscriber_product join table row of the given product with a single statement.
+     *
+     * @param productId the id of the product
+     * @return the number of removed rows
+     */
+    @Modifying
+    @Query("DELETE FROM subscriber_product WHERE product_id = :productId")
+    Mono<Integer> deleteLinksOfProduct(@Param("productId") Long productId);
+}
@@ -0,0 +1,90 @@
+package com.example.shop.reactive.repository;
+
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.reactive.model.entity.Subscriber;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository interface for the Subscriber entity.
+ * It extends ReactiveCrudRepository which provides non-blocking methods like save, findById and deleteById.
+ * The list queries select flat rows of the subscribers joined to their products, ordered by subscriber so that the rows
+ * of one subscriber are adjacent and can be grouped into a view model as soon as they arrive.
+ */
+@Repository
+public interface SubscriberRepository extends ReactiveCrudRepository<Subscriber, Long> {
+
+    /**
+     * Selects the columns of the subscribers and of their products, one row per link and one row with empty
+     * product columns per subscriber without products.
+     */
+    String SUBSCRIBER_ROWS = "SELECT s.id, s.first_name, s.last_name, s.joined_date, s.version, p.id AS product_id, "
+            + "p.name AS product_name, p.creation_date AS product_creation_date, p.is_under_sale AS product_under_sale "
+            + "FROM subscriber s LEFT JOIN subscriber_product sp ON sp.subscriber_id = s.id LEFT JOIN product p ON p.id = sp.product_id";
+
+    /**
+     * Finds the rows of a subscriber and of its products.
+     *
+     * @param id the id of the subscriber
+     * @return the rows of the subscriber, or an empty Flux if it does not exist
+     */
+    @Query(SUBSCRIBER_ROWS + " WHERE s.id = :id ORDER BY p.id")
+    Flux<SubscriberProductRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Finds the rows of all subscribers and of their products.
+     *
+     * @return the rows of all subscribers, ordered by subscriber id
+     */
+    @Query(SUBSCRIBER_ROWS + " ORDER BY s.id, p.id")
+    Flux<SubscriberProductRow> findAllRows();
+
+    /**
+     * Inserts a subscriber_product join table row unless it already exists, with a single statement.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product
+     * @return 1 if the link was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query("INSERT INTO subscriber_product (subscriber_id, product_id) "
+            + "SELECT :subscriberId, :productId WHERE NOT EXISTS "
+            + "(SELECT 1 FROM subscriber_product WHERE subscriber_id = :subscriberId AND product_id = :productId)")
+    Mono<Integer> insertLink(@Param("subscriberId") Long subscriberId, @Param("productId") Long productId);
+
+    /**
+     * Checks whether a subscriber_product join table row exists.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product
+     * @return true if the product is linked to the subscriber
+     */
+    @Query("SELECT COUNT(*) > 0 FROM subscriber_product WHERE subscriber_id = :subscriberId AND product_id = :productId")
+    Mono<Boolean> existsLink(@Param("subscriberId") Long subscriberId, @Param("productId") Long productId);
+
+    /**
+     * Removes every subscriber_product join table row of the given subscriber with a single statement.
+     * It must be called before the subscriber itself is deleted.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of removed rows
+     */
+    @Modifying
+    @Query("DELETE FROM subscriber_product WHERE subscriber_id = :subscriberId")
+    Mono<Integer> deleteLinksOfSubscriber(@Param("subscriberId") Long subscriberId);
+
+    /**
+     * Increments the version of a subscriber with a single statement.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of updated subscribers
+     */
+    @Modifying
+    @Query("UPDATE subscriber SET version = version + 1 WHERE id = :subscriberId")
+    Mono<Integer> incrementVersion(@Param("subscriberId") Long subscriberId);
+}
@@ -0,0 +1,97 @@
+package com.example.shop.reactive.service.export;
+
+import com.example.shop.reactive.config.ShopProperties;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.CsvRows;
+import com.example.shop.service.export.ExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a stream of view models as newline-delimited JSON or CSV with constant memory.
+ * Every view model is encoded into its own buffer as soon as it arrives and written by the server when the client can
+ * take it. The demand of the client is passed on to the database: at most {@code shop.export.chunk-size} view models
+ * are requested at once, and more are only requested once most of them were written, so a slow client slows the
+ * export down instead of making it accumulate in memory.
+ */
+@Component
+public class StreamingExporter {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private final ObjectMapper objectMapper;
+
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new StreamingExporter with the given ObjectMapper and ShopProperties.
+     *
+     * @param objectMapper   the ObjectMapper writing the JSON lines
+     * @param shopProperties the ShopProperties holding the chunk size
+     */
+    @Autowired
+    public StreamingExporter(ObjectMapper objectMapper, ShopProperties shopProperties) {
+        this.objectMapper = objectMapper;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Encodes every view model of the given stream in the given format.
+     *
+     * @param viewModels the view models to export
+     * @param format     the format of the export
+     * @param columns    the columns of a CSV export
+     * @param <V>        the type of the view models
+     * @return the encoded export, one buffer per line
+     */
+    public <V> Flux<DataBuffer> export(Flux<V> viewModels, ExportFormat format, List<CsvColumn<V>> columns) {
+        Flux<V> limited = viewModels.limitRate(this.shopProperties.getExport().getChunkSize());
+        if (format == ExportFormat.NDJSON) {
+            return limited.map(this::jsonLine);
+        }
+        Mono<DataBuffer> header = Mono.fromSupplier(() -> this.csvRow(columns.stream().map(CsvColumn::header).toList()));
+        return header.concatWith(limited.map(viewModel -> this.csvRow(columns.stream().map(column -> column.value().apply(viewModel)).toList())));
+    }
+
+    private DataBuffer jsonLine(Object viewModel) {
+        try {
+            byte[] json = this.objectMapper.writeValueAsBytes(viewModel);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = NEW_LINE;
+            return this.bufferFactory.wrap(line);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes one CSV row.
+     *
+     * @param values the values of the row; null values are written as empty fields
+     * @return the encoded row, ending with a line break
+     */
+    private DataBuffer csvRow(List<?> values) {
+        StringBuilder row = new StringBuilder();
+        try {
+            CsvRows.write(row, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this.bufferFactory.wrap(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
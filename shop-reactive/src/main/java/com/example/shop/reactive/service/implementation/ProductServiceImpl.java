@@ -0,0 +1,223 @@
+package com.example.shop.reactive.service.implementation;
+
+import com.example.shop.mapper.RowAssembler;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.reactive.config.ShopProperties;
+import com.example.shop.reactive.model.entity.Product;
+import com.example.shop.reactive.repository.ProductRepository;
+import com.example.shop.reactive.service.export.StreamingExporter;
+import com.example.shop.reactive.service.interfaces.ProductService;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive service implementation for managing products.
+ * Reads run a single query each and need no transaction; every write runs its statements in one transaction that
+ * commits when the returned publisher completes. Products are always read together with their subscribers through one
+ * projection query, whose rows are grouped into view models as they arrive.
+ */
+@Service
+public class ProductServiceImpl implements ProductService {
+
+    private static final List<CsvColumn<ProductViewModel>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("id", ProductViewModel::getId),
+            new CsvColumn<>("name", ProductViewModel::getName),
+            new CsvColumn<>("creationDate", product -> product.getCreationDate() == null ? null : product.getCreationDate().toLocalDate()),
+            new CsvColumn<>("isUnderSale", ProductViewModel::isUnderSale),
+            new CsvColumn<>("subscribers", product -> product.getSubscribers().stream()
+                    .map(subscriber -> subscriber.getFirstName() + " " + subscriber.getLastName()).collect(Collectors.joining(";"))));
+
+    private final ProductRepository productRepository;
+    private final StreamingExporter streamingExporter;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new ProductServiceImpl with the given ProductRepository, StreamingExporter and ShopProperties.
+     *
+     * @param productRepository the ProductRepository to use
+     * @param streamingExporter the StreamingExporter writing the exports
+     * @param shopProperties    the ShopProperties holding the maximum number of products returned at once
+     */
+    @Autowired
+    public ProductServiceImpl(ProductRepository productRepository, StreamingExporter streamingExporter, ShopProperties shopProperties) {
+        this.productRepository = productRepository;
+        this.streamingExporter = streamingExporter;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Adds a new product.
+     *
+     * @param productAddBindingModel the product data
+     * @return the created product
+     */
+    @Transactional
+    public Mono<ProductViewModel> addProduct(ProductAddBindingModel productAddBindingModel) {
+        Product product = new Product();
+        product.setName(productAddBindingModel.getName());
+        product.setUnderSale(productAddBindingModel.getUnderSale());
+        product.setCreationDate(LocalDateTime.now());
+
+        return this.productRepository.save(product)
+                .map(savedProduct -> new ProductViewModel(savedProduct.getId(), savedProduct.getName(), savedProduct.getCreationDate(),
+                        savedProduct.isUnderSale(), new ArrayList<>(), savedProduct.getVersion()));
+    }
+
+    /**
+     * Retrieves a product by its id, together with its subscribers.
+     *
+     * @param id the id of the product to retrieve
+     * @return the retrieved product, or an empty Mono if it does not exist
+     */
+    public Mono<ProductViewModel> getProduct(Long id) {
+        return toViewModels(this.productRepository.findRowsById(id)).next();
+    }
+
+    /**
+     * Retrieves all products, ordered by id.
+     * The products are emitted one by one while the rows are read, so the list is never held in memory.
+     *
+     * @return all products
+     */
+    public Flux<ProductViewModel> getAllProducts() {
+        return toViewModels(this.productRepository.findAllRows());
+    }
+
+    /**
+     * Exports all products, ordered by id, in the given format.
+     * The rows are read at the pace the client takes the export, at most one chunk ahead.
+     *
+     * @param format the format of the export
+     * @return the encoded export
+     */
+    public Flux<DataBuffer> exportProducts(ExportFormat format) {
+        return this.streamingExporter.export(this.getAllProducts(), format, CSV_COLUMNS);
+    }
+
+    /**
+     * Updates a product by its id.
+     * The versions of its subscribers are incremented, as their representations embed the product.
+     *
+     * @param id                        the id of the product to update
+     * @param productUpdateBindingModel the new product data
+     * @return the updated product, or an empty Mono if it does not exist
+     */
+    @Transactional
+    public Mono<ProductViewModel> updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel) {
+        return this.productRepository.findById(id)
+                .flatMap(existingProduct -> {
+                    existingProduct.setName(productUpdateBindingModel.getName());
+                    existingProduct.setUnderSale(productUpdateBindingModel.getUnderSale());
+                    return this.productRepository.save(existingProduct);
+                })
+                .flatMap(updatedProduct -> this.productRepository.incrementSubscriberVersionsOfProduct(id)
+                        .then(this.getProduct(id)));
+    }
+
+    /**
+     * Deletes a product by its id.
+     * The versions of its subscribers are incremented and the subscriber_product join table rows of the product removed
+     * with a single statement each.
+     *
+     * @param id the id of the product to delete
+     * @return the deleted product, or an empty Mono if it does not exist
+     */
+    @Transactional
+    public Mono<ProductViewModel> deleteProduct(Long id) {
+        return this.getProduct(id).flatMap(productViewModel -> {
+            Mono<Integer> unlink = productViewModel.getSubscribers().isEmpty()
+                    ? Mono.empty()
+                    : this.productRepository.incrementSubscriberVersionsOfProduct(id).then(this.productRepository.deleteLinksOfProduct(id));
+            return unlink.then(this.productRepository.deleteById(id)).thenReturn(productViewModel);
+        });
+    }
+
+    /**
+     * Retrieves the total count of products.
+     *
+     * @return the total count of products
+     */
+    public Mono<Long> getProductsTotalCount() {
+        return this.productRepository.count();
+    }
+
+    /**
+     * Retrieves the total count of sold products, which are the products with at least one subscriber.
+     *
+     * @return the total count of sold products
+     */
+    public Mono<Long> getSoldProductsTotalCount() {
+        return this.productRepository.countWithAtLeastOneSubscriber();
+    }
+
+    /**
+     * Retrieves the total count of active products, which are the products under sale.
+     *
+     * @return the total count of active products
+     */
+    public Mono<Long> getActiveProductsTotalCount() {
+        return this.productRepository.countByIsUnderSaleTrue();
+    }
+
+    /**
+     * Retrieves all products ordered by the number of subscribers in descending order.
+     *
+     * @return all products, the most popular product first
+     */
+    public Flux<ProductViewModel> getAllProductsByPopularity() {
+        return toViewModels(this.productRepository.findRowsOrderBySubscribersDesc());
+    }
+
+    /**
+     * Retrieves all products with a creation date within a given range, ordered by creation date.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return the products with a creation date within the given range
+     */
+    public Flux<ProductViewModel> getProductsByCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return toViewModels(this.productRepository.findRowsByCreationDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Retrieves the most popular products, without their subscribers.
+     *
+     * @param count the number of products to retrieve, capped to the maximum page size
+     * @return the most popular products ordered by the number of subscribers in descending order,
+     * or an InvalidPageRequestException if the count is smaller than 1
+     */
+    public Flux<ProductPopularityViewModel> getTopProductsByPopularity(int count) {
+        if (count < 1) {
+            return Flux.error(new InvalidPageRequestException("The number of products must be at least 1."));
+        }
+        return this.productRepository.findTopByPopularity(Math.min(count, this.shopProperties.getPaging().getMaxSize()));
+    }
+
+    /**
+     * Assembles the view models of the rows of a projection query as they arrive.
+     * The query orders the rows by id, so a view model is emitted as soon as the first row of the next product arrives and
+     * only the rows of one product are ever held in memory.
+     *
+     * @param rows the rows, the rows of a product being adjacent
+     * @return the view models, in the order of the rows
+     */
+    private static Flux<ProductViewModel> toViewModels(Flux<ProductSubscriberRow> rows) {
+        return rows.bufferUntilChanged(ProductSubscriberRow::getId).map(RowAssembler::toProductViewModel);
+    }
+}
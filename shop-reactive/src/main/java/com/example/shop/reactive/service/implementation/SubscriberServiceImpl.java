@@ -0,0 +1,226 @@
+package com.example.shop.reactive.service.implementation;
+
+import com.example.shop.controler.ErrorResponses;
+import com.example.shop.mapper.RowAssembler;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.reactive.model.entity.Product;
+import com.example.shop.reactive.model.entity.Subscriber;
+import com.example.shop.reactive.repository.ProductRepository;
+import com.example.shop.reactive.repository.SubscriberRepository;
+import com.example.shop.reactive.service.export.StreamingExporter;
+import com.example.shop.reactive.service.interfaces.SubscriberService;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive service implementation for managing subscribers.
+ * Reads run a single query each and need no transaction; every write runs its statements in one transaction that
+ * commits when the returned publisher completes. Subscribers are always read together with their products through one
+ * projection query, whose rows are grouped into view models as they arrive.
+ */
+@Service
+public class SubscriberServiceImpl implements SubscriberService {
+
+    private static final List<CsvColumn<SubscriberViewModel>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("id", SubscriberViewModel::getId),
+            new CsvColumn<>("firstName", SubscriberViewModel::getFirstName),
+            new CsvColumn<>("lastName", SubscriberViewModel::getLastName),
+            new CsvColumn<>("joinedDate", subscriber -> subscriber.getJoinedDate() == null ? null : subscriber.getJoinedDate().toLocalDate()),
+            new CsvColumn<>("productIds", subscriber -> subscriber.getProducts().stream()
+                    .map(product -> String.valueOf(product.getId())).collect(Collectors.joining(";"))));
+
+    private final SubscriberRepository subscriberRepository;
+    private final ProductRepository productRepository;
+    private final StreamingExporter streamingExporter;
+
+    /**
+     * Constructs a new SubscriberServiceImpl with the given SubscriberRepository, ProductRepository and StreamingExporter.
+     *
+     * @param subscriberRepository the SubscriberRepository to use
+     * @param productRepository    the ProductRepository to use
+     * @param streamingExporter    the StreamingExporter writing the exports
+     */
+    @Autowired
+    public SubscriberServiceImpl(SubscriberRepository subscriberRepository, ProductRepository productRepository, StreamingExporter streamingExporter) {
+        this.subscriberRepository = subscriberRepository;
+        this.productRepository = productRepository;
+        this.streamingExporter = streamingExporter;
+    }
+
+    /**
+     * Adds a new subscriber.
+     *
+     * @param subscriberAddBindingModel the subscriber data
+     * @return the created subscriber
+     */
+    @Transactional
+    public Mono<SubscriberViewModel> addSubscriber(SubscriberAddBindingModel subscriberAddBindingModel) {
+        Subscriber subscriber = new Subscriber();
+        subscriber.setFirstName(subscriberAddBindingModel.getFirstName());
+        subscriber.setLastName(subscriberAddBindingModel.getLastName());
+        subscriber.setJoinedDate(LocalDateTime.now());
+
+        return this.subscriberRepository.save(subscriber)
+                .map(savedSubscriber -> new SubscriberViewModel(savedSubscriber.getId(), savedSubscriber.getFirstName(),
+                        savedSubscriber.getLastName(), savedSubscriber.getJoinedDate(), new ArrayList<>(), savedSubscriber.getVersion()));
+    }
+
+    /**
+     * Retrieves a subscriber by its id, together with its products.
+     *
+     * @param id the id of the subscriber to retrieve
+     * @return the retrieved subscriber, or an empty Mono if it does not exist
+     */
+    public Mono<SubscriberViewModel> getSubscriber(Long id) {
+        return toViewModels(this.subscriberRepository.findRowsById(id)).next();
+    }
+
+    /**
+     * Retrieves all subscribers, ordered by id.
+     * The subscribers are emitted one by one while the rows are read, so the list is never held in memory.
+     *
+     * @return all subscribers
+     */
+    public Flux<SubscriberViewModel> getAllSubscribers() {
+        return toViewModels(this.subscriberRepository.findAllRows());
+    }
+
+    /**
+     * Exports all subscribers, ordered by id, in the given format.
+     * The rows are read at the pace the client takes the export, at most one chunk ahead.
+     *
+     * @param format the format of the export
+     * @return the encoded export
+     */
+    public Flux<DataBuffer> exportSubscribers(ExportFormat format) {
+        return this.streamingExporter.export(this.getAllSubscribers(), format, CSV_COLUMNS);
+    }
+
+    /**
+     * Updates a subscriber by its id.
+     * The versions of its products are incremented, as their representations embed the subscriber.
+     *
+     * @param id                           the id of the subscriber to update
+     * @param subscriberUpdateBindingModel the new subscriber data
+     * @return the updated subscriber, or an empty Mono if it does not exist
+     */
+    @Transactional
+    public Mono<SubscriberViewModel> updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel) {
+        return this.subscriberRepository.findById(id)
+                .flatMap(existingSubscriber -> {
+                    existingSubscriber.setFirstName(subscriberUpdateBindingModel.getFirstName());
+                    existingSubscriber.setLastName(subscriberUpdateBindingModel.getLastName());
+                    return this.subscriberRepository.save(existingSubscriber);
+                })
+                .flatMap(updatedSubscriber -> this.productRepository.incrementVersionsOfSubscriberProducts(id)
+                        .then(this.getSubscriber(id)));
+    }
+
+    /**
+     * Deletes a subscriber by its id.
+     * The subscriber counts of its products are decremented and its subscriber_product join table rows removed
+     * with one statement each.
+     *
+     * @param id the id of the subscriber to delete
+     * @return the deleted subscriber, or an empty Mono if it does not exist
+     */
+    @Transactional
+    public Mono<SubscriberViewModel> deleteSubscriber(Long id) {
+        return this.getSubscriber(id).flatMap(subscriberViewModel -> {
+            Mono<Integer> unlink = subscriberViewModel.getProducts().isEmpty()
+                    ? Mono.empty()
+                    : this.productRepository.decrementSubscriberCountOfSubscriberProducts(id).then(this.subscriberRepository.deleteLinksOfSubscriber(id));
+            return unlink.then(this.subscriberRepository.deleteById(id)).thenReturn(subscriberViewModel);
+        });
+    }
+
+    /**
+     * Retrieves the total count of subscribers.
+     *
+     * @return the total count of subscribers
+     */
+    public Mono<Long> getSubscribersTotalCount() {
+        return this.subscriberRepository.count();
+    }
+
+    /**
+     * Adds a product to a subscriber.
+     * The link is inserted with a single statement into the join table, guarded by its unique key, then the subscriber
+     * count of the product and the versions of both are incremented, as their representations changed.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return the outcome of the link together with a message describing it
+     */
+    @Transactional
+    public Mono<SubscriptionResultViewModel> addProductToSubscriber(Long subscriberId, Long productId) {
+        return this.subscriberRepository.findById(subscriberId)
+                .flatMap(subscriber -> this.productRepository.findById(productId)
+                        .flatMap(product -> this.link(subscriber, product))
+                        .switchIfEmpty(Mono.fromSupplier(() -> new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.PRODUCT_NOT_FOUND,
+                                String.format(ErrorResponses.PRODUCT_NOT_FOUND, productId)))))
+                .switchIfEmpty(Mono.fromSupplier(() -> new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.SUBSCRIBER_NOT_FOUND,
+                        String.format(ErrorResponses.SUBSCRIBER_NOT_FOUND, subscriberId))));
+    }
+
+    /**
+     * Links an existing product to an existing subscriber, unless the product is not under sale or already linked.
+     * A concurrent link of the same pair can pass the existence check of the insert before either commits; the insert
+     * that loses the race violates the unique key of the join table and is reported as already linked once the link is
+     * found.
+     *
+     * @param subscriber the subscriber
+     * @param product    the product to add
+     * @return the outcome of the link together with a message describing it
+     */
+    private Mono<SubscriptionResultViewModel> link(Subscriber subscriber, Product product) {
+        Long subscriberId = subscriber.getId();
+        Long productId = product.getId();
+        if (!product.isUnderSale()) {
+            return Mono.just(new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.PRODUCT_NOT_UNDER_SALE,
+                    String.format("Product %s is not under sale.", product.getName())));
+        }
+        return this.subscriberRepository.insertLink(subscriberId, productId)
+                .onErrorResume(DataIntegrityViolationException.class, e -> this.subscriberRepository.existsLink(subscriberId, productId)
+                        .flatMap(exists -> exists ? Mono.just(0) : Mono.error(e)))
+                .flatMap(inserted -> {
+                    if (inserted == 0) {
+                        return Mono.just(new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.ALREADY_LINKED,
+                                String.format("Product %s is already assigned to Subscriber %s %s.", product.getName(), subscriber.getFirstName(), subscriber.getLastName())));
+                    }
+                    return this.productRepository.incrementSubscriberCount(productId)
+                            .then(this.subscriberRepository.incrementVersion(subscriberId))
+                            .thenReturn(new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.LINKED,
+                                    String.format("Product %s was added to Subscriber %s %s.", product.getName(), subscriber.getFirstName(), subscriber.getLastName())));
+                });
+    }
+
+    /**
+     * Assembles the view models of the rows of a projection query as they arrive.
+     * The query orders the rows by id, so a view model is emitted as soon as the first row of the next subscriber arrives and
+     * only the rows of one subscriber are ever held in memory.
+     *
+     * @param rows the rows, the rows of a subscriber being adjacent
+     * @return the view models, in the order of the rows
+     */
+    private static Flux<SubscriberViewModel> toViewModels(Flux<SubscriberProductRow> rows) {
+        return rows.bufferUntilChanged(SubscriberProductRow::getId).map(RowAssembler::toSubscriberViewModel);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.shop.reactive.service.interfaces;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.service.export.ExportFormat;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive service interface for managing products.
+ * Every method returns without blocking: the work starts when the returned publisher is subscribed to, and a missing
+ * product is signalled by an empty publisher.
+ */
+public interface ProductService {
+    Mono<ProductViewModel> addProduct(ProductAddBindingModel productAddBindingModel);
+
+    Mono<ProductViewModel> getProduct(Long id);
+
+    Flux<ProductViewModel> getAllProducts();
+
+    Flux<DataBuffer> exportProducts(ExportFormat format);
+
+    Mono<ProductViewModel> updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel);
+
+    Mono<ProductViewModel> deleteProduct(Long id);
+
+    Mono<Long> getProductsTotalCount();
+
+    Mono<Long> getSoldProductsTotalCount();
+
+    Mono<Long> getActiveProductsTotalCount();
+
+    Flux<ProductViewModel> getAllProductsByPopularity();
+
+    Flux<ProductViewModel> getProductsByCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    Flux<ProductPopularityViewModel> getTopProductsByPopularity(int count);
+}
@@ -0,0 +1,33 @@
+package com.example.shop.reactive.service.interfaces;
+
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.export.ExportFormat;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service interface for managing subscribers.
+ * Every method returns without blocking: the work starts when the returned publisher is subscribed to, and a missing
+ * subscriber is signalled by an empty publisher.
+ */
+public interface SubscriberService {
+    Mono<SubscriberViewModel> addSubscriber(SubscriberAddBindingModel subscriberAddBindingModel);
+
+    Mono<SubscriberViewModel> getSubscriber(Long id);
+
+    Flux<SubscriberViewModel> getAllSubscribers();
+
+    Flux<DataBuffer> exportSubscribers(ExportFormat format);
+
+    Mono<SubscriberViewModel> updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel);
+
+    Mono<SubscriberViewModel> deleteSubscriber(Long id);
+
+    Mono<Long> getSubscribersTotalCount();
+
+    Mono<SubscriptionResultViewModel> addProductToSubscriber(Long subscriberId, Long productId);
+}
@@ -0,0 +1,28 @@
+-- The tables, keys and indexes of the servlet shop, whose schema is generated by Hibernate.
+-- The ids are identity columns, as R2DBC inserts one row per statement and has no use for pooled sequences.
+CREATE TABLE IF NOT EXISTS product (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(255),
+    creation_date    TIMESTAMP(6),
+    is_under_sale    BOOLEAN NOT NULL,
+    subscriber_count INTEGER NOT NULL DEFAULT 0,
+    version          BIGINT  NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_product_subscriber_count ON product (subscriber_count, id);
+CREATE INDEX IF NOT EXISTS idx_product_creation_date ON product (creation_date, id);
+
+CREATE TABLE IF NOT EXISTS subscriber (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    joined_date TIMESTAMP(6),
+    version     BIGINT NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_subscriber_joined_date ON subscriber (joined_date, id);
+
+CREATE TABLE IF NOT EXISTS subscriber_product (
+    subscriber_id BIGINT NOT NULL REFERENCES subscriber (id),
+    product_id    BIGINT NOT NULL REFERENCES product (id),
+    CONSTRAINT uk_subscriber_product UNIQUE (subscriber_id, product_id)
+);
+CREATE INDEX IF NOT EXISTS idx_subscriber_product_product ON subscriber_product (product_id);
@@ -0,0 +1,84 @@
+package com.example.shop.reactive.controler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the streaming export endpoints of {@link ProductController} and {@link SubscriberController}.
+ * The chunk size is smaller than the number of products, so the rows are requested from the database several times.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "shop.export.chunk-size=7")
+public class ExportControllerTest {
+
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM subscriber_product").then()
+                .then(databaseClient.sql("DELETE FROM subscriber").then())
+                .then(databaseClient.sql("DELETE FROM product").then())
+                .thenMany(Flux.range(0, PRODUCTS).concatMap(i -> databaseClient
+                        .sql("INSERT INTO product (name, creation_date, is_under_sale) VALUES (:name, CURRENT_TIMESTAMP, TRUE)")
+                        .bind("name", "Product, " + i).then()))
+                .then(databaseClient.sql("INSERT INTO subscriber (first_name, last_name, joined_date) VALUES ('John', 'Doe', CURRENT_TIMESTAMP)").then())
+                .then(databaseClient.sql("INSERT INTO subscriber_product (subscriber_id, product_id) "
+                        + "SELECT s.id, p.id FROM subscriber s CROSS JOIN (SELECT id FROM product ORDER BY id LIMIT 3) p").then())
+                .block();
+    }
+
+    /**
+     * Tests that the products are exported as one JSON object per line, ordered by id and with their subscribers.
+     */
+    @Test
+    public void testExportProductsAsNdjson() throws Exception {
+        String body = webTestClient.get().uri("/api/products/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertEquals(PRODUCTS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Product, 0", first.get("name").asText());
+        assertEquals("Doe", first.get("subscribers").get(0).get("lastName").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("id").asLong() > first.get("id").asLong());
+    }
+
+    /**
+     * Tests that the subscribers are exported as CSV with a header row and their product ids in a single field.
+     */
+    @Test
+    public void testExportSubscribersAsCsv() {
+        String body = webTestClient.get().uri("/api/subscribers/export?format=CSV").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(new MediaType("text", "csv"))
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,firstName,lastName,joinedDate,productIds", lines[0]);
+        assertTrue(lines[1].contains(",John,Doe,"));
+        assertEquals(3, lines[1].substring(lines[1].lastIndexOf(',') + 1).split(";").length);
+    }
+}
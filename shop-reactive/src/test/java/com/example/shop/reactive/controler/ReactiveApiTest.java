@@ -0,0 +1,142 @@
+package com.example.shop.reactive.controler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the product and subscriber endpoints of the reactive shop through HTTP, checking that they answer with the
+ * status codes and bodies of the servlet shop.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM subscriber_product").then()
+                .then(databaseClient.sql("DELETE FROM subscriber").then())
+                .then(databaseClient.sql("DELETE FROM product").then())
+                .block();
+    }
+
+    /**
+     * Tests the life cycle of a product and a subscriber: creation, link, reads, update and deletion.
+     */
+    @Test
+    public void testProductAndSubscriberLifeCycle() {
+        long productId = addProduct("Laptop", true);
+        long hiddenId = addProduct("Hidden", false);
+        long subscriberId = webTestClient.post().uri("/api/subscribers").bodyValue(Map.of("firstName", "John", "lastName", "Doe"))
+                .exchange().expectStatus().isCreated()
+                .expectBody(JsonNode.class).returnResult().getResponseBody().get("id").asLong();
+
+        webTestClient.post().uri("/api/subscribers/{s}/products/{p}", subscriberId, productId).exchange()
+                .expectStatus().isCreated().expectBody().jsonPath("$.status").isEqualTo("LINKED");
+        webTestClient.post().uri("/api/subscribers/{s}/products/{p}", subscriberId, productId).exchange()
+                .expectStatus().isBadRequest().expectBody().jsonPath("$.status").isEqualTo("ALREADY_LINKED");
+        webTestClient.post().uri("/api/subscribers/{s}/products/{p}", subscriberId, hiddenId).exchange()
+                .expectStatus().isBadRequest().expectBody().jsonPath("$.status").isEqualTo("PRODUCT_NOT_UNDER_SALE");
+
+        webTestClient.get().uri("/api/products/{id}", productId).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Laptop")
+                .jsonPath("$.underSale").isEqualTo(true)
+                .jsonPath("$.subscribers[0].lastName").isEqualTo("Doe")
+                .jsonPath("$.version").doesNotExist();
+        webTestClient.get().uri("/api/subscribers/{id}", subscriberId).exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.products[0].id").isEqualTo(productId);
+        webTestClient.get().uri("/api/products/popular/top?k=1").exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$[0].id").isEqualTo(productId).jsonPath("$[0].subscriberCount").isEqualTo(1);
+        webTestClient.get().uri("/api/products/total/sold").exchange()
+                .expectStatus().isOk().expectBody(String.class).isEqualTo("1 sold products.");
+
+        webTestClient.put().uri("/api/products/{id}", productId).bodyValue(Map.of("name", "Notebook", "isUnderSale", true)).exchange()
+                .expectStatus().isCreated().expectBody().jsonPath("$.name").isEqualTo("Notebook");
+        webTestClient.get().uri("/api/subscribers/{id}", subscriberId).exchange()
+                .expectBody().jsonPath("$.products[0].name").isEqualTo("Notebook");
+
+        webTestClient.delete().uri("/api/subscribers/{id}", subscriberId).exchange().expectStatus().isOk();
+        webTestClient.get().uri("/api/products/total/sold").exchange().expectBody(String.class).isEqualTo("0 sold products.");
+        webTestClient.delete().uri("/api/products/{id}", productId).exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.name").isEqualTo("Notebook");
+        webTestClient.get().uri("/api/products/total").exchange().expectBody(String.class).isEqualTo("1 products in the database.");
+    }
+
+    /**
+     * Tests that the list endpoints return every product with its subscribers as a JSON array, or as one product per
+     * line when newline-delimited JSON is accepted.
+     */
+    @Test
+    public void testListsStreamJsonArrayOrLines() {
+        long first = addProduct("First", true);
+        long second = addProduct("Second", true);
+        for (String lastName : List.of("Doe", "Roe")) {
+            long subscriberId = webTestClient.post().uri("/api/subscribers").bodyValue(Map.of("firstName", "Jane", "lastName", lastName))
+                    .exchange().expectBody(JsonNode.class).returnResult().getResponseBody().get("id").asLong();
+            webTestClient.post().uri("/api/subscribers/{s}/products/{p}", subscriberId, second).exchange().expectStatus().isCreated();
+        }
+
+        JsonNode products = webTestClient.get().uri("/api/products").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals(2, products.size());
+        assertEquals(first, products.get(0).get("id").asLong());
+        assertEquals(second, products.get(1).get("id").asLong());
+        assertTrue(products.get(0).get("subscribers").isEmpty());
+        assertEquals(2, products.get(1).get("subscribers").size());
+
+        String lines = webTestClient.get().uri("/api/products/total/popular").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        String[] split = lines.trim().split("\n");
+        assertEquals(2, split.length);
+        assertTrue(split[0].contains("\"name\":\"Second\""));
+
+        webTestClient.get().uri("/api/subscribers").exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    /**
+     * Tests that invalid bodies, missing ids and invalid counts are answered like in the servlet shop.
+     */
+    @Test
+    public void testErrors() {
+        webTestClient.post().uri("/api/products").bodyValue(Map.of("name", "ab")).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Name must be between 3 and 15 characters")
+                .jsonPath("$.underSale").isEqualTo("Sale status is required");
+        webTestClient.get().uri("/api/products/42").exchange()
+                .expectStatus().isBadRequest().expectBody(String.class).isEqualTo("Product with id 42 not found.");
+        webTestClient.put().uri("/api/subscribers/42").bodyValue(Map.of("firstName", "John", "lastName", "Doe")).exchange()
+                .expectStatus().isBadRequest().expectBody(String.class).isEqualTo("Subscriber with id 42 not found.");
+        webTestClient.post().uri("/api/subscribers/42/products/43").exchange()
+                .expectStatus().isBadRequest().expectBody().jsonPath("$.status").isEqualTo("SUBSCRIBER_NOT_FOUND");
+        webTestClient.get().uri("/api/products/popular/top?k=0").exchange().expectStatus().isBadRequest();
+    }
+
+    private long addProduct(String name, boolean underSale) {
+        return webTestClient.post().uri("/api/products").bodyValue(Map.of("name", name, "isUnderSale", underSale))
+                .exchange().expectStatus().isCreated()
+                .expectBody(JsonNode.class).returnResult().getResponseBody().get("id").asLong();
+    }
+}
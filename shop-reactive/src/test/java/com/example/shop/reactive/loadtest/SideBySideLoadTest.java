@@ -0,0 +1,213 @@
+package com.example.shop.reactive.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load test comparing a running servlet shop with a running reactive shop on the same workload.
+ *
+ * Both stacks are seeded with the same catalog through the endpoints they share, then measured one after the other so
+ * they never compete for the CPU: every client sends one request after the other for the given duration and records the
+ * latency of each response. The requests read single products and subscribers, the top of the popularity ranking and
+ * the totals, the endpoints both stacks serve with the same contract.
+ * The report gives the throughput, the error count and the latency percentiles of each stack.
+ *
+ * Arguments, all optional: {@code servletUrl reactiveUrl clients durationSeconds products}.
+ */
+public class SideBySideLoadTest {
+
+    private static final int SEED_CONCURRENCY = 32;
+
+    public static void main(String[] args) throws Exception {
+        String servletUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String reactiveUrl = args.length > 1 ? args[1] : "http://localhost:8081";
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+        int durationSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int products = args.length > 4 ? Integer.parseInt(args[4]) : 2000;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        List<String> labels = List.of("servlet", "reactive");
+        List<String> baseUrls = List.of(servletUrl, reactiveUrl);
+        List<Result> results = new ArrayList<>();
+        for (String baseUrl : baseUrls) {
+            Function<ThreadLocalRandom, String> paths = seed(httpClient, baseUrl, products);
+            run(httpClient, baseUrl, paths, clients, Duration.ofSeconds(Math.max(5, durationSeconds / 5)));
+            results.add(run(httpClient, baseUrl, paths, clients, Duration.ofSeconds(durationSeconds)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).print(labels.get(i), clients, durationSeconds);
+        }
+    }
+
+    /**
+     * Creates the products and subscribers of the test one by one, links every subscriber to a few products and returns
+     * the requests of the workload, which read the created ids.
+     */
+    private static Function<ThreadLocalRandom, String> seed(HttpClient httpClient, String baseUrl, int products) throws Exception {
+        List<Long> productIds = createAll(products, i -> post(httpClient, baseUrl + "/api/products",
+                "{\"name\":\"Load " + i + "\",\"isUnderSale\":true}"));
+        List<Long> subscriberIds = createAll(Math.max(1, products / 10), i -> post(httpClient, baseUrl + "/api/subscribers",
+                "{\"firstName\":\"First\",\"lastName\":\"Last" + i + "\"}"));
+        createAll(subscriberIds.size() * 3, i -> post(httpClient, baseUrl + "/api/subscribers/" + subscriberIds.get(i / 3)
+                + "/products/" + productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())), ""));
+
+        return random -> switch (random.nextInt(5)) {
+            case 0 -> "/api/products/" + productIds.get(random.nextInt(productIds.size()));
+            case 1 -> "/api/subscribers/" + subscriberIds.get(random.nextInt(subscriberIds.size()));
+            case 2 -> "/api/products/popular/top?k=20";
+            case 3 -> "/api/products/total/sold";
+            default -> "/api/products/total/active";
+        };
+    }
+
+    /**
+     * Sends the given number of creation requests, a bounded number at a time, and collects the ids of the responses.
+     */
+    private static List<Long> createAll(int count, Request request) throws Exception {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return request.send(index);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<String> future : futures) {
+                ids.addAll(ids(future.get()));
+            }
+            return ids;
+        }
+    }
+
+    private static Result run(HttpClient httpClient, String baseUrl, Function<ThreadLocalRandom, String> paths, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.apply(ThreadLocalRandom.current());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            result.record(System.nanoTime() - start, response.statusCode() < 400);
+                        } catch (Exception exception) {
+                            result.record(System.nanoTime() - start, false);
+                        }
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        }
+    }
+
+    private static String post(HttpClient httpClient, String url, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    /**
+     * Extracts the value of the first "id" field of a JSON document without a JSON library.
+     */
+    private static List<Long> ids(String json) {
+        int index = json.indexOf("\"id\":");
+        if (index < 0) {
+            return List.of();
+        }
+        int start = index + 5;
+        int end = start;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return end > start ? List.of(Long.parseLong(json.substring(start, end))) : List.of();
+    }
+
+    /**
+     * One creation request of the seed, sent for the given index.
+     */
+    @FunctionalInterface
+    private interface Request {
+
+        String send(int index) throws Exception;
+    }
+
+    /**
+     * The latencies and errors recorded by one client, or by all clients once merged.
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private int errors;
+
+        private void record(long latencyNanos, boolean success) {
+            if (this.count == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+            }
+            this.latencies[this.count++] = latencyNanos;
+            if (!success) {
+                this.errors++;
+            }
+        }
+
+        private void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                this.record(other.latencies[i], true);
+            }
+            this.errors += other.errors;
+        }
+
+        private void print(String label, int clients, int durationSeconds) {
+            long[] sorted = Arrays.copyOf(this.latencies, this.count);
+            Arrays.sort(sorted);
+            System.out.printf(Locale.ROOT, "%s: clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+                    label, clients, durationSeconds, this.count, this.errors, this.count / (double) durationSeconds);
+            System.out.printf(Locale.ROOT, "%s: latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                    label, percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
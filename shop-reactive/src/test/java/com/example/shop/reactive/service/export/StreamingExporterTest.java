@@ -0,0 +1,104 @@
+package com.example.shop.reactive.service.export;
+
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.reactive.config.ShopProperties;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link StreamingExporter} class.
+ *
+ * This test class verifies the encoding of both formats and that the demand of the client, not the size of the export,
+ * decides how many view models are requested from the source.
+ */
+public class StreamingExporterTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    private static final List<CsvColumn<ProductPopularityViewModel>> COLUMNS = List.of(
+            new CsvColumn<>("id", ProductPopularityViewModel::getId),
+            new CsvColumn<>("name", ProductPopularityViewModel::getName));
+
+    private StreamingExporter streamingExporter;
+
+    private final List<Long> requests = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong emitted = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        ShopProperties shopProperties = new ShopProperties();
+        shopProperties.getExport().setChunkSize(CHUNK_SIZE);
+        streamingExporter = new StreamingExporter(new ObjectMapper(), shopProperties);
+    }
+
+    /**
+     * Tests that a client reading slowly never gets more than one chunk read ahead of it, whatever the size of the export.
+     */
+    @Test
+    public void testSlowClientBoundsTheDemand() {
+        StepVerifier.create(streamingExporter.export(source(100_000), ExportFormat.NDJSON, COLUMNS), 3)
+                .expectNextCount(3)
+                .then(() -> {
+                    assertEquals(List.of((long) CHUNK_SIZE), requests);
+                    assertTrue(emitted.get() <= CHUNK_SIZE);
+                })
+                .thenRequest(5)
+                .expectNextCount(5)
+                .then(() -> assertTrue(emitted.get() <= 8 + CHUNK_SIZE))
+                .thenCancel()
+                .verify();
+    }
+
+    /**
+     * Tests that an unbounded client still gets the source requested one chunk at a time.
+     */
+    @Test
+    public void testFastClientIsServedInChunks() {
+        StepVerifier.create(streamingExporter.export(source(1_000), ExportFormat.NDJSON, COLUMNS))
+                .expectNextCount(1_000)
+                .verifyComplete();
+
+        assertTrue(requests.size() > 1_000 / CHUNK_SIZE);
+        assertTrue(requests.stream().allMatch(request -> request <= CHUNK_SIZE));
+    }
+
+    /**
+     * Tests that every view model is written as one JSON line, and as one quoted CSV row after the header row.
+     */
+    @Test
+    public void testEncodesJsonLinesAndCsvRows() {
+        StepVerifier.create(streamingExporter.export(source(2), ExportFormat.NDJSON, COLUMNS).map(StreamingExporterTest::text))
+                .expectNext("{\"id\":0,\"name\":\"Product, 0\",\"subscriberCount\":0}\n")
+                .expectNext("{\"id\":1,\"name\":\"Product, 1\",\"subscriberCount\":1}\n")
+                .verifyComplete();
+
+        StepVerifier.create(streamingExporter.export(source(2), ExportFormat.CSV, COLUMNS).map(StreamingExporterTest::text))
+                .expectNext("id,name\n", "0,\"Product, 0\"\n", "1,\"Product, 1\"\n")
+                .verifyComplete();
+    }
+
+    private Flux<ProductPopularityViewModel> source(int size) {
+        return Flux.range(0, size)
+                .doOnRequest(requests::add)
+                .doOnNext(i -> emitted.incrementAndGet())
+                .map(i -> new ProductPopularityViewModel((long) i, "Product, " + i, i));
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
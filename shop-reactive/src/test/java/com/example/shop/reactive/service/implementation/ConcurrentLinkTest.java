@@ -0,0 +1,97 @@
+package com.example.shop.reactive.service.implementation;
+
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.reactive.model.entity.Product;
+import com.example.shop.reactive.model.entity.Subscriber;
+import com.example.shop.reactive.repository.ProductRepository;
+import com.example.shop.reactive.repository.SubscriberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that links of the same pair made at the same time by two requests insert one join row and report the second
+ * link as already linked.
+ *
+ * The first link is held in an open transaction until the second one has passed its existence check, so the second
+ * insert runs into the unique key of the join table once the first transaction commits.
+ */
+@SpringBootTest
+public class ConcurrentLinkTest {
+
+    private static final Duration RACE_DELAY = Duration.ofMillis(300);
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0)).block();
+        subscriber = subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.now())).block();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        databaseClient.sql("DELETE FROM subscriber_product").then()
+                .then(databaseClient.sql("DELETE FROM subscriber").then())
+                .then(databaseClient.sql("DELETE FROM product").then())
+                .block();
+    }
+
+    /**
+     * Tests that two concurrent single links of the same pair link it once and report the other as already linked.
+     * The second link is started on another thread once the first has inserted its join row, and the first commits
+     * after a delay, while the insert of the second waits for the lock of that row.
+     */
+    @Test
+    public void testConcurrentSingleLinks() {
+        Sinks.Empty<Void> firstInserted = Sinks.empty();
+        Mono<SubscriptionResultViewModel> first = transactionalOperator.transactional(
+                subscriberService.addProductToSubscriber(subscriber.getId(), product.getId())
+                        .delayUntil(result -> {
+                            firstInserted.tryEmitEmpty();
+                            return Mono.delay(RACE_DELAY);
+                        }));
+        Mono<SubscriptionResultViewModel> second = firstInserted.asMono()
+                .then(Mono.defer(() -> subscriberService.addProductToSubscriber(subscriber.getId(), product.getId()))
+                        .subscribeOn(Schedulers.boundedElastic()));
+
+        Tuple2<SubscriptionResultViewModel, SubscriptionResultViewModel> results = Mono.zip(first, second).block(Duration.ofSeconds(10));
+
+        assertEquals(LinkStatus.LINKED, results.getT1().getStatus());
+        assertEquals(LinkStatus.ALREADY_LINKED, results.getT2().getStatus());
+        assertEquals(1L, databaseClient.sql("SELECT COUNT(*) FROM subscriber_product WHERE subscriber_id = :s AND product_id = :p")
+                .bind("s", subscriber.getId()).bind("p", product.getId())
+                .map(row -> row.get(0, Long.class)).one().block());
+        assertEquals(1, productRepository.findById(product.getId()).block().getSubscriberCount());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.shop.config;
+
+import com.example.shop.mapper.ShopMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for defining Spring beans.
+ */
+@Configuration
+@EnableConfigurationProperties(ShopProperties.class)
+@EnableScheduling
+public class Beans {
+
+    /**
+     * Provides a ModelMapper bean.
+     * ModelMapper is an intelligent object mapping library that automatically maps objects to each other.
+     * It is used to map DTOs to entities and vice versa.
+     *
+     * @return a new instance of ModelMapper
+     */
+    @Bean
+    public ModelMapper modelMapper() {
+        return new ModelMapper();
+    }
+
+    /**
+     * Provides the ShopMapper bean used by the services.
+     * The implementation is selected with the {@code shop.mapping.engine} property.
+     *
+     * @param shopProperties the ShopProperties holding the selected engine
+     * @param modelMapper    the ModelMapper used when ModelMapper is selected
+     * @return the mapper of the selected engine
+     */
+    @Bean
+    public ShopMapper shopMapper(ShopProperties shopProperties, ModelMapper modelMapper) {
+        return shopProperties.getMapping().getEngine().create(modelMapper);
+    }
+
+    /**
+     * Installs the Jackson modules of the serialization engine selected with the {@code shop.serialization.engine} property.
+     * The modules are added after the ones registered by Spring Boot, so they apply to every ObjectMapper built by the
+     * auto-configured Jackson2ObjectMapperBuilder.
+     *
+     * @param shopProperties the ShopProperties holding the selected engine
+     * @return the customizer adding the modules to the builder
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer serializationEngine(ShopProperties shopProperties) {
+        return builder -> builder.modulesToInstall(modules -> modules.addAll(shopProperties.getSerialization().getEngine().modules()));
+    }
+
+    /**
+     * Provides the message converter writing and reading the binary Smile format, negotiated with
+     * {@code Accept: application/x-jackson-smile} by internal callers. JSON stays the format of every other request.
+     * It replaces the Smile converter Spring MVC registers by default, whose ObjectMapper ignores the Spring Boot
+     * settings, so both formats share the same modules and features.
+     *
+     * @param objectMapperBuilder the Jackson2ObjectMapperBuilder configured by Spring Boot
+     * @return the Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Provides the Hibernate settings configured under {@code shop.database}: the JDBC batch and fetch sizes,
+     * the ordering of inserts and updates, and the second-level and query caches.
+     * The statistics of Hibernate are always collected, as they back the Hibernate metrics and the cache statistics.
+     *
+     * @param shopProperties the ShopProperties holding the database settings
+     * @return the customizer applying the settings to the properties of the EntityManagerFactory
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSettings(ShopProperties shopProperties) {
+        ShopProperties.Database settings = shopProperties.getDatabase();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, settings.getBatchSize());
+            properties.put(AvailableSettings.ORDER_INSERTS, settings.isOrderInserts());
+            properties.put(AvailableSettings.ORDER_UPDATES, settings.isOrderUpdates());
+            if (settings.getFetchSize() > 0) {
+                properties.put(AvailableSettings.STATEMENT_FETCH_SIZE, settings.getFetchSize());
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, settings.isSecondLevelCache());
+            properties.put(AvailableSettings.USE_QUERY_CACHE, settings.isQueryCache());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.shop.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that bounds the number of connections used at the same time with a fair semaphore.
+ * A permit is taken before a connection is borrowed from the target pool and given back when the connection is closed.
+ * With virtual threads the number of concurrent requests is no longer limited by a thread pool, so requests waiting
+ * for the database queue here in arrival order instead of competing inside the connection pool.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    private final Duration acquireTimeout;
+
+    /**
+     * Constructs a new BoundedDataSource around the given DataSource.
+     *
+     * @param targetDataSource the DataSource to borrow the connections from
+     * @param maxConcurrency   the largest number of connections used at the same time
+     * @param acquireTimeout   the longest time to wait for a permit
+     */
+    public BoundedDataSource(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        this.acquire();
+        try {
+            return this.bound(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            this.permits.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        this.acquire();
+        try {
+            return this.bound(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            this.permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the largest number of connections used at the same time.
+     *
+     * @return the number of permits of the semaphore
+     */
+    public int getMaxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * Returns the number of callers currently waiting for a connection.
+     *
+     * @return the estimated number of waiting callers
+     */
+    public int getWaitingCount() {
+        return this.permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!this.permits.tryAcquire(this.acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(String.format(
+                        "No database connection available within %d ms, %d callers waiting.",
+                        this.acquireTimeout.toMillis(), this.permits.getQueueLength()));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection.", exception);
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it gives the permit back, once.
+     *
+     * @param connection the connection borrowed from the target DataSource
+     * @return the wrapped connection
+     */
+    private Connection bound(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, arguments) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, arguments);
+                        } catch (InvocationTargetException exception) {
+                            throw exception.getCause();
+                        } finally {
+                            this.permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, arguments);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+}
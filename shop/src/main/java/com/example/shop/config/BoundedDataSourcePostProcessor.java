@@ -0,0 +1,61 @@
+package com.example.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link BoundedDataSource} when {@code shop.database.bound-concurrency} is enabled.
+ * Unless {@code shop.database.max-concurrency} is set, the number of permits is the maximum size of the connection pool.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shop.database", name = "bound-concurrency", havingValue = "true")
+public class BoundedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ShopProperties> shopProperties;
+
+    /**
+     * Constructs a new BoundedDataSourcePostProcessor with the given ShopProperties.
+     * The properties are resolved lazily, when the DataSource is created.
+     *
+     * @param shopProperties the provider of the ShopProperties holding the concurrency settings
+     */
+    public BoundedDataSourcePostProcessor(ObjectProvider<ShopProperties> shopProperties) {
+        this.shopProperties = shopProperties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+            return bean;
+        }
+
+        ShopProperties.Database settings = this.shopProperties.getObject().getDatabase();
+        int maxConcurrency = settings.getMaxConcurrency() > 0 ? settings.getMaxConcurrency() : poolSize(dataSource, settings);
+        log.info("Bounding the concurrency of DataSource '{}' to {} connections.", beanName, maxConcurrency);
+        return new BoundedDataSource(dataSource, maxConcurrency, settings.getAcquireTimeout());
+    }
+
+    /**
+     * Returns the maximum size of the pool behind the given DataSource, which is already configured at this point.
+     *
+     * @param dataSource the DataSource to bound
+     * @param settings   the database settings
+     * @return the maximum number of pooled connections
+     */
+    private static int poolSize(DataSource dataSource, ShopProperties.Database settings) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        if (settings.getPoolSize() == null) {
+            throw new IllegalStateException("Set shop.database.max-concurrency or shop.database.pool-size to bound a DataSource that is not a Hikari pool.");
+        }
+        return settings.getPoolSize();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Sizes the Hikari connection pool from the {@code shop.database} settings before the pool is started.
+ * A pool setting is only applied when it is set, so the {@code spring.datasource.hikari.*} properties and the defaults
+ * of Hikari stay in effect otherwise; a warning is logged when both name the same setting.
+ * The prepared statement cache is configured through the driver, with the property of the database in use.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolPostProcessor implements BeanPostProcessor {
+
+    private static final String SHOP_PREFIX = "shop.database.";
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+    private static final String HIKARI_DEFAULT = "Hikari default";
+
+    /**
+     * A pool setting with its name in the startup report, in {@code shop.database} and in {@code spring.datasource.hikari}.
+     */
+    private enum PoolSetting {
+        MAXIMUM_SIZE("pool.maximum-size", "pool-size", "maximum-pool-size", ShopProperties.Database::getPoolSize),
+        MINIMUM_IDLE("pool.minimum-idle", "min-idle", "minimum-idle", ShopProperties.Database::getMinIdle),
+        CONNECTION_TIMEOUT("pool.connection-timeout-ms", "connection-timeout", "connection-timeout", ShopProperties.Database::getConnectionTimeout),
+        IDLE_TIMEOUT("pool.idle-timeout-ms", "idle-timeout", "idle-timeout", ShopProperties.Database::getIdleTimeout),
+        MAX_LIFETIME("pool.max-lifetime-ms", "max-lifetime", "max-lifetime", ShopProperties.Database::getMaxLifetime);
+
+        private final String reportName;
+        private final String shopName;
+        private final String hikariName;
+        private final Function<ShopProperties.Database, Object> value;
+
+        PoolSetting(String reportName, String shopName, String hikariName, Function<ShopProperties.Database, Object> value) {
+            this.reportName = reportName;
+            this.shopName = shopName;
+            this.hikariName = hikariName;
+            this.value = value;
+        }
+    }
+
+    private final ObjectProvider<ShopProperties> shopProperties;
+    private final Environment environment;
+
+    /**
+     * Constructs a new ConnectionPoolPostProcessor with the given ShopProperties and Environment.
+     * The properties are resolved lazily, when the DataSource is created.
+     *
+     * @param shopProperties the provider of the ShopProperties holding the pool settings
+     * @param environment    the Environment holding the {@code spring.datasource.hikari} properties
+     */
+    public ConnectionPoolPostProcessor(ObjectProvider<ShopProperties> shopProperties, Environment environment) {
+        this.shopProperties = shopProperties;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari)) {
+            return bean;
+        }
+
+        ShopProperties.Database settings = this.shopProperties.getObject().getDatabase();
+        Binder binder = Binder.get(this.environment);
+        for (PoolSetting setting : PoolSetting.values()) {
+            if (setting.value.apply(settings) != null && isBound(binder, HIKARI_PREFIX + setting.hikariName)) {
+                log.warn("Both {}{} and {}{} are set, the pool uses {}{}.", SHOP_PREFIX, setting.shopName,
+                        HIKARI_PREFIX, setting.hikariName, SHOP_PREFIX, setting.shopName);
+            }
+        }
+
+        if (settings.getPoolSize() != null) {
+            hikari.setMaximumPoolSize(settings.getPoolSize());
+        }
+        if (settings.getMinIdle() != null) {
+            hikari.setMinimumIdle(settings.getMinIdle() < 0 ? hikari.getMaximumPoolSize() : Math.min(settings.getMinIdle(), hikari.getMaximumPoolSize()));
+        }
+        setMillis(settings.getConnectionTimeout(), hikari::setConnectionTimeout);
+        setMillis(settings.getIdleTimeout(), hikari::setIdleTimeout);
+        setMillis(settings.getMaxLifetime(), hikari::setMaxLifetime);
+
+        String statementCacheProperty = statementCacheProperty(hikari.getJdbcUrl());
+        if (settings.getStatementCacheSize() > 0 && statementCacheProperty != null) {
+            hikari.addDataSourceProperty(statementCacheProperty, String.valueOf(settings.getStatementCacheSize()));
+        }
+        return bean;
+    }
+
+    /**
+     * Returns the property each pool setting was taken from: the {@code shop.database} setting when it is set, else the
+     * {@code spring.datasource.hikari} property when it is set, else the default of Hikari.
+     *
+     * @param settings    the database settings
+     * @param environment the Environment holding the {@code spring.datasource.hikari} properties
+     * @return the source of every pool setting, by its name in the startup report
+     */
+    static Map<String, String> sources(ShopProperties.Database settings, Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (PoolSetting setting : PoolSetting.values()) {
+            String source;
+            if (setting.value.apply(settings) != null) {
+                source = SHOP_PREFIX + setting.shopName;
+            } else if (isBound(binder, HIKARI_PREFIX + setting.hikariName)) {
+                source = HIKARI_PREFIX + setting.hikariName;
+            } else {
+                source = HIKARI_DEFAULT;
+            }
+            sources.put(setting.reportName, source);
+        }
+        return sources;
+    }
+
+    /**
+     * Returns the driver property holding the size of the prepared statement cache of the database with the given URL.
+     *
+     * @param jdbcUrl the JDBC URL of the database
+     * @return the name of the property, or null if the driver is not known
+     */
+    static String statementCacheProperty(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return null;
+        }
+        if (jdbcUrl.startsWith("jdbc:h2:")) {
+            return "QUERY_CACHE_SIZE";
+        }
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return "preparedStatementCacheQueries";
+        }
+        return null;
+    }
+
+    private static boolean isBound(Binder binder, String name) {
+        return binder.bind(name, Bindable.of(String.class)).isBound();
+    }
+
+    private static void setMillis(Duration duration, LongConsumer setter) {
+        if (duration != null) {
+            setter.accept(duration.toMillis());
+        }
+    }
+}
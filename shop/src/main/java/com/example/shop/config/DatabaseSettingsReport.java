@@ -0,0 +1,153 @@
+package com.example.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logs the effective database settings once the application is ready: the database in use, the size and timeouts of
+ * the connection pool together with the property each was taken from, the Hibernate batching, fetching and caching settings, and the request concurrency the pool has
+ * to serve. It warns when the pool is sized against the request threads in a way that wastes or starves connections.
+ */
+@Slf4j
+@Component
+public class DatabaseSettingsReport {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShopProperties shopProperties;
+    private final Environment environment;
+
+    /**
+     * Constructs a new DatabaseSettingsReport with the given DataSource, EntityManagerFactory, ShopProperties and Environment.
+     *
+     * @param dataSource           the DataSource of the application
+     * @param entityManagerFactory the EntityManagerFactory holding the effective Hibernate settings
+     * @param shopProperties       the ShopProperties holding the database settings
+     * @param environment          the Environment holding the thread settings of the server
+     */
+    @Autowired
+    public DatabaseSettingsReport(DataSource dataSource, EntityManagerFactory entityManagerFactory, ShopProperties shopProperties, Environment environment) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.shopProperties = shopProperties;
+        this.environment = environment;
+    }
+
+    /**
+     * Logs the effective settings when the application is ready to serve requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        StringBuilder report = new StringBuilder("Effective database settings:");
+        Map<String, String> sources = this.sources();
+        this.settings().forEach((name, value) -> {
+            report.append(System.lineSeparator()).append("  ").append(name).append(" = ").append(value);
+            if (sources.containsKey(name)) {
+                report.append(" (").append(sources.get(name)).append(')');
+            }
+        });
+        log.info(report.toString());
+
+        ShopProperties.Database settings = this.shopProperties.getDatabase();
+        Integer poolSize = this.poolSize();
+        boolean virtualThreads = this.environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int requestThreads = this.environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        if (poolSize == null) {
+            return;
+        }
+        if (virtualThreads && !settings.isBoundConcurrency()) {
+            log.warn("Requests run on virtual threads but shop.database.bound-concurrency is off, so every request in flight competes for the {} pooled connections.",
+                    poolSize);
+        } else if (!virtualThreads && poolSize > requestThreads) {
+            log.warn("The pool holds {} connections but at most {} request threads can use them.", poolSize, requestThreads);
+        }
+    }
+
+    /**
+     * Collects the effective settings, read back from the connection pool and the EntityManagerFactory
+     * rather than from the configuration, so the report shows what is actually in use.
+     *
+     * @return the effective settings by name, in report order
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        HikariDataSource hikari = this.hikari();
+        if (hikari != null) {
+            settings.put("url", withoutParameters(hikari.getJdbcUrl()));
+            settings.put("pool.maximum-size", hikari.getMaximumPoolSize());
+            settings.put("pool.minimum-idle", hikari.getMinimumIdle());
+            settings.put("pool.connection-timeout-ms", hikari.getConnectionTimeout());
+            settings.put("pool.idle-timeout-ms", hikari.getIdleTimeout());
+            settings.put("pool.max-lifetime-ms", hikari.getMaxLifetime());
+            settings.put("pool.driver-properties", hikari.getDataSourceProperties().keySet());
+        }
+
+        Map<String, Object> hibernate = this.entityManagerFactory.getProperties();
+        settings.put("hibernate.batch-size", hibernate.get(AvailableSettings.STATEMENT_BATCH_SIZE));
+        settings.put("hibernate.fetch-size", hibernate.getOrDefault(AvailableSettings.STATEMENT_FETCH_SIZE, "driver default"));
+        settings.put("hibernate.order-inserts", hibernate.get(AvailableSettings.ORDER_INSERTS));
+        settings.put("hibernate.order-updates", hibernate.get(AvailableSettings.ORDER_UPDATES));
+        settings.put("hibernate.second-level-cache", hibernate.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        settings.put("hibernate.query-cache", hibernate.get(AvailableSettings.USE_QUERY_CACHE));
+
+        ShopProperties.Database database = this.shopProperties.getDatabase();
+        settings.put("requests.virtual-threads", this.environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        settings.put("requests.tomcat-max-threads", this.environment.getProperty("server.tomcat.threads.max", Integer.class, 200));
+        settings.put("requests.bounded-connections", database.isBoundConcurrency()
+                ? (database.getMaxConcurrency() > 0 ? database.getMaxConcurrency() : this.poolSize())
+                : "off");
+        return settings;
+    }
+
+    /**
+     * Returns where each pool setting was taken from: its {@code shop.database} setting, its
+     * {@code spring.datasource.hikari} property or the default of Hikari.
+     *
+     * @return the source of every pool setting, by its name in the report
+     */
+    public Map<String, String> sources() {
+        return ConnectionPoolPostProcessor.sources(this.shopProperties.getDatabase(), this.environment);
+    }
+
+    private Integer poolSize() {
+        HikariDataSource hikari = this.hikari();
+        return hikari != null ? Integer.valueOf(hikari.getMaximumPoolSize()) : this.shopProperties.getDatabase().getPoolSize();
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return this.dataSource.isWrapperFor(HikariDataSource.class) ? this.dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops the parameters of a JDBC URL, which may carry credentials.
+     */
+    private static String withoutParameters(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return null;
+        }
+        int end = jdbcUrl.length();
+        for (char separator : new char[]{'?', ';'}) {
+            int index = jdbcUrl.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return jdbcUrl.substring(0, end);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.shop.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration of the second-level cache of Hibernate, enabled with {@code shop.database.second-level-cache}.
+ * The regions live in an in-process JCache provided by Caffeine. Every region is created up front, bounded by
+ * {@code shop.cache.max-size} and {@code shop.cache.time-to-live}, except the update timestamps of the query cache,
+ * which must never be evicted while a cached query result depends on them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shop.database", name = "second-level-cache", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String PRODUCT_SUBSCRIBERS_REGION = "product.subscribers";
+    public static final String SUBSCRIBER_REGION = "subscriber";
+    public static final String SUBSCRIBER_PRODUCTS_REGION = "subscriber.products";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * The bounded regions: the entities, their collections and the cached query results.
+     */
+    public static final List<String> BOUNDED_REGIONS = List.of(
+            PRODUCT_REGION, PRODUCT_SUBSCRIBERS_REGION, SUBSCRIBER_REGION, SUBSCRIBER_PRODUCTS_REGION, QUERY_RESULTS_REGION);
+
+    /**
+     * Provides the JCache CacheManager holding the regions of the second-level cache.
+     * Every application context gets its own CacheManager, so contexts on different databases never share entries.
+     *
+     * @param shopProperties the ShopProperties holding the size and time to live of the regions
+     * @return the CacheManager with every region created
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(ShopProperties shopProperties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:shop:entity-cache:" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+
+        ShopProperties.Cache settings = shopProperties.getCache();
+        for (String region : BOUNDED_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration()
+                    .setMaximumSize(OptionalLong.of(settings.getMaxSize()))
+                    .setExpireAfterWrite(OptionalLong.of(settings.getTimeToLive().toNanos())));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration());
+        return cacheManager;
+    }
+
+    /**
+     * Provides the Hibernate settings that store the second-level cache in the regions of the entity CacheManager.
+     *
+     * @param entityCacheManager the CacheManager holding the regions
+     * @return the customizer applying the settings to the properties of the EntityManagerFactory
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheSettings(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Returns the settings shared by every region. The entries are stored by reference, since Hibernate caches
+     * disassembled, immutable state, and the native statistics of Caffeine are recorded to report the evictions.
+     */
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.shop.config;
+
+import com.example.shop.mapper.MappingEngine;
+import com.example.shop.serialization.SerializationEngine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Typed configuration properties of the shop, bound from the {@code shop.*} keys of the application properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "shop")
+public class ShopProperties {
+
+    private final Paging paging = new Paging();
+
+    private final Mapping mapping = new Mapping();
+
+    private final Serialization serialization = new Serialization();
+
+    private final Popularity popularity = new Popularity();
+
+    private final Cache cache = new Cache();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Export export = new Export();
+
+    private final Link link = new Link();
+
+    private final Database database = new Database();
+
+    private final Sql sql = new Sql();
+
+    private final Report report = new Report();
+
+    /**
+     * Settings of the cursor-paginated list endpoints.
+     */
+    @Data
+    public static class Paging {
+
+        /**
+         * Page size used when the request does not specify one.
+         */
+        private int defaultSize = 20;
+
+        /**
+         * Largest page size a client can request. Bigger requests are capped to this value.
+         */
+        private int maxSize = 100;
+    }
+
+    /**
+     * Settings of the mapping between entities, binding models and view models.
+     */
+    @Data
+    public static class Mapping {
+
+        /**
+         * The mapping implementation to use. The generated mapper is the default,
+         * ModelMapper can be selected to compare the two.
+         */
+        private MappingEngine engine = MappingEngine.GENERATED;
+    }
+
+    /**
+     * Settings of the serialization of the view models written in the responses.
+     */
+    @Data
+    public static class Serialization {
+
+        /**
+         * The serialization implementation to use. The hand-written serializers are the default,
+         * reflection and Blackbird can be selected to compare them.
+         */
+        private SerializationEngine engine = SerializationEngine.HAND_WRITTEN;
+    }
+
+    /**
+     * Settings of the maintained subscriber count used to rank the products by popularity.
+     */
+    @Data
+    public static class Popularity {
+
+        /**
+         * Whether the job repairing drifted subscriber counts runs periodically.
+         */
+        private boolean reconcileEnabled = true;
+
+        /**
+         * Delay between the end of one reconciliation run and the start of the next one.
+         */
+        private Duration reconcileInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Settings of the caches of the product and subscriber view models served by the single-entity lookups.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Largest number of view models held by each cache.
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * Time after which a cached view model expires, even if it was not invalidated.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Settings of the bulk import endpoints.
+     */
+    @Data
+    public static class Bulk {
+
+        /**
+         * Largest number of items accepted by one bulk request.
+         */
+        private int maxItems = 100_000;
+
+        /**
+         * Number of entities inserted before the persistence context is flushed and cleared.
+         * It is also used as the JDBC batch size of Hibernate unless {@code shop.database.batch-size} is set.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Number of products removed in one transaction by a bulk delete. A larger delete is committed in several chunks,
+         * so it neither holds its locks nor grows the undo log for the whole run.
+         */
+        private int deleteChunkSize = 1000;
+    }
+
+    /**
+     * Settings of the streaming export endpoints.
+     */
+    @Data
+    public static class Export {
+
+        /**
+         * Number of exported view models after which the output is flushed to the client.
+         */
+        private int chunkSize = 500;
+    }
+
+    /**
+     * Settings of the batch link and unlink endpoints.
+     */
+    @Data
+    public static class Link {
+
+        /**
+         * Number of pairs linked or unlinked in one transaction. A request with more pairs is committed in several chunks.
+         */
+        private int chunkSize = 1000;
+
+        private final Async async = new Async();
+    }
+
+    /**
+     * Settings of the asynchronous mode of the single link endpoint, which queues the links and writes them in batches.
+     */
+    @Data
+    public static class Async {
+
+        /**
+         * Whether the single link endpoint queues the link and answers with a status of 202 and a tracking id.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Largest number of queued links. A link submitted while the queue is full is rejected with a status of 429.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Longest time the writer waits for more links to fill a batch once it has taken the first one.
+         */
+        private Duration maxDelay = Duration.ofMillis(50);
+
+        /**
+         * How long the outcome of a link stays available to the status endpoint after it was last updated.
+         */
+        private Duration statusTimeToLive = Duration.ofHours(1);
+
+        /**
+         * Largest number of link requests whose outcome is kept for the status endpoint.
+         */
+        private long statusMaxSize = 100_000;
+
+        /**
+         * Number of batches a link is tried in before it is reported as failed. A failed link stays pending in the
+         * journal, so it is written again after a restart.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Time a link of a failed batch waits before its next attempt. The wait doubles after every further failure.
+         */
+        private Duration retryDelay = Duration.ofSeconds(1);
+
+        /**
+         * File to which the queued links are journaled, so the links still queued when the process stops are written
+         * after a restart. No journal is kept if it is not set.
+         */
+        private Path journal;
+    }
+
+    /**
+     * Settings of the access to the database.
+     */
+    @Data
+    public static class Database {
+
+        /**
+         * Whether the connections are borrowed through a fair semaphore that bounds how many are used at the same time.
+         * It is enabled by the virtual-threads profile, where the request threads no longer bound the concurrency.
+         */
+        private boolean boundConcurrency = false;
+
+        /**
+         * Largest number of connections used at the same time. Zero uses the maximum size of the connection pool.
+         */
+        private int maxConcurrency = 0;
+
+        /**
+         * Longest time a caller waits for a connection before the request fails.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of connections of the pool. It should cover the requests that use the database at the same
+         * time, not the number of request threads, since a connection is only held for the duration of a transaction.
+         * This and the following pool settings override {@code spring.datasource.hikari.*} only when they are set.
+         */
+        private Integer poolSize;
+
+        /**
+         * Number of idle connections the pool keeps open. A negative value keeps the pool at its maximum size.
+         */
+        private Integer minIdle;
+
+        /**
+         * Longest time a caller waits for a connection from the pool.
+         */
+        private Duration connectionTimeout;
+
+        /**
+         * Time after which an idle connection above the minimum is closed.
+         */
+        private Duration idleTimeout;
+
+        /**
+         * Time after which a connection is retired, which should be shorter than any timeout of the database or network.
+         */
+        private Duration maxLifetime;
+
+        /**
+         * Number of prepared statements the driver caches per connection. Zero leaves the default of the driver.
+         */
+        private int statementCacheSize = 256;
+
+        /**
+         * Number of rows fetched per round trip by the queries. Zero leaves the default of the driver.
+         */
+        private int fetchSize = 0;
+
+        /**
+         * Number of statements Hibernate sends in one JDBC batch.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Whether Hibernate orders the inserts by entity, so that more of them share a JDBC batch.
+         */
+        private boolean orderInserts = true;
+
+        /**
+         * Whether Hibernate orders the updates by entity, so that more of them share a JDBC batch.
+         */
+        private boolean orderUpdates = true;
+
+        /**
+         * Whether the entities and collections marked as cacheable are kept in the second-level cache of Hibernate.
+         */
+        private boolean secondLevelCache = false;
+
+        /**
+         * Whether the results of the queries marked as cacheable are kept in the query cache of Hibernate.
+         */
+        private boolean queryCache = false;
+    }
+
+    /**
+     * Settings of the tracking of the SQL statements sent to the database.
+     */
+    @Data
+    public static class Sql {
+
+        /**
+         * Whether the DataSource is wrapped by a proxy counting and timing every statement.
+         */
+        private boolean tracking = true;
+
+        /**
+         * Execution time from which a statement is logged and counted as slow.
+         */
+        private Duration slowThreshold = Duration.ofMillis(200);
+
+        /**
+         * Whether the responses carry the number of statements, the database time and the number of slow statements
+         * of their request in headers. Meant for debugging.
+         */
+        private boolean debugHeaders = false;
+    }
+
+    /**
+     * Settings of the reporting endpoints counting entities per time bucket.
+     */
+    @Data
+    public static class Report {
+
+        /**
+         * Largest number of buckets a single histogram may span. A longer range must use a coarser bucket.
+         */
+        private int maxBuckets = 10_000;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.shop.config;
+
+import com.example.shop.service.sql.SqlStatisticsListener;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a proxy that reports every statement to the {@link SqlStatisticsListener},
+ * unless {@code shop.sql.tracking} is disabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shop.sql", name = "tracking", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatisticsListener> listener;
+
+    /**
+     * Constructs a new SqlStatisticsPostProcessor with the given SqlStatisticsListener.
+     * The listener is resolved lazily, when the DataSource is created.
+     *
+     * @param listener the provider of the SqlStatisticsListener recording the statements
+     */
+    public SqlStatisticsPostProcessor(ObjectProvider<SqlStatisticsListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+
+        log.info("Tracking the SQL statements of DataSource '{}'.", beanName);
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                .listener(this.listener.getObject())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.shop.config;
+
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.CounterCache.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Publishes the number of rows of the product and subscriber tables, and of the sold and active products, as gauges.
+ * The gauges read the {@link CounterCache}, so a scrape only runs a COUNT query when the counter is not cached yet.
+ */
+@Component
+public class TableSizeMetrics implements MeterBinder {
+
+    private final CounterCache counterCache;
+    private final ProductRepository productRepository;
+    private final SubscriberRepository subscriberRepository;
+
+    /**
+     * Constructs a new TableSizeMetrics with the given CounterCache and repositories.
+     *
+     * @param counterCache         the CounterCache holding the counters
+     * @param productRepository    the ProductRepository loading the product counters
+     * @param subscriberRepository the SubscriberRepository loading the subscriber counter
+     */
+    @Autowired
+    public TableSizeMetrics(CounterCache counterCache, ProductRepository productRepository, SubscriberRepository subscriberRepository) {
+        this.counterCache = counterCache;
+        this.productRepository = productRepository;
+        this.subscriberRepository = subscriberRepository;
+    }
+
+    /**
+     * Registers the gauges of the tables.
+     *
+     * @param registry the MeterRegistry to register the gauges with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "shop.table.rows", "table", "product", Counter.PRODUCTS, this.productRepository::count);
+        register(registry, "shop.table.rows", "table", "subscriber", Counter.SUBSCRIBERS, this.subscriberRepository::count);
+        register(registry, "shop.products", "state", "sold", Counter.SOLD_PRODUCTS, this.productRepository::countWithAtLeastOneSubscriber);
+        register(registry, "shop.products", "state", "active", Counter.ACTIVE_PRODUCTS, this.productRepository::countByIsUnderSaleTrue);
+    }
+
+    private void register(MeterRegistry registry, String name, String tagKey, String tagValue, Counter counter, LongSupplier loader) {
+        Gauge.builder(name, () -> this.counterCache.get(counter, loader))
+                .description("Number of rows counted by the " + counter + " counter")
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+}
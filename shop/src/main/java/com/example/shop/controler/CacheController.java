@@ -0,0 +1,49 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.view.CacheStatsViewModel;
+import com.example.shop.service.cache.SecondLevelCacheStats;
+import com.example.shop.service.cache.ViewCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for inspecting the in-memory caches.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ViewCache viewCache;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    /**
+     * Constructs a new CacheController with the given ViewCache and SecondLevelCacheStats.
+     *
+     * @param viewCache             the ViewCache to use
+     * @param secondLevelCacheStats the SecondLevelCacheStats to use
+     */
+    @Autowired
+    public CacheController(ViewCache viewCache, SecondLevelCacheStats secondLevelCacheStats) {
+        this.viewCache = viewCache;
+        this.secondLevelCacheStats = secondLevelCacheStats;
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction statistics of the product and subscriber view caches
+     * and of every region of the second-level cache.
+     *
+     * @return the statistics of every cache
+     */
+    @GetMapping("/stats")
+    public List<CacheStatsViewModel> getCacheStats() {
+        List<CacheStatsViewModel> stats = new ArrayList<>(this.viewCache.stats());
+        stats.addAll(this.secondLevelCacheStats.stats());
+        return stats;
+    }
+
+}
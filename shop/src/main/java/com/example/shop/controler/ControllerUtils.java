@@ -0,0 +1,226 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.CollectionVersion;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Utility class for common controller operations.
+ * This class provides methods to handle common tasks in controllers such as error handling, and records the outcome of
+ * the error responses it builds with the {@link ErrorResponses} shared with the reactive shop.
+ */
+public class ControllerUtils {
+
+    public static final String PRODUCT_NOT_FOUND = ErrorResponses.PRODUCT_NOT_FOUND;
+    public static final String SUBSCRIBER_NOT_FOUND = ErrorResponses.SUBSCRIBER_NOT_FOUND;
+    public static final String TOO_MANY_ITEMS = "At most %d items can be imported at once.";
+    public static final String TOO_MANY_IDS = "At most %d ids can be linked or unlinked at once.";
+    public static final String INVALID_IDS = "The ids must be a non-empty list without null values.";
+    public static final String INVALID_IF_MATCH = "The If-Match header %s does not name a version.";
+    public static final String CONCURRENT_UPDATE = ErrorResponses.CONCURRENT_UPDATE;
+    public static final String LINK_REQUEST_NOT_FOUND = "Link request %s not found.";
+
+    public static final String OUTCOME_ATTRIBUTE = ControllerUtils.class.getName() + ".outcome";
+    public static final String NOT_FOUND_OUTCOME = "not_found";
+    public static final String VALIDATION_ERROR_OUTCOME = "validation_error";
+    public static final String PRECONDITION_FAILED_OUTCOME = "precondition_failed";
+    public static final String CONFLICT_OUTCOME = "conflict";
+    public static final String THROTTLED_OUTCOME = "throttled";
+
+    private static final String VERSION_ETAG_PREFIX = "\"v";
+
+    private ControllerUtils() {
+    }
+
+    /**
+     * Handles validation errors from a BindingResult object.
+     * If there are errors, it collects these errors into a map and returns a ResponseEntity with a bad request status and the error map as the body.
+     * If there are no errors, it returns null.
+     *
+     * @param bindingResult the BindingResult object containing the validation errors
+     * @return a ResponseEntity with a bad request status and the error map as the body if there are errors, null otherwise
+     */
+    public static ResponseEntity<Object> handleBindingResultErrors(BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            markOutcome(VALIDATION_ERROR_OUTCOME);
+            return ErrorResponses.validationErrors(bindingResult);
+        }
+        return null;
+    }
+
+    /**
+     * Builds the response of a request whose product or subscriber does not exist.
+     *
+     * @param message the format of the error message, taking the id
+     * @param id      the id that was not found
+     * @return a ResponseEntity with a bad request status and the error message as the body
+     */
+    public static ResponseEntity<Object> notFound(String message, Object id) {
+        markOutcome(NOT_FOUND_OUTCOME);
+        return ErrorResponses.notFound(message, id);
+    }
+
+    /**
+     * Builds the response of a conditional update whose If-Match header does not match the current version.
+     *
+     * @param message        the error message
+     * @param currentVersion the current version, sent back as the ETag, or null if it is not known
+     * @return a ResponseEntity with a precondition failed status and the error message as the body
+     */
+    public static ResponseEntity<Object> preconditionFailed(String message, Long currentVersion) {
+        markOutcome(PRECONDITION_FAILED_OUTCOME);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(412);
+        if (currentVersion != null) {
+            response.eTag(eTag(currentVersion));
+        }
+        return response.body(message);
+    }
+
+    /**
+     * Builds the response of an update that lost the race against a concurrent update of the same product or subscriber.
+     *
+     * @param entityName the name of the kind of entity that was updated
+     * @return a ResponseEntity with a conflict status and an error message as the body
+     */
+    public static ResponseEntity<Object> conflict(String entityName) {
+        markOutcome(CONFLICT_OUTCOME);
+        return ErrorResponses.conflict(entityName);
+    }
+
+    /**
+     * Builds the response of a request that was refused because a queue is full, asking the client to retry later.
+     *
+     * @param message           the error message
+     * @param retryAfterSeconds the number of seconds after which the request may be retried
+     * @return a ResponseEntity with a too many requests status, a Retry-After header and the error message as the body
+     */
+    public static ResponseEntity<Object> throttled(String message, long retryAfterSeconds) {
+        markOutcome(THROTTLED_OUTCOME);
+        return ResponseEntity.status(429).header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds)).body(message);
+    }
+
+    /**
+     * Builds the strong ETag of a product or subscriber from its version.
+     *
+     * @param version the version of the product or subscriber
+     * @return the quoted ETag
+     */
+    public static String eTag(long version) {
+        return VERSION_ETAG_PREFIX + version + "\"";
+    }
+
+    /**
+     * Builds the ETag of a whole list from the version of its collection.
+     *
+     * @param collectionVersion the count, largest id and sum of the versions of the collection
+     * @return the quoted ETag
+     */
+    public static String eTag(CollectionVersion collectionVersion) {
+        return "\"" + collectionVersion.getCount() + "-" + collectionVersion.getMaxId() + "-" + collectionVersion.getVersionSum() + "\"";
+    }
+
+    /**
+     * Reads the version a conditional update expects from its If-Match header.
+     * Only a single strong ETag built by {@link #eTag(long)} names a version; a weak ETag never matches an update.
+     *
+     * @param ifMatch the value of the If-Match header, without surrounding whitespace
+     * @return the expected version, or null if the header does not name a version
+     */
+    public static Long parseETagVersion(String ifMatch) {
+        if (!ifMatch.startsWith(VERSION_ETAG_PREFIX) || !ifMatch.endsWith("\"") || ifMatch.length() <= VERSION_ETAG_PREFIX.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ifMatch.substring(VERSION_ETAG_PREFIX.length(), ifMatch.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records the outcome of the current request, so that it is counted when the response is written.
+     * Nothing is recorded outside a request.
+     *
+     * @param outcome the outcome of the request
+     */
+    public static void markOutcome(String outcome) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(OUTCOME_ATTRIBUTE, outcome, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Validates every item of a bulk request with the constraints of its binding model.
+     * If any item is invalid, it returns a ResponseEntity with a bad request status and, for every invalid item,
+     * its index and the map of its errors. If all items are valid, it returns null.
+     *
+     * @param items     the items of the bulk request
+     * @param maxItems  the largest number of items accepted by one request
+     * @param validator the Validator checking the constraints
+     * @return a ResponseEntity with a bad request status and the errors of the invalid items if there are any, null otherwise
+     */
+    public static ResponseEntity<Object> handleBulkValidationErrors(List<?> items, int maxItems, Validator validator) {
+        if (items.size() > maxItems) {
+            markOutcome(VALIDATION_ERROR_OUTCOME);
+            return ResponseEntity.badRequest().body(String.format(TOO_MANY_ITEMS, maxItems));
+        }
+
+        List<BulkItemViewModel> invalidItems = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            if (item == null) {
+                invalidItems.add(new BulkItemViewModel(i, null, Map.of("item", "Item cannot be null")));
+                continue;
+            }
+            Set<ConstraintViolation<Object>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                for (ConstraintViolation<Object> violation : violations) {
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                invalidItems.add(new BulkItemViewModel(i, null, errors));
+            }
+        }
+        if (!invalidItems.isEmpty()) {
+            markOutcome(VALIDATION_ERROR_OUTCOME);
+            return ResponseEntity.badRequest().body(invalidItems);
+        }
+        return null;
+    }
+
+    /**
+     * Checks the list of ids of a batch link or unlink request.
+     * If the list is empty, contains null values or is too long, it returns a ResponseEntity with a bad request status
+     * and an error message. If the list is valid, it returns null.
+     *
+     * @param ids      the ids of the request
+     * @param maxItems the largest number of ids accepted by one request
+     * @return a ResponseEntity with a bad request status and an error message if the ids are invalid, null otherwise
+     */
+    public static ResponseEntity<Object> handleLinkIdsErrors(List<Long> ids, int maxItems) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            markOutcome(VALIDATION_ERROR_OUTCOME);
+            return ResponseEntity.badRequest().body(INVALID_IDS);
+        }
+        if (ids.size() > maxItems) {
+            markOutcome(VALIDATION_ERROR_OUTCOME);
+            return ResponseEntity.badRequest().body(String.format(TOO_MANY_IDS, maxItems));
+        }
+        return null;
+    }
+
+}
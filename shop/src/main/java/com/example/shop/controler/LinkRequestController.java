@@ -0,0 +1,48 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.service.implementation.SubscriberServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for following the links queued by the asynchronous link mode.
+ */
+@RestController
+@RequestMapping(LinkRequestController.PATH)
+public class LinkRequestController {
+
+    public static final String PATH = "/api/link-requests";
+
+    private final SubscriberServiceImpl subscriberService;
+
+    /**
+     * Constructs a new LinkRequestController with the given SubscriberService.
+     *
+     * @param subscriberService the SubscriberService to use
+     */
+    @Autowired
+    public LinkRequestController(SubscriberServiceImpl subscriberService) {
+        this.subscriberService = subscriberService;
+    }
+
+    /**
+     * Retrieves the state of a queued link, and its outcome once it is written.
+     *
+     * @param trackingId the tracking id returned when the link was queued
+     * @return a ResponseEntity with the link request and a status of 200 if it is known, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<Object> getLinkRequest(@PathVariable String trackingId) {
+        LinkRequestViewModel request = this.subscriberService.getLinkRequest(trackingId);
+        if (request != null) {
+            return ResponseEntity.status(200).body(request);
+        }
+        return ControllerUtils.notFound(ControllerUtils.LINK_REQUEST_NOT_FOUND, trackingId);
+    }
+
+}
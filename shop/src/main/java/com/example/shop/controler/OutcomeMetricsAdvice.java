@@ -0,0 +1,81 @@
+package com.example.shop.controler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Counts the responses of the controllers by outcome, as recorded with {@link ControllerUtils#markOutcome(String)}.
+ * The counter {@code shop.responses} is tagged with the outcome and the URI pattern of the endpoint, so the
+ * not-found and validation-error responses can be told apart from each other and from successful requests.
+ */
+@RestControllerAdvice
+public class OutcomeMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new OutcomeMetricsAdvice with the given MeterRegistry.
+     *
+     * @param meterRegistry the MeterRegistry holding the counters
+     */
+    @Autowired
+    public OutcomeMetricsAdvice(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Applies the advice to every response body.
+     *
+     * @param returnType    the return type of the controller method
+     * @param converterType the converter writing the body
+     * @return always true
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Counts the outcome recorded for the request, if any, and returns the body unchanged.
+     *
+     * @param body                  the body to write
+     * @param returnType            the return type of the controller method
+     * @param selectedContentType   the content type of the response
+     * @param selectedConverterType the converter writing the body
+     * @param request               the current request
+     * @param response              the current response
+     * @return the body, unchanged
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            Object outcome = httpRequest.getAttribute(ControllerUtils.OUTCOME_ATTRIBUTE);
+            if (outcome != null) {
+                Object uri = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Counter.builder("shop.responses")
+                        .description("Responses of the controllers by outcome")
+                        .tag("outcome", outcome.toString())
+                        .tag("uri", uri != null ? uri.toString() : UNKNOWN_URI)
+                        .register(this.meterRegistry)
+                        .increment();
+            }
+        }
+        return body;
+    }
+}
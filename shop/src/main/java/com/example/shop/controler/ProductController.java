@@ -0,0 +1,503 @@
+package com.example.shop.controler;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.view.ProductRankViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.implementation.ProductServiceImpl;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import com.example.shop.service.report.InvalidReportRequestException;
+import com.example.shop.service.report.TimeBucket;
+import com.example.shop.service.search.InvalidSearchRequestException;
+import com.example.shop.service.versioning.VersionMismatchException;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for managing products.
+ * This controller provides endpoints for adding, retrieving, updating, and deleting products.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    private final ProductServiceImpl productService;
+    private final Validator validator;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new ProductController with the given ProductService, Validator and ShopProperties.
+     *
+     * @param productService the ProductService to use
+     * @param validator      the Validator checking the items of the bulk requests
+     * @param shopProperties the ShopProperties holding the limits of the bulk requests
+     */
+    @Autowired
+    public ProductController(ProductServiceImpl productService, Validator validator, ShopProperties shopProperties) {
+        this.productService = productService;
+        this.validator = validator;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Adds a new product.
+     *
+     * @param productAddBindingModel the product data
+     * @param bindingResult          the object that holds the result of the validation of the product data
+     * @return a ResponseEntity with the created product and a status of 201 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @PostMapping
+    public ResponseEntity<Object> addProduct(@Valid @RequestBody ProductAddBindingModel productAddBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+
+        ProductViewModel savedProductViewModel = this.productService.addProduct(productAddBindingModel);
+        return ResponseEntity.status(201).body(savedProductViewModel);
+    }
+
+    /**
+     * Adds many new products in one request.
+     * The whole payload is validated first and nothing is inserted if any item is invalid.
+     *
+     * @param productAddBindingModels the data of the products
+     * @return a ResponseEntity with the index and id of every created product and a status of 201 if successful, or a ResponseEntity with the index and validation errors of every invalid item and a status of 400 if not
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> addProducts(@RequestBody List<ProductAddBindingModel> productAddBindingModels) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBulkValidationErrors(productAddBindingModels, this.shopProperties.getBulk().getMaxItems(), this.validator);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(201).body(this.productService.addProducts(productAddBindingModels));
+    }
+
+    /**
+     * Retrieves a product by its id.
+     * The product carries a strong ETag built from its version. A request with an If-None-Match header only reads the
+     * version first, and is answered with a status of 304 without mapping or serializing the product when it matches.
+     *
+     * @param id      the id of the product to retrieve
+     * @param request the request, holding the conditional headers
+     * @return a ResponseEntity with the retrieved product and a status of 200 if successful, an empty ResponseEntity with a status of 304 if it did not change, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> getProduct(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Long version = this.productService.getProductVersion(id);
+            if (version != null && request.checkNotModified(ControllerUtils.eTag(version))) {
+                return null;
+            }
+        }
+        ProductViewModel productViewModel = this.productService.getProduct(id);
+        if (productViewModel != null) {
+            return ResponseEntity.status(200).eTag(ControllerUtils.eTag(productViewModel.getVersion())).body(productViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, id);
+    }
+
+    /**
+     * Retrieves all products.
+     * The list carries an ETag summarizing the versions of all products, read before the list itself, so a list that
+     * changes in between is never cached under the older ETag. A request whose If-None-Match header matches it is
+     * answered with a status of 304 without reading the list.
+     *
+     * @param request the request, holding the conditional headers
+     * @return a ResponseEntity with a list of all products and a status of 200, or an empty ResponseEntity with a status of 304
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductViewModel>> getAllProducts(WebRequest request) {
+        String eTag = ControllerUtils.eTag(this.productService.getProductsVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(200).eTag(eTag).body(this.productService.getAllProducts());
+    }
+
+    /**
+     * Updates a product by its id.
+     *
+     * @param id                        the id of the product to update
+     * @param ifMatch                   the ETag the product must still have, or null to update it unconditionally
+     * @param productUpdateBindingModel the new product data
+     * @param bindingResult             the object that holds the result of the validation of the new product data
+     * @return a ResponseEntity with the updated product and its new ETag and a status of 201 if successful, a ResponseEntity with validation errors or an error message and a status of 400 if not,
+     * or a ResponseEntity with an error message and a status of 412 if the product no longer has the ETag of the If-Match header
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Object> updateProduct(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @Valid @RequestBody ProductUpdateBindingModel productUpdateBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = ControllerUtils.parseETagVersion(ifMatch.trim());
+            if (expectedVersion == null) {
+                return ControllerUtils.preconditionFailed(String.format(ControllerUtils.INVALID_IF_MATCH, ifMatch), null);
+            }
+        }
+
+        ProductViewModel productViewModel = this.productService.updateProduct(id, productUpdateBindingModel, expectedVersion);
+        if (productViewModel != null) {
+            return ResponseEntity.status(201).eTag(ControllerUtils.eTag(productViewModel.getVersion())).body(productViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, id);
+    }
+
+    /**
+     * Deletes a product by its id.
+     *
+     * @param id the id of the product to delete
+     * @return a ResponseEntity with the deleted product and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> deleteProduct(@PathVariable Long id) {
+        ProductViewModel productViewModel = this.productService.deleteProduct(id);
+        if (productViewModel != null) {
+            return ResponseEntity.status(200).body(productViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, id);
+    }
+
+    /**
+     * Deletes every product with the given sale status that was created before the given date.
+     * The products are deleted in chunks, each committed in its own transaction.
+     *
+     * @param underSale     whether the products to delete are under sale
+     * @param createdBefore the date before which the products to delete were created
+     * @return a ResponseEntity with the number of deleted products and a status of 200
+     */
+    @DeleteMapping
+    public ResponseEntity<Object> deleteProducts(@RequestParam boolean underSale, @RequestParam LocalDateTime createdBefore) {
+        return ResponseEntity.status(200).body(this.productService.deleteProducts(underSale, createdBefore) + " products deleted.");
+    }
+
+    /**
+     * Retrieves the total count of products.
+     *
+     * @return a ResponseEntity with the total count of products and a status of 200
+     */
+    @GetMapping("/total")
+    public ResponseEntity<Object> getAllProductsTotalCount() {
+        return ResponseEntity.status(200).body(this.productService.getProductsTotalCount() + " products in the database.");
+    }
+
+
+    /**
+     * Retrieves the total count of sold products.
+     *
+     * @return a ResponseEntity with the total count of sold products and a status of 200
+     */
+    @GetMapping("/total/sold")
+    public ResponseEntity<Object> getAllSoldProductsTotalCount() {
+        return ResponseEntity.status(200).body(this.productService.getSoldProductsTotalCount() + " sold products.");
+    }
+
+
+    /**
+     * Retrieves the total count of active products.
+     *
+     * @return a ResponseEntity with the total count of active products and a status of 200
+     */
+    @GetMapping("/total/active")
+    public ResponseEntity<Object> getAllActiveProductsTotalCount() {
+        return ResponseEntity.status(200).body(this.productService.getActiveProductsTotalCount() + " active products.");
+    }
+
+    /**
+     * Retrieves all products ordered by popularity.
+     *
+     * @return a ResponseEntity with all products ordered by popularity and a status of 200
+     */
+    @GetMapping("/total/popular")
+    public ResponseEntity<Object> getAllProductsByPopularity() {
+        return ResponseEntity.status(200).body(this.productService.getAllProductsByPopularity());
+    }
+
+    /**
+     * Retrieves all products with a creation date within a given range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return a list of products with a creation date within the given range
+     */
+    @GetMapping("/date-range")
+    public List<ProductViewModel> getProductsByCreationDateBetween(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
+        return productService.getProductsByCreationDateBetween(startDate, endDate);
+    }
+
+    /**
+     * Exports all products as newline-delimited JSON or CSV.
+     * The response is streamed while the products are read, so the first bytes are sent before the whole export is built.
+     *
+     * @param format the format of the export, NDJSON by default
+     * @return a ResponseEntity with the streamed export and a status of 200
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.status(200)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getExtension() + "\"")
+                .body(outputStream -> this.productService.exportProducts(format, outputStream));
+    }
+
+    /**
+     * Retrieves one page of all products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of products and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Object> getProductsPage(@Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.getProductsPage(pageBindingModel));
+    }
+
+    /**
+     * Retrieves one page of the sold products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of sold products and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/sold/page")
+    public ResponseEntity<Object> getSoldProductsPage(@Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.getSoldProductsPage(pageBindingModel));
+    }
+
+    /**
+     * Retrieves one page of the active products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of active products and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/active/page")
+    public ResponseEntity<Object> getActiveProductsPage(@Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.getActiveProductsPage(pageBindingModel));
+    }
+
+    /**
+     * Retrieves one page of the products ordered by popularity.
+     *
+     * @param pageBindingModel the cursor and size of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of products and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/popular/page")
+    public ResponseEntity<Object> getProductsByPopularityPage(@Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.getProductsByPopularityPage(pageBindingModel));
+    }
+
+    /**
+     * Retrieves the most popular products, without their subscribers.
+     *
+     * @param k the number of products to retrieve, capped to the maximum page size
+     * @return a ResponseEntity with the most popular products and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/popular/top")
+    public ResponseEntity<Object> getTopProductsByPopularity(@RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.status(200).body(this.productService.getTopProductsByPopularity(k));
+    }
+
+    /**
+     * Retrieves the rank of a product by popularity.
+     *
+     * @param id the id of the product
+     * @return a ResponseEntity with the rank of the product and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<Object> getProductRank(@PathVariable Long id) {
+        ProductRankViewModel productRankViewModel = this.productService.getProductRank(id);
+        if (productRankViewModel != null) {
+            return ResponseEntity.status(200).body(productRankViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, id);
+    }
+
+    /**
+     * Retrieves one page of the products with a creation date within a given range.
+     *
+     * @param startDate        the start date of the range
+     * @param endDate          the end date of the range
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of products and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/date-range/page")
+    public ResponseEntity<Object> getProductsByCreationDateBetweenPage(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate,
+                                                                       @Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.getProductsByCreationDateBetweenPage(startDate, endDate, pageBindingModel));
+    }
+
+    /**
+     * Searches the names of the products, tolerating prefixes and typos, and returns one page of the best matches.
+     *
+     * @param query            the text to search for
+     * @param pageBindingModel the cursor and size of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of products found, ranked by relevance, and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if the query or paging parameters are invalid
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchProducts(@RequestParam String query, @Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.productService.searchProducts(query, pageBindingModel));
+    }
+
+    /**
+     * Counts the products created in every hour, day or month of a range.
+     * The counts are computed by the database, so the products themselves are never read.
+     *
+     * @param startDate the start date of the range, inclusive
+     * @param endDate   the end date of the range, exclusive
+     * @param bucket    the size of the buckets, a day by default
+     * @return a ResponseEntity with the start and the count of every bucket of the range and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if the range is empty or spans too many buckets
+     */
+    @GetMapping("/date-range/histogram")
+    public ResponseEntity<Object> countProductsByCreationDate(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate,
+                                                              @RequestParam(defaultValue = "DAY") TimeBucket bucket) {
+        return ResponseEntity.status(200).body(this.productService.countProductsByCreationDate(startDate, endDate, bucket));
+    }
+
+    /**
+     * Adds many subscribers to a product in one request.
+     * The subscribers that are missing or already added are reported and skipped, and none is added if the product is not under sale.
+     *
+     * @param productId     the id of the product
+     * @param subscriberIds the ids of the subscribers to add
+     * @return a ResponseEntity with the outcome for every subscriber and a status of 200 if the product exists, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @PostMapping("/{productId}/subscribers")
+    public ResponseEntity<Object> addSubscribersToProduct(@PathVariable Long productId, @RequestBody List<Long> subscriberIds) {
+        ResponseEntity<Object> errors = ControllerUtils.handleLinkIdsErrors(subscriberIds, this.shopProperties.getBulk().getMaxItems());
+        if (errors != null) {
+            return errors;
+        }
+        List<SubscriptionResultViewModel> results = this.productService.addSubscribersToProduct(productId, subscriberIds);
+        if (results != null) {
+            return ResponseEntity.status(200).body(results);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, productId);
+    }
+
+    /**
+     * Removes many subscribers from a product in one request.
+     * The subscribers that are missing or not added to the product are reported and skipped.
+     *
+     * @param productId     the id of the product
+     * @param subscriberIds the ids of the subscribers to remove
+     * @return a ResponseEntity with the outcome for every subscriber and a status of 200 if the product exists, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{productId}/subscribers")
+    public ResponseEntity<Object> removeSubscribersFromProduct(@PathVariable Long productId, @RequestBody List<Long> subscriberIds) {
+        ResponseEntity<Object> errors = ControllerUtils.handleLinkIdsErrors(subscriberIds, this.shopProperties.getBulk().getMaxItems());
+        if (errors != null) {
+            return errors;
+        }
+        List<SubscriptionResultViewModel> results = this.productService.removeSubscribersFromProduct(productId, subscriberIds);
+        if (results != null) {
+            return ResponseEntity.status(200).body(results);
+        }
+        return ControllerUtils.notFound(ControllerUtils.PRODUCT_NOT_FOUND, productId);
+    }
+
+    /**
+     * Handles a paginated request with an invalid cursor, size or sort parameter.
+     *
+     * @param exception the exception describing the invalid parameter
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Object> handleInvalidPageRequest(InvalidPageRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a reporting request with an empty range or a range spanning too many buckets.
+     *
+     * @param exception the exception describing the invalid range
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidReportRequestException.class)
+    public ResponseEntity<Object> handleInvalidReportRequest(InvalidReportRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a search whose query has no term or too many terms.
+     *
+     * @param exception the exception describing the invalid query
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<Object> handleInvalidSearchRequest(InvalidSearchRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a conditional update whose If-Match header names a version the product no longer has.
+     *
+     * @param exception the exception holding the current version
+     * @return a ResponseEntity with an error message, the current ETag and a status of 412
+     */
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<Object> handleVersionMismatch(VersionMismatchException exception) {
+        return ControllerUtils.preconditionFailed(exception.getMessage(), exception.getCurrentVersion());
+    }
+
+    /**
+     * Handles an update that was overtaken by a concurrent update of the same product before it was written.
+     *
+     * @param exception the exception raised by the version check of the update statement
+     * @return a ResponseEntity with an error message and a status of 409
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(ObjectOptimisticLockingFailureException exception) {
+        return ControllerUtils.conflict("product");
+    }
+
+}
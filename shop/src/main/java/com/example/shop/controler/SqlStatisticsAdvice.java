@@ -0,0 +1,62 @@
+package com.example.shop.controler;
+
+import com.example.shop.service.sql.SqlStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL statistics of the request to the headers of its response, when {@code shop.sql.debug-headers} is enabled.
+ * The headers are written just before the body, so they cover every statement of the controller and the services.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "shop.sql", name = "debug-headers", havingValue = "true")
+public class SqlStatisticsAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String SLOW_STATEMENTS_HEADER = "X-Sql-Slow-Statements";
+
+    /**
+     * Applies the advice to every response body.
+     *
+     * @param returnType    the return type of the controller method
+     * @param converterType the converter writing the body
+     * @return always true
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Adds the statistics of the current scope to the headers, if a scope is open, and returns the body unchanged.
+     *
+     * @param body                  the body to write
+     * @param returnType            the return type of the controller method
+     * @param selectedContentType   the content type of the response
+     * @param selectedConverterType the converter writing the body
+     * @param request               the current request
+     * @param response              the current response
+     * @return the body, unchanged
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics.Scope scope = SqlStatistics.current();
+        if (scope != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS_HEADER, Integer.toString(scope.getStatements()));
+            headers.set(TIME_HEADER, Long.toString(scope.getTimeMillis()));
+            headers.set(SLOW_STATEMENTS_HEADER, Integer.toString(scope.getSlowStatements()));
+        }
+        return body;
+    }
+}
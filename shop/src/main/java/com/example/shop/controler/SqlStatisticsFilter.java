@@ -0,0 +1,77 @@
+package com.example.shop.controler;
+
+import com.example.shop.service.sql.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements executed while a request is handled.
+ * Every request runs in its own {@link SqlStatistics} scope. When it completes, its number of statements and database
+ * time are recorded by the {@code shop.sql.request.statements} and {@code shop.sql.request.time} meters, tagged with
+ * the URI pattern of the endpoint, and logged at debug level. The actuator endpoints are not counted.
+ */
+@Slf4j
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new SqlStatisticsFilter with the given MeterRegistry.
+     *
+     * @param meterRegistry the MeterRegistry holding the meters of the requests
+     */
+    @Autowired
+    public SqlStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics.Scope scope = SqlStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            this.record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        DistributionSummary.builder("shop.sql.request.statements")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .register(this.meterRegistry)
+                .record(scope.getStatements());
+        Timer.builder("shop.sql.request.time")
+                .description("Database time spent per request")
+                .tag("uri", uri)
+                .register(this.meterRegistry)
+                .record(scope.getTimeMillis(), TimeUnit.MILLISECONDS);
+        log.debug("{} {} executed {} SQL statements in {} ms, {} slow.", request.getMethod(), request.getRequestURI(),
+                scope.getStatements(), scope.getTimeMillis(), scope.getSlowStatements());
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.shop.controler;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.view.LinkRequestState;
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.implementation.SubscriberServiceImpl;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.link.LinkQueueFullException;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import com.example.shop.service.report.InvalidReportRequestException;
+import com.example.shop.service.report.TimeBucket;
+import com.example.shop.service.search.InvalidSearchRequestException;
+import com.example.shop.service.versioning.VersionMismatchException;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for managing subscribers.
+ * This controller provides endpoints for adding, retrieving, updating, and deleting subscribers.
+ */
+@RestController
+@RequestMapping("/api/subscribers")
+public class SubscriberController {
+
+    private final SubscriberServiceImpl subscriberService;
+    private final Validator validator;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new SubscriberController with the given SubscriberService, Validator and ShopProperties.
+     *
+     * @param subscriberService the SubscriberService to use
+     * @param validator         the Validator checking the items of the bulk requests
+     * @param shopProperties    the ShopProperties holding the limits of the bulk requests
+     */
+    @Autowired
+    public SubscriberController(SubscriberServiceImpl subscriberService, Validator validator, ShopProperties shopProperties) {
+        this.subscriberService = subscriberService;
+        this.validator = validator;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Adds a new subscriber.
+     *
+     * @param subscriberAddBindingModel the subscriber data
+     * @param bindingResult             the object that holds the result of the validation of the subscriber data
+     * @return a ResponseEntity with the created subscriber and a status of 201 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @PostMapping
+    public ResponseEntity<Object> addSubscriber(@Valid @RequestBody SubscriberAddBindingModel subscriberAddBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+
+        SubscriberViewModel subscriberViewModel = this.subscriberService.addSubscriber(subscriberAddBindingModel);
+        return ResponseEntity.status(201).body(subscriberViewModel);
+    }
+
+    /**
+     * Adds many new subscribers in one request.
+     * The whole payload is validated first and nothing is inserted if any item is invalid.
+     *
+     * @param subscriberAddBindingModels the data of the subscribers
+     * @return a ResponseEntity with the index and id of every created subscriber and a status of 201 if successful, or a ResponseEntity with the index and validation errors of every invalid item and a status of 400 if not
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> addSubscribers(@RequestBody List<SubscriberAddBindingModel> subscriberAddBindingModels) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBulkValidationErrors(subscriberAddBindingModels, this.shopProperties.getBulk().getMaxItems(), this.validator);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(201).body(this.subscriberService.addSubscribers(subscriberAddBindingModels));
+    }
+
+    /**
+     * Retrieves a subscriber by its id.
+     * The subscriber carries a strong ETag built from its version. A request with an If-None-Match header only reads the
+     * version first, and is answered with a status of 304 without mapping or serializing the subscriber when it matches.
+     *
+     * @param id      the id of the subscriber to retrieve
+     * @param request the request, holding the conditional headers
+     * @return a ResponseEntity with the retrieved subscriber and a status of 200 if successful, an empty ResponseEntity with a status of 304 if it did not change, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> getSubscriber(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Long version = this.subscriberService.getSubscriberVersion(id);
+            if (version != null && request.checkNotModified(ControllerUtils.eTag(version))) {
+                return null;
+            }
+        }
+        SubscriberViewModel subscriber = this.subscriberService.getSubscriber(id);
+        if (subscriber != null) {
+            return ResponseEntity.status(200).eTag(ControllerUtils.eTag(subscriber.getVersion())).body(subscriber);
+        }
+        return ControllerUtils.notFound(ControllerUtils.SUBSCRIBER_NOT_FOUND, id);
+    }
+
+    /**
+     * Retrieves all subscribers.
+     * The list carries an ETag summarizing the versions of all subscribers, read before the list itself, so a list that
+     * changes in between is never cached under the older ETag. A request whose If-None-Match header matches it is
+     * answered with a status of 304 without reading the list.
+     *
+     * @param request the request, holding the conditional headers
+     * @return a ResponseEntity with a list of all subscribers and a status of 200, or an empty ResponseEntity with a status of 304
+     */
+    @GetMapping
+    public ResponseEntity<List<SubscriberViewModel>> getAllSubscribers(WebRequest request) {
+        String eTag = ControllerUtils.eTag(this.subscriberService.getSubscribersVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(200).eTag(eTag).body(this.subscriberService.getAllSubscribers());
+    }
+
+    /**
+     * Exports all subscribers as newline-delimited JSON or CSV.
+     * The response is streamed while the subscribers are read, so the first bytes are sent before the whole export is built.
+     *
+     * @param format the format of the export, NDJSON by default
+     * @return a ResponseEntity with the streamed export and a status of 200
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubscribers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.status(200)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"subscribers." + format.getExtension() + "\"")
+                .body(outputStream -> this.subscriberService.exportSubscribers(format, outputStream));
+    }
+
+    /**
+     * Retrieves one page of all subscribers.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of subscribers and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Object> getSubscribersPage(@Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.subscriberService.getSubscribersPage(pageBindingModel));
+    }
+
+    /**
+     * Retrieves one page of the subscribers with a joined date within a given range.
+     *
+     * @param startDate        the start date of the range
+     * @param endDate          the end date of the range
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of subscribers and a status of 200 if successful, or a ResponseEntity with validation errors and a status of 400 if not
+     */
+    @GetMapping("/date-range/page")
+    public ResponseEntity<Object> getSubscribersByJoinedDateBetweenPage(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate,
+                                                                        @Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.subscriberService.getSubscribersByJoinedDateBetweenPage(startDate, endDate, pageBindingModel));
+    }
+
+    /**
+     * Searches the first and last names of the subscribers, tolerating prefixes and typos, and returns one page of the best matches.
+     *
+     * @param query            the text to search for
+     * @param pageBindingModel the cursor and size of the page
+     * @param bindingResult    the object that holds the result of the validation of the paging parameters
+     * @return a ResponseEntity with the page of subscribers found, ranked by relevance, and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if the query or paging parameters are invalid
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchSubscribers(@RequestParam String query, @Valid PageBindingModel pageBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+        return ResponseEntity.status(200).body(this.subscriberService.searchSubscribers(query, pageBindingModel));
+    }
+
+    /**
+     * Counts the subscribers who joined in every hour, day or month of a range.
+     * The counts are computed by the database, so the subscribers themselves are never read.
+     *
+     * @param startDate the start date of the range, inclusive
+     * @param endDate   the end date of the range, exclusive
+     * @param bucket    the size of the buckets, a day by default
+     * @return a ResponseEntity with the start and the count of every bucket of the range and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if the range is empty or spans too many buckets
+     */
+    @GetMapping("/date-range/histogram")
+    public ResponseEntity<Object> countSubscribersByJoinedDate(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate,
+                                                               @RequestParam(defaultValue = "DAY") TimeBucket bucket) {
+        return ResponseEntity.status(200).body(this.subscriberService.countSubscribersByJoinedDate(startDate, endDate, bucket));
+    }
+
+    /**
+     * Updates a subscriber by its id.
+     *
+     * @param id                           the id of the subscriber to update
+     * @param ifMatch                      the ETag the subscriber must still have, or null to update it unconditionally
+     * @param subscriberUpdateBindingModel the new subscriber data
+     * @param bindingResult                the object that holds the result of the validation of the new subscriber data
+     * @return a ResponseEntity with the updated subscriber and its new ETag and a status of 201 if successful, a ResponseEntity with validation errors or an error message and a status of 400 if not,
+     * or a ResponseEntity with an error message and a status of 412 if the subscriber no longer has the ETag of the If-Match header
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Object> updateSubscriber(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @Valid @RequestBody SubscriberUpdateBindingModel subscriberUpdateBindingModel, BindingResult bindingResult) {
+        ResponseEntity<Object> errors = ControllerUtils.handleBindingResultErrors(bindingResult);
+        if (errors != null) {
+            return errors;
+        }
+
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = ControllerUtils.parseETagVersion(ifMatch.trim());
+            if (expectedVersion == null) {
+                return ControllerUtils.preconditionFailed(String.format(ControllerUtils.INVALID_IF_MATCH, ifMatch), null);
+            }
+        }
+
+        SubscriberViewModel subscriberViewModel = this.subscriberService.updateSubscriber(id, subscriberUpdateBindingModel, expectedVersion);
+        if (subscriberViewModel != null) {
+            return ResponseEntity.status(201).eTag(ControllerUtils.eTag(subscriberViewModel.getVersion())).body(subscriberViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.SUBSCRIBER_NOT_FOUND, id);
+    }
+
+    /**
+     * Deletes a subscriber by its id.
+     *
+     * @param id the id of the subscriber to delete
+     * @return a ResponseEntity with the deleted subscriber and a status of 200 if successful, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> deleteSubscriber(@PathVariable Long id) {
+        SubscriberViewModel subscriberViewModel = this.subscriberService.deleteSubscriber(id);
+        if (subscriberViewModel != null) {
+            return ResponseEntity.status(200).body(subscriberViewModel);
+        }
+        return ControllerUtils.notFound(ControllerUtils.SUBSCRIBER_NOT_FOUND, id);
+    }
+
+    /**
+     * Retrieves the total count of subscribers.
+     *
+     * @return a ResponseEntity with the total count of subscribers and a status of 200
+     */
+    @GetMapping("/total")
+    public ResponseEntity<Object> getAllSubscribersTotalCount() {
+        return ResponseEntity.status(200).body(this.subscriberService.getSubscribersTotalCount() + " subscribers in the database.");
+    }
+
+    /**
+     * Adds a product to a subscriber.
+     * When the asynchronous link mode is enabled, the link is queued instead and written later together with other
+     * queued links; its outcome is then read from the returned location.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return a ResponseEntity with the outcome of the link and a status of 201 if the product was added, a ResponseEntity with the queued link request,
+     * its location and a status of 202 if it was queued, or a ResponseEntity with the outcome and a status of 400 if the product cannot be added
+     */
+    @PostMapping("/{subscriberId}/products/{productId}")
+    public ResponseEntity<Object> addProductToSubscriber(@PathVariable Long subscriberId, @PathVariable Long productId) {
+        if (this.shopProperties.getLink().getAsync().isEnabled()) {
+            return submitProductToSubscriber(subscriberId, productId);
+        }
+        SubscriptionResultViewModel result = this.subscriberService.addProductToSubscriber(subscriberId, productId);
+        if (result.getStatus() == LinkStatus.LINKED) {
+            return ResponseEntity.status(201).body(result);
+        }
+        if (result.getStatus() == LinkStatus.SUBSCRIBER_NOT_FOUND || result.getStatus() == LinkStatus.PRODUCT_NOT_FOUND) {
+            ControllerUtils.markOutcome(ControllerUtils.NOT_FOUND_OUTCOME);
+        }
+        return ResponseEntity.badRequest().body(result);
+    }
+
+    /**
+     * Queues the link of a product to a subscriber.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return a ResponseEntity with the queued link request, its location and a status of 202, or a ResponseEntity with the outcome and a status of 400 if the product cannot be added
+     */
+    private ResponseEntity<Object> submitProductToSubscriber(Long subscriberId, Long productId) {
+        LinkRequestViewModel request = this.subscriberService.submitProductToSubscriber(subscriberId, productId);
+        if (request.getState() != LinkRequestState.REJECTED) {
+            return ResponseEntity.accepted().location(URI.create(LinkRequestController.PATH + "/" + request.getTrackingId())).body(request);
+        }
+        SubscriptionResultViewModel result = request.getResult();
+        if (result.getStatus() == LinkStatus.SUBSCRIBER_NOT_FOUND || result.getStatus() == LinkStatus.PRODUCT_NOT_FOUND) {
+            ControllerUtils.markOutcome(ControllerUtils.NOT_FOUND_OUTCOME);
+        }
+        return ResponseEntity.badRequest().body(result);
+    }
+
+    /**
+     * Adds many products to a subscriber in one request.
+     * The products that are missing, not under sale or already added are reported and skipped.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productIds   the ids of the products to add
+     * @return a ResponseEntity with the outcome for every product and a status of 200 if the subscriber exists, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @PostMapping("/{subscriberId}/products")
+    public ResponseEntity<Object> addProductsToSubscriber(@PathVariable Long subscriberId, @RequestBody List<Long> productIds) {
+        ResponseEntity<Object> errors = ControllerUtils.handleLinkIdsErrors(productIds, this.shopProperties.getBulk().getMaxItems());
+        if (errors != null) {
+            return errors;
+        }
+        List<SubscriptionResultViewModel> results = this.subscriberService.addProductsToSubscriber(subscriberId, productIds);
+        if (results != null) {
+            return ResponseEntity.status(200).body(results);
+        }
+        return ControllerUtils.notFound(ControllerUtils.SUBSCRIBER_NOT_FOUND, subscriberId);
+    }
+
+    /**
+     * Removes many products from a subscriber in one request.
+     * The products that are missing or not added to the subscriber are reported and skipped.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productIds   the ids of the products to remove
+     * @return a ResponseEntity with the outcome for every product and a status of 200 if the subscriber exists, or a ResponseEntity with an error message and a status of 400 if not
+     */
+    @DeleteMapping("/{subscriberId}/products")
+    public ResponseEntity<Object> removeProductsFromSubscriber(@PathVariable Long subscriberId, @RequestBody List<Long> productIds) {
+        ResponseEntity<Object> errors = ControllerUtils.handleLinkIdsErrors(productIds, this.shopProperties.getBulk().getMaxItems());
+        if (errors != null) {
+            return errors;
+        }
+        List<SubscriptionResultViewModel> results = this.subscriberService.removeProductsFromSubscriber(subscriberId, productIds);
+        if (results != null) {
+            return ResponseEntity.status(200).body(results);
+        }
+        return ControllerUtils.notFound(ControllerUtils.SUBSCRIBER_NOT_FOUND, subscriberId);
+    }
+
+    /**
+     * Handles a paginated request with an invalid cursor, size or sort parameter.
+     *
+     * @param exception the exception describing the invalid parameter
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Object> handleInvalidPageRequest(InvalidPageRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a reporting request with an empty range or a range spanning too many buckets.
+     *
+     * @param exception the exception describing the invalid range
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidReportRequestException.class)
+    public ResponseEntity<Object> handleInvalidReportRequest(InvalidReportRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a link that could not be queued because the asynchronous link queue is full.
+     *
+     * @param exception the exception raised by the queue
+     * @return a ResponseEntity with an error message, a Retry-After header and a status of 429
+     */
+    @ExceptionHandler(LinkQueueFullException.class)
+    public ResponseEntity<Object> handleLinkQueueFull(LinkQueueFullException exception) {
+        return ControllerUtils.throttled(exception.getMessage(), 1);
+    }
+
+    /**
+     * Handles a search whose query has no term or too many terms.
+     *
+     * @param exception the exception describing the invalid query
+     * @return a ResponseEntity with an error message and a status of 400
+     */
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<Object> handleInvalidSearchRequest(InvalidSearchRequestException exception) {
+        ControllerUtils.markOutcome(ControllerUtils.VALIDATION_ERROR_OUTCOME);
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+
+    /**
+     * Handles a conditional update whose If-Match header names a version the subscriber no longer has.
+     *
+     * @param exception the exception holding the current version
+     * @return a ResponseEntity with an error message, the current ETag and a status of 412
+     */
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<Object> handleVersionMismatch(VersionMismatchException exception) {
+        return ControllerUtils.preconditionFailed(exception.getMessage(), exception.getCurrentVersion());
+    }
+
+    /**
+     * Handles an update that was overtaken by a concurrent update of the same subscriber before it was written.
+     *
+     * @param exception the exception raised by the version check of the update statement
+     * @return a ResponseEntity with an error message and a status of 409
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(ObjectOptimisticLockingFailureException exception) {
+        return ControllerUtils.conflict("subscriber");
+    }
+
+}
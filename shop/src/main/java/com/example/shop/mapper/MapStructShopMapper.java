@@ -0,0 +1,33 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Mapper whose implementation is generated by MapStruct at compile time.
+ * The generated code calls the getters and setters directly, without reflection.
+ * Unmapped target properties fail the build, so new fields have to be mapped or ignored explicitly here.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MapStructShopMapper extends ShopMapper {
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "subscribers", ignore = true)
+    @Mapping(target = "subscriberCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Product toProduct(ProductAddBindingModel productAddBindingModel);
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "joinedDate", ignore = true)
+    @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Subscriber toSubscriber(SubscriberAddBindingModel subscriberAddBindingModel);
+}
@@ -0,0 +1,33 @@
+package com.example.shop.mapper;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+/**
+ * The mapping implementations that can back the {@link ShopMapper}.
+ */
+public enum MappingEngine {
+
+    /**
+     * The reflection-free mapper generated by MapStruct at compile time.
+     */
+    GENERATED,
+
+    /**
+     * The reflection-based ModelMapper.
+     */
+    MODEL_MAPPER;
+
+    /**
+     * Creates the mapper of this engine.
+     *
+     * @param modelMapper the ModelMapper used by the {@link #MODEL_MAPPER} engine
+     * @return the mapper
+     */
+    public ShopMapper create(ModelMapper modelMapper) {
+        return switch (this) {
+            case GENERATED -> Mappers.getMapper(MapStructShopMapper.class);
+            case MODEL_MAPPER -> new ModelMapperShopMapper(modelMapper);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+import org.modelmapper.ModelMapper;
+
+/**
+ * Mapper that delegates to the reflection-based ModelMapper.
+ * It is kept to compare the generated mapper against the original mapping behavior.
+ */
+public class ModelMapperShopMapper implements ShopMapper {
+
+    private final ModelMapper modelMapper;
+
+    /**
+     * Constructs a new ModelMapperShopMapper with the given ModelMapper.
+     *
+     * @param modelMapper the ModelMapper to use
+     */
+    public ModelMapperShopMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    @Override
+    public Product toProduct(ProductAddBindingModel productAddBindingModel) {
+        return this.modelMapper.map(productAddBindingModel, Product.class);
+    }
+
+    @Override
+    public Subscriber toSubscriber(SubscriberAddBindingModel subscriberAddBindingModel) {
+        return this.modelMapper.map(subscriberAddBindingModel, Subscriber.class);
+    }
+
+    @Override
+    public ProductViewModel toProductViewModel(Product product) {
+        return this.modelMapper.map(product, ProductViewModel.class);
+    }
+
+    @Override
+    public SubscriberViewModel toSubscriberViewModel(Subscriber subscriber) {
+        return this.modelMapper.map(subscriber, SubscriberViewModel.class);
+    }
+
+    @Override
+    public ProductViewSubscriberModel toProductViewSubscriberModel(Subscriber subscriber) {
+        return this.modelMapper.map(subscriber, ProductViewSubscriberModel.class);
+    }
+
+    @Override
+    public SubscriberViewProductModel toSubscriberViewProductModel(Product product) {
+        return this.modelMapper.map(product, SubscriberViewProductModel.class);
+    }
+
+    @Override
+    public ProductPopularityViewModel toProductPopularityViewModel(Product product) {
+        return this.modelMapper.map(product, ProductPopularityViewModel.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+
+/**
+ * Mapper between the entities, the binding models and the view models of the shop.
+ * The implementation in use is selected with the {@code shop.mapping.engine} property.
+ */
+public interface ShopMapper {
+
+    /**
+     * Maps the data of a new product to a product entity.
+     *
+     * @param productAddBindingModel the product data
+     * @return the product entity
+     */
+    Product toProduct(ProductAddBindingModel productAddBindingModel);
+
+    /**
+     * Maps the data of a new subscriber to a subscriber entity.
+     *
+     * @param subscriberAddBindingModel the subscriber data
+     * @return the subscriber entity
+     */
+    Subscriber toSubscriber(SubscriberAddBindingModel subscriberAddBindingModel);
+
+    /**
+     * Maps a product to its view model, including its subscribers.
+     *
+     * @param product the product to map
+     * @return the view model of the product
+     */
+    ProductViewModel toProductViewModel(Product product);
+
+    /**
+     * Maps a subscriber to its view model, including its products.
+     *
+     * @param subscriber the subscriber to map
+     * @return the view model of the subscriber
+     */
+    SubscriberViewModel toSubscriberViewModel(Subscriber subscriber);
+
+    /**
+     * Maps a subscriber to the view model used inside the view of a product.
+     *
+     * @param subscriber the subscriber to map
+     * @return the view model of the subscriber
+     */
+    ProductViewSubscriberModel toProductViewSubscriberModel(Subscriber subscriber);
+
+    /**
+     * Maps a product to the view model used inside the view of a subscriber.
+     *
+     * @param product the product to map
+     * @return the view model of the product
+     */
+    SubscriberViewProductModel toSubscriberViewProductModel(Product product);
+
+    /**
+     * Maps a product to its popularity view model, without its subscribers.
+     *
+     * @param product the product to map
+     * @return the popularity view model of the product
+     */
+    ProductPopularityViewModel toProductPopularityViewModel(Product product);
+}
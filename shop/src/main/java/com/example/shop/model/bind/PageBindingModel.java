@@ -0,0 +1,48 @@
+package com.example.shop.model.bind;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Binding model for requesting one page of a cursor-paginated list.
+ * This class is used to capture the paging query parameters of the list endpoints.
+ */
+public class PageBindingModel {
+
+    private String cursor;
+    private Integer size;
+    private String sort;
+
+    public PageBindingModel() {
+    }
+
+    public PageBindingModel(String cursor, Integer size, String sort) {
+        this.cursor = cursor;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
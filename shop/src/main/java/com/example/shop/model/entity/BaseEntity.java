@@ -0,0 +1,41 @@
+package com.example.shop.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Base entity class that provides an id field and a version field.
+ * This class is a mapped superclass, meaning that its fields will be mapped to the tables of its subclasses.
+ */
+@Data
+@NoArgsConstructor
+@MappedSuperclass
+public abstract class BaseEntity {
+
+    /**
+     * The unique identifier for entities.
+     * This field is generated from a pooled database sequence per entity, so Hibernate knows the ids
+     * before inserting and can send the inserts in JDBC batches.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    /**
+     * The version of the entity, checked by Hibernate on every update so a concurrent update is never lost.
+     * It is also incremented whenever the representation of the entity changes without the entity itself being
+     * updated, such as when a product is linked to a subscriber, so it serves as the ETag of the entity.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+}
@@ -0,0 +1,53 @@
+package com.example.shop.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entity class for the Product.
+ * This class represents a product in the shop.
+ * It includes details like the name of the product, its creation date, whether it's under sale, and the subscribers associated with it.
+ * The number of subscribers is also stored in its own indexed column, so popularity can be ranked without counting the join table.
+ * The creation date is indexed, so the date range lists and histograms read only the rows of their range.
+ * Products and their subscriber lists are kept in the second-level cache when it is enabled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@Table(indexes = {
+        @Index(name = "idx_product_subscriber_count", columnList = "subscriber_count, id"),
+        @Index(name = "idx_product_creation_date", columnList = "creation_date, id")
+})
+public class Product extends BaseEntity {
+
+    private String name;
+
+    private LocalDateTime creationDate;
+
+    private boolean isUnderSale;
+
+    /**
+     * The number of subscribers of the product.
+     * It is maintained by the services together with the subscriber_product join table
+     * and periodically repaired by a reconciliation job.
+     */
+    private int subscriberCount;
+
+    @JsonBackReference
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product.subscribers")
+    @ManyToMany(mappedBy = "products", fetch = FetchType.LAZY)
+    private List<Subscriber> subscribers;
+}
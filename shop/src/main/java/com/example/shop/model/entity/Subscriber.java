@@ -0,0 +1,50 @@
+package com.example.shop.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entity class for the Subscriber.
+ * This class represents a subscriber in the shop.
+ * It includes details like the first name, last name of the subscriber, and the products associated with the subscriber.
+ * A product can be linked to a subscriber only once: the join table has a unique key on both columns, which also serves
+ * the lookups of a single link, and an index on the product column for the lookups by product.
+ * The joined date is indexed, so the date range lists and histograms read only the rows of their range.
+ * Subscribers and their product lists are kept in the second-level cache when it is enabled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subscriber")
+@Table(indexes = @Index(name = "idx_subscriber_joined_date", columnList = "joined_date, id"))
+public class Subscriber extends BaseEntity {
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDateTime joinedDate;
+
+    @JsonManagedReference
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subscriber.products")
+    @ManyToMany
+    @JoinTable(
+            name = "subscriber_product",
+            joinColumns = @JoinColumn(name = "subscriber_id"),
+            inverseJoinColumns = @JoinColumn(name = "product_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_subscriber_product", columnNames = {"subscriber_id", "product_id"}),
+            indexes = @Index(name = "idx_subscriber_product_product", columnList = "product_id"))
+    private List<Product> products;
+}
\ No newline at end of file
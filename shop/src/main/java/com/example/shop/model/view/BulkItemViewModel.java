@@ -0,0 +1,22 @@
+package com.example.shop.model.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemViewModel {
+
+    private int index;
+
+    private Long id;
+
+    private Map<String, String> errors;
+
+}
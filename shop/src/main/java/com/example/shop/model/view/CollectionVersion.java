@@ -0,0 +1,18 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersion {
+
+    private long count;
+
+    private long maxId;
+
+    private long versionSum;
+
+}
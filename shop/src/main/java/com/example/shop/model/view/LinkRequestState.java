@@ -0,0 +1,11 @@
+package com.example.shop.model.view;
+
+/**
+ * The state of a link request submitted to the asynchronous link queue.
+ */
+public enum LinkRequestState {
+    QUEUED,
+    DONE,
+    FAILED,
+    REJECTED
+}
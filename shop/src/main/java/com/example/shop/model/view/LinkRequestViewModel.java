@@ -0,0 +1,24 @@
+package com.example.shop.model.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkRequestViewModel {
+
+    private String trackingId;
+
+    private Long subscriberId;
+
+    private Long productId;
+
+    private LinkRequestState state;
+
+    private SubscriptionResultViewModel result;
+
+}
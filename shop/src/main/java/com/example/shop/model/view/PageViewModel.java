@@ -0,0 +1,20 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageViewModel<T> {
+
+    private List<T> items;
+
+    private int size;
+
+    private String nextCursor;
+
+}
@@ -0,0 +1,22 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRankViewModel {
+
+    private Long id;
+
+    private String name;
+
+    private int subscriberCount;
+
+    private int rank;
+
+    private int rankedProducts;
+
+}
@@ -0,0 +1,17 @@
+package com.example.shop.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitViewModel {
+
+    private Long id;
+
+    private String name;
+
+    private int score;
+}
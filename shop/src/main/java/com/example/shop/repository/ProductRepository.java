@@ -0,0 +1,307 @@
+package com.example.shop.repository;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.ProductSubscriberRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for the Product entity.
+ * This interface provides CRUD operations for the Product entity.
+ * It extends JpaRepository which provides JPA related methods like save, findById, findAll, etc.
+ * The list queries select flat rows of the products joined to their subscribers, which are grouped into view models
+ * without loading any entity, and the windowed queries rely on the batch size of the subscribers collection,
+ * so a list never loads the subscribers one product at a time.
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * Number of rows fetched per round trip when the products are streamed.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Finds all products together with their subscribers.
+     *
+     * @return a list of all products
+     */
+    @Override
+    @EntityGraph(attributePaths = "subscribers")
+    List<Product> findAll();
+
+    /**
+     * Finds a product by its id together with its subscribers.
+     *
+     * @param id the id of the product
+     * @return the product, or an empty Optional if it does not exist
+     */
+    @EntityGraph(attributePaths = "subscribers")
+    Optional<Product> findWithSubscribersById(Long id);
+
+    /**
+     * Selects one row per product and subscriber, or a single row for a product without subscribers.
+     */
+    String PRODUCT_ROWS = "SELECT new com.example.shop.model.view.ProductSubscriberRow(p.id, p.name, p.creationDate, p.isUnderSale, "
+            + "p.version, s.id, s.firstName, s.lastName, s.joinedDate) FROM Product p LEFT JOIN p.subscribers s";
+
+    /**
+     * Finds the rows of all products and their subscribers.
+     *
+     * @return the rows of all products
+     */
+    @Query(PRODUCT_ROWS)
+    List<ProductSubscriberRow> findAllRows();
+
+    /**
+     * Finds the rows of one product and its subscribers.
+     *
+     * @param id the id of the product
+     * @return the rows of the product, or an empty list if it does not exist
+     */
+    @Query(PRODUCT_ROWS + " WHERE p.id = :id")
+    List<ProductSubscriberRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Finds the rows of the products where isUnderSale is true and of their subscribers.
+     * The result is kept in the query cache until the product or subscriber_product tables change.
+     *
+     * @return the rows of the products where isUnderSale is true
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PRODUCT_ROWS + " WHERE p.isUnderSale = true")
+    List<ProductSubscriberRow> findRowsByIsUnderSaleTrue();
+
+    /**
+     * Finds the rows of the products that have at least one subscriber and of their subscribers.
+     *
+     * @return the rows of the products that have at least one subscriber
+     */
+    @Query(PRODUCT_ROWS + " WHERE p.subscriberCount > 0")
+    List<ProductSubscriberRow> findRowsWithAtLeastOneSubscriber();
+
+    /**
+     * Finds the rows of all products and their subscribers, ordered by the number of subscribers in descending order.
+     * The result is kept in the query cache until the product or subscriber_product tables change.
+     *
+     * @return the rows of all products ordered by the number of subscribers in descending order
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PRODUCT_ROWS + " ORDER BY p.subscriberCount DESC, p.id DESC")
+    List<ProductSubscriberRow> findRowsOrderBySubscribersDesc();
+
+    /**
+     * Finds the rows of the products with a creation date within a given range and of their subscribers.
+     *
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @return the rows of the products with a creation date within the given range
+     */
+    @Query(PRODUCT_ROWS + " WHERE p.creationDate BETWEEN :startDate AND :endDate")
+    List<ProductSubscriberRow> findRowsByCreationDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Counts all products where isUnderSale is true.
+     *
+     * @return the number of products where isUnderSale is true
+     */
+    long countByIsUnderSaleTrue();
+
+    /**
+     * Counts all products that have at least one subscriber.
+     *
+     * @return the number of products that have at least one subscriber
+     */
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.subscriberCount > 0")
+    long countWithAtLeastOneSubscriber();
+
+    /**
+     * Finds one window of all products, continuing from the given keyset position.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort of the list
+     * @param limit    the maximum number of products to return
+     * @return a window of products
+     */
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Finds one window of the products where isUnderSale is true, continuing from the given keyset position.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort of the list
+     * @param limit    the maximum number of products to return
+     * @return a window of products where isUnderSale is true
+     */
+    Window<Product> findByIsUnderSaleTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Finds one window of the products with more subscribers than the given count, continuing from the given keyset position.
+     *
+     * @param subscriberCount the subscriber count the products must exceed
+     * @param position the keyset position to continue from
+     * @param sort     the sort of the list
+     * @param limit    the maximum number of products to return
+     * @return a window of products with more subscribers than the given count
+     */
+    Window<Product> findBySubscriberCountGreaterThan(int subscriberCount, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Finds one window of the products with a creation date within a given range, continuing from the given keyset position.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @param position  the keyset position to continue from
+     * @param sort      the sort of the list
+     * @param limit     the maximum number of products to return
+     * @return a window of products with a creation date within the given range
+     */
+    Window<Product> findByCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Finds the most popular products, ordered by the number of subscribers in descending order and then by id.
+     * The query is served by the subscriber count index and reads only the requested number of rows.
+     *
+     * @param limit the maximum number of products to return
+     * @return a list of the most popular products
+     */
+    List<Product> findAllByOrderBySubscriberCountDescIdDesc(Limit limit);
+
+    /**
+     * Increments the subscriber count of a product in the database, without a read-modify-write of the entity,
+     * so concurrent links to the same product do not lose updates. The version is incremented as well,
+     * as the product has one more subscriber.
+     *
+     * @param productId the id of the product
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.subscriberCount = p.subscriberCount + 1, p.version = p.version + 1 WHERE p.id = :productId")
+    int incrementSubscriberCount(@Param("productId") Long productId);
+
+    /**
+     * Decrements the subscriber count and increments the version of every product of the given subscriber.
+     * It must be called before the join table rows of the subscriber are removed.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.subscriberCount = p.subscriberCount - 1, p.version = p.version + 1 "
+            + "WHERE p.id IN (SELECT sp.id FROM Subscriber s JOIN s.products sp WHERE s.id = :subscriberId)")
+    int decrementSubscriberCountOfSubscriberProducts(@Param("subscriberId") Long subscriberId);
+
+    /**
+     * Finds the ids of the products with the given sale status that were created before the given date, in ascending order.
+     *
+     * @param underSale     whether the products are under sale
+     * @param createdBefore the date before which the products were created
+     * @param limit         the largest number of ids to return
+     * @return the ids of the matching products
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.isUnderSale = :underSale AND p.creationDate < :createdBefore ORDER BY p.id")
+    List<Long> findIdsByUnderSaleAndCreationDateBefore(@Param("underSale") boolean underSale, @Param("createdBefore") LocalDateTime createdBefore, Limit limit);
+
+    /**
+     * Finds the ids of the subscribers of the given products, read from the subscriber_product join table.
+     *
+     * @param productIds the ids of the products
+     * @return the distinct ids of their subscribers
+     */
+    @Query(value = "SELECT DISTINCT subscriber_id FROM subscriber_product WHERE product_id IN (:productIds)", nativeQuery = true)
+    List<Long> findSubscriberIdsOfProducts(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Removes every subscriber_product join table row of the given products with a single statement.
+     * It must be called before the products themselves are deleted.
+     * The tables of both sides are declared as affected, so Hibernate invalidates the cached collections that map the join table.
+     *
+     * @param productIds the ids of the products
+     * @return the number of removed rows
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber_product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = "DELETE FROM subscriber_product WHERE product_id IN (:productIds)", nativeQuery = true)
+    int deleteLinksOfProducts(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Recomputes the subscriber count of every product whose stored count differs from the subscriber_product join table.
+     *
+     * @return the number of repaired products
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"))
+    @Query(value = "UPDATE product p SET subscriber_count = "
+            + "(SELECT COUNT(*) FROM subscriber_product sp WHERE sp.product_id = p.id) "
+            + "WHERE p.subscriber_count <> (SELECT COUNT(*) FROM subscriber_product sp WHERE sp.product_id = p.id)",
+            nativeQuery = true)
+    int reconcileSubscriberCounts();
+
+    /**
+     * Streams the rows of all products and their subscribers, ordered by id, with a forward-only cursor.
+     * The rows of one product are adjacent and are fetched {@value #EXPORT_FETCH_SIZE} at a time, and the query is
+     * read-only. The subscribers are read by the same query, so the stream never loads an entity or a collection. The
+     * stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of the rows of all products
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PRODUCT_ROWS + " ORDER BY p.id")
+    Stream<ProductSubscriberRow> streamRowsOrderById();
+
+    /**
+     * Increments the version of the given products, whose representation changed without them being updated.
+     *
+     * @param productIds the ids of the products
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1 WHERE p.id IN :productIds")
+    int incrementVersions(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Increments the version of every subscriber of the given products, whose representation embeds the products.
+     * It must be called before the join table rows of the products are removed.
+     *
+     * @param productIds the ids of the products
+     * @return the number of updated subscribers
+     */
+    @Modifying
+    @Query("UPDATE Subscriber s SET s.version = s.version + 1 "
+            + "WHERE s.id IN (SELECT ps.id FROM Product p JOIN p.subscribers ps WHERE p.id IN :productIds)")
+    int incrementSubscriberVersionsOfProducts(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Summarizes the versions of all products with their count, their largest id and the sum of their versions.
+     * Any insert, update or delete of a product changes at least one of the three.
+     *
+     * @return the version of the collection of all products
+     */
+    @Query("SELECT new com.example.shop.model.view.CollectionVersion(COUNT(p), COALESCE(MAX(p.id), 0L), COALESCE(SUM(p.version), 0L)) FROM Product p")
+    CollectionVersion findCollectionVersion();
+}
@@ -0,0 +1,177 @@
+package com.example.shop.repository;
+
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.SubscriberProductRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for the Subscriber entity.
+ * This interface provides CRUD operations for the Subscriber entity.
+ * It extends JpaRepository which provides JPA related methods like save, findById, findAll, etc.
+ * The list query selects flat rows of the subscribers joined to their products, which are grouped into view models
+ * without loading any entity, and the windowed queries rely on the batch size of the products collection,
+ * so a list never loads the products one subscriber at a time.
+ */
+@Repository
+public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
+
+    /**
+     * Number of rows fetched per round trip when the subscribers are streamed.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Finds all subscribers together with their products.
+     *
+     * @return a list of all subscribers
+     */
+    @Override
+    @EntityGraph(attributePaths = "products")
+    List<Subscriber> findAll();
+
+    /**
+     * Finds a subscriber by its id together with its products.
+     *
+     * @param id the id of the subscriber
+     * @return the subscriber, or an empty Optional if it does not exist
+     */
+    @EntityGraph(attributePaths = "products")
+    Optional<Subscriber> findWithProductsById(Long id);
+
+    /**
+     * Selects one row per subscriber and product, or a single row for a subscriber without products.
+     */
+    String SUBSCRIBER_ROWS = "SELECT new com.example.shop.model.view.SubscriberProductRow(s.id, s.firstName, s.lastName, s.joinedDate, s.version, "
+            + "p.id, p.name, p.creationDate, p.isUnderSale) FROM Subscriber s LEFT JOIN s.products p";
+
+    /**
+     * Finds the rows of all subscribers and their products, one row per subscriber and product,
+     * or a single row for a subscriber without products.
+     *
+     * @return the rows of all subscribers
+     */
+    @Query(SUBSCRIBER_ROWS)
+    List<SubscriberProductRow> findAllRows();
+
+    /**
+     * Finds the rows of one subscriber and its products.
+     *
+     * @param id the id of the subscriber
+     * @return the rows of the subscriber, or an empty list if it does not exist
+     */
+    @Query(SUBSCRIBER_ROWS + " WHERE s.id = :id")
+    List<SubscriberProductRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Finds one window of all subscribers, continuing from the given keyset position.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort of the list
+     * @param limit    the maximum number of subscribers to return
+     * @return a window of subscribers
+     */
+    Window<Subscriber> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Finds one window of the subscribers with a joined date within a given range, continuing from the given keyset position.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @param position  the keyset position to continue from
+     * @param sort      the sort of the list
+     * @param limit     the maximum number of subscribers to return
+     * @return a window of subscribers with a joined date within the given range
+     */
+    Window<Subscriber> findByJoinedDateBetween(LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Streams the rows of all subscribers and their products, ordered by id, with a forward-only cursor.
+     * The rows of one subscriber are adjacent and are fetched {@value #EXPORT_FETCH_SIZE} at a time, and the query is
+     * read-only. The products are read by the same query, so the stream never loads an entity or a collection. The
+     * stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of the rows of all subscribers
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUBSCRIBER_ROWS + " ORDER BY s.id")
+    Stream<SubscriberProductRow> streamRowsOrderById();
+
+    /**
+     * Links a product to a subscriber by inserting their row into the subscriber_product join table, unless it already exists.
+     * The existence check is served by the unique key of the join table, and neither collection is loaded.
+     * The tables of both sides are declared as affected, so Hibernate invalidates the cached collections that map the join table.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product
+     * @return 1 if the link was inserted, 0 if it already existed
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber_product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = "INSERT INTO subscriber_product (subscriber_id, product_id) "
+            + "SELECT :subscriberId, :productId WHERE NOT EXISTS "
+            + "(SELECT 1 FROM subscriber_product WHERE subscriber_id = :subscriberId AND product_id = :productId)",
+            nativeQuery = true)
+    int insertLink(@Param("subscriberId") Long subscriberId, @Param("productId") Long productId);
+
+    /**
+     * Removes every subscriber_product join table row of the given subscriber with a single statement.
+     * It must be called before the subscriber itself is deleted.
+     * The tables of both sides are declared as affected, so Hibernate invalidates the cached collections that map the join table.
+     *
+     * @param subscriberId the id of the subscriber
+     * @return the number of removed rows
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber_product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subscriber"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = "DELETE FROM subscriber_product WHERE subscriber_id = :subscriberId", nativeQuery = true)
+    int deleteLinksOfSubscriber(@Param("subscriberId") Long subscriberId);
+
+    /**
+     * Increments the version of the given subscribers, whose representation changed without them being updated.
+     *
+     * @param subscriberIds the ids of the subscribers
+     * @return the number of updated subscribers
+     */
+    @Modifying
+    @Query("UPDATE Subscriber s SET s.version = s.version + 1 WHERE s.id IN :subscriberIds")
+    int incrementVersions(@Param("subscriberIds") Collection<Long> subscriberIds);
+
+    /**
+     * Summarizes the versions of all subscribers with their count, their largest id and the sum of their versions.
+     * Any insert, update or delete of a subscriber changes at least one of the three.
+     *
+     * @return the version of the collection of all subscribers
+     */
+    @Query("SELECT new com.example.shop.model.view.CollectionVersion(COUNT(s), COALESCE(MAX(s.id), 0L), COALESCE(SUM(s.version), 0L)) FROM Subscriber s")
+    CollectionVersion findCollectionVersion();
+}
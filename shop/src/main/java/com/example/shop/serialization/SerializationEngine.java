@@ -0,0 +1,42 @@
+package com.example.shop.serialization;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.List;
+
+/**
+ * The implementations that can serialize the view models written in the responses.
+ * Each engine is a set of Jackson modules installed on the ObjectMapper of the HTTP message converters, so it applies to
+ * the JSON and Smile responses alike.
+ */
+public enum SerializationEngine {
+
+    /**
+     * The default reflection-based bean serializers of Jackson.
+     */
+    REFLECTION,
+
+    /**
+     * The bean serializers of Jackson with their getters called through lambdas generated by Blackbird instead of reflection.
+     */
+    BLACKBIRD,
+
+    /**
+     * The serializers of {@link ViewModelSerializers}, written by hand for the product and subscriber view models.
+     */
+    HAND_WRITTEN;
+
+    /**
+     * Returns the Jackson modules of this engine.
+     *
+     * @return the modules to install, empty for the {@link #REFLECTION} engine
+     */
+    public List<Module> modules() {
+        return switch (this) {
+            case REFLECTION -> List.of();
+            case BLACKBIRD -> List.of(new BlackbirdModule());
+            case HAND_WRITTEN -> List.of(new ViewModelSerializers());
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.shop.serialization;
+
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Jackson module of hand-written serializers for the product and subscriber view models.
+ * The serializers write the fields straight to the generator, which streams them to the response, with no bean
+ * introspection, reflective getter calls or per-property serializer lookup. The field names are pre-encoded and the
+ * dates are written digit by digit, falling back to one shared formatter for the years it would pad or sign.
+ * The output is the same as the one of the reflection-based serializers, field order included: the {@code version} is
+ * left out and null values are written. A property added to one of these view models has to be written here as well:
+ * the tests introspect the view models and fail until it is.
+ */
+public class ViewModelSerializers extends SimpleModule {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializableString UNDER_SALE = new SerializedString("underSale");
+    private static final SerializableString SUBSCRIBERS = new SerializedString("subscribers");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString JOINED_DATE = new SerializedString("joinedDate");
+    private static final SerializableString PRODUCTS = new SerializedString("products");
+    private static final SerializableString SUBSCRIBER_COUNT = new SerializedString("subscriberCount");
+
+    /**
+     * Constructs the module with the serializers of the view models.
+     */
+    public ViewModelSerializers() {
+        super(ViewModelSerializers.class.getSimpleName());
+        this.addSerializer(ProductViewModel.class, new ProductSerializer());
+        this.addSerializer(ProductViewSubscriberModel.class, new ProductSubscriberSerializer());
+        this.addSerializer(SubscriberViewModel.class, new SubscriberSerializer());
+        this.addSerializer(SubscriberViewProductModel.class, new SubscriberProductSerializer());
+        this.addSerializer(ProductPopularityViewModel.class, new ProductPopularitySerializer());
+    }
+
+    private static void writeId(JsonGenerator generator, SerializableString name, Long id) throws IOException {
+        generator.writeFieldName(name);
+        if (id == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(id);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializableString name, LocalDateTime date) throws IOException {
+        generator.writeFieldName(name);
+        if (date == null) {
+            generator.writeNull();
+        } else {
+            writeDigits(generator, date);
+        }
+    }
+
+    /**
+     * Writes a date as {@code yyyy-MM-dd} from its fields, without going through the formatter and the String it
+     * builds. The years the formatter would print with a sign or fewer than four digits are still formatted by it.
+     */
+    private static void writeDigits(JsonGenerator generator, LocalDateTime date) throws IOException {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            generator.writeString(DATE_FORMAT.format(date));
+            return;
+        }
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        char[] chars = {
+                (char) ('0' + year / 1000), (char) ('0' + year / 100 % 10), (char) ('0' + year / 10 % 10), (char) ('0' + year % 10),
+                '-', (char) ('0' + month / 10), (char) ('0' + month % 10),
+                '-', (char) ('0' + day / 10), (char) ('0' + day % 10)
+        };
+        generator.writeString(chars, 0, chars.length);
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    private static <T> void writeList(JsonGenerator generator, SerializableString name, List<T> values,
+                                      StdSerializer<T> serializer, SerializerProvider provider) throws IOException {
+        generator.writeFieldName(name);
+        if (values == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(values, values.size());
+        for (T value : values) {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                serializer.serialize(value, generator, provider);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Serializes a {@link ProductViewModel} with its subscribers.
+     */
+    private static final class ProductSerializer extends StdSerializer<ProductViewModel> {
+
+        private final ProductSubscriberSerializer subscriberSerializer = new ProductSubscriberSerializer();
+
+        private ProductSerializer() {
+            super(ProductViewModel.class);
+        }
+
+        @Override
+        public void serialize(ProductViewModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeId(generator, ID, value.getId());
+            writeString(generator, NAME, value.getName());
+            writeDate(generator, CREATION_DATE, value.getCreationDate());
+            writeList(generator, SUBSCRIBERS, value.getSubscribers(), this.subscriberSerializer, provider);
+            generator.writeFieldName(UNDER_SALE);
+            generator.writeBoolean(value.isUnderSale());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializes a {@link ProductViewSubscriberModel}.
+     */
+    private static final class ProductSubscriberSerializer extends StdSerializer<ProductViewSubscriberModel> {
+
+        private ProductSubscriberSerializer() {
+            super(ProductViewSubscriberModel.class);
+        }
+
+        @Override
+        public void serialize(ProductViewSubscriberModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeString(generator, FIRST_NAME, value.getFirstName());
+            writeString(generator, LAST_NAME, value.getLastName());
+            writeDate(generator, JOINED_DATE, value.getJoinedDate());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializes a {@link SubscriberViewModel} with its products.
+     */
+    private static final class SubscriberSerializer extends StdSerializer<SubscriberViewModel> {
+
+        private final SubscriberProductSerializer productSerializer = new SubscriberProductSerializer();
+
+        private SubscriberSerializer() {
+            super(SubscriberViewModel.class);
+        }
+
+        @Override
+        public void serialize(SubscriberViewModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeId(generator, ID, value.getId());
+            writeString(generator, FIRST_NAME, value.getFirstName());
+            writeString(generator, LAST_NAME, value.getLastName());
+            writeDate(generator, JOINED_DATE, value.getJoinedDate());
+            writeList(generator, PRODUCTS, value.getProducts(), this.productSerializer, provider);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializes a {@link SubscriberViewProductModel}.
+     */
+    private static final class SubscriberProductSerializer extends StdSerializer<SubscriberViewProductModel> {
+
+        private SubscriberProductSerializer() {
+            super(SubscriberViewProductModel.class);
+        }
+
+        @Override
+        public void serialize(SubscriberViewProductModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeId(generator, ID, value.getId());
+            writeString(generator, NAME, value.getName());
+            writeDate(generator, CREATION_DATE, value.getCreationDate());
+            generator.writeFieldName(UNDER_SALE);
+            generator.writeBoolean(value.isUnderSale());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializes a {@link ProductPopularityViewModel}.
+     */
+    private static final class ProductPopularitySerializer extends StdSerializer<ProductPopularityViewModel> {
+
+        private ProductPopularitySerializer() {
+            super(ProductPopularityViewModel.class);
+        }
+
+        @Override
+        public void serialize(ProductPopularityViewModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(value);
+            writeId(generator, ID, value.getId());
+            writeString(generator, NAME, value.getName());
+            generator.writeFieldName(SUBSCRIBER_COUNT);
+            generator.writeNumber(value.getSubscriberCount());
+            generator.writeEndObject();
+        }
+    }
+}
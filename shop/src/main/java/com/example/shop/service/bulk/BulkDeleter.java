@@ -0,0 +1,104 @@
+package com.example.shop.service.bulk;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.CounterCache.Counter;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.popularity.Leaderboard;
+import com.example.shop.service.search.NameIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes large numbers of products matching a filter without loading them.
+ * The products are removed in chunks of {@code shop.bulk.delete-chunk-size}, each in its own transaction. A chunk reads
+ * the ids of the next matching products, increments the versions of their subscribers, removes their subscriber_product
+ * join table rows and then the products themselves with one statement each, so neither memory nor the time the locks are held grows with the size of the delete.
+ */
+@Component
+public class BulkDeleter {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterCache counterCache;
+    private final ViewCache viewCache;
+    private final NameIndex nameIndex;
+    private final Leaderboard leaderboard;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new BulkDeleter with the given ProductRepository, PlatformTransactionManager, CounterCache, ViewCache, NameIndex, Leaderboard and ShopProperties.
+     *
+     * @param productRepository  the ProductRepository to use
+     * @param transactionManager the PlatformTransactionManager running the transaction of every chunk
+     * @param counterCache       the CounterCache adjusted for the deleted products
+     * @param viewCache          the ViewCache invalidated for the deleted products and their subscribers
+     * @param nameIndex          the NameIndex the deleted products are removed from
+     * @param leaderboard        the Leaderboard the deleted products are removed from
+     * @param shopProperties     the ShopProperties holding the chunk size
+     */
+    @Autowired
+    public BulkDeleter(ProductRepository productRepository, PlatformTransactionManager transactionManager, CounterCache counterCache,
+                       ViewCache viewCache, NameIndex nameIndex, Leaderboard leaderboard, ShopProperties shopProperties) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counterCache = counterCache;
+        this.viewCache = viewCache;
+        this.nameIndex = nameIndex;
+        this.leaderboard = leaderboard;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Deletes every product with the given sale status that was created before the given date.
+     * The chunks committed before a failure stay deleted.
+     *
+     * @param underSale     whether the products to delete are under sale
+     * @param createdBefore the date before which the products to delete were created
+     * @return the number of deleted products
+     */
+    public long deleteProducts(boolean underSale, LocalDateTime createdBefore) {
+        int chunkSize = this.shopProperties.getBulk().getDeleteChunkSize();
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = this.transactionTemplate.execute(status -> this.deleteProductsChunk(underSale, createdBefore, chunkSize));
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        return deleted;
+    }
+
+    private int deleteProductsChunk(boolean underSale, LocalDateTime createdBefore, int chunkSize) {
+        List<Long> ids = this.productRepository.findIdsByUnderSaleAndCreationDateBefore(underSale, createdBefore, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> subscriberIds = this.productRepository.findSubscriberIdsOfProducts(ids);
+        if (!subscriberIds.isEmpty()) {
+            this.productRepository.incrementSubscriberVersionsOfProducts(ids);
+            this.productRepository.deleteLinksOfProducts(ids);
+        }
+        this.productRepository.deleteAllByIdInBatch(ids);
+
+        this.nameIndex.removeProducts(ids);
+        this.leaderboard.removeProducts(ids);
+        this.viewCache.invalidateProducts(ids);
+        this.viewCache.invalidateSubscribers(subscriberIds);
+        this.counterCache.add(Counter.PRODUCTS, -ids.size());
+        if (underSale) {
+            this.counterCache.add(Counter.ACTIVE_PRODUCTS, -ids.size());
+        }
+        if (!subscriberIds.isEmpty()) {
+            this.counterCache.invalidate(Counter.SOLD_PRODUCTS);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.shop.service.bulk;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserts large numbers of new entities within the current transaction.
+ * The entities are persisted in chunks of {@code shop.bulk.batch-size}. After every chunk the persistence context
+ * is flushed, which sends the inserts as JDBC batches, and cleared, so memory does not grow with the size of the import.
+ */
+@Component
+public class BulkInserter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new BulkInserter with the given ShopProperties.
+     *
+     * @param shopProperties the ShopProperties holding the batch size
+     */
+    @Autowired
+    public BulkInserter(ShopProperties shopProperties) {
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Persists the given new entities and assigns their ids.
+     * The entities are detached once this method returns.
+     *
+     * @param entities the entities to insert
+     * @param <T>      the type of the entities
+     * @return the ids of the inserted entities, in the order of the entities
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends BaseEntity> List<Long> insertAll(List<T> entities) {
+        int batchSize = this.shopProperties.getBulk().getBatchSize();
+        for (int i = 0; i < entities.size(); i++) {
+            this.entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        return entities.stream().map(BaseEntity::getId).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.shop.service.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache for the entity counters served by the /total endpoints.
+ * Every counter is loaded lazily with a COUNT query and afterwards kept up to date by the write paths,
+ * so repeated reads never touch the tables.
+ * Changes are applied only after the surrounding transaction commits. Outside a transaction the counter is
+ * invalidated instead, so that the next read reloads it from the database.
+ */
+@Component
+public class CounterCache {
+
+    /**
+     * The counters held by the cache.
+     */
+    public enum Counter {
+        PRODUCTS,
+        SOLD_PRODUCTS,
+        ACTIVE_PRODUCTS,
+        SUBSCRIBERS
+    }
+
+    private static final long UNKNOWN = -1L;
+
+    private final Map<Counter, Slot> slots = new EnumMap<>(Counter.class);
+
+    public CounterCache() {
+        for (Counter counter : Counter.values()) {
+            this.slots.put(counter, new Slot());
+        }
+    }
+
+    /**
+     * Returns the value of a counter, loading it with the given loader if it is not cached yet.
+     * A loaded value is only cached if no write touched the counter while it was being loaded.
+     *
+     * @param counter the counter to read
+     * @param loader  the database query that computes the counter
+     * @return the current value of the counter
+     */
+    public long get(Counter counter, LongSupplier loader) {
+        Slot slot = this.slots.get(counter);
+        long cached = slot.value.get();
+        if (cached != UNKNOWN) {
+            return cached;
+        }
+
+        long writesBefore = slot.writes.get();
+        long loaded = loader.getAsLong();
+        if (slot.writes.get() == writesBefore) {
+            slot.value.compareAndSet(UNKNOWN, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Increments a counter by one once the current transaction commits.
+     *
+     * @param counter the counter to increment
+     */
+    public void increment(Counter counter) {
+        this.add(counter, 1);
+    }
+
+    /**
+     * Decrements a counter by one once the current transaction commits.
+     *
+     * @param counter the counter to decrement
+     */
+    public void decrement(Counter counter) {
+        this.add(counter, -1);
+    }
+
+    /**
+     * Adds the given delta to a counter once the current transaction commits.
+     *
+     * @param counter the counter to change
+     * @param delta   the value to add
+     */
+    public void add(Counter counter, long delta) {
+        Slot slot = this.slots.get(counter);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slot.invalidate();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                slot.writes.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                slot.writes.incrementAndGet();
+                slot.value.updateAndGet(value -> value == UNKNOWN ? UNKNOWN : value + delta);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached value of a counter once the current transaction completes,
+     * so that the next read reloads it from the database.
+     *
+     * @param counter the counter to invalidate
+     */
+    public void invalidate(Counter counter) {
+        Slot slot = this.slots.get(counter);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slot.invalidate();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                slot.invalidate();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                slot.invalidate();
+            }
+        });
+    }
+
+    /**
+     * Holds the cached value of a counter together with the number of writes applied to it.
+     */
+    private static final class Slot {
+
+        private final AtomicLong value = new AtomicLong(UNKNOWN);
+
+        private final AtomicLong writes = new AtomicLong();
+
+        private void invalidate() {
+            this.writes.incrementAndGet();
+            this.value.set(UNKNOWN);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.shop.service.cache;
+
+import com.example.shop.config.SecondLevelCacheConfig;
+import com.example.shop.model.view.CacheStatsViewModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the hit ratio of every region of the Hibernate second-level cache.
+ * The hits, misses and puts are counted by the statistics of Hibernate, while the size and evictions come from the
+ * Caffeine cache behind the region. Nothing is reported while the second-level cache is disabled.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private static final String NAME_PREFIX = "second-level:";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<CacheManager> entityCacheManager;
+
+    /**
+     * Constructs a new SecondLevelCacheStats with the given EntityManagerFactory and CacheManager.
+     *
+     * @param entityManagerFactory the EntityManagerFactory holding the statistics of Hibernate
+     * @param entityCacheManager   the provider of the CacheManager holding the regions, empty when the cache is disabled
+     */
+    @Autowired
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory, ObjectProvider<CacheManager> entityCacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityCacheManager = entityCacheManager;
+    }
+
+    /**
+     * Returns the statistics of every region of the second-level cache.
+     *
+     * @return the statistics of the regions, or an empty list if the second-level cache is disabled
+     */
+    public List<CacheStatsViewModel> stats() {
+        CacheManager cacheManager = this.entityCacheManager.getIfAvailable();
+        if (cacheManager == null) {
+            return List.of();
+        }
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheStatsViewModel> stats = new ArrayList<>();
+        List<String> regions = new ArrayList<>(SecondLevelCacheConfig.BOUNDED_REGIONS);
+        regions.add(SecondLevelCacheConfig.UPDATE_TIMESTAMPS_REGION);
+        for (String region : regions) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            long hits = regionStatistics == null ? 0 : regionStatistics.getHitCount();
+            long misses = regionStatistics == null ? 0 : regionStatistics.getMissCount();
+            com.github.benmanes.caffeine.cache.Cache<?, ?> cache = cacheManager.getCache(region)
+                    .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            stats.add(new CacheStatsViewModel(NAME_PREFIX + region, cache.estimatedSize(), hits, misses,
+                    hits + misses == 0 ? 1.0 : (double) hits / (hits + misses), cache.stats().evictionCount()));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.shop.service.cache;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.view.CacheStatsViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory read-through cache of the product and subscriber view models served by the single-entity lookups.
+ * Both caches are bounded by size and by time to live. Caffeine evicts by frequency, so a small set of hot
+ * entries stays cached while rarely read entries are dropped first.
+ * A view model embeds the entities linked to it, so the write paths invalidate the entries of both sides of a link.
+ * Invalidated entries are dropped right away and again when the surrounding transaction completes, and a loaded
+ * value is only cached if no invalidation happened while it was being loaded, so a read racing with a commit
+ * never leaves a stale entry behind.
+ */
+@Component
+public class ViewCache {
+
+    private final Region<ProductViewModel> products;
+
+    private final Region<SubscriberViewModel> subscribers;
+
+    /**
+     * Constructs a new ViewCache sized with the given ShopProperties.
+     *
+     * @param shopProperties the ShopProperties holding the size and time to live of the caches
+     */
+    @Autowired
+    public ViewCache(ShopProperties shopProperties) {
+        ShopProperties.Cache cache = shopProperties.getCache();
+        this.products = new Region<>("products", cache);
+        this.subscribers = new Region<>("subscribers", cache);
+    }
+
+    /**
+     * Returns the view model of a product, loading it with the given loader if it is not cached yet.
+     *
+     * @param id     the id of the product
+     * @param loader the query that loads and maps the product, returning null if it does not exist
+     * @return the view model of the product, or null if it does not exist
+     */
+    public ProductViewModel getProduct(Long id, Supplier<ProductViewModel> loader) {
+        return this.products.get(id, loader);
+    }
+
+    /**
+     * Returns the view model of a subscriber, loading it with the given loader if it is not cached yet.
+     *
+     * @param id     the id of the subscriber
+     * @param loader the query that loads and maps the subscriber, returning null if it does not exist
+     * @return the view model of the subscriber, or null if it does not exist
+     */
+    public SubscriberViewModel getSubscriber(Long id, Supplier<SubscriberViewModel> loader) {
+        return this.subscribers.get(id, loader);
+    }
+
+    /**
+     * Drops the cached view models of the given products once the current transaction completes.
+     *
+     * @param ids the ids of the products
+     */
+    public void invalidateProducts(Collection<Long> ids) {
+        this.products.invalidate(ids);
+    }
+
+    /**
+     * Drops the cached view models of the given subscribers once the current transaction completes.
+     *
+     * @param ids the ids of the subscribers
+     */
+    public void invalidateSubscribers(Collection<Long> ids) {
+        this.subscribers.invalidate(ids);
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the caches.
+     *
+     * @return the statistics of the product and subscriber caches
+     */
+    public List<CacheStatsViewModel> stats() {
+        return List.of(this.products.stats(), this.subscribers.stats());
+    }
+
+    /**
+     * A bounded cache of view models keyed by entity id, together with the number of invalidations applied to it.
+     *
+     * @param <V> the type of the cached view models
+     */
+    private static final class Region<V> {
+
+        private final String name;
+
+        private final Cache<Long, V> cache;
+
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private Region(String name, ShopProperties.Cache settings) {
+            this.name = name;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaxSize())
+                    .expireAfterWrite(settings.getTimeToLive())
+                    .recordStats()
+                    .build();
+        }
+
+        private V get(Long id, Supplier<V> loader) {
+            V cached = this.cache.getIfPresent(id);
+            if (cached != null) {
+                return cached;
+            }
+
+            long invalidationsBefore = this.invalidations.get();
+            V loaded = loader.get();
+            if (loaded != null && this.invalidations.get() == invalidationsBefore) {
+                this.cache.put(id, loaded);
+                if (this.invalidations.get() != invalidationsBefore) {
+                    this.cache.asMap().remove(id, loaded);
+                }
+            }
+            return loaded;
+        }
+
+        private void invalidate(Collection<Long> ids) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Long> keys = List.copyOf(ids);
+            this.evict(keys);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    evict(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(keys);
+                }
+            });
+        }
+
+        private void evict(List<Long> keys) {
+            this.invalidations.incrementAndGet();
+            this.cache.invalidateAll(keys);
+        }
+
+        private CacheStatsViewModel stats() {
+            CacheStats stats = this.cache.stats();
+            return new CacheStatsViewModel(this.name, this.cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                    stats.hitRate(), stats.evictionCount());
+        }
+    }
+}
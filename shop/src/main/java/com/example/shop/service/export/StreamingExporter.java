@@ -0,0 +1,119 @@
+package com.example.shop.service.export;
+
+import com.example.shop.config.ShopProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of projection rows to an output stream as newline-delimited JSON or CSV with constant memory.
+ * The rows of one product or subscriber are adjacent, so they are grouped as they are read and every group is assembled
+ * into its view model and written as soon as the first row of the next group arrives. Only the rows of one group are
+ * held in memory, no entity or collection is loaded, and the output is flushed to the client after every chunk of
+ * {@code shop.export.chunk-size} view models.
+ */
+@Component
+public class StreamingExporter {
+
+    private final ObjectMapper objectMapper;
+
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new StreamingExporter with the given ObjectMapper and ShopProperties.
+     *
+     * @param objectMapper   the ObjectMapper writing the JSON lines
+     * @param shopProperties the ShopProperties holding the chunk size
+     */
+    @Autowired
+    public StreamingExporter(ObjectMapper objectMapper, ShopProperties shopProperties) {
+        this.objectMapper = objectMapper;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Groups the adjacent rows of the given stream by id and writes the view model of every group in the given format.
+     * It must be called within the transaction that reads the stream.
+     *
+     * @param rows         the rows to export, the rows of one id being adjacent
+     * @param id           the function reading the id of the product or subscriber of a row
+     * @param assembler    the function assembling the view model of the rows of one id
+     * @param format       the format of the export
+     * @param columns      the columns of a CSV export
+     * @param outputStream the output stream to write to
+     * @param <R>          the type of the rows
+     * @param <V>          the type of the view models
+     * @return the number of exported view models
+     * @throws IOException if the output stream cannot be written
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public <R, V> long export(Stream<R> rows, Function<R, Long> id, Function<List<R>, V> assembler, ExportFormat format,
+                              List<CsvColumn<V>> columns, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        SequenceWriter jsonWriter = null;
+        if (format == ExportFormat.NDJSON) {
+            jsonWriter = this.objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        } else {
+            CsvRows.write(writer, columns.stream().map(CsvColumn::header).toList());
+        }
+
+        int chunkSize = this.shopProperties.getExport().getChunkSize();
+        long count = 0;
+        List<R> group = new ArrayList<>();
+        Iterator<R> iterator = rows.iterator();
+        while (iterator.hasNext() || !group.isEmpty()) {
+            R row = iterator.hasNext() ? iterator.next() : null;
+            if (row != null && (group.isEmpty() || id.apply(row).equals(id.apply(group.get(0))))) {
+                group.add(row);
+                continue;
+            }
+
+            V viewModel = assembler.apply(group);
+            if (jsonWriter != null) {
+                jsonWriter.write(viewModel);
+            } else {
+                CsvRows.write(writer, columns.stream().map(column -> column.value().apply(viewModel)).toList());
+            }
+            group = new ArrayList<>();
+            if (row != null) {
+                group.add(row);
+            }
+
+            count++;
+            if (count % chunkSize == 0) {
+                if (jsonWriter != null) {
+                    jsonWriter.flush();
+                }
+                writer.flush();
+            }
+        }
+
+        if (jsonWriter != null) {
+            jsonWriter.close();
+            if (count > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,610 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.mapper.RowAssembler;
+import com.example.shop.mapper.ShopMapper;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.DateBucketViewModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductRankViewModel;
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.CounterCache.Counter;
+import com.example.shop.service.bulk.BulkDeleter;
+import com.example.shop.service.bulk.BulkInserter;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.export.StreamingExporter;
+import com.example.shop.service.interfaces.ProductService;
+import com.example.shop.service.link.LinkBatcher;
+import com.example.shop.service.link.LinkPair;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import com.example.shop.service.paging.PageQuery;
+import com.example.shop.service.paging.ProductSortKey;
+import com.example.shop.service.popularity.Leaderboard;
+import com.example.shop.service.report.DateHistogram;
+import com.example.shop.service.report.TimeBucket;
+import com.example.shop.service.search.NameIndex;
+import com.example.shop.service.search.SearchQuery;
+import com.example.shop.service.versioning.VersionMismatchException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for managing products.
+ * This class provides methods for adding, retrieving, updating, and deleting products.
+ * It also provides methods for retrieving the total count of sold products, the total count of active products,
+ * all products ordered by popularity, and all products with a creation date within a given range.
+ * Every public method is timed by the {@code shop.service} timer, tagged with its class and method.
+ */
+@Service
+@Timed(value = "shop.service", histogram = true)
+public class ProductServiceImpl implements ProductService {
+
+    private static final String POPULARITY_SORT = "subscriberCount,desc";
+
+    private static final List<CsvColumn<ProductViewModel>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("id", ProductViewModel::getId),
+            new CsvColumn<>("name", ProductViewModel::getName),
+            new CsvColumn<>("creationDate", product -> product.getCreationDate() == null ? null : product.getCreationDate().toLocalDate()),
+            new CsvColumn<>("isUnderSale", ProductViewModel::isUnderSale),
+            new CsvColumn<>("subscribers", product -> product.getSubscribers().stream()
+                    .map(subscriber -> subscriber.getFirstName() + " " + subscriber.getLastName()).collect(Collectors.joining(";"))));
+
+    private final ProductRepository productRepository;
+    private final ShopMapper shopMapper;
+    private final CounterCache counterCache;
+    private final ViewCache viewCache;
+    private final BulkInserter bulkInserter;
+    private final BulkDeleter bulkDeleter;
+    private final StreamingExporter streamingExporter;
+    private final LinkBatcher linkBatcher;
+    private final DateHistogram dateHistogram;
+    private final NameIndex nameIndex;
+    private final Leaderboard leaderboard;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new ProductServiceImpl with the given ProductRepository, ShopMapper, CounterCache, ViewCache, BulkInserter, BulkDeleter, StreamingExporter, LinkBatcher, DateHistogram, NameIndex, Leaderboard and ShopProperties.
+     *
+     * @param productRepository the ProductRepository to use
+     * @param shopMapper        the ShopMapper to use
+     * @param counterCache      the CounterCache to use
+     * @param viewCache         the ViewCache to use
+     * @param bulkInserter      the BulkInserter to use
+     * @param bulkDeleter       the BulkDeleter to use
+     * @param streamingExporter the StreamingExporter to use
+     * @param linkBatcher       the LinkBatcher to use
+     * @param dateHistogram     the DateHistogram to use
+     * @param nameIndex         the NameIndex to use
+     * @param leaderboard       the Leaderboard to use
+     * @param shopProperties    the ShopProperties to use
+     */
+    @Autowired
+    public ProductServiceImpl(ProductRepository productRepository, ShopMapper shopMapper, CounterCache counterCache, ViewCache viewCache,
+                              BulkInserter bulkInserter, BulkDeleter bulkDeleter, StreamingExporter streamingExporter, LinkBatcher linkBatcher,
+                              DateHistogram dateHistogram, NameIndex nameIndex, Leaderboard leaderboard, ShopProperties shopProperties) {
+        this.productRepository = productRepository;
+        this.shopMapper = shopMapper;
+        this.counterCache = counterCache;
+        this.viewCache = viewCache;
+        this.bulkInserter = bulkInserter;
+        this.bulkDeleter = bulkDeleter;
+        this.streamingExporter = streamingExporter;
+        this.linkBatcher = linkBatcher;
+        this.dateHistogram = dateHistogram;
+        this.nameIndex = nameIndex;
+        this.leaderboard = leaderboard;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Adds a new product.
+     *
+     * @param productAddBindingModel the product data
+     * @return the created product
+     */
+    @Transactional
+    public ProductViewModel addProduct(ProductAddBindingModel productAddBindingModel) {
+        Product product = this.shopMapper.toProduct(productAddBindingModel);
+        product.setCreationDate(LocalDateTime.now());
+        product.setSubscribers(new ArrayList<>());
+
+        Product savedProduct = this.productRepository.save(product);
+
+        this.nameIndex.indexProducts(List.of(savedProduct));
+        this.leaderboard.putProducts(List.of(savedProduct));
+        this.counterCache.increment(Counter.PRODUCTS);
+        if (savedProduct.isUnderSale()) {
+            this.counterCache.increment(Counter.ACTIVE_PRODUCTS);
+        }
+        return this.shopMapper.toProductViewModel(savedProduct);
+    }
+
+    /**
+     * Adds many new products in one transaction.
+     * The products are inserted in JDBC batches; the binding models must have been validated before.
+     *
+     * @param productAddBindingModels the data of the products
+     * @return the index and the id of every created product, in the order of the binding models
+     */
+    @Transactional
+    public List<BulkItemViewModel> addProducts(List<ProductAddBindingModel> productAddBindingModels) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> products = new ArrayList<>(productAddBindingModels.size());
+        long underSale = 0;
+        for (ProductAddBindingModel productAddBindingModel : productAddBindingModels) {
+            Product product = this.shopMapper.toProduct(productAddBindingModel);
+            product.setCreationDate(now);
+            product.setSubscribers(new ArrayList<>());
+            products.add(product);
+            if (product.isUnderSale()) {
+                underSale++;
+            }
+        }
+
+        List<Long> ids = this.bulkInserter.insertAll(products);
+
+        this.nameIndex.indexProducts(products);
+        this.leaderboard.putProducts(products);
+        this.counterCache.add(Counter.PRODUCTS, ids.size());
+        this.counterCache.add(Counter.ACTIVE_PRODUCTS, underSale);
+        return IntStream.range(0, ids.size()).mapToObj(index -> new BulkItemViewModel(index, ids.get(index), null)).toList();
+    }
+
+    /**
+     * Retrieves a product by its id.
+     * The product is served from the view cache and loaded together with its subscribers on a miss,
+     * so a cached product costs no database round trip.
+     *
+     * @param id the id of the product to retrieve
+     * @return the retrieved product
+     */
+    public ProductViewModel getProduct(Long id) {
+        return this.viewCache.getProduct(id, () -> this.productRepository.findWithSubscribersById(id)
+                .map(this.shopMapper::toProductViewModel).orElse(null));
+    }
+
+    /**
+     * Retrieves the version of a product, without its subscribers.
+     * The product is read through the second-level cache, so a conditional request whose ETag still matches is answered
+     * without mapping or serializing the product.
+     *
+     * @param id the id of the product
+     * @return the version of the product, or null if the product does not exist
+     */
+    @Transactional(readOnly = true)
+    public Long getProductVersion(Long id) {
+        return this.productRepository.findById(id).map(Product::getVersion).orElse(null);
+    }
+
+    /**
+     * Retrieves the version of the collection of all products, which changes whenever a product is added, changed or deleted.
+     *
+     * @return the version of the collection of all products
+     */
+    @Transactional(readOnly = true)
+    public CollectionVersion getProductsVersion() {
+        return this.productRepository.findCollectionVersion();
+    }
+
+    /**
+     * Retrieves all products.
+     * The products and their subscribers are read as flat rows of a single query and grouped in memory,
+     * so no entity or collection is loaded.
+     *
+     * @return a list of all products
+     */
+    @Transactional(readOnly = true)
+    public List<ProductViewModel> getAllProducts() {
+        return RowAssembler.toProductViewModels(this.productRepository.findAllRows());
+    }
+
+    /**
+     * Exports all products, ordered by id, to the given output stream.
+     * The rows of the products and their subscribers are read by one query with a forward-only cursor and written one product
+     * at a time, so neither the memory used nor the number of statements depends on the number of products.
+     *
+     * @param format       the format of the export
+     * @param outputStream the output stream to write to
+     * @return the number of exported products
+     * @throws IOException if the output stream cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<ProductSubscriberRow> rows = this.productRepository.streamRowsOrderById()) {
+            return this.streamingExporter.export(rows, ProductSubscriberRow::getId, RowAssembler::toProductViewModel, format, CSV_COLUMNS, outputStream);
+        }
+    }
+
+    /**
+     * Retrieves all sold products.
+     *
+     * @return a list of all sold products
+     */
+    @Transactional(readOnly = true)
+    public List<ProductViewModel> getAllSoldProducts() {
+        return RowAssembler.toProductViewModels(this.productRepository.findRowsWithAtLeastOneSubscriber());
+    }
+
+    /**
+     * Retrieves all active products.
+     *
+     * @return a list of all active products
+     */
+    @Transactional(readOnly = true)
+    public List<ProductViewModel> getAllActiveProducts() {
+        return RowAssembler.toProductViewModels(this.productRepository.findRowsByIsUnderSaleTrue());
+    }
+
+    /**
+     * Retrieves all products ordered by popularity.
+     *
+     * @return a list of all products ordered by popularity
+     */
+    @Transactional(readOnly = true)
+    public List<ProductViewModel> getAllProductsByPopularity() {
+        return RowAssembler.toProductViewModels(this.productRepository.findRowsOrderBySubscribersDesc());
+    }
+
+    /**
+     * Retrieves all products with a creation date within a given range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return a list of products with a creation date within the given range
+     */
+    @Transactional(readOnly = true)
+    public List<ProductViewModel> getProductsByCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return RowAssembler.toProductViewModels(this.productRepository.findRowsByCreationDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Retrieves the total count of products.
+     *
+     * @return the total count of products
+     */
+    public long getProductsTotalCount() {
+        return this.counterCache.get(Counter.PRODUCTS, this.productRepository::count);
+    }
+
+    /**
+     * Retrieves the total count of sold products.
+     *
+     * @return the total count of products that have at least one subscriber
+     */
+    public long getSoldProductsTotalCount() {
+        return this.counterCache.get(Counter.SOLD_PRODUCTS, this.productRepository::countWithAtLeastOneSubscriber);
+    }
+
+    /**
+     * Retrieves the total count of active products.
+     *
+     * @return the total count of products that are under sale
+     */
+    public long getActiveProductsTotalCount() {
+        return this.counterCache.get(Counter.ACTIVE_PRODUCTS, this.productRepository::countByIsUnderSaleTrue);
+    }
+
+    /**
+     * Retrieves one page of all products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of products together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<ProductViewModel> getProductsPage(PageBindingModel pageBindingModel) {
+        PageQuery<ProductSortKey> query = this.productPageQuery(pageBindingModel);
+        return query.toPage(this.productRepository.findAllBy(query.position(), query.sort(), query.limit()), this.shopMapper::toProductViewModel);
+    }
+
+    /**
+     * Retrieves one page of the sold products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of sold products together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<ProductViewModel> getSoldProductsPage(PageBindingModel pageBindingModel) {
+        PageQuery<ProductSortKey> query = this.productPageQuery(pageBindingModel);
+        return query.toPage(this.productRepository.findBySubscriberCountGreaterThan(0, query.position(), query.sort(), query.limit()), this.shopMapper::toProductViewModel);
+    }
+
+    /**
+     * Retrieves one page of the active products.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of active products together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<ProductViewModel> getActiveProductsPage(PageBindingModel pageBindingModel) {
+        PageQuery<ProductSortKey> query = this.productPageQuery(pageBindingModel);
+        return query.toPage(this.productRepository.findByIsUnderSaleTrue(query.position(), query.sort(), query.limit()), this.shopMapper::toProductViewModel);
+    }
+
+    /**
+     * Retrieves one page of the products with a creation date within a given range.
+     *
+     * @param startDate        the start date of the range
+     * @param endDate          the end date of the range
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of products together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<ProductViewModel> getProductsByCreationDateBetweenPage(LocalDateTime startDate, LocalDateTime endDate, PageBindingModel pageBindingModel) {
+        PageQuery<ProductSortKey> query = this.productPageQuery(pageBindingModel);
+        return query.toPage(this.productRepository.findByCreationDateBetween(startDate, endDate, query.position(), query.sort(), query.limit()), this.shopMapper::toProductViewModel);
+    }
+
+    /**
+     * Counts the products created in every time bucket of a range.
+     *
+     * @param startDate the start of the range, inclusive
+     * @param endDate   the end of the range, exclusive
+     * @param bucket    the size of the buckets
+     * @return the start and the number of created products of every bucket of the range, in chronological order
+     */
+    @Transactional(readOnly = true)
+    public List<DateBucketViewModel> countProductsByCreationDate(LocalDateTime startDate, LocalDateTime endDate, TimeBucket bucket) {
+        return this.dateHistogram.count(Product.class, "creationDate", bucket, startDate, endDate);
+    }
+
+    /**
+     * Searches the product names.
+     * The products are found in the in-memory name index, so the product table is not read. Every term of the query must
+     * match a term of the name exactly, as its prefix or with a typo, and the products are ranked by how closely they match.
+     *
+     * @param query            the text to search for
+     * @param pageBindingModel the cursor and size of the page
+     * @return the page of products found together with the cursor of the next page
+     */
+    public PageViewModel<SearchHitViewModel> searchProducts(String query, PageBindingModel pageBindingModel) {
+        return this.nameIndex.searchProducts(SearchQuery.of(query, pageBindingModel, this.shopProperties.getPaging()));
+    }
+
+    /**
+     * Retrieves one page of the products ordered by popularity.
+     * The list is always ordered by the number of subscribers in descending order and then by id, so the sort parameter is ignored.
+     *
+     * @param pageBindingModel the cursor and size of the page
+     * @return the page of products together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<ProductViewModel> getProductsByPopularityPage(PageBindingModel pageBindingModel) {
+        PageQuery<ProductSortKey> query = this.productPageQuery(new PageBindingModel(pageBindingModel.getCursor(), pageBindingModel.getSize(), POPULARITY_SORT));
+        if (query.getSortKey() != ProductSortKey.POPULARITY) {
+            throw new InvalidPageRequestException("Invalid cursor.");
+        }
+        return query.toPage(this.productRepository.findAllBy(query.position(), query.sort(), query.limit()), this.shopMapper::toProductViewModel);
+    }
+
+    /**
+     * Retrieves the most popular products, without their subscribers.
+     * The products are read from the in-memory popularity ranking, so the database is not queried.
+     *
+     * @param count the number of products to retrieve, capped to the maximum page size
+     * @return a list of the most popular products ordered by the number of subscribers in descending order
+     */
+    public List<ProductPopularityViewModel> getTopProductsByPopularity(int count) {
+        if (count < 1) {
+            throw new InvalidPageRequestException("The number of products must be at least 1.");
+        }
+        int limit = Math.min(count, this.shopProperties.getPaging().getMaxSize());
+        return this.leaderboard.top(limit);
+    }
+
+    /**
+     * Retrieves the rank of a product by popularity, starting at 1 for the product with the most subscribers.
+     * The rank is read from the in-memory popularity ranking, so the database is not queried.
+     *
+     * @param id the id of the product
+     * @return the rank of the product, or null if the product does not exist
+     */
+    public ProductRankViewModel getProductRank(Long id) {
+        return this.leaderboard.rank(id);
+    }
+
+    /**
+     * Repairs the subscriber count of every product whose stored count has drifted from the subscriber_product join table.
+     *
+     * @return the number of repaired products
+     */
+    @Transactional
+    public int reconcileSubscriberCounts() {
+        int repaired = this.productRepository.reconcileSubscriberCounts();
+        if (repaired > 0) {
+            this.counterCache.invalidate(Counter.SOLD_PRODUCTS);
+        }
+        return repaired;
+    }
+
+    /**
+     * Adds many subscribers to a product at once.
+     *
+     * @param productId     the id of the product
+     * @param subscriberIds the ids of the subscribers to add
+     * @return the outcome for every distinct subscriber, or null if the product does not exist
+     */
+    public List<SubscriptionResultViewModel> addSubscribersToProduct(Long productId, List<Long> subscriberIds) {
+        if (!this.productRepository.existsById(productId)) {
+            return null;
+        }
+        return this.linkBatcher.link(subscriberIds.stream().map(subscriberId -> new LinkPair(subscriberId, productId)).toList());
+    }
+
+    /**
+     * Removes many subscribers from a product at once.
+     *
+     * @param productId     the id of the product
+     * @param subscriberIds the ids of the subscribers to remove
+     * @return the outcome for every distinct subscriber, or null if the product does not exist
+     */
+    public List<SubscriptionResultViewModel> removeSubscribersFromProduct(Long productId, List<Long> subscriberIds) {
+        if (!this.productRepository.existsById(productId)) {
+            return null;
+        }
+        return this.linkBatcher.unlink(subscriberIds.stream().map(subscriberId -> new LinkPair(subscriberId, productId)).toList());
+    }
+
+    /**
+     * Updates a product by its id.
+     *
+     * @param id                        the id of the product to update
+     * @param productUpdateBindingModel the new product data
+     * @return the updated product
+     */
+    @Transactional
+    public ProductViewModel updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel) {
+        return this.updateProduct(id, productUpdateBindingModel, null);
+    }
+
+    /**
+     * Updates a product by its id if it still has the expected version.
+     * The product is flushed before it is mapped, so the returned product carries its new version. When its name or sale
+     * status changed, the versions of its subscribers, which embed the product, are incremented as well.
+     *
+     * @param id                        the id of the product to update
+     * @param productUpdateBindingModel the new product data
+     * @param expectedVersion           the version the product must still have, or null to update any version
+     * @return the updated product, or null if the product does not exist
+     * @throws VersionMismatchException if the product no longer has the expected version
+     */
+    @Transactional
+    public ProductViewModel updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel, Long expectedVersion) {
+        Product existingProduct = this.checkIfProductExists(id);
+        if (existingProduct != null) {
+            Long version = existingProduct.getVersion();
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new VersionMismatchException(String.format("Product %d has version %d, not %d.", id, version, expectedVersion), version);
+            }
+            boolean wasUnderSale = existingProduct.isUnderSale();
+            existingProduct.setName(productUpdateBindingModel.getName());
+            existingProduct.setUnderSale(productUpdateBindingModel.getUnderSale());
+
+            Product updatedProduct = this.productRepository.saveAndFlush(existingProduct);
+            List<Long> subscriberIds = subscriberIds(updatedProduct);
+            if (!subscriberIds.isEmpty() && !Objects.equals(version, updatedProduct.getVersion())) {
+                this.productRepository.incrementSubscriberVersionsOfProducts(List.of(id));
+            }
+
+            this.nameIndex.indexProducts(List.of(updatedProduct));
+            this.leaderboard.putProducts(List.of(updatedProduct));
+            this.viewCache.invalidateProducts(List.of(id));
+            this.viewCache.invalidateSubscribers(subscriberIds);
+            if (wasUnderSale != updatedProduct.isUnderSale()) {
+                this.counterCache.add(Counter.ACTIVE_PRODUCTS, updatedProduct.isUnderSale() ? 1 : -1);
+            }
+            return this.shopMapper.toProductViewModel(updatedProduct);
+        }
+        return null;
+    }
+
+    /**
+     * Deletes a product by its id.
+     * The deleted product and the ids of its subscribers are read as flat rows of one projection query, so neither its
+     * subscribers collection nor the product lists of its subscribers are loaded. The versions of its subscribers are
+     * incremented and the subscriber_product join table rows of the product removed with a single statement each.
+     *
+     * @param id the id of the product to delete
+     * @return the deleted product
+     */
+    @Transactional
+    public ProductViewModel deleteProduct(Long id) {
+        Product product = this.checkIfProductExists(id);
+        List<ProductSubscriberRow> rows = product == null ? List.of() : this.productRepository.findRowsById(id);
+
+        if (!rows.isEmpty()) {
+            ProductViewModel productViewModel = RowAssembler.toProductViewModels(rows).get(0);
+            List<Long> subscriberIds = rows.stream().map(ProductSubscriberRow::getSubscriberId).filter(Objects::nonNull).toList();
+            if (!subscriberIds.isEmpty()) {
+                this.productRepository.incrementSubscriberVersionsOfProducts(List.of(id));
+                this.productRepository.deleteLinksOfProducts(List.of(id));
+            }
+            this.productRepository.deleteById(id);
+
+            this.nameIndex.removeProducts(List.of(id));
+            this.leaderboard.removeProducts(List.of(id));
+            this.viewCache.invalidateProducts(List.of(id));
+            this.viewCache.invalidateSubscribers(subscriberIds);
+            this.counterCache.decrement(Counter.PRODUCTS);
+            if (product.isUnderSale()) {
+                this.counterCache.decrement(Counter.ACTIVE_PRODUCTS);
+            }
+            if (!subscriberIds.isEmpty()) {
+                this.counterCache.decrement(Counter.SOLD_PRODUCTS);
+            }
+            return productViewModel;
+        }
+        return null;
+    }
+
+    /**
+     * Deletes every product with the given sale status that was created before the given date.
+     * The products are deleted in chunks without being loaded, each chunk in its own transaction.
+     *
+     * @param underSale     whether the products to delete are under sale
+     * @param createdBefore the date before which the products to delete were created
+     * @return the number of deleted products
+     */
+    public long deleteProducts(boolean underSale, LocalDateTime createdBefore) {
+        return this.bulkDeleter.deleteProducts(underSale, createdBefore);
+    }
+
+    /**
+     * Builds the page query of a product list from the paging parameters of the request.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page query
+     */
+    private PageQuery<ProductSortKey> productPageQuery(PageBindingModel pageBindingModel) {
+        return PageQuery.of(pageBindingModel, ProductSortKey.class, ProductSortKey.ID, this.shopProperties.getPaging());
+    }
+
+    /**
+     * Collects the ids of the subscribers of a product, whose cached view models embed the product.
+     *
+     * @param product the product
+     * @return the ids of its subscribers
+     */
+    private static List<Long> subscriberIds(Product product) {
+        if (product.getSubscribers() == null) {
+            return List.of();
+        }
+        return product.getSubscribers().stream().map(Subscriber::getId).toList();
+    }
+
+    /**
+     * Checks if a product exists by its id.
+     *
+     * @param id the id of the product to check
+     * @return the product if it exists, null otherwise
+     */
+    private Product checkIfProductExists(Long id) {
+        return this.productRepository.findById(id).orElse(null);
+    }
+
+}
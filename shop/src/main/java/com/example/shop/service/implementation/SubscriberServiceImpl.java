@@ -0,0 +1,562 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.controler.ControllerUtils;
+import com.example.shop.mapper.RowAssembler;
+import com.example.shop.mapper.ShopMapper;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.DateBucketViewModel;
+import com.example.shop.model.view.LinkRequestState;
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.CounterCache.Counter;
+import com.example.shop.service.bulk.BulkInserter;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.export.CsvColumn;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.export.StreamingExporter;
+import com.example.shop.service.interfaces.SubscriberService;
+import com.example.shop.service.link.LinkBatcher;
+import com.example.shop.service.link.LinkPair;
+import com.example.shop.service.link.LinkQueue;
+import com.example.shop.service.link.LinkQueueFullException;
+import com.example.shop.service.paging.PageQuery;
+import com.example.shop.service.paging.SubscriberSortKey;
+import com.example.shop.service.report.DateHistogram;
+import com.example.shop.service.report.TimeBucket;
+import com.example.shop.service.popularity.Leaderboard;
+import com.example.shop.service.search.NameIndex;
+import com.example.shop.service.search.SearchQuery;
+import com.example.shop.service.versioning.VersionMismatchException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Service implementation for managing subscribers.
+ * This class provides methods for adding, retrieving, updating, and deleting subscribers.
+ * It also provides a method for adding a product to a subscriber.
+ * Every public method is timed by the {@code shop.service} timer, tagged with its class and method.
+ */
+@Service
+@Timed(value = "shop.service", histogram = true)
+public class SubscriberServiceImpl implements SubscriberService {
+
+    private static final List<CsvColumn<SubscriberViewModel>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("id", SubscriberViewModel::getId),
+            new CsvColumn<>("firstName", SubscriberViewModel::getFirstName),
+            new CsvColumn<>("lastName", SubscriberViewModel::getLastName),
+            new CsvColumn<>("joinedDate", subscriber -> subscriber.getJoinedDate() == null ? null : subscriber.getJoinedDate().toLocalDate()),
+            new CsvColumn<>("productIds", subscriber -> subscriber.getProducts().stream()
+                    .map(product -> String.valueOf(product.getId())).collect(Collectors.joining(";"))));
+
+    private final SubscriberRepository subscriberRepository;
+    private final ProductRepository productRepository;
+    private final ShopMapper shopMapper;
+    private final CounterCache counterCache;
+    private final ViewCache viewCache;
+    private final BulkInserter bulkInserter;
+    private final StreamingExporter streamingExporter;
+    private final LinkBatcher linkBatcher;
+    private final DateHistogram dateHistogram;
+    private final ObjectProvider<LinkQueue> linkQueue;
+    private final NameIndex nameIndex;
+    private final Leaderboard leaderboard;
+    private final ShopProperties shopProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new SubscriberServiceImpl with the given SubscriberRepository, ProductRepository, ShopMapper, CounterCache, ViewCache, BulkInserter, StreamingExporter, LinkBatcher, DateHistogram, LinkQueue, NameIndex, Leaderboard, ShopProperties and PlatformTransactionManager.
+     *
+     * @param subscriberRepository the SubscriberRepository to use
+     * @param productRepository    the ProductRepository to use
+     * @param shopMapper           the ShopMapper to use
+     * @param counterCache         the CounterCache to use
+     * @param viewCache            the ViewCache to use
+     * @param bulkInserter         the BulkInserter to use
+     * @param streamingExporter    the StreamingExporter to use
+     * @param linkBatcher          the LinkBatcher to use
+     * @param dateHistogram        the DateHistogram to use
+     * @param linkQueue            the provider of the LinkQueue, empty when the asynchronous link mode is disabled
+     * @param nameIndex            the NameIndex to use
+     * @param leaderboard          the Leaderboard to use
+     * @param shopProperties       the ShopProperties to use
+     * @param transactionManager   the PlatformTransactionManager running the transactions of the single links
+     */
+    @Autowired
+    public SubscriberServiceImpl(SubscriberRepository subscriberRepository, ProductRepository productRepository, ShopMapper shopMapper, CounterCache counterCache, ViewCache viewCache,
+                                 BulkInserter bulkInserter, StreamingExporter streamingExporter, LinkBatcher linkBatcher, DateHistogram dateHistogram,
+                                 ObjectProvider<LinkQueue> linkQueue, NameIndex nameIndex, Leaderboard leaderboard, ShopProperties shopProperties,
+                                 PlatformTransactionManager transactionManager) {
+        this.subscriberRepository = subscriberRepository;
+        this.productRepository = productRepository;
+        this.shopMapper = shopMapper;
+        this.counterCache = counterCache;
+        this.viewCache = viewCache;
+        this.bulkInserter = bulkInserter;
+        this.streamingExporter = streamingExporter;
+        this.linkBatcher = linkBatcher;
+        this.dateHistogram = dateHistogram;
+        this.linkQueue = linkQueue;
+        this.nameIndex = nameIndex;
+        this.leaderboard = leaderboard;
+        this.shopProperties = shopProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds a new subscriber.
+     *
+     * @param subscriberAddBindingModel the subscriber data
+     * @return the created subscriber
+     */
+    @Transactional
+    public SubscriberViewModel addSubscriber(SubscriberAddBindingModel subscriberAddBindingModel) {
+        Subscriber subscriber = this.shopMapper.toSubscriber(subscriberAddBindingModel);
+        subscriber.setJoinedDate(LocalDateTime.now());
+        subscriber.setProducts(new ArrayList<>());
+
+        Subscriber savedSubscriber = this.subscriberRepository.save(subscriber);
+        this.nameIndex.indexSubscribers(List.of(savedSubscriber));
+        this.counterCache.increment(Counter.SUBSCRIBERS);
+        return this.shopMapper.toSubscriberViewModel(savedSubscriber);
+    }
+
+    /**
+     * Adds many new subscribers in one transaction.
+     * The subscribers are inserted in JDBC batches; the binding models must have been validated before.
+     *
+     * @param subscriberAddBindingModels the data of the subscribers
+     * @return the index and the id of every created subscriber, in the order of the binding models
+     */
+    @Transactional
+    public List<BulkItemViewModel> addSubscribers(List<SubscriberAddBindingModel> subscriberAddBindingModels) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Subscriber> subscribers = new ArrayList<>(subscriberAddBindingModels.size());
+        for (SubscriberAddBindingModel subscriberAddBindingModel : subscriberAddBindingModels) {
+            Subscriber subscriber = this.shopMapper.toSubscriber(subscriberAddBindingModel);
+            subscriber.setJoinedDate(now);
+            subscriber.setProducts(new ArrayList<>());
+            subscribers.add(subscriber);
+        }
+
+        List<Long> ids = this.bulkInserter.insertAll(subscribers);
+
+        this.nameIndex.indexSubscribers(subscribers);
+        this.counterCache.add(Counter.SUBSCRIBERS, ids.size());
+        return IntStream.range(0, ids.size()).mapToObj(index -> new BulkItemViewModel(index, ids.get(index), null)).toList();
+    }
+
+    /**
+     * Retrieves a subscriber by its id.
+     * The subscriber is served from the view cache and loaded together with its products on a miss,
+     * so a cached subscriber costs no database round trip.
+     *
+     * @param id the id of the subscriber to retrieve
+     * @return the retrieved subscriber
+     */
+    public SubscriberViewModel getSubscriber(Long id) {
+        return this.viewCache.getSubscriber(id, () -> this.subscriberRepository.findWithProductsById(id)
+                .map(this.shopMapper::toSubscriberViewModel).orElse(null));
+    }
+
+    /**
+     * Retrieves the version of a subscriber, without its products.
+     * The subscriber is read through the second-level cache, so a conditional request whose ETag still matches is answered
+     * without mapping or serializing the subscriber.
+     *
+     * @param id the id of the subscriber
+     * @return the version of the subscriber, or null if the subscriber does not exist
+     */
+    @Transactional(readOnly = true)
+    public Long getSubscriberVersion(Long id) {
+        return this.subscriberRepository.findById(id).map(Subscriber::getVersion).orElse(null);
+    }
+
+    /**
+     * Retrieves the version of the collection of all subscribers, which changes whenever a subscriber is added, changed or deleted.
+     *
+     * @return the version of the collection of all subscribers
+     */
+    @Transactional(readOnly = true)
+    public CollectionVersion getSubscribersVersion() {
+        return this.subscriberRepository.findCollectionVersion();
+    }
+
+    /**
+     * Retrieves all subscribers.
+     * The subscribers and their products are read as flat rows of a single query and grouped in memory,
+     * so no entity or collection is loaded.
+     *
+     * @return a list of all subscribers
+     */
+    @Transactional(readOnly = true)
+    public List<SubscriberViewModel> getAllSubscribers() {
+        return RowAssembler.toSubscriberViewModels(this.subscriberRepository.findAllRows());
+    }
+
+    /**
+     * Exports all subscribers, ordered by id, to the given output stream.
+     * The rows of the subscribers and their products are read by one query with a forward-only cursor and written one subscriber
+     * at a time, so neither the memory used nor the number of statements depends on the number of subscribers.
+     *
+     * @param format       the format of the export
+     * @param outputStream the output stream to write to
+     * @return the number of exported subscribers
+     * @throws IOException if the output stream cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportSubscribers(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<SubscriberProductRow> rows = this.subscriberRepository.streamRowsOrderById()) {
+            return this.streamingExporter.export(rows, SubscriberProductRow::getId, RowAssembler::toSubscriberViewModel, format, CSV_COLUMNS, outputStream);
+        }
+    }
+
+    /**
+     * Retrieves one page of all subscribers.
+     *
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of subscribers together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<SubscriberViewModel> getSubscribersPage(PageBindingModel pageBindingModel) {
+        PageQuery<SubscriberSortKey> query = PageQuery.of(pageBindingModel, SubscriberSortKey.class, SubscriberSortKey.ID, this.shopProperties.getPaging());
+        return query.toPage(this.subscriberRepository.findAllBy(query.position(), query.sort(), query.limit()),
+                this.shopMapper::toSubscriberViewModel);
+    }
+
+    /**
+     * Retrieves one page of the subscribers with a joined date within a given range.
+     *
+     * @param startDate        the start date of the range
+     * @param endDate          the end date of the range
+     * @param pageBindingModel the cursor, size and sort of the page
+     * @return the page of subscribers together with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public PageViewModel<SubscriberViewModel> getSubscribersByJoinedDateBetweenPage(LocalDateTime startDate, LocalDateTime endDate, PageBindingModel pageBindingModel) {
+        PageQuery<SubscriberSortKey> query = PageQuery.of(pageBindingModel, SubscriberSortKey.class, SubscriberSortKey.ID, this.shopProperties.getPaging());
+        return query.toPage(this.subscriberRepository.findByJoinedDateBetween(startDate, endDate, query.position(), query.sort(), query.limit()),
+                this.shopMapper::toSubscriberViewModel);
+    }
+
+    /**
+     * Counts the subscribers who joined in every time bucket of a range.
+     *
+     * @param startDate the start of the range, inclusive
+     * @param endDate   the end of the range, exclusive
+     * @param bucket    the size of the buckets
+     * @return the start and the number of joined subscribers of every bucket of the range, in chronological order
+     */
+    @Transactional(readOnly = true)
+    public List<DateBucketViewModel> countSubscribersByJoinedDate(LocalDateTime startDate, LocalDateTime endDate, TimeBucket bucket) {
+        return this.dateHistogram.count(Subscriber.class, "joinedDate", bucket, startDate, endDate);
+    }
+
+    /**
+     * Searches the first and last names of the subscribers.
+     * The subscribers are found in the in-memory name index, so the subscriber table is not read. Every term of the query
+     * must match a term of the name exactly, as its prefix or with a typo, and the subscribers are ranked by how closely they match.
+     *
+     * @param query            the text to search for
+     * @param pageBindingModel the cursor and size of the page
+     * @return the page of subscribers found together with the cursor of the next page
+     */
+    public PageViewModel<SearchHitViewModel> searchSubscribers(String query, PageBindingModel pageBindingModel) {
+        return this.nameIndex.searchSubscribers(SearchQuery.of(query, pageBindingModel, this.shopProperties.getPaging()));
+    }
+
+    /**
+     * Retrieves the total count of subscribers.
+     *
+     * @return the total count of subscribers
+     */
+    public long getSubscribersTotalCount() {
+        return this.counterCache.get(Counter.SUBSCRIBERS, this.subscriberRepository::count);
+    }
+
+    /**
+     * Updates a subscriber by its id.
+     *
+     * @param id                           the id of the subscriber to update
+     * @param subscriberUpdateBindingModel the new subscriber data
+     * @return the updated subscriber
+     */
+    @Transactional
+    public SubscriberViewModel updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel) {
+        return this.updateSubscriber(id, subscriberUpdateBindingModel, null);
+    }
+
+    /**
+     * Updates a subscriber by its id if it still has the expected version.
+     * The subscriber is flushed before it is mapped, so the returned subscriber carries its new version. When its name
+     * changed, the versions of its products, which embed the subscriber, are incremented as well.
+     *
+     * @param id                           the id of the subscriber to update
+     * @param subscriberUpdateBindingModel the new subscriber data
+     * @param expectedVersion              the version the subscriber must still have, or null to update any version
+     * @return the updated subscriber, or null if the subscriber does not exist
+     * @throws VersionMismatchException if the subscriber no longer has the expected version
+     */
+    @Transactional
+    public SubscriberViewModel updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel, Long expectedVersion) {
+        Subscriber existingSubscriber = this.checkIfSubscriberExists(id);
+        if (existingSubscriber != null) {
+            Long version = existingSubscriber.getVersion();
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                throw new VersionMismatchException(String.format("Subscriber %d has version %d, not %d.", id, version, expectedVersion), version);
+            }
+            existingSubscriber.setFirstName(subscriberUpdateBindingModel.getFirstName());
+            existingSubscriber.setLastName(subscriberUpdateBindingModel.getLastName());
+            Subscriber updatedSubscriber = this.subscriberRepository.saveAndFlush(existingSubscriber);
+            List<Long> productIds = productIds(updatedSubscriber.getProducts());
+            if (!productIds.isEmpty() && !Objects.equals(version, updatedSubscriber.getVersion())) {
+                this.productRepository.incrementVersions(productIds);
+            }
+            this.nameIndex.indexSubscribers(List.of(updatedSubscriber));
+            this.viewCache.invalidateSubscribers(List.of(id));
+            this.viewCache.invalidateProducts(productIds);
+            return this.shopMapper.toSubscriberViewModel(updatedSubscriber);
+        }
+        return null;
+    }
+
+    /**
+     * Deletes a subscriber by its id.
+     * The deleted subscriber and the ids of its products are read as flat rows of one projection query, so its products
+     * collection is not loaded. The subscriber counts of its products are decremented and its subscriber_product join
+     * table rows removed with one statement each.
+     *
+     * @param id the id of the subscriber to delete
+     * @return the deleted subscriber
+     */
+    @Transactional
+    public SubscriberViewModel deleteSubscriber(Long id) {
+        Subscriber subscriber = this.checkIfSubscriberExists(id);
+        List<SubscriberProductRow> rows = subscriber == null ? List.of() : this.subscriberRepository.findRowsById(id);
+        if (!rows.isEmpty()) {
+            SubscriberViewModel subscriberViewModel = RowAssembler.toSubscriberViewModels(rows).get(0);
+            List<Long> productIds = rows.stream().map(SubscriberProductRow::getProductId).filter(Objects::nonNull).toList();
+            boolean hadProducts = !productIds.isEmpty();
+            if (hadProducts) {
+                this.productRepository.decrementSubscriberCountOfSubscriberProducts(id);
+                this.viewCache.invalidateProducts(productIds);
+                this.leaderboard.adjustCounts(productIds.stream().collect(Collectors.toMap(productId -> productId, productId -> -1)));
+            }
+            this.viewCache.invalidateSubscribers(List.of(id));
+            if (hadProducts) {
+                this.subscriberRepository.deleteLinksOfSubscriber(id);
+            }
+            this.subscriberRepository.deleteById(id);
+
+            this.nameIndex.removeSubscribers(List.of(id));
+            this.counterCache.decrement(Counter.SUBSCRIBERS);
+            if (hadProducts) {
+                this.counterCache.invalidate(Counter.SOLD_PRODUCTS);
+            }
+            return subscriberViewModel;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a product to a subscriber.
+     * The link is inserted with a single statement into the join table, guarded by its unique key,
+     * so neither the products of the subscriber nor the subscribers of the product are loaded.
+     * The versions of both are incremented, as their representations changed.
+     * A concurrent request linking the same pair can commit between the existence check and the insert, which then
+     * violates the unique key and rolls the transaction back. The link is then run once more in a new transaction,
+     * which sees the committed row and reports the pair as already linked.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return the outcome of the link together with a message describing it
+     */
+    public SubscriptionResultViewModel addProductToSubscriber(Long subscriberId, Long productId) {
+        try {
+            return this.transactionTemplate.execute(status -> this.linkProduct(subscriberId, productId));
+        } catch (DataIntegrityViolationException e) {
+            return this.transactionTemplate.execute(status -> this.linkProduct(subscriberId, productId));
+        }
+    }
+
+    /**
+     * Links a product to a subscriber in the current transaction.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return the outcome of the link together with a message describing it
+     */
+    private SubscriptionResultViewModel linkProduct(Long subscriberId, Long productId) {
+        Subscriber subscriber = this.checkIfSubscriberExists(subscriberId);
+        Product product = subscriber == null ? null : this.productRepository.findById(productId).orElse(null);
+        SubscriptionResultViewModel rejection = checkLink(subscriberId, subscriber, productId, product);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        if (this.subscriberRepository.insertLink(subscriberId, productId) == 0) {
+            return new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.ALREADY_LINKED,
+                    String.format("Product %s is already assigned to Subscriber %s %s.", product.getName(), subscriber.getFirstName(), subscriber.getLastName()));
+        }
+        this.productRepository.incrementSubscriberCount(productId);
+        this.subscriberRepository.incrementVersions(List.of(subscriberId));
+        this.leaderboard.adjustCounts(Map.of(productId, 1));
+
+        this.viewCache.invalidateSubscribers(List.of(subscriberId));
+        this.viewCache.invalidateProducts(List.of(productId));
+        if (product.getSubscriberCount() == 0) {
+            this.counterCache.invalidate(Counter.SOLD_PRODUCTS);
+        }
+        return new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.LINKED,
+                String.format("Product %s was added to Subscriber %s %s.", product.getName(), subscriber.getFirstName(), subscriber.getLastName()));
+    }
+
+    /**
+     * Queues the link of a product to a subscriber, to be written later by the asynchronous link queue together with
+     * other queued links. The subscriber and product are checked first, read through the second-level cache, so a link
+     * that cannot succeed is rejected at once. The queue checks them again when it writes the link.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product to add
+     * @return the queued link request holding its tracking id, or a rejected one holding the reason
+     * @throws LinkQueueFullException if the queue is full
+     * @throws IllegalStateException  if the asynchronous link mode is disabled
+     */
+    @Transactional(readOnly = true)
+    public LinkRequestViewModel submitProductToSubscriber(Long subscriberId, Long productId) {
+        LinkQueue queue = this.linkQueue.getIfAvailable();
+        if (queue == null) {
+            throw new IllegalStateException("The asynchronous link mode is disabled.");
+        }
+        Subscriber subscriber = this.checkIfSubscriberExists(subscriberId);
+        Product product = subscriber == null ? null : this.productRepository.findById(productId).orElse(null);
+        SubscriptionResultViewModel rejection = checkLink(subscriberId, subscriber, productId, product);
+        if (rejection != null) {
+            return new LinkRequestViewModel(null, subscriberId, productId, LinkRequestState.REJECTED, rejection);
+        }
+        return queue.submit(subscriberId, productId);
+    }
+
+    /**
+     * Retrieves the state of a link request queued by {@link #submitProductToSubscriber(Long, Long)}.
+     *
+     * @param trackingId the tracking id of the link request
+     * @return the link request with its outcome once written, or null if it is unknown, expired or the asynchronous link mode is disabled
+     */
+    public LinkRequestViewModel getLinkRequest(String trackingId) {
+        LinkQueue queue = this.linkQueue.getIfAvailable();
+        return queue == null ? null : queue.get(trackingId);
+    }
+
+    /**
+     * Adds many products to a subscriber at once.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productIds   the ids of the products to add
+     * @return the outcome for every distinct product, or null if the subscriber does not exist
+     */
+    public List<SubscriptionResultViewModel> addProductsToSubscriber(Long subscriberId, List<Long> productIds) {
+        if (!this.subscriberRepository.existsById(subscriberId)) {
+            return null;
+        }
+        return this.linkBatcher.link(productIds.stream().map(productId -> new LinkPair(subscriberId, productId)).toList());
+    }
+
+    /**
+     * Removes many products from a subscriber at once.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productIds   the ids of the products to remove
+     * @return the outcome for every distinct product, or null if the subscriber does not exist
+     */
+    public List<SubscriptionResultViewModel> removeProductsFromSubscriber(Long subscriberId, List<Long> productIds) {
+        if (!this.subscriberRepository.existsById(subscriberId)) {
+            return null;
+        }
+        return this.linkBatcher.unlink(productIds.stream().map(productId -> new LinkPair(subscriberId, productId)).toList());
+    }
+
+    /**
+     * Checks whether a product can be linked to a subscriber.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param subscriber   the subscriber, or null if it does not exist
+     * @param productId    the id of the product
+     * @param product      the product, or null if it does not exist or was not read
+     * @return the outcome explaining why the link is rejected, or null if it can be linked
+     */
+    private static SubscriptionResultViewModel checkLink(Long subscriberId, Subscriber subscriber, Long productId, Product product) {
+        if (subscriber == null) {
+            return new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.SUBSCRIBER_NOT_FOUND,
+                    String.format(ControllerUtils.SUBSCRIBER_NOT_FOUND, subscriberId));
+        }
+        if (product == null) {
+            return new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.PRODUCT_NOT_FOUND,
+                    String.format(ControllerUtils.PRODUCT_NOT_FOUND, productId));
+        }
+        if (!product.isUnderSale()) {
+            return new SubscriptionResultViewModel(subscriberId, productId, LinkStatus.PRODUCT_NOT_UNDER_SALE,
+                    String.format("Product %s is not under sale.", product.getName()));
+        }
+        return null;
+    }
+
+    /**
+     * Collects the ids of the given products, whose cached view models embed a subscriber.
+     *
+     * @param products the products of a subscriber
+     * @return the ids of the products
+     */
+    private static List<Long> productIds(List<Product> products) {
+        if (products == null) {
+            return List.of();
+        }
+        return products.stream().map(Product::getId).toList();
+    }
+
+    /**
+     * Checks if a subscriber exists by its id.
+     *
+     * @param id the id of the subscriber to check
+     * @return the subscriber if it exists, null otherwise
+     */
+    private Subscriber checkIfSubscriberExists(Long id) {
+        return this.subscriberRepository.findById(id).orElse(null);
+    }
+
+}
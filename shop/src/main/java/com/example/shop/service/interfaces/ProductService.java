@@ -0,0 +1,85 @@
+package com.example.shop.service.interfaces;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.DateBucketViewModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductRankViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.report.TimeBucket;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for managing products.
+ * This interface provides methods for adding, retrieving, updating, and deleting products.
+ */
+public interface ProductService {
+    ProductViewModel addProduct(ProductAddBindingModel productAddBindingModel);
+
+    List<BulkItemViewModel> addProducts(List<ProductAddBindingModel> productAddBindingModels);
+
+    ProductViewModel getProduct(Long id);
+
+    Long getProductVersion(Long id);
+
+    CollectionVersion getProductsVersion();
+
+    List<ProductViewModel> getAllProducts();
+
+    ProductViewModel updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel);
+
+    ProductViewModel updateProduct(Long id, ProductUpdateBindingModel productUpdateBindingModel, Long expectedVersion);
+
+    ProductViewModel deleteProduct(Long id);
+
+    long deleteProducts(boolean underSale, LocalDateTime createdBefore);
+
+    List<ProductViewModel> getAllSoldProducts();
+
+    List<ProductViewModel> getAllActiveProducts();
+
+    List<ProductViewModel> getProductsByCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    long getProductsTotalCount();
+
+    long getSoldProductsTotalCount();
+
+    long getActiveProductsTotalCount();
+
+    PageViewModel<ProductViewModel> getProductsPage(PageBindingModel pageBindingModel);
+
+    PageViewModel<ProductViewModel> getSoldProductsPage(PageBindingModel pageBindingModel);
+
+    PageViewModel<ProductViewModel> getActiveProductsPage(PageBindingModel pageBindingModel);
+
+    PageViewModel<ProductViewModel> getProductsByPopularityPage(PageBindingModel pageBindingModel);
+
+    PageViewModel<ProductViewModel> getProductsByCreationDateBetweenPage(LocalDateTime startDate, LocalDateTime endDate, PageBindingModel pageBindingModel);
+
+    List<ProductPopularityViewModel> getTopProductsByPopularity(int count);
+
+    ProductRankViewModel getProductRank(Long id);
+
+    List<DateBucketViewModel> countProductsByCreationDate(LocalDateTime startDate, LocalDateTime endDate, TimeBucket bucket);
+
+    PageViewModel<SearchHitViewModel> searchProducts(String query, PageBindingModel pageBindingModel);
+
+    int reconcileSubscriberCounts();
+
+    List<SubscriptionResultViewModel> addSubscribersToProduct(Long productId, List<Long> subscriberIds);
+
+    List<SubscriptionResultViewModel> removeSubscribersFromProduct(Long productId, List<Long> subscriberIds);
+
+    long exportProducts(ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,66 @@
+package com.example.shop.service.interfaces;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.CollectionVersion;
+import com.example.shop.model.view.DateBucketViewModel;
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.export.ExportFormat;
+import com.example.shop.service.report.TimeBucket;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for managing subscribers.
+ * This interface provides methods for adding, retrieving, updating, and deleting subscribers.
+ */
+public interface SubscriberService {
+    SubscriberViewModel addSubscriber(SubscriberAddBindingModel subscriberAddBindingModel);
+
+    List<BulkItemViewModel> addSubscribers(List<SubscriberAddBindingModel> subscriberAddBindingModels);
+
+    SubscriberViewModel getSubscriber(Long id);
+
+    Long getSubscriberVersion(Long id);
+
+    CollectionVersion getSubscribersVersion();
+
+    List<SubscriberViewModel> getAllSubscribers();
+
+    SubscriberViewModel updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel);
+
+    SubscriberViewModel updateSubscriber(Long id, SubscriberUpdateBindingModel subscriberUpdateBindingModel, Long expectedVersion);
+
+    SubscriberViewModel deleteSubscriber(Long id);
+
+    SubscriptionResultViewModel addProductToSubscriber(Long subscriberId, Long productId);
+
+    LinkRequestViewModel submitProductToSubscriber(Long subscriberId, Long productId);
+
+    LinkRequestViewModel getLinkRequest(String trackingId);
+
+    List<SubscriptionResultViewModel> addProductsToSubscriber(Long subscriberId, List<Long> productIds);
+
+    List<SubscriptionResultViewModel> removeProductsFromSubscriber(Long subscriberId, List<Long> productIds);
+
+    long getSubscribersTotalCount();
+
+    PageViewModel<SubscriberViewModel> getSubscribersPage(PageBindingModel pageBindingModel);
+
+    PageViewModel<SubscriberViewModel> getSubscribersByJoinedDateBetweenPage(LocalDateTime startDate, LocalDateTime endDate, PageBindingModel pageBindingModel);
+
+    List<DateBucketViewModel> countSubscribersByJoinedDate(LocalDateTime startDate, LocalDateTime endDate, TimeBucket bucket);
+
+    PageViewModel<SearchHitViewModel> searchSubscribers(String query, PageBindingModel pageBindingModel);
+
+    long exportSubscribers(ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,239 @@
+package com.example.shop.service.link;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.CounterCache.Counter;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.popularity.Leaderboard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Links and unlinks many subscribers and products at once, directly on the subscriber_product join table.
+ * The pairs are processed in chunks of {@code shop.link.chunk-size}, each in its own transaction. For every chunk the
+ * subscribers, the products and the existing links are read with one set-based query each, the join rows are inserted
+ * or deleted in one JDBC batch and the subscriber counts of the products are adjusted in another, so the number of
+ * statements does not grow with the number of pairs in the chunk. The versions of the linked or unlinked subscribers
+ * and products are incremented, as their representations changed.
+ * The join rows are written with plain JDBC, which Hibernate does not see, so the counts and versions are adjusted through
+ * Hibernate with the subscriber_product, subscriber and product tables declared as affected. Hibernate then invalidates
+ * the cached entities, their collections and the cached query results, with the same locking as its own bulk statements.
+ * Linking is idempotent: a pair that is already linked is reported and skipped. A pair linked by a concurrent request
+ * after the chunk read the existing links makes its insert violate the unique key of the join table, which rolls the
+ * whole chunk back. The chunk is then run again in a new transaction, up to {@value #MAX_ATTEMPTS} times, and the retry
+ * reads the committed link and reports the pair as already linked.
+ */
+@Component
+public class LinkBatcher {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String SELECT_SUBSCRIBERS = "SELECT id FROM subscriber WHERE id IN (:ids)";
+
+    private static final String SELECT_PRODUCTS = "SELECT id, is_under_sale FROM product WHERE id IN (:ids)";
+
+    private static final String SELECT_LINKS = "SELECT subscriber_id, product_id FROM subscriber_product "
+            + "WHERE subscriber_id IN (:subscriberIds) AND product_id IN (:productIds)";
+
+    private static final String INSERT_LINK = "INSERT INTO subscriber_product (subscriber_id, product_id) "
+            + "SELECT :subscriberId, :productId WHERE NOT EXISTS "
+            + "(SELECT 1 FROM subscriber_product WHERE subscriber_id = :subscriberId AND product_id = :productId)";
+
+    private static final String DELETE_LINK = "DELETE FROM subscriber_product WHERE subscriber_id = :subscriberId AND product_id = :productId";
+
+    private static final String ADD_SUBSCRIBER_COUNT = "UPDATE product SET subscriber_count = subscriber_count + :delta, version = version + 1 WHERE id IN (:ids)";
+
+    private static final String INCREMENT_SUBSCRIBER_VERSIONS = "UPDATE subscriber SET version = version + 1 WHERE id IN (:ids)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterCache counterCache;
+    private final ViewCache viewCache;
+    private final Leaderboard leaderboard;
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new LinkBatcher with the given NamedParameterJdbcTemplate, PlatformTransactionManager, CounterCache, ViewCache, Leaderboard and ShopProperties.
+     *
+     * @param jdbcTemplate       the NamedParameterJdbcTemplate running the statements
+     * @param transactionManager the PlatformTransactionManager running the transaction of every chunk
+     * @param counterCache       the CounterCache invalidated when products gain or lose subscribers
+     * @param viewCache          the ViewCache invalidated for the linked subscribers and products
+     * @param leaderboard        the Leaderboard adjusted for the products that gain or lose subscribers
+     * @param shopProperties     the ShopProperties holding the chunk size
+     */
+    @Autowired
+    public LinkBatcher(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, CounterCache counterCache,
+                       ViewCache viewCache, Leaderboard leaderboard, ShopProperties shopProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counterCache = counterCache;
+        this.viewCache = viewCache;
+        this.leaderboard = leaderboard;
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Links the given pairs of subscribers and products.
+     * Repeated pairs are processed once.
+     *
+     * @param pairs the pairs to link
+     * @return the outcome of every distinct pair, in the order of the pairs
+     */
+    public List<SubscriptionResultViewModel> link(List<LinkPair> pairs) {
+        return this.inChunks(pairs, true);
+    }
+
+    /**
+     * Unlinks the given pairs of subscribers and products.
+     * Repeated pairs are processed once.
+     *
+     * @param pairs the pairs to unlink
+     * @return the outcome of every distinct pair, in the order of the pairs
+     */
+    public List<SubscriptionResultViewModel> unlink(List<LinkPair> pairs) {
+        return this.inChunks(pairs, false);
+    }
+
+    private List<SubscriptionResultViewModel> inChunks(List<LinkPair> pairs, boolean link) {
+        List<LinkPair> distinctPairs = List.copyOf(new LinkedHashSet<>(pairs));
+        int chunkSize = this.shopProperties.getLink().getChunkSize();
+
+        List<SubscriptionResultViewModel> results = new ArrayList<>(distinctPairs.size());
+        for (int from = 0; from < distinctPairs.size(); from += chunkSize) {
+            List<LinkPair> chunk = distinctPairs.subList(from, Math.min(from + chunkSize, distinctPairs.size()));
+            results.addAll(this.writeChunk(chunk, link));
+        }
+        return results;
+    }
+
+    /**
+     * Processes a chunk in its own transaction, running it again when a concurrent change of the same pairs violates
+     * a constraint of the join table.
+     *
+     * @param chunk the pairs of the chunk
+     * @param link  true to link the pairs, false to unlink them
+     * @return the outcome of every pair of the chunk
+     * @throws DataIntegrityViolationException if the chunk still violates a constraint after {@value #MAX_ATTEMPTS} attempts
+     */
+    private List<SubscriptionResultViewModel> writeChunk(List<LinkPair> chunk, boolean link) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return this.transactionTemplate.execute(status -> this.processChunk(chunk, link));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<SubscriptionResultViewModel> processChunk(List<LinkPair> chunk, boolean link) {
+        Set<Long> subscriberIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (LinkPair pair : chunk) {
+            subscriberIds.add(pair.subscriberId());
+            productIds.add(pair.productId());
+        }
+
+        Set<Long> existingSubscribers = new HashSet<>(this.jdbcTemplate.queryForList(SELECT_SUBSCRIBERS, Map.of("ids", subscriberIds), Long.class));
+        Map<Long, Boolean> productsUnderSale = new HashMap<>();
+        this.jdbcTemplate.query(SELECT_PRODUCTS, Map.of("ids", productIds),
+                resultSet -> {
+                    productsUnderSale.put(resultSet.getLong("id"), resultSet.getBoolean("is_under_sale"));
+                });
+        Set<LinkPair> existingLinks = new HashSet<>();
+        this.jdbcTemplate.query(SELECT_LINKS, Map.of("subscriberIds", subscriberIds, "productIds", productIds),
+                resultSet -> {
+                    existingLinks.add(new LinkPair(resultSet.getLong("subscriber_id"), resultSet.getLong("product_id")));
+                });
+
+        SubscriptionResultViewModel[] results = new SubscriptionResultViewModel[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            LinkPair pair = chunk.get(i);
+            LinkStatus status;
+            if (!existingSubscribers.contains(pair.subscriberId())) {
+                status = LinkStatus.SUBSCRIBER_NOT_FOUND;
+            } else if (!productsUnderSale.containsKey(pair.productId())) {
+                status = LinkStatus.PRODUCT_NOT_FOUND;
+            } else if (link && !productsUnderSale.get(pair.productId())) {
+                status = LinkStatus.PRODUCT_NOT_UNDER_SALE;
+            } else if (link == existingLinks.contains(pair)) {
+                status = link ? LinkStatus.ALREADY_LINKED : LinkStatus.NOT_LINKED;
+            } else {
+                candidates.add(i);
+                continue;
+            }
+            results[i] = result(pair, status);
+        }
+
+        SqlParameterSource[] batch = candidates.stream()
+                .map(i -> new MapSqlParameterSource()
+                        .addValue("subscriberId", chunk.get(i).subscriberId())
+                        .addValue("productId", chunk.get(i).productId()))
+                .toArray(SqlParameterSource[]::new);
+        int[] updateCounts = batch.length == 0 ? new int[0] : this.jdbcTemplate.batchUpdate(link ? INSERT_LINK : DELETE_LINK, batch);
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        Set<Long> changedSubscribers = new HashSet<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            LinkPair pair = chunk.get(candidates.get(c));
+            if (updateCounts[c] == 0) {
+                results[candidates.get(c)] = result(pair, link ? LinkStatus.ALREADY_LINKED : LinkStatus.NOT_LINKED);
+                continue;
+            }
+            results[candidates.get(c)] = result(pair, link ? LinkStatus.LINKED : LinkStatus.UNLINKED);
+            deltas.merge(pair.productId(), link ? 1 : -1, Integer::sum);
+            changedSubscribers.add(pair.subscriberId());
+        }
+
+        if (!deltas.isEmpty()) {
+            Map<Integer, List<Long>> productsByDelta = new HashMap<>();
+            deltas.forEach((productId, delta) -> productsByDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(productId));
+            productsByDelta.forEach((delta, ids) -> this.nativeUpdate(ADD_SUBSCRIBER_COUNT, ids).setParameter("delta", delta).executeUpdate());
+            this.nativeUpdate(INCREMENT_SUBSCRIBER_VERSIONS, changedSubscribers).executeUpdate();
+            this.viewCache.invalidateSubscribers(changedSubscribers);
+            this.viewCache.invalidateProducts(deltas.keySet());
+            this.leaderboard.adjustCounts(deltas);
+            this.counterCache.invalidate(Counter.SOLD_PRODUCTS);
+        }
+        return List.of(results);
+    }
+
+    private NativeQuery<?> nativeUpdate(String sql, Collection<Long> ids) {
+        return this.entityManager.createNativeQuery(sql)
+                .setParameter("ids", ids)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("subscriber_product")
+                .addSynchronizedQuerySpace("subscriber")
+                .addSynchronizedQuerySpace("product");
+    }
+
+    private static SubscriptionResultViewModel result(LinkPair pair, LinkStatus status) {
+        return new SubscriptionResultViewModel(pair.subscriberId(), pair.productId(), status, null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.shop.service.link;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only journal of the links of the {@link LinkQueue}, kept in a local file.
+ * Every queued link is appended as a {@code Q} line and every written link as a {@code D} line, and both are flushed to
+ * the operating system before the call returns, so the journal survives a crash of the process but not of the machine.
+ * A link whose batch failed gets no {@code D} line, so it stays pending until it is written.
+ * When the queue is started, the links without a {@code D} line are queued again and the journal is rewritten with only
+ * them. Linking is idempotent, so a link written again after a crash changes nothing. Once no journaled link is pending,
+ * the file is truncated, so it does not grow with the number of links ever queued.
+ */
+class LinkJournal implements AutoCloseable {
+
+    private static final String QUEUED = "Q";
+    private static final String DONE = "D";
+    private static final int TRUNCATE_AFTER_LINES = 10_000;
+
+    private final Path path;
+    private BufferedWriter writer;
+    private int pending;
+    private int lines;
+
+    LinkJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads the links left pending by the previous run and opens the journal for appending, holding only them.
+     *
+     * @return the pending links, in the order they were queued
+     */
+    synchronized List<QueuedLink> recover() {
+        Map<String, QueuedLink> pendingLinks = new LinkedHashMap<>();
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            if (Files.exists(this.path)) {
+                Set<String> done = new HashSet<>();
+                for (String line : Files.readAllLines(this.path, StandardCharsets.UTF_8)) {
+                    String[] fields = line.split(" ");
+                    if (fields.length == 4 && QUEUED.equals(fields[0])) {
+                        pendingLinks.put(fields[1], new QueuedLink(fields[1],
+                                new LinkPair(Long.valueOf(fields[2]), Long.valueOf(fields[3])), System.nanoTime()));
+                    } else if (fields.length == 2 && DONE.equals(fields[0])) {
+                        done.add(fields[1]);
+                    }
+                }
+                pendingLinks.keySet().removeAll(done);
+            }
+            this.writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.pending = 0;
+            this.lines = 0;
+            for (QueuedLink link : pendingLinks.values()) {
+                this.appendQueued(link);
+            }
+            this.writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover the link journal " + this.path, e);
+        }
+        return new ArrayList<>(pendingLinks.values());
+    }
+
+    /**
+     * Journals a queued link.
+     *
+     * @param link the queued link
+     */
+    synchronized void queued(QueuedLink link) {
+        try {
+            this.appendQueued(link);
+            this.writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the link journal " + this.path, e);
+        }
+    }
+
+    /**
+     * Journals written links, and truncates the journal if no link is pending any more.
+     *
+     * @param links the written links
+     */
+    synchronized void done(Collection<QueuedLink> links) {
+        try {
+            for (QueuedLink link : links) {
+                this.writer.write(DONE + " " + link.trackingId());
+                this.writer.newLine();
+            }
+            this.writer.flush();
+            this.pending -= links.size();
+            this.lines += links.size();
+            if (this.pending <= 0 && this.lines >= TRUNCATE_AFTER_LINES) {
+                this.writer.close();
+                this.writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                this.pending = 0;
+                this.lines = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the link journal " + this.path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.writer != null) {
+            this.writer.close();
+        }
+    }
+
+    private void appendQueued(QueuedLink link) throws IOException {
+        LinkPair pair = link.pair();
+        this.writer.write(QUEUED + " " + link.trackingId() + " " + pair.subscriberId() + " " + pair.productId());
+        this.writer.newLine();
+        this.pending++;
+        this.lines++;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.shop.service.link;
+
+/**
+ * A link between a subscriber and a product, as stored in one row of the subscriber_product join table.
+ *
+ * @param subscriberId the id of the subscriber
+ * @param productId    the id of the product
+ */
+public record LinkPair(Long subscriberId, Long productId) {
+}
@@ -0,0 +1,303 @@
+package com.example.shop.service.link;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.view.LinkRequestState;
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory queue of the links submitted to the single link endpoint in its asynchronous mode.
+ * A background writer takes the queued links in batches of up to {@code shop.link.chunk-size}, waiting at most
+ * {@code shop.link.async.max-delay} for a batch to fill, and writes every batch with the {@link LinkBatcher} in one
+ * transaction, so a spike of links to a hot product costs one transaction per batch instead of one per link.
+ * The outcome of every link is kept under its tracking id for the status endpoint. A link submitted while the queue is
+ * full is rejected, and the queued links are journaled to a local file when {@code shop.link.async.journal} is set.
+ * The links of a failed batch are tried again after {@code shop.link.async.retry-delay}, doubled after every further
+ * failure, up to {@code shop.link.async.max-attempts} batches each, and then reported as failed, so a brief outage of
+ * the database does not use up all attempts at once. Only written links are marked as done in the journal, so a failed link is written after a restart.
+ * The queue is stopped after the web server, and the writer drains the links still queued before it stops.
+ * The depth of the queue, the latency and size of the batches, the time from queuing to writing and the rejected links
+ * are recorded as metrics.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shop.link.async", name = "enabled", havingValue = "true")
+public class LinkQueue implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final LinkBatcher linkBatcher;
+    private final BlockingQueue<QueuedLink> queue;
+    private final DelayQueue<QueuedLink> retries = new DelayQueue<>();
+    private final Cache<String, LinkRequestViewModel> requests;
+    private final LinkJournal journal;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayNanos;
+    private final long maxDelayNanos;
+    private final Timer flushTimer;
+    private final Timer waitTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Constructs a new LinkQueue with the given LinkBatcher, ShopProperties and MeterRegistry.
+     *
+     * @param linkBatcher    the LinkBatcher writing the batches
+     * @param shopProperties the ShopProperties holding the capacity, delays, attempts and journal of the queue and the batch size
+     * @param meterRegistry  the MeterRegistry holding the metrics of the queue
+     */
+    @Autowired
+    public LinkQueue(LinkBatcher linkBatcher, ShopProperties shopProperties, MeterRegistry meterRegistry) {
+        ShopProperties.Async async = shopProperties.getLink().getAsync();
+        this.linkBatcher = linkBatcher;
+        this.queue = new ArrayBlockingQueue<>(async.getCapacity());
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(async.getStatusMaxSize())
+                .expireAfterWrite(async.getStatusTimeToLive())
+                .build();
+        this.journal = async.getJournal() == null ? null : new LinkJournal(async.getJournal());
+        this.batchSize = shopProperties.getLink().getChunkSize();
+        this.maxAttempts = async.getMaxAttempts();
+        this.retryDelayNanos = async.getRetryDelay().toNanos();
+        this.maxDelayNanos = async.getMaxDelay().toNanos();
+
+        Gauge.builder("shop.link.queue.depth", this.queue, BlockingQueue::size)
+                .description("Links waiting in the asynchronous link queue")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("shop.link.queue.flush")
+                .description("Time taken to write one batch of queued links")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("shop.link.queue.wait")
+                .description("Time from queuing a link to writing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("shop.link.queue.batch.size")
+                .description("Links written in one batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("shop.link.queue.rejected")
+                .description("Links rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a link of a subscriber and a product.
+     *
+     * @param subscriberId the id of the subscriber
+     * @param productId    the id of the product
+     * @return the queued link request, holding its tracking id
+     * @throws LinkQueueFullException if the queue is full or stopped
+     */
+    public LinkRequestViewModel submit(Long subscriberId, Long productId) {
+        if (!this.running) {
+            this.rejected.increment();
+            throw new LinkQueueFullException("The link queue is not accepting links.");
+        }
+        QueuedLink link = new QueuedLink(UUID.randomUUID().toString(), new LinkPair(subscriberId, productId), System.nanoTime());
+        LinkRequestViewModel request = new LinkRequestViewModel(link.trackingId(), subscriberId, productId, LinkRequestState.QUEUED, null);
+        this.requests.put(link.trackingId(), request);
+        if (this.journal != null) {
+            this.journal.queued(link);
+        }
+        if (!this.queue.offer(link)) {
+            this.requests.invalidate(link.trackingId());
+            if (this.journal != null) {
+                this.journal.done(List.of(link));
+            }
+            this.rejected.increment();
+            throw new LinkQueueFullException("The link queue is full, retry later.");
+        }
+        return request;
+    }
+
+    /**
+     * Returns the state of a link request and, once it was written, its outcome.
+     *
+     * @param trackingId the tracking id of the link request
+     * @return the link request, or null if it is unknown or its outcome expired
+     */
+    public LinkRequestViewModel get(String trackingId) {
+        return this.requests.getIfPresent(trackingId);
+    }
+
+    /**
+     * Queues the links left pending in the journal and starts the writer.
+     */
+    @Override
+    public void start() {
+        if (this.journal != null) {
+            List<QueuedLink> recovered = this.journal.recover();
+            for (QueuedLink link : recovered) {
+                this.requests.put(link.trackingId(), new LinkRequestViewModel(link.trackingId(), link.pair().subscriberId(),
+                        link.pair().productId(), LinkRequestState.QUEUED, null));
+                if (!this.queue.offer(link)) {
+                    this.write(List.of(link));
+                }
+            }
+            if (!recovered.isEmpty()) {
+                log.info("Recovered {} queued links from the journal.", recovered.size());
+            }
+        }
+        this.running = true;
+        this.writer = Thread.ofPlatform().name("link-queue-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Stops accepting links and waits until the writer has written the links still queued.
+     * The links waiting for another attempt are still tried once it is due, so the wait is bounded by their backoff.
+     */
+    @Override
+    public void stop() {
+        this.running = false;
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.journal != null) {
+            try {
+                this.journal.close();
+            } catch (IOException e) {
+                log.warn("Cannot close the link journal.", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Starts the queue before the web server accepts requests and stops it after the server stopped taking them.
+     *
+     * @return the phase of the queue
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<QueuedLink> batch = new ArrayList<>(this.batchSize);
+        while (this.running || !this.queue.isEmpty() || !this.retries.isEmpty()) {
+            try {
+                this.retries.drainTo(batch, this.batchSize);
+                if (batch.isEmpty()) {
+                    QueuedLink first = this.queue.poll(this.pollNanos(), TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                long deadline = System.nanoTime() + this.maxDelayNanos;
+                this.queue.drainTo(batch, this.batchSize - batch.size());
+                while (batch.size() < this.batchSize && this.running) {
+                    QueuedLink next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.running = false;
+                for (QueuedLink link : this.retries) {
+                    this.complete(link, LinkRequestState.FAILED, null);
+                }
+                this.retries.clear();
+            }
+            if (!batch.isEmpty()) {
+                this.write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns how long the writer waits for a new link, which is never past the next due retry.
+     *
+     * @return the time to wait in nanoseconds
+     */
+    private long pollNanos() {
+        long pollNanos = TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS);
+        QueuedLink retry = this.retries.peek();
+        return retry == null ? pollNanos : Math.max(0, Math.min(pollNanos, retry.getDelay(TimeUnit.NANOSECONDS)));
+    }
+
+    /**
+     * Writes one batch of links and records the outcome of every link.
+     * Links of the same pair in one batch share its outcome. If the batch fails, its links wait for their next attempt
+     * or, once they failed {@code shop.link.async.max-attempts} times, are marked as failed. Only the written links are marked as
+     * done in the journal.
+     *
+     * @param batch the links to write
+     */
+    private void write(List<QueuedLink> batch) {
+        long start = System.nanoTime();
+        try {
+            List<SubscriptionResultViewModel> results = this.linkBatcher.link(batch.stream().map(QueuedLink::pair).toList());
+            Map<LinkPair, SubscriptionResultViewModel> resultsByPair = new HashMap<>(results.size());
+            for (SubscriptionResultViewModel result : results) {
+                resultsByPair.put(new LinkPair(result.getSubscriberId(), result.getProductId()), result);
+            }
+            if (this.journal != null) {
+                this.journal.done(batch);
+            }
+            for (QueuedLink link : batch) {
+                this.complete(link, LinkRequestState.DONE, resultsByPair.get(link.pair()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Cannot write a batch of {} queued links.", batch.size(), e);
+            int failed = 0;
+            for (QueuedLink link : batch) {
+                if (link.attempts() + 1 >= this.maxAttempts) {
+                    this.complete(link, LinkRequestState.FAILED, null);
+                    failed++;
+                } else {
+                    this.retries.add(link.failed(this.retryDelayNanos << link.attempts()));
+                }
+            }
+            if (failed > 0) {
+                log.warn("{} queued links failed {} times, they stay pending in the journal.", failed, this.maxAttempts);
+            }
+        } finally {
+            this.flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            this.batchSizes.record(batch.size());
+        }
+    }
+
+    private void complete(QueuedLink link, LinkRequestState state, SubscriptionResultViewModel result) {
+        LinkPair pair = link.pair();
+        this.requests.put(link.trackingId(), new LinkRequestViewModel(link.trackingId(), pair.subscriberId(), pair.productId(), state, result));
+        this.waitTimer.record(System.nanoTime() - link.enqueuedNanos(), TimeUnit.NANOSECONDS);
+    }
+}
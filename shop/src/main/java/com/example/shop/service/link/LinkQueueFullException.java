@@ -0,0 +1,11 @@
+package com.example.shop.service.link;
+
+/**
+ * Thrown when a link is submitted while the asynchronous link queue is full or not accepting links.
+ */
+public class LinkQueueFullException extends RuntimeException {
+
+    public LinkQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.shop.service.link;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A link waiting in the {@link LinkQueue} to be written.
+ * A link whose batch failed waits until its next attempt is due, so it is ordered by the time of that attempt.
+ *
+ * @param trackingId    the id under which the outcome of the link is reported
+ * @param pair          the subscriber and product to link
+ * @param enqueuedNanos the value of {@link System#nanoTime()} when the link was queued
+ * @param attempts      the number of batches of the link that failed so far
+ * @param dueNanos      the value of {@link System#nanoTime()} from which the link may be written
+ */
+record QueuedLink(String trackingId, LinkPair pair, long enqueuedNanos, int attempts, long dueNanos) implements Delayed {
+
+    /**
+     * Creates a link that was not tried yet and may be written at once.
+     *
+     * @param trackingId    the id under which the outcome of the link is reported
+     * @param pair          the subscriber and product to link
+     * @param enqueuedNanos the value of {@link System#nanoTime()} when the link was queued
+     */
+    QueuedLink(String trackingId, LinkPair pair, long enqueuedNanos) {
+        this(trackingId, pair, enqueuedNanos, 0, enqueuedNanos);
+    }
+
+    /**
+     * Returns this link after one more failed attempt to write it.
+     *
+     * @param delayNanos the time to wait before the next attempt
+     * @return the link to queue again
+     */
+    QueuedLink failed(long delayNanos) {
+        return new QueuedLink(this.trackingId, this.pair, this.enqueuedNanos, this.attempts + 1, System.nanoTime() + delayNanos);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(this.dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.shop.service.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class for encoding and decoding the opaque cursors of the paginated list endpoints.
+ * A cursor holds the sort of the list and the keyset values of the last item of the previous page.
+ * It is serialized as URL-safe Base64 so clients can pass it back unchanged as a query parameter.
+ */
+public final class CursorCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String INVALID_CURSOR = "Invalid cursor.";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes a cursor.
+     *
+     * @param sort      the name of the sort the list is ordered by
+     * @param direction the direction of the sort
+     * @param keys      the keyset values of the last item of the page, by property
+     * @return the opaque cursor
+     */
+    public static String encode(String sort, Sort.Direction direction, Map<String, ?> keys) {
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach((property, value) -> values.put(property, String.valueOf(value)));
+
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(new Cursor(sort, direction, values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cursor could not be encoded.", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param token the opaque cursor sent by the client
+     * @return the decoded cursor
+     * @throws InvalidPageRequestException if the cursor is malformed
+     */
+    public static Cursor decode(String token) {
+        Cursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            cursor = OBJECT_MAPPER.readValue(json, Cursor.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidPageRequestException(INVALID_CURSOR, e);
+        }
+
+        if (cursor == null || cursor.sort() == null || cursor.direction() == null
+                || cursor.keys() == null || cursor.keys().isEmpty()) {
+            throw new InvalidPageRequestException(INVALID_CURSOR);
+        }
+        return cursor;
+    }
+
+    /**
+     * The decoded content of a cursor.
+     *
+     * @param sort      the name of the sort the list is ordered by
+     * @param direction the direction of the sort
+     * @param keys      the keyset values of the last item of the previous page, by property
+     */
+    public record Cursor(String sort, Sort.Direction direction, Map<String, String> keys) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.shop.service.paging;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.view.PageViewModel;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One page request of a keyset-paginated list.
+ * It translates the cursor, page size and sort parameter sent by the client into the scroll position,
+ * sort and limit understood by the repositories, and builds the cursor of the following page from the result.
+ * Lists are always ordered by the requested sort key and then by id, so every position in the list is unique.
+ *
+ * @param <K> the type of the sort keys of the list
+ */
+public final class PageQuery<K extends Enum<K> & SortKey> {
+
+    private static final String ID = "id";
+
+    private final K sortKey;
+    private final Sort.Direction direction;
+    private final Map<String, Object> keys;
+    private final int size;
+
+    private PageQuery(K sortKey, Sort.Direction direction, Map<String, Object> keys, int size) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.keys = keys;
+        this.size = size;
+    }
+
+    /**
+     * Builds a page query from the paging parameters of a request.
+     * When a cursor is given, the sort stored in the cursor is used and the sort parameter is ignored.
+     *
+     * @param pageBindingModel the paging parameters of the request
+     * @param type             the type of the sort keys of the list
+     * @param defaultKey       the sort key used when the request does not specify one
+     * @param paging           the paging settings
+     * @param <K>              the type of the sort keys of the list
+     * @return the page query
+     * @throws InvalidPageRequestException if the cursor, size or sort parameter is invalid
+     */
+    public static <K extends Enum<K> & SortKey> PageQuery<K> of(PageBindingModel pageBindingModel, Class<K> type, K defaultKey, ShopProperties.Paging paging) {
+        int size = resolveSize(pageBindingModel.getSize(), paging);
+
+        String cursor = pageBindingModel.getCursor();
+        if (cursor != null && !cursor.isBlank()) {
+            CursorCodec.Cursor decoded = CursorCodec.decode(cursor);
+            K sortKey = parseSortKey(decoded.sort(), type);
+            return new PageQuery<>(sortKey, decoded.direction(), parseKeys(sortKey, decoded.keys()), size);
+        }
+
+        String sort = pageBindingModel.getSort();
+        if (sort == null || sort.isBlank()) {
+            return new PageQuery<>(defaultKey, Sort.Direction.ASC, Map.of(), size);
+        }
+
+        String[] parts = sort.split(",");
+        if (parts.length > 2) {
+            throw new InvalidPageRequestException(String.format("Invalid sort %s.", sort));
+        }
+        K sortKey = parseSortKey(parts[0].trim(), type);
+        Sort.Direction direction = parts.length == 2 ? parseDirection(parts[1].trim()) : Sort.Direction.ASC;
+        return new PageQuery<>(sortKey, direction, Map.of(), size);
+    }
+
+    /**
+     * Returns the sort key the list is ordered by.
+     *
+     * @return the sort key of the list
+     */
+    public K getSortKey() {
+        return this.sortKey;
+    }
+
+    /**
+     * Returns the position to continue the list from.
+     *
+     * @return the keyset position after the last item of the previous page, or the start of the list
+     */
+    public ScrollPosition position() {
+        if (this.keys.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        return ScrollPosition.forward(this.keys);
+    }
+
+    /**
+     * Returns the sort of the list, with the id as tie-breaker.
+     *
+     * @return the sort of the list
+     */
+    public Sort sort() {
+        if (ID.equals(this.sortKey.getProperty())) {
+            return Sort.by(this.direction, ID);
+        }
+        return Sort.by(this.direction, this.sortKey.getProperty()).and(Sort.by(this.direction, ID));
+    }
+
+    /**
+     * Returns the maximum number of items of the page.
+     *
+     * @return the page size limit
+     */
+    public Limit limit() {
+        return Limit.of(this.size);
+    }
+
+    /**
+     * Maps a window of entities to a page view, including the cursor of the following page if there is one.
+     *
+     * @param window the window returned by the repository
+     * @param mapper the function that maps an entity to its view
+     * @param <T>    the type of the entities
+     * @param <V>    the type of the views
+     * @return the page view
+     */
+    public <T, V> PageViewModel<V> toPage(Window<T> window, Function<T, V> mapper) {
+        List<V> items = window.getContent().stream().map(mapper).toList();
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = CursorCodec.encode(this.sortKey.name(), this.direction, last.getKeys());
+        }
+        return new PageViewModel<>(items, items.size(), nextCursor);
+    }
+
+    /**
+     * Resolves the page size of a request, applying the default size and the size cap.
+     *
+     * @param pageBindingModel the paging parameters of the request
+     * @param paging           the paging settings
+     * @return the page size to use
+     * @throws InvalidPageRequestException if the requested size is smaller than 1
+     */
+    public static int pageSize(PageBindingModel pageBindingModel, ShopProperties.Paging paging) {
+        return resolveSize(pageBindingModel.getSize(), paging);
+    }
+
+    private static int resolveSize(Integer size, ShopProperties.Paging paging) {
+        if (size == null) {
+            return paging.getDefaultSize();
+        }
+        if (size < 1) {
+            throw new InvalidPageRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, paging.getMaxSize());
+    }
+
+    private static <K extends Enum<K> & SortKey> K parseSortKey(String sort, Class<K> type) {
+        for (K key : type.getEnumConstants()) {
+            if (key.name().equalsIgnoreCase(sort) || key.getProperty().equalsIgnoreCase(sort)) {
+                return key;
+            }
+        }
+        throw new InvalidPageRequestException(String.format("Unsupported sort %s.", sort));
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        try {
+            return Sort.Direction.fromString(direction.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException(String.format("Invalid sort direction %s.", direction), e);
+        }
+    }
+
+    private static Map<String, Object> parseKeys(SortKey sortKey, Map<String, String> values) {
+        if (values.get(sortKey.getProperty()) == null || values.get(ID) == null) {
+            throw new InvalidPageRequestException("Invalid cursor.");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(sortKey.getProperty(), sortKey.parse(values.get(sortKey.getProperty())));
+            keys.put(ID, Long.valueOf(values.get(ID)));
+        } catch (RuntimeException e) {
+            throw new InvalidPageRequestException("Invalid cursor.", e);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.shop.service.paging;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by the cursor-paginated product lists.
+ */
+public enum ProductSortKey implements SortKey {
+
+    ID("id", Long::valueOf),
+    NAME("name", value -> value),
+    CREATION_DATE("creationDate", LocalDateTime::parse),
+    POPULARITY("subscriberCount", Integer::valueOf);
+
+    private final String property;
+    private final Function<String, Object> parser;
+
+    ProductSortKey(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+
+    @Override
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.shop.service.paging;
+
+/**
+ * A property that a cursor-paginated list can be sorted by.
+ * Every sort key knows how to read back the values that were stored for it in a cursor.
+ */
+public interface SortKey {
+
+    /**
+     * Returns the entity property the list is sorted by.
+     *
+     * @return the name of the entity property
+     */
+    String getProperty();
+
+    /**
+     * Converts a value stored in a cursor back to the type of the entity property.
+     *
+     * @param value the value read from the cursor
+     * @return the typed value
+     */
+    Object parse(String value);
+}
@@ -0,0 +1,33 @@
+package com.example.shop.service.paging;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by the cursor-paginated subscriber lists.
+ */
+public enum SubscriberSortKey implements SortKey {
+
+    ID("id", Long::valueOf),
+    FIRST_NAME("firstName", value -> value),
+    LAST_NAME("lastName", value -> value),
+    JOINED_DATE("joinedDate", LocalDateTime::parse);
+
+    private final String property;
+    private final Function<String, Object> parser;
+
+    SubscriberSortKey(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+
+    @Override
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
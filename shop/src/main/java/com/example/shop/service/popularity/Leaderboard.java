@@ -0,0 +1,342 @@
+package com.example.shop.service.popularity;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductRankViewModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of the products by subscriber count, serving the top of the ranking and the rank of a product
+ * without reading the database.
+ * The ranking is loaded from the product table when the application starts, before the web server accepts requests,
+ * and is then adjusted by the services on every change of a subscriber count, addition, rename and deletion of a product.
+ * Changes are applied only after the surrounding transaction commits, so a rolled back write never shows up in the
+ * ranking. Outside a transaction they are applied right away. Reads share a lock and run concurrently; changes take it
+ * exclusively.
+ * Changes made outside the services, or a change committing while the ranking is compared to the table, can leave the
+ * ranking off. {@link #verify()} compares it to the table and repairs the products that differ in two consecutive reads.
+ */
+@Slf4j
+@Component
+public class Leaderboard implements SmartLifecycle {
+
+    private static final String SELECT_PRODUCTS = "SELECT id, name, subscriber_count FROM product";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter repaired;
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    private RankTree tree = new RankTree();
+
+    private volatile long verifiedAt = System.nanoTime();
+    private volatile boolean running;
+
+    /**
+     * Constructs a new Leaderboard with the given JdbcTemplate and MeterRegistry.
+     *
+     * @param jdbcTemplate  the JdbcTemplate reading the products when the ranking is loaded or verified
+     * @param meterRegistry the MeterRegistry holding the size, staleness and repairs of the ranking
+     */
+    @Autowired
+    public Leaderboard(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("shop.leaderboard.size", this, Leaderboard::size)
+                .description("Products in the popularity ranking")
+                .register(meterRegistry);
+        Gauge.builder("shop.leaderboard.staleness", this, Leaderboard::staleness)
+                .description("Time since the popularity ranking was last loaded or verified against the product table")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.repaired = Counter.builder("shop.leaderboard.repaired")
+                .description("Products of the popularity ranking repaired by a verification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the first products of the ranking, ordered by subscriber count in descending order and then by id.
+     *
+     * @param limit the largest number of products to return
+     * @return the most popular products
+     */
+    public List<ProductPopularityViewModel> top(int limit) {
+        this.lock.readLock().lock();
+        try {
+            List<ProductPopularityViewModel> top = new ArrayList<>();
+            for (Long id : this.tree.top(limit)) {
+                Entry entry = this.entries.get(id);
+                top.add(new ProductPopularityViewModel(id, entry.name(), entry.subscriberCount()));
+            }
+            return top;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the rank of a product, starting at 1 for the most popular product.
+     *
+     * @param id the id of the product
+     * @return the rank of the product, or null if it is not ranked
+     */
+    public ProductRankViewModel rank(Long id) {
+        this.lock.readLock().lock();
+        try {
+            Entry entry = this.entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            return new ProductRankViewModel(id, entry.name(), entry.subscriberCount(),
+                    this.tree.rank(id, entry.subscriberCount()), this.tree.size());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranked products.
+     *
+     * @return the number of ranked products
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.tree.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the given products once the current transaction commits. A product already ranked keeps its subscriber
+     * count and only takes the new name, as its count is changed through {@link #adjustCounts(Map)}.
+     *
+     * @param products the added or updated products
+     */
+    public void putProducts(Collection<Product> products) {
+        Map<Long, Entry> added = new LinkedHashMap<>();
+        for (Product product : products) {
+            added.put(product.getId(), new Entry(product.getName(), product.getSubscriberCount()));
+        }
+        this.afterCommit(() -> this.write(() -> added.forEach((id, entry) -> {
+            Entry current = this.entries.get(id);
+            this.set(id, current == null ? entry : new Entry(entry.name(), current.subscriberCount()));
+        })));
+    }
+
+    /**
+     * Removes the given products from the ranking once the current transaction commits.
+     *
+     * @param ids the ids of the deleted products
+     */
+    public void removeProducts(Collection<Long> ids) {
+        List<Long> copies = List.copyOf(ids);
+        this.afterCommit(() -> this.write(() -> copies.forEach(id -> this.set(id, null))));
+    }
+
+    /**
+     * Adds the given deltas to the subscriber counts of the products once the current transaction commits.
+     * Products that are not ranked are ignored.
+     *
+     * @param deltas the change of the subscriber count of every product
+     */
+    public void adjustCounts(Map<Long, Integer> deltas) {
+        Map<Long, Integer> copies = Map.copyOf(deltas);
+        this.afterCommit(() -> this.write(() -> copies.forEach((id, delta) -> {
+            Entry current = this.entries.get(id);
+            if (current != null && delta != 0) {
+                this.set(id, new Entry(current.name(), current.subscriberCount() + delta));
+            }
+        })));
+    }
+
+    /**
+     * Loads the ranking from the product table, replacing the current one.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, Entry> loaded = this.load();
+        RankTree rebuilt = new RankTree();
+        loaded.forEach((id, entry) -> rebuilt.insert(id, entry.subscriberCount()));
+
+        this.lock.writeLock().lock();
+        try {
+            this.entries = loaded;
+            this.tree = rebuilt;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        this.verifiedAt = System.nanoTime();
+        log.info("Ranked {} products by popularity in {} ms.", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Compares the ranking to the product table and repairs the products whose name or subscriber count differ.
+     * The products that differ are read a second time and only repaired if they still differ in the same way,
+     * so a change that committed during the first read but was not yet applied is not counted twice.
+     *
+     * @return the number of repaired products
+     */
+    public int verify() {
+        Set<Long> suspects = this.differences(this.load(), null);
+        if (suspects.isEmpty()) {
+            this.verifiedAt = System.nanoTime();
+            return 0;
+        }
+
+        Map<Long, Entry> reloaded = this.load();
+        Set<Long> confirmed = this.differences(reloaded, suspects);
+        this.write(() -> confirmed.forEach(id -> this.set(id, reloaded.get(id))));
+        this.repaired.increment(confirmed.size());
+        this.verifiedAt = System.nanoTime();
+        if (!confirmed.isEmpty()) {
+            log.warn("Repaired {} products of the popularity ranking.", confirmed.size());
+        }
+        return confirmed.size();
+    }
+
+    /**
+     * Loads the ranking before the web server accepts requests.
+     */
+    @Override
+    public void start() {
+        this.rebuild();
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Starts the ranking before the web server accepts requests.
+     *
+     * @return the phase of the ranking
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private double staleness() {
+        return (System.nanoTime() - this.verifiedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private Map<Long, Entry> load() {
+        Map<Long, Entry> loaded = new HashMap<>();
+        this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_PRODUCTS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            loaded.put(resultSet.getLong("id"), new Entry(resultSet.getString("name"), resultSet.getInt("subscriber_count")));
+        });
+        return loaded;
+    }
+
+    /**
+     * Finds the products whose ranked entry differs from the given table rows.
+     *
+     * @param rows       the rows of the product table
+     * @param candidates the products to compare, or null to compare all of them
+     * @return the ids of the products that differ
+     */
+    private Set<Long> differences(Map<Long, Entry> rows, Set<Long> candidates) {
+        this.lock.readLock().lock();
+        try {
+            Set<Long> ids = candidates;
+            if (ids == null) {
+                ids = new HashSet<>(rows.keySet());
+                ids.addAll(this.entries.keySet());
+            }
+            Set<Long> different = new HashSet<>();
+            for (Long id : ids) {
+                if (!Objects.equals(rows.get(id), this.entries.get(id))) {
+                    different.add(id);
+                }
+            }
+            return different;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable change) {
+        this.lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the entry of a product, moving it in the tree. Must be called with the write lock held.
+     *
+     * @param id    the id of the product
+     * @param entry the new entry, or null to remove the product
+     */
+    private void set(Long id, Entry entry) {
+        Entry current = entry == null ? this.entries.remove(id) : this.entries.put(id, entry);
+        if (current != null) {
+            this.tree.remove(id, current.subscriberCount());
+        }
+        if (entry != null) {
+            this.tree.insert(id, entry.subscriberCount());
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * The name and subscriber count of a ranked product.
+     *
+     * @param name            the name of the product
+     * @param subscriberCount the number of subscribers of the product
+     */
+    private record Entry(String name, int subscriberCount) {
+    }
+}
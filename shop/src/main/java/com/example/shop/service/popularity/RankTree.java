@@ -0,0 +1,204 @@
+package com.example.shop.service.popularity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic tree of products ranked by subscriber count in descending order and then by id in descending order,
+ * the order of the popularity queries of the repository.
+ * It is a treap: a binary search tree on the ranking whose nodes also form a heap on random priorities, which keeps its
+ * expected depth logarithmic whatever the order of the changes. Every node knows the size of its subtree, so the rank of
+ * a product and the start of the top of the ranking are found on one path from the root.
+ * It is not thread-safe.
+ */
+class RankTree {
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node root;
+
+    /**
+     * Returns the number of products in the tree.
+     *
+     * @return the number of products
+     */
+    int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Adds a product with the given subscriber count. The product must not be in the tree.
+     *
+     * @param id              the id of the product
+     * @param subscriberCount the subscriber count of the product
+     */
+    void insert(long id, int subscriberCount) {
+        this.root = this.insert(this.root, new Node(id, subscriberCount, this.random.nextInt()));
+    }
+
+    /**
+     * Removes a product with the given subscriber count, if it is in the tree.
+     *
+     * @param id              the id of the product
+     * @param subscriberCount the subscriber count the product was inserted with
+     */
+    void remove(long id, int subscriberCount) {
+        this.root = remove(this.root, id, subscriberCount);
+    }
+
+    /**
+     * Finds the position of a product in the ranking, starting at 1.
+     *
+     * @param id              the id of the product
+     * @param subscriberCount the subscriber count the product was inserted with
+     * @return the rank of the product, or 0 if it is not in the tree
+     */
+    int rank(long id, int subscriberCount) {
+        int before = 0;
+        Node node = this.root;
+        while (node != null) {
+            int comparison = compare(id, subscriberCount, node);
+            if (comparison == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the ids of the first products of the ranking.
+     *
+     * @param limit the largest number of products to return
+     * @return the ids of at most {@code limit} products, in the order of the ranking
+     */
+    List<Long> top(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, this.size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = this.root;
+        while (ids.size() < limit && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            ids.add(node.id);
+            node = node.right;
+        }
+        return ids;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.id, added.subscriberCount);
+            added.left = parts[0];
+            added.right = parts[1];
+            return update(added);
+        }
+        if (compare(added.id, added.subscriberCount, node) < 0) {
+            node.left = this.insert(node.left, added);
+        } else {
+            node.right = this.insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    private static Node remove(Node node, long id, int subscriberCount) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(id, subscriberCount, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, id, subscriberCount);
+        } else {
+            node.right = remove(node.right, id, subscriberCount);
+        }
+        return update(node);
+    }
+
+    /**
+     * Splits a subtree into the nodes ranked before the given product and the nodes ranked after it.
+     */
+    private static Node[] split(Node node, long id, int subscriberCount) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(id, subscriberCount, node) < 0) {
+            Node[] parts = split(node.left, id, subscriberCount);
+            node.left = parts[1];
+            parts[1] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.right, id, subscriberCount);
+        node.right = parts[0];
+        parts[0] = update(node);
+        return parts;
+    }
+
+    /**
+     * Merges two subtrees, all the nodes of the first being ranked before all the nodes of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return update(first);
+        }
+        second.left = merge(first, second.left);
+        return update(second);
+    }
+
+    /**
+     * Compares a product to a node of the tree.
+     *
+     * @return a negative number if the product is ranked before the node, zero if it is the node, a positive number otherwise
+     */
+    private static int compare(long id, int subscriberCount, Node node) {
+        int comparison = Integer.compare(node.subscriberCount, subscriberCount);
+        return comparison != 0 ? comparison : Long.compare(node.id, id);
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final long id;
+        private final int subscriberCount;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, int subscriberCount, int priority) {
+            this.id = id;
+            this.subscriberCount = subscriberCount;
+            this.priority = priority;
+        }
+    }
+}
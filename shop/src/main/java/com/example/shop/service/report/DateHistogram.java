@@ -0,0 +1,99 @@
+package com.example.shop.service.report;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.entity.BaseEntity;
+import com.example.shop.model.view.DateBucketViewModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the entities whose date falls in every time bucket of a range.
+ * The counting is done by the database with one grouped query over the truncated date, which the index on the date
+ * column serves as a range scan, so only one row per non-empty bucket is transferred. The buckets without any entity
+ * are then added with a count of zero, so the histogram has one entry per bucket of the range.
+ */
+@Component
+public class DateHistogram {
+
+    private static final String COUNT_PER_BUCKET = "SELECT truncate(e.%2$s, %3$s), COUNT(e) FROM %1$s e "
+            + "WHERE e.%2$s >= :start AND e.%2$s < :end GROUP BY truncate(e.%2$s, %3$s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ShopProperties shopProperties;
+
+    /**
+     * Constructs a new DateHistogram with the given ShopProperties.
+     *
+     * @param shopProperties the ShopProperties holding the largest number of buckets
+     */
+    @Autowired
+    public DateHistogram(ShopProperties shopProperties) {
+        this.shopProperties = shopProperties;
+    }
+
+    /**
+     * Counts the entities of a type whose date falls in every bucket of the given range.
+     * The start of the range is inclusive and its end exclusive; the first bucket is the one holding the start.
+     *
+     * @param entityClass the type of the entities to count
+     * @param dateField   the name of the date field of the entities
+     * @param bucket      the size of the buckets
+     * @param start       the start of the range
+     * @param end         the end of the range
+     * @return the start and the count of every bucket of the range, in chronological order
+     * @throws InvalidReportRequestException if the range is empty or spans more buckets than allowed
+     */
+    public List<DateBucketViewModel> count(Class<? extends BaseEntity> entityClass, String dateField, TimeBucket bucket,
+                                           LocalDateTime start, LocalDateTime end) {
+        List<LocalDateTime> buckets = this.buckets(bucket, start, end);
+
+        List<Object[]> rows = this.entityManager.createQuery(String.format(COUNT_PER_BUCKET, entityClass.getSimpleName(), dateField, bucket.getUnit()), Object[].class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getResultList();
+        Map<LocalDateTime, Long> counts = new HashMap<>(rows.size());
+        for (Object[] row : rows) {
+            counts.put((LocalDateTime) row[0], (Long) row[1]);
+        }
+
+        List<DateBucketViewModel> histogram = new ArrayList<>(buckets.size());
+        for (LocalDateTime bucketStart : buckets) {
+            histogram.add(new DateBucketViewModel(bucketStart, counts.getOrDefault(bucketStart, 0L)));
+        }
+        return histogram;
+    }
+
+    /**
+     * Lists the starts of the buckets of a range.
+     *
+     * @param bucket the size of the buckets
+     * @param start  the start of the range
+     * @param end    the end of the range
+     * @return the start of every bucket of the range
+     * @throws InvalidReportRequestException if the range is empty or spans more buckets than allowed
+     */
+    private List<LocalDateTime> buckets(TimeBucket bucket, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new InvalidReportRequestException("The start date must be before the end date.");
+        }
+        int maxBuckets = this.shopProperties.getReport().getMaxBuckets();
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime bucketStart = bucket.truncate(start); bucketStart.isBefore(end); bucketStart = bucket.next(bucketStart)) {
+            if (buckets.size() == maxBuckets) {
+                throw new InvalidReportRequestException(String.format("The range spans more than %d buckets of one %s.", maxBuckets, bucket.getUnit()));
+            }
+            buckets.add(bucketStart);
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.shop.service.report;
+
+/**
+ * Thrown when the range or bucket of a reporting request cannot be used.
+ */
+public class InvalidReportRequestException extends IllegalArgumentException {
+
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.shop.service.report;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Sizes of the time buckets the reporting endpoints count entities in.
+ */
+public enum TimeBucket {
+
+    HOUR("hour"),
+    DAY("day"),
+    MONTH("month");
+
+    private final String unit;
+
+    TimeBucket(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the unit of the bucket as understood by the {@code truncate} function of HQL.
+     *
+     * @return the unit of the bucket
+     */
+    public String getUnit() {
+        return this.unit;
+    }
+
+    /**
+     * Truncates a date to the start of its bucket.
+     *
+     * @param date the date to truncate
+     * @return the start of the bucket holding the date
+     */
+    public LocalDateTime truncate(LocalDateTime date) {
+        return switch (this) {
+            case HOUR -> date.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> date.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> date.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Returns the start of the bucket following the one that starts at the given date.
+     *
+     * @param start the start of a bucket
+     * @return the start of the next bucket
+     */
+    public LocalDateTime next(LocalDateTime start) {
+        return switch (this) {
+            case HOUR -> start.plusHours(1);
+            case DAY -> start.plusDays(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.shop.service.scheduling;
+
+import com.example.shop.service.implementation.ProductServiceImpl;
+import com.example.shop.service.popularity.Leaderboard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs the subscriber count of the products, then verifies the popularity ranking against them.
+ * The count is maintained by the services on every link and unlink, so this job only fixes drift
+ * left by changes made outside of them, such as manual edits of the subscriber_product table.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shop.popularity", name = "reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriberCountReconciler {
+
+    private final ProductServiceImpl productService;
+    private final Leaderboard leaderboard;
+
+    /**
+     * Constructs a new SubscriberCountReconciler with the given ProductService and Leaderboard.
+     *
+     * @param productService the ProductService to use
+     * @param leaderboard    the Leaderboard verified after the counts are repaired
+     */
+    @Autowired
+    public SubscriberCountReconciler(ProductServiceImpl productService, Leaderboard leaderboard) {
+        this.productService = productService;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Reconciles the subscriber counts with the subscriber_product table, verifies the popularity ranking against the
+     * reconciled counts and logs how many products were repaired.
+     */
+    @Scheduled(initialDelayString = "${shop.popularity.reconcile-interval:PT1H}", fixedDelayString = "${shop.popularity.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int repaired = this.productService.reconcileSubscriberCounts();
+        if (repaired > 0) {
+            log.warn("Repaired the subscriber count of {} products.", repaired);
+        } else {
+            log.debug("Subscriber counts are consistent.");
+        }
+        this.leaderboard.verify();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.shop.service.search;
+
+/**
+ * Thrown when the query of a search request cannot be used.
+ */
+public class InvalidSearchRequestException extends IllegalArgumentException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.shop.service.search;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory search indexes of the product names and of the first and last names of the subscribers.
+ * Both indexes are rebuilt from the tables when the application starts, before the web server accepts requests, and are
+ * kept up to date by the write paths of the services. Changes are applied only after the surrounding transaction commits,
+ * so a rolled back write never shows up in the search results. Outside a transaction they are applied right away.
+ * A rebuild loads a fresh index while the current one keeps serving searches, then replays the changes committed in the
+ * meantime on the fresh index and swaps it in.
+ */
+@Slf4j
+@Component
+public class NameIndex implements SmartLifecycle {
+
+    private static final String SELECT_PRODUCTS = "SELECT id, name FROM product";
+    private static final String SELECT_SUBSCRIBERS = "SELECT id, first_name, last_name FROM subscriber";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Region products = new Region();
+    private final Region subscribers = new Region();
+
+    private volatile boolean running;
+
+    /**
+     * Constructs a new NameIndex with the given JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate reading the names when the indexes are rebuilt
+     */
+    @Autowired
+    public NameIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs a search over the product names.
+     *
+     * @param query the search query
+     * @return the page of products found
+     */
+    public PageViewModel<SearchHitViewModel> searchProducts(SearchQuery query) {
+        return query.search(this.products.index);
+    }
+
+    /**
+     * Runs a search over the subscriber names.
+     *
+     * @param query the search query
+     * @return the page of subscribers found
+     */
+    public PageViewModel<SearchHitViewModel> searchSubscribers(SearchQuery query) {
+        return query.search(this.subscribers.index);
+    }
+
+    /**
+     * Indexes the names of the given products once the current transaction commits.
+     *
+     * @param products the added or updated products
+     */
+    public void indexProducts(Collection<Product> products) {
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Product product : products) {
+            names.put(product.getId(), product.getName());
+        }
+        this.afterCommit(this.products, index -> names.forEach(index::put));
+    }
+
+    /**
+     * Removes the given products from the index once the current transaction commits.
+     *
+     * @param ids the ids of the deleted products
+     */
+    public void removeProducts(Collection<Long> ids) {
+        List<Long> copies = List.copyOf(ids);
+        this.afterCommit(this.products, index -> index.removeAll(copies));
+    }
+
+    /**
+     * Indexes the names of the given subscribers once the current transaction commits.
+     *
+     * @param subscribers the added or updated subscribers
+     */
+    public void indexSubscribers(Collection<Subscriber> subscribers) {
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            names.put(subscriber.getId(), fullName(subscriber.getFirstName(), subscriber.getLastName()));
+        }
+        this.afterCommit(this.subscribers, index -> names.forEach(index::put));
+    }
+
+    /**
+     * Removes the given subscribers from the index once the current transaction commits.
+     *
+     * @param ids the ids of the deleted subscribers
+     */
+    public void removeSubscribers(Collection<Long> ids) {
+        List<Long> copies = List.copyOf(ids);
+        this.afterCommit(this.subscribers, index -> index.removeAll(copies));
+    }
+
+    /**
+     * Rebuilds both indexes from the product and subscriber tables.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        this.products.rebuild(index -> this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_PRODUCTS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            index.put(resultSet.getLong("id"), resultSet.getString("name"));
+        }));
+        this.subscribers.rebuild(index -> this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SUBSCRIBERS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            index.put(resultSet.getLong("id"), fullName(resultSet.getString("first_name"), resultSet.getString("last_name")));
+        }));
+        log.info("Indexed the names of {} products and {} subscribers in {} ms.", this.products.index.size(),
+                this.subscribers.index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Rebuilds the indexes before the web server accepts requests.
+     */
+    @Override
+    public void start() {
+        this.rebuild();
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Starts the indexes before the web server accepts requests.
+     *
+     * @return the phase of the indexes
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void afterCommit(Region region, Consumer<SearchIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            region.apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                region.apply(change);
+            }
+        });
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    /**
+     * Holds the index of one kind of entity together with the changes applied to it while it is being rebuilt.
+     */
+    private static final class Region {
+
+        private volatile SearchIndex index = new SearchIndex();
+
+        private List<Consumer<SearchIndex>> missed;
+
+        private synchronized void apply(Consumer<SearchIndex> change) {
+            change.accept(this.index);
+            if (this.missed != null) {
+                this.missed.add(change);
+            }
+        }
+
+        private void rebuild(Consumer<SearchIndex> loader) {
+            synchronized (this) {
+                this.missed = new ArrayList<>();
+            }
+            SearchIndex fresh = new SearchIndex();
+            try {
+                loader.accept(fresh);
+                synchronized (this) {
+                    this.missed.forEach(change -> change.accept(fresh));
+                    this.index = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    this.missed = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.shop.service.search;
+
+import java.util.Comparator;
+
+/**
+ * One entity found by a {@link SearchIndex}.
+ *
+ * @param id    the id of the entity
+ * @param text  the indexed text of the entity
+ * @param score how closely the text matches the query, higher first
+ */
+public record SearchHit(Long id, String text, int score) {
+
+    /**
+     * Ranks the hits by descending score and then by ascending id, so every hit has a unique position.
+     */
+    public static final Comparator<SearchHit> RANKING = Comparator.comparingInt(SearchHit::score).reversed()
+            .thenComparing(SearchHit::id);
+}
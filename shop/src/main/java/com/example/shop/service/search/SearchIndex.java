@@ -0,0 +1,294 @@
+package com.example.shop.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of short texts, such as names, keyed by the id of the entity they belong to.
+ * Texts are split into terms, folded to lower case and stripped of accents. Every term points to the ids whose text
+ * holds it, and the terms are kept sorted, so the terms starting with a prefix are one range of the index. Every term is
+ * also indexed by its bigrams, padded at both ends, so the terms within a small edit distance of a misspelled term are
+ * found without comparing it to the whole vocabulary: an edit changes at most two bigrams, so a term within edit
+ * distance d of a term with b distinct bigrams shares at least b - 2d of them, however often a bigram repeats.
+ * Every term of a query must match a term of the text, exactly, as a prefix or within the edit distance, and the hits
+ * are ranked by how closely their terms match. Reads share a lock and run concurrently; writes take it exclusively.
+ */
+public class SearchIndex {
+
+    static final int EXACT_SCORE = 4;
+    static final int PREFIX_SCORE = 3;
+    static final int FUZZY_SCORE = 2;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final char PAD = '\u0000';
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int LONG_TERM_LENGTH = 6;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> bigrams = new HashMap<>();
+
+    /**
+     * Indexes the text of an entity, replacing the text indexed for it before.
+     *
+     * @param id   the id of the entity
+     * @param text the text to index, or null to index no text
+     */
+    public void put(Long id, String text) {
+        Entry entry = new Entry(text == null ? "" : text, terms(text));
+        this.lock.writeLock().lock();
+        try {
+            this.removeEntry(id);
+            this.entries.put(id, entry);
+            for (String term : entry.terms()) {
+                this.postings.computeIfAbsent(term, key -> {
+                    for (String bigram : bigrams(key)) {
+                        this.bigrams.computeIfAbsent(bigram, ignored -> new HashSet<>()).add(key);
+                    }
+                    return new HashSet<>();
+                }).add(id);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the texts of the given entities from the index.
+     *
+     * @param ids the ids of the entities
+     */
+    public void removeAll(Collection<Long> ids) {
+        this.lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                this.removeEntry(id);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed entities.
+     *
+     * @return the number of indexed entities
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entities whose text matches every term of a query, ranked by score and then by id.
+     * A term matches a term of the text exactly, as its prefix, or, when it has at least three characters, within an
+     * edit distance of one, or of two when it has at least six. The score of a hit is the sum over the query terms of
+     * the best match each found in its text.
+     *
+     * @param query   the terms to search for
+     * @param after   the last hit of the previous page, or null for the first page
+     * @param limit   the largest number of hits to return
+     * @return the hits ranked after the given one, at most {@code limit} of them
+     */
+    public List<SearchHit> search(List<String> query, SearchHit after, int limit) {
+        this.lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String term : query) {
+                Map<Long, Integer> termScores = this.match(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Integer> both = new HashMap<>();
+                    for (Map.Entry<Long, Integer> score : scores.entrySet()) {
+                        Integer termScore = termScores.get(score.getKey());
+                        if (termScore != null) {
+                            both.put(score.getKey(), score.getValue() + termScore);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (scores == null) {
+                return List.of();
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Integer> score : scores.entrySet()) {
+                SearchHit hit = new SearchHit(score.getKey(), this.entries.get(score.getKey()).text(), score.getValue());
+                if (after == null || SearchHit.RANKING.compare(hit, after) > 0) {
+                    hits.add(hit);
+                }
+            }
+            hits.sort(SearchHit.RANKING);
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into its distinct terms, folded to lower case and stripped of accents.
+     *
+     * @param text the text to split
+     * @return the distinct terms of the text, in the order they appear
+     */
+    public static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private Map<Long, Integer> match(String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Set<Long> exact = this.postings.get(term);
+        if (exact != null) {
+            for (Long id : exact) {
+                scores.put(id, EXACT_SCORE);
+            }
+        }
+        for (Set<Long> ids : this.postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                scores.merge(id, PREFIX_SCORE, Math::max);
+            }
+        }
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = term.length() >= LONG_TERM_LENGTH ? 2 : 1;
+            for (Map.Entry<String, Integer> candidate : this.fuzzyCandidates(term, maxDistance).entrySet()) {
+                int distance = distance(term, candidate.getKey(), maxDistance);
+                if (distance > 0 && distance <= maxDistance) {
+                    for (Long id : this.postings.get(candidate.getKey())) {
+                        scores.merge(id, FUZZY_SCORE - distance + 1, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Finds the terms sharing enough bigrams with a term to be within the given edit distance of it.
+     *
+     * @param term        the term
+     * @param maxDistance the largest edit distance
+     * @return the candidate terms, with the number of distinct bigrams they share with the term
+     */
+    private Map<String, Integer> fuzzyCandidates(String term, int maxDistance) {
+        Map<String, Integer> shared = new HashMap<>();
+        Set<String> termBigrams = bigrams(term);
+        for (String bigram : termBigrams) {
+            Set<String> terms = this.bigrams.get(bigram);
+            if (terms != null) {
+                for (String candidate : terms) {
+                    if (Math.abs(candidate.length() - term.length()) <= maxDistance) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        int minShared = Math.max(1, termBigrams.size() - 2 * maxDistance);
+        shared.values().removeIf(count -> count < minShared);
+        return shared;
+    }
+
+    private void removeEntry(Long id) {
+        Entry entry = this.entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.terms()) {
+            Set<Long> ids = this.postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                this.postings.remove(term);
+                for (String bigram : bigrams(term)) {
+                    Set<String> terms = this.bigrams.get(bigram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        this.bigrams.remove(bigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> bigrams(String term) {
+        String padded = PAD + term + PAD;
+        Set<String> bigrams = new HashSet<>();
+        for (int i = 0; i < padded.length() - 1; i++) {
+            bigrams.add(padded.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    /**
+     * Computes the Levenshtein distance of two terms, giving up once it exceeds the given bound.
+     *
+     * @param a           the first term
+     * @param b           the second term
+     * @param maxDistance the largest distance of interest
+     * @return the distance, or {@code maxDistance + 1} if it is larger than {@code maxDistance}
+     */
+    static int distance(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    /**
+     * The indexed text of an entity and its terms.
+     *
+     * @param text  the text as it was indexed
+     * @param terms the distinct terms of the text
+     */
+    private record Entry(String text, List<String> terms) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.shop.service.search;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.service.paging.CursorCodec;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import com.example.shop.service.paging.PageQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page request of a search.
+ * It splits the query sent by the client into terms and translates its cursor and page size into the position and limit
+ * understood by a {@link SearchIndex}. Hits are always ranked by relevance, so the sort parameter is ignored, and the
+ * cursor of the following page holds the score and id of the last hit of the page.
+ */
+public final class SearchQuery {
+
+    /**
+     * Largest number of terms a query may have.
+     */
+    public static final int MAX_TERMS = 8;
+
+    private static final String RELEVANCE = "RELEVANCE";
+    private static final String SCORE = "score";
+    private static final String ID = "id";
+
+    private final List<String> terms;
+    private final SearchHit after;
+    private final int size;
+
+    private SearchQuery(List<String> terms, SearchHit after, int size) {
+        this.terms = terms;
+        this.after = after;
+        this.size = size;
+    }
+
+    /**
+     * Builds a search query from the query and paging parameters of a request.
+     *
+     * @param query            the text to search for
+     * @param pageBindingModel the cursor and size of the page
+     * @param paging           the paging settings
+     * @return the search query
+     * @throws InvalidSearchRequestException if the query has no term or too many terms
+     * @throws InvalidPageRequestException   if the cursor or size is invalid
+     */
+    public static SearchQuery of(String query, PageBindingModel pageBindingModel, ShopProperties.Paging paging) {
+        List<String> terms = SearchIndex.terms(query);
+        if (terms.isEmpty()) {
+            throw new InvalidSearchRequestException("The query must contain at least one letter or digit.");
+        }
+        if (terms.size() > MAX_TERMS) {
+            throw new InvalidSearchRequestException(String.format("The query may contain at most %d terms.", MAX_TERMS));
+        }
+        int size = PageQuery.pageSize(pageBindingModel, paging);
+
+        String cursor = pageBindingModel.getCursor();
+        if (cursor == null || cursor.isBlank()) {
+            return new SearchQuery(terms, null, size);
+        }
+        CursorCodec.Cursor decoded = CursorCodec.decode(cursor);
+        if (!RELEVANCE.equals(decoded.sort())) {
+            throw new InvalidPageRequestException("Invalid cursor.");
+        }
+        try {
+            SearchHit after = new SearchHit(Long.valueOf(decoded.keys().get(ID)), null, Integer.parseInt(decoded.keys().get(SCORE)));
+            return new SearchQuery(terms, after, size);
+        } catch (RuntimeException e) {
+            throw new InvalidPageRequestException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Runs the query against an index and builds the page of its hits, including the cursor of the following page if
+     * there is one.
+     *
+     * @param index the index to search
+     * @return the page of hits
+     */
+    public PageViewModel<SearchHitViewModel> search(SearchIndex index) {
+        List<SearchHit> hits = index.search(this.terms, this.after, this.size + 1);
+        List<SearchHit> page = hits.size() > this.size ? hits.subList(0, this.size) : hits;
+        List<SearchHitViewModel> items = page.stream().map(hit -> new SearchHitViewModel(hit.id(), hit.text(), hit.score())).toList();
+
+        String nextCursor = null;
+        if (hits.size() > this.size) {
+            SearchHit last = page.get(page.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(SCORE, last.score());
+            keys.put(ID, last.id());
+            nextCursor = CursorCodec.encode(RELEVANCE, Sort.Direction.DESC, keys);
+        }
+        return new PageViewModel<>(items, items.size(), nextCursor);
+    }
+}
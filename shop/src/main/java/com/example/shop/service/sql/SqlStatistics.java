@@ -0,0 +1,110 @@
+package com.example.shop.service.sql;
+
+/**
+ * Per-thread tally of the SQL statements sent to the database, filled by the {@link SqlStatisticsListener}.
+ * A scope is opened around a unit of work, such as a request or a service call in a test, and counts every statement
+ * executed by its thread until it is closed. Scopes can be nested, and a statement counts in every open scope.
+ * A JDBC batch counts as one statement, as it is sent in one round trip.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Opens a new scope on the current thread. It must be closed by the same thread, preferably with try-with-resources.
+     *
+     * @return the new scope
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns the innermost scope open on the current thread.
+     *
+     * @return the current scope, or null if no scope is open
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds an executed statement to every scope open on the current thread.
+     *
+     * @param elapsedMillis the execution time of the statement in milliseconds
+     * @param slow          whether the statement took longer than the slow threshold
+     */
+    static void record(long elapsedMillis, boolean slow) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.timeMillis += elapsedMillis;
+            if (slow) {
+                scope.slowStatements++;
+            }
+        }
+    }
+
+    /**
+     * The statements executed by one thread while the scope is open.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private int statements;
+
+        private long timeMillis;
+
+        private int slowStatements;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * Returns the number of statements executed in the scope.
+         *
+         * @return the number of statements
+         */
+        public int getStatements() {
+            return this.statements;
+        }
+
+        /**
+         * Returns the total execution time of the statements executed in the scope.
+         *
+         * @return the database time in milliseconds
+         */
+        public long getTimeMillis() {
+            return this.timeMillis;
+        }
+
+        /**
+         * Returns the number of statements of the scope that took longer than the slow threshold.
+         *
+         * @return the number of slow statements
+         */
+        public int getSlowStatements() {
+            return this.slowStatements;
+        }
+
+        /**
+         * Closes the scope, making its parent the current scope again.
+         */
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (this.parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(this.parent);
+                }
+            }
+        }
+    }
+}
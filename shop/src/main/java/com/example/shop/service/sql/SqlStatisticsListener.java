@@ -0,0 +1,73 @@
+package com.example.shop.service.sql;
+
+import com.example.shop.config.ShopProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records every statement executed through the proxied DataSource.
+ * The statement is added to the {@link SqlStatistics} scopes of its thread and timed by the {@code shop.sql.statements}
+ * timer, tagged with its type. A statement slower than {@code shop.sql.slow-threshold} is also logged with its SQL and
+ * counted by {@code shop.sql.slow}.
+ */
+@Slf4j
+@Component
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private final long slowThresholdMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter slowStatements;
+
+    /**
+     * Constructs a new SqlStatisticsListener with the given ShopProperties and MeterRegistry.
+     *
+     * @param shopProperties the ShopProperties holding the slow threshold
+     * @param meterRegistry  the MeterRegistry holding the timers and counters
+     */
+    @Autowired
+    public SqlStatisticsListener(ShopProperties shopProperties, MeterRegistry meterRegistry) {
+        this.slowThresholdMillis = shopProperties.getSql().getSlowThreshold().toMillis();
+        this.meterRegistry = meterRegistry;
+        this.slowStatements = Counter.builder("shop.sql.slow")
+                .description("Statements that took longer than the slow threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= this.slowThresholdMillis;
+        SqlStatistics.record(elapsedMillis, slow);
+
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        Timer.builder("shop.sql.statements")
+                .description("Execution time of the SQL statements")
+                .tag("type", QueryUtils.getQueryType(sql).name().toLowerCase(Locale.ROOT))
+                .tag("batch", Boolean.toString(execInfo.isBatch()))
+                .register(this.meterRegistry)
+                .record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        if (slow) {
+            this.slowStatements.increment();
+            log.warn("Slow SQL statement took {} ms{}: {}", elapsedMillis,
+                    execInfo.isBatch() ? " for a batch of " + execInfo.getBatchSize() : "", sql);
+        }
+    }
+}
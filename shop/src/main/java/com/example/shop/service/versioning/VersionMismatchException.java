@@ -0,0 +1,23 @@
+package com.example.shop.service.versioning;
+
+/**
+ * Thrown when a conditional update names a version of a product or subscriber that is no longer the current one.
+ */
+public class VersionMismatchException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionMismatchException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Returns the current version of the product or subscriber.
+     *
+     * @return the current version
+     */
+    public long getCurrentVersion() {
+        return this.currentVersion;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.mapper.MappingEngine;
+import com.example.shop.mapper.ShopMapper;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the generated mapper with ModelMapper.
+ * Each benchmark maps one entity graph; the size of the nested collection is a parameter.
+ * Run with the {@code benchmark} Maven profile, which also enables the GC profiler to report the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"GENERATED", "MODEL_MAPPER"})
+    private MappingEngine engine;
+
+    @Param({"0", "10", "100"})
+    private int graphSize;
+
+    private ShopMapper mapper;
+    private Product product;
+    private Subscriber subscriber;
+    private ProductAddBindingModel productAddBindingModel;
+
+    @Setup
+    public void setUp() {
+        mapper = engine.create(new ModelMapper());
+
+        product = new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>());
+        product.setId(1L);
+        subscriber = new Subscriber("First", "Last", LocalDateTime.now(), new ArrayList<>());
+        subscriber.setId(1L);
+
+        for (long i = 0; i < graphSize; i++) {
+            Subscriber productSubscriber = new Subscriber("First" + i, "Last" + i, LocalDateTime.now(), List.of());
+            productSubscriber.setId(i + 2);
+            product.getSubscribers().add(productSubscriber);
+
+            Product subscriberProduct = new Product("Product" + i, LocalDateTime.now(), i % 2 == 0, 0, List.of());
+            subscriberProduct.setId(i + 2);
+            subscriber.getProducts().add(subscriberProduct);
+        }
+
+        productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName("New Product");
+        productAddBindingModel.setIsUnderSale(true);
+    }
+
+    @Benchmark
+    public ProductViewModel productToViewModel() {
+        return mapper.toProductViewModel(product);
+    }
+
+    @Benchmark
+    public SubscriberViewModel subscriberToViewModel() {
+        return mapper.toSubscriberViewModel(subscriber);
+    }
+
+    @Benchmark
+    public Product bindingModelToProduct() {
+        return mapper.toProduct(productAddBindingModel);
+    }
+}
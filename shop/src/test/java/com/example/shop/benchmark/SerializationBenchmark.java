@@ -0,0 +1,71 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.serialization.SerializationEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the serialization of product lists, as written by the list endpoints, with every
+ * {@link SerializationEngine} and in the JSON and Smile formats.
+ * The ObjectMapper is configured by the same builder Spring Boot uses for the HTTP message converters.
+ * The size of the serialized list is printed once per trial, to compare the bytes per response of the formats.
+ * Run with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int products;
+
+    @Param({"0", "10"})
+    private int subscribersPerProduct;
+
+    @Param({"REFLECTION", "BLACKBIRD", "HAND_WRITTEN"})
+    private SerializationEngine engine;
+
+    @Param({"JSON", "SMILE"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<ProductViewModel> productViewModels;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(modules -> modules.addAll(engine.modules()));
+        if ("SMILE".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        productViewModels = new ArrayList<>();
+        for (long i = 0; i < products; i++) {
+            List<ProductViewSubscriberModel> subscribers = new ArrayList<>();
+            for (int j = 0; j < subscribersPerProduct; j++) {
+                subscribers.add(new ProductViewSubscriberModel("First" + j, "Last" + j, LocalDateTime.now()));
+            }
+            productViewModels.add(new ProductViewModel(i, "Product " + i, LocalDateTime.now(), i % 2 == 0, subscribers, 0L));
+        }
+        System.out.printf("%n%s %s: %d bytes%n", engine, format, serializeProductList().length);
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productViewModels);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.ShopApplication;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.implementation.ProductServiceImpl;
+import com.example.shop.service.implementation.SubscriberServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the service layer against an in-memory H2 database.
+ * The application context is started once per trial without the web server, and the database is seeded with
+ * the given number of products and subscribers, each subscriber owning a fixed number of products.
+ * Run with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int products;
+
+    @Param({"100"})
+    private int subscribers;
+
+    @Param({"5"})
+    private int productsPerSubscriber;
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private SubscriberServiceImpl subscriberService;
+    private SubscriberRepository subscriberRepository;
+
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShopApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+
+        productService = context.getBean(ProductServiceImpl.class);
+        subscriberService = context.getBean(SubscriberServiceImpl.class);
+        subscriberRepository = context.getBean(SubscriberRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+
+        List<Product> savedProducts = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            savedProducts.add(new Product("Product " + i, LocalDateTime.now().minusMinutes(i), true, 0, new ArrayList<>()));
+        }
+        savedProducts = productRepository.saveAll(savedProducts);
+        productIds = savedProducts.stream().map(Product::getId).toList();
+
+        List<Subscriber> savedSubscribers = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            List<Product> owned = new ArrayList<>();
+            for (int j = 0; j < productsPerSubscriber; j++) {
+                owned.add(savedProducts.get((i * productsPerSubscriber + j) % products));
+            }
+            savedSubscribers.add(new Subscriber("First" + i, "Last" + i, LocalDateTime.now(), owned));
+        }
+        subscriberRepository.saveAll(savedSubscribers);
+        productService.reconcileSubscriberCounts();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductViewModel> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public List<ProductViewModel> getAllProductsByPopularity() {
+        return productService.getAllProductsByPopularity();
+    }
+
+    @Benchmark
+    public SubscriptionResultViewModel addProductToSubscriber(FreshLink link) {
+        link.productId = productIds.get(link.nextProduct++ % products);
+        return subscriberService.addProductToSubscriber(link.subscriberId, link.productId);
+    }
+
+    /**
+     * A subscriber without products for addProductToSubscriber. The product linked by every call is unlinked again
+     * outside of the measured time, so that every call links a pair that is not linked yet instead of taking the
+     * already-linked path, however many calls an iteration makes.
+     */
+    @State(Scope.Benchmark)
+    public static class FreshLink {
+
+        private Long subscriberId;
+        private int nextProduct;
+        private Long productId;
+
+        @Setup(Level.Trial)
+        public void setUp(ServiceBenchmark benchmark) {
+            subscriberId = benchmark.subscriberRepository.save(new Subscriber("Fresh", "Subscriber", LocalDateTime.now(), new ArrayList<>())).getId();
+        }
+
+        @TearDown(Level.Invocation)
+        public void unlink(ServiceBenchmark benchmark) {
+            if (productId != null) {
+                benchmark.subscriberService.removeProductsFromSubscriber(subscriberId, List.of(productId));
+                productId = null;
+            }
+        }
+    }
+}
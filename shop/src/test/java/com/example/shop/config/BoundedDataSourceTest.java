@@ -0,0 +1,71 @@
+package com.example.shop.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BoundedDataSource} class.
+ */
+public class BoundedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private BoundedDataSource boundedDataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        boundedDataSource = new BoundedDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    /**
+     * Tests that no more connections than permits can be borrowed and that closing a connection gives its permit back once.
+     */
+    @Test
+    public void testConnectionsAreBoundedByPermits() throws SQLException {
+        Connection first = boundedDataSource.getConnection();
+        Connection second = boundedDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, boundedDataSource::getConnection);
+
+        first.close();
+        first.close();
+        Connection third = boundedDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, boundedDataSource::getConnection);
+        verify(connection, times(2)).close();
+        verify(targetDataSource, times(3)).getConnection();
+
+        second.close();
+        third.close();
+    }
+
+    /**
+     * Tests that a failure of the target DataSource gives the permit back.
+     */
+    @Test
+    public void testFailedConnectionReleasesPermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down")).thenReturn(connection);
+
+        assertThrows(SQLException.class, boundedDataSource::getConnection);
+
+        assertNotNull(boundedDataSource.getConnection());
+        assertNotNull(boundedDataSource.getConnection());
+    }
+}
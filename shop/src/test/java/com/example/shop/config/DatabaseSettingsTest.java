@@ -0,0 +1,92 @@
+package com.example.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@code shop.database} settings are applied to the connection pool and to Hibernate, that the
+ * {@code spring.datasource.hikari} properties are kept where no {@code shop.database} setting is set, and that the
+ * startup report reads them back together with their sources.
+ */
+@SpringBootTest(properties = {
+        "shop.database.pool-size=7",
+        "shop.database.min-idle=2",
+        "shop.database.connection-timeout=PT5S",
+        "shop.database.fetch-size=50",
+        "shop.database.batch-size=40",
+        "shop.database.order-updates=false",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.max-lifetime=1200000"
+})
+public class DatabaseSettingsTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DatabaseSettingsReport databaseSettingsReport;
+
+    /**
+     * Tests that the pool is sized from the shop.database settings, that a spring.datasource.hikari property without a
+     * shop.database setting is kept and that the statement cache of H2 is configured.
+     */
+    @Test
+    public void testPoolSettingsAreApplied() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(7, hikari.getMaximumPoolSize());
+        assertEquals(2, hikari.getMinimumIdle());
+        assertEquals(5000, hikari.getConnectionTimeout());
+        assertEquals(1_200_000, hikari.getMaxLifetime());
+        assertEquals(600_000, hikari.getIdleTimeout());
+        assertEquals("256", hikari.getDataSourceProperties().getProperty("QUERY_CACHE_SIZE"));
+    }
+
+    /**
+     * Tests that the report shows the effective pool and Hibernate settings.
+     */
+    @Test
+    public void testReportShowsEffectiveSettings() {
+        Map<String, Object> settings = databaseSettingsReport.settings();
+
+        assertEquals(7, settings.get("pool.maximum-size"));
+        assertEquals("40", String.valueOf(settings.get("hibernate.batch-size")));
+        assertEquals("50", String.valueOf(settings.get("hibernate.fetch-size")));
+        assertEquals("true", String.valueOf(settings.get("hibernate.order-inserts")));
+        assertEquals("false", String.valueOf(settings.get("hibernate.order-updates")));
+        assertEquals("off", settings.get("requests.bounded-connections"));
+        assertFalse(String.valueOf(settings.get("url")).contains(";"));
+    }
+
+    /**
+     * Tests that the report names the property every pool setting was taken from.
+     */
+    @Test
+    public void testReportShowsSettingSources() {
+        Map<String, String> sources = databaseSettingsReport.sources();
+
+        assertEquals("shop.database.pool-size", sources.get("pool.maximum-size"));
+        assertEquals("shop.database.min-idle", sources.get("pool.minimum-idle"));
+        assertEquals("shop.database.connection-timeout", sources.get("pool.connection-timeout-ms"));
+        assertEquals("Hikari default", sources.get("pool.idle-timeout-ms"));
+        assertEquals("spring.datasource.hikari.max-lifetime", sources.get("pool.max-lifetime-ms"));
+    }
+
+    /**
+     * Tests that the statement cache property is chosen by the driver of the JDBC URL.
+     */
+    @Test
+    public void testStatementCacheProperty() {
+        assertEquals("QUERY_CACHE_SIZE", ConnectionPoolPostProcessor.statementCacheProperty("jdbc:h2:mem:shop"));
+        assertEquals("preparedStatementCacheQueries", ConnectionPoolPostProcessor.statementCacheProperty("jdbc:postgresql://localhost/shop"));
+        assertNull(ConnectionPoolPostProcessor.statementCacheProperty("jdbc:mysql://localhost/shop"));
+    }
+}
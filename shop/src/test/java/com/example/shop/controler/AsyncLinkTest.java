@@ -0,0 +1,114 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the asynchronous mode of the single link endpoint: links accepted with 202 and a tracking id, their outcome read
+ * from {@link LinkRequestController} once written, and links that cannot succeed rejected at once.
+ */
+@SpringBootTest(properties = {"shop.link.async.enabled=true", "shop.link.async.max-delay=PT0.01S"})
+@AutoConfigureMockMvc
+public class AsyncLinkTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        subscriber = subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.now(), new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that a queued link is accepted with its location, written in the background and then reported as linked.
+     */
+    @Test
+    public void testQueuedLinkIsWritten() throws Exception {
+        MvcResult accepted = mockMvc.perform(post("/api/subscribers/" + subscriber.getId() + "/products/" + product.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andReturn();
+        String location = accepted.getResponse().getHeader(HttpHeaders.LOCATION);
+        assertNotNull(location);
+
+        JsonNode request = awaitWritten(location);
+
+        assertEquals("DONE", request.get("state").asText());
+        assertEquals("LINKED", request.get("result").get("status").asText());
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getSubscriberCount());
+    }
+
+    /**
+     * Tests that a link to a missing product is rejected without being queued.
+     */
+    @Test
+    public void testMissingProductIsRejected() throws Exception {
+        mockMvc.perform(post("/api/subscribers/" + subscriber.getId() + "/products/" + (product.getId() + 1000)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("PRODUCT_NOT_FOUND"));
+    }
+
+    /**
+     * Tests that an unknown tracking id is reported as not found.
+     */
+    @Test
+    public void testUnknownLinkRequest() throws Exception {
+        mockMvc.perform(get(LinkRequestController.PATH + "/unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode awaitWritten(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (true) {
+            String body = mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+            JsonNode request = objectMapper.readTree(body);
+            if (!"QUEUED".equals(request.get("state").asText()) || System.currentTimeMillis() > deadline) {
+                return request;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
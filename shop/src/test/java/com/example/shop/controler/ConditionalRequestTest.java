@@ -0,0 +1,140 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the ETags of {@link ProductController} and {@link SubscriberController}: conditional reads answered with 304,
+ * ETags that change with the representation, including the links, and conditional updates rejected with 412.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalRequestTest {
+
+    private static final String PRODUCT_UPDATE = "{\"name\": \"Renamed\", \"isUnderSale\": true}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        subscriber = subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.now(), new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that a product is answered with 304 and no body while its ETag matches.
+     */
+    @Test
+    public void testGetProductNotModified() throws Exception {
+        String eTag = eTag(get("/api/products/" + product.getId()));
+
+        MvcResult result = mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentLength());
+    }
+
+    /**
+     * Tests that linking a subscriber changes the ETags of both the product and the subscriber.
+     */
+    @Test
+    public void testLinkChangesETags() throws Exception {
+        String productETag = eTag(get("/api/products/" + product.getId()));
+        String subscriberETag = eTag(get("/api/subscribers/" + subscriber.getId()));
+
+        mockMvc.perform(post("/api/subscribers/" + subscriber.getId() + "/products/" + product.getId()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, productETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/subscribers/" + subscriber.getId()).header(HttpHeaders.IF_NONE_MATCH, subscriberETag))
+                .andExpect(status().isOk());
+        assertNotEquals(subscriberETag, eTag(get("/api/subscribers/" + subscriber.getId())));
+    }
+
+    /**
+     * Tests that an update with the current ETag succeeds and returns the new one, and that the old one is then rejected.
+     */
+    @Test
+    public void testConditionalUpdate() throws Exception {
+        String eTag = eTag(get("/api/products/" + product.getId()));
+
+        String newETag = mockMvc.perform(put("/api/products/" + product.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_UPDATE))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, newETag);
+        assertEquals(newETag, eTag(get("/api/products/" + product.getId())));
+        mockMvc.perform(put("/api/products/" + product.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_UPDATE))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, newETag));
+        mockMvc.perform(put("/api/products/" + product.getId()).header(HttpHeaders.IF_MATCH, "W/" + newETag)
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_UPDATE))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Tests that the ETag of the list of all subscribers matches until a subscriber is added.
+     */
+    @Test
+    public void testListETag() throws Exception {
+        String eTag = eTag(get("/api/subscribers"));
+
+        mockMvc.perform(get("/api/subscribers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        subscriberRepository.save(new Subscriber("Jane", "Doe", LocalDateTime.now(), new ArrayList<>()));
+
+        mockMvc.perform(get("/api/subscribers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    private String eTag(RequestBuilder request) throws Exception {
+        String eTag = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+}
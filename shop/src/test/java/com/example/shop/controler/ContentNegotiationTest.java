@@ -0,0 +1,109 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.serialization.ViewModelSerializers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the negotiation of the JSON and Smile formats of the responses.
+ * Smile is only written when the client asks for it, and holds the same content as the JSON response.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Phone", LocalDateTime.of(2024, 5, 1, 10, 30), true, 0, new ArrayList<>()));
+        subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.of(2024, 6, 1, 8, 0), new ArrayList<>(List.of(product))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the ObjectMapper of the responses uses the hand-written serializers configured by default.
+     */
+    @Test
+    public void testHandWrittenSerializersAreInstalled() {
+        assertTrue(objectMapper.getRegisteredModuleIds().contains(ViewModelSerializers.class.getSimpleName()));
+    }
+
+    /**
+     * Tests that a client accepting any type gets JSON.
+     */
+    @Test
+    public void testJsonIsTheDefault() throws Exception {
+        mockMvc.perform(get("/api/products/" + product.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Tests that a single product and the list of subscribers are written as Smile on request, with the same content
+     * as their JSON responses in fewer bytes.
+     */
+    @Test
+    public void testSmileOnRequest() throws Exception {
+        for (String url : List.of("/api/products/" + product.getId(), "/api/subscribers")) {
+            byte[] json = mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            byte[] smile = mockMvc.perform(get(url).accept(SMILE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(SMILE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode expected = objectMapper.readTree(json);
+            assertEquals(expected, smileMapper.readTree(smile), url);
+            assertTrue(smile.length < json.length, url);
+        }
+        JsonNode product = smileMapper.readTree(mockMvc.perform(get("/api/products/" + this.product.getId()).accept(SMILE))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals("2024-05-01", product.get("creationDate").asText());
+        assertEquals("Doe", product.get("subscribers").get(0).get("lastName").asText());
+    }
+}
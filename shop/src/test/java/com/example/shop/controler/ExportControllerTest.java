@@ -0,0 +1,115 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the streaming export endpoints of {@link ProductController} and {@link SubscriberController}.
+ * The chunk size is smaller than the number of products, so the persistence context is cleared during the export.
+ */
+@SpringBootTest(properties = "shop.export.chunk-size=7")
+@AutoConfigureMockMvc
+public class ExportControllerTest {
+
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @BeforeEach
+    public void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Product, " + i, LocalDateTime.now(), true, 0, new ArrayList<>()));
+        }
+        products = productRepository.saveAll(products);
+        subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.now(), new ArrayList<>(products.subList(0, 3))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the products are exported as one JSON object per line, ordered by id and with their subscribers.
+     */
+    @Test
+    public void testExportProductsAsNdjson() throws Exception {
+        String body = export("/api/products/export", "application/x-ndjson");
+
+        String[] lines = body.split("\n");
+        assertEquals(PRODUCTS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Product, 0", first.get("name").asText());
+        assertEquals("Doe", first.get("subscribers").get(0).get("lastName").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("id").asLong() > first.get("id").asLong());
+    }
+
+    /**
+     * Tests that the products and subscribers are exported as CSV with a header row and quoted values.
+     */
+    @Test
+    public void testExportAsCsv() throws Exception {
+        String products = export("/api/products/export?format=CSV", "text/csv");
+        String[] productLines = products.split("\n");
+        assertEquals(PRODUCTS + 1, productLines.length);
+        assertEquals("id,name,creationDate,isUnderSale,subscribers", productLines[0]);
+        assertTrue(productLines[1].contains(",\"Product, 0\","));
+        assertTrue(productLines[1].endsWith(",true,John Doe"));
+
+        String subscribers = export("/api/subscribers/export?format=CSV", "text/csv");
+        String[] subscriberLines = subscribers.split("\n");
+        assertEquals(2, subscriberLines.length);
+        assertEquals(3, subscriberLines[1].substring(subscriberLines[1].lastIndexOf(',') + 1).split(";").length);
+    }
+
+    /**
+     * Tests that an unknown format is rejected.
+     */
+    @Test
+    public void testExportWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/products/export?format=XML")).andExpect(status().isBadRequest());
+    }
+
+    private String export(String url, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(contentType))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
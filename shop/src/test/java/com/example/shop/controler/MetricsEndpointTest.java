@@ -0,0 +1,102 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the Prometheus scrape endpoint exposes the latency histograms of the endpoints and services, the outcome
+ * counters of the controllers, the table gauges and the Hibernate and connection pool metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the requests are timed with histograms, per endpoint and per service method.
+     */
+    @Test
+    public void testRequestsAndServicesAreTimed() throws Exception {
+        mockMvc.perform(get("/api/products/" + product.getId())).andExpect(status().isOk());
+
+        String metrics = scrape();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(metrics.contains("uri=\"/api/products/{id}\""));
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("shop_service_seconds_bucket{")
+                && line.contains("class=\"com.example.shop.service.implementation.ProductServiceImpl\"")
+                && line.contains("method=\"getProduct\"")));
+    }
+
+    /**
+     * Tests that the not-found and validation-error responses are counted by outcome and endpoint.
+     */
+    @Test
+    public void testOutcomesAreCounted() throws Exception {
+        mockMvc.perform(get("/api/products/-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"\"}"))
+                .andExpect(status().isBadRequest());
+
+        String metrics = scrape();
+
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("shop_responses_total{")
+                && line.contains("outcome=\"not_found\"") && line.contains("uri=\"/api/products/{id}\"")));
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("shop_responses_total{")
+                && line.contains("outcome=\"validation_error\"") && line.contains("uri=\"/api/products\"")));
+    }
+
+    /**
+     * Tests that the table gauges and the Hibernate and connection pool metrics are exposed.
+     */
+    @Test
+    public void testTableHibernateAndPoolMetricsAreExposed() throws Exception {
+        String metrics = scrape();
+
+        assertTrue(metrics.contains("shop_table_rows{"));
+        assertTrue(metrics.contains("table=\"product\""));
+        assertTrue(metrics.contains("shop_products{"));
+        assertTrue(metrics.contains("hibernate_"));
+        assertTrue(metrics.contains("hikaricp_connections"));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
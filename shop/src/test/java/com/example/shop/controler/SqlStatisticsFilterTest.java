@@ -0,0 +1,82 @@
+package com.example.shop.controler;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the SQL statements of a request are reported in the debug headers of its response and recorded by the
+ * request and slow-statement meters. Every statement counts as slow, as the threshold is zero.
+ */
+@SpringBootTest(properties = {
+        "shop.sql.debug-headers=true",
+        "shop.sql.slow-threshold=PT0S",
+        "shop.database.second-level-cache=false",
+        "shop.database.query-cache=false"
+})
+@AutoConfigureMockMvc
+public class SqlStatisticsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the response carries the number of statements, the database time and the number of slow statements.
+     * The list reads the version of the collection for its ETag and then the products.
+     */
+    @Test
+    public void testDebugHeaders() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals("2", response.getHeader(SqlStatisticsAdvice.STATEMENTS_HEADER));
+        assertEquals("2", response.getHeader(SqlStatisticsAdvice.SLOW_STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatisticsAdvice.TIME_HEADER));
+    }
+
+    /**
+     * Tests that the statements of the request and the slow statements are recorded as metrics.
+     */
+    @Test
+    public void testRequestMetrics() throws Exception {
+        double slowBefore = meterRegistry.counter("shop.sql.slow").count();
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("shop.sql.request.statements").tag("uri", "/api/products").summary().totalAmount() >= 1);
+        assertTrue(meterRegistry.get("shop.sql.statements").tag("type", "select").timer().count() >= 1);
+        assertTrue(meterRegistry.counter("shop.sql.slow").count() > slowBefore);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.shop.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test of a running shop instance, used to compare the platform-thread and virtual-thread modes.
+ *
+ * Every client sends one request after the other for the given duration and records the latency of each response.
+ * Before the measurement the catalog is seeded through the bulk endpoints and the clients warm up the server.
+ * The report gives the throughput, the error count and the latency percentiles.
+ *
+ * Arguments, all optional: {@code baseUrl clients durationSeconds products}.
+ */
+public class LoadTest {
+
+    private static final String[] PATHS = {
+            "/api/products/page?size=20",
+            "/api/subscribers/page?size=20",
+            "/api/products/sold/page?size=20",
+            "/api/products/popular/top?k=20",
+            "/api/products/total/sold"
+    };
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int products = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        seed(httpClient, baseUrl, products);
+        run(httpClient, baseUrl, clients, Duration.ofSeconds(Math.max(5, durationSeconds / 5)));
+        Result result = run(httpClient, baseUrl, clients, Duration.ofSeconds(durationSeconds));
+        result.print(clients, durationSeconds);
+    }
+
+    /**
+     * Creates the products and subscribers of the test and links every subscriber to a few products.
+     */
+    private static void seed(HttpClient httpClient, String baseUrl, int products) throws Exception {
+        StringBuilder productsJson = new StringBuilder("[");
+        for (int i = 0; i < products; i++) {
+            productsJson.append(i == 0 ? "" : ",").append("{\"name\":\"Load ").append(i).append("\",\"isUnderSale\":true}");
+        }
+        post(httpClient, baseUrl + "/api/products/bulk", productsJson.append("]").toString());
+
+        int subscribers = Math.max(1, products / 10);
+        StringBuilder subscribersJson = new StringBuilder("[");
+        for (int i = 0; i < subscribers; i++) {
+            subscribersJson.append(i == 0 ? "" : ",").append("{\"firstName\":\"First\",\"lastName\":\"Last").append(i).append("\"}");
+        }
+        String subscriberIds = post(httpClient, baseUrl + "/api/subscribers/bulk", subscribersJson.append("]").toString());
+        String productIds = get(httpClient, baseUrl + "/api/products/page?size=100");
+
+        List<Long> subscriberIdList = ids(subscriberIds);
+        List<Long> productIdList = ids(productIds);
+        for (Long subscriberId : subscriberIdList) {
+            for (int j = 0; j < 3; j++) {
+                Long productId = productIdList.get(ThreadLocalRandom.current().nextInt(productIdList.size()));
+                post(httpClient, baseUrl + "/api/subscribers/" + subscriberId + "/products/" + productId, "");
+            }
+        }
+    }
+
+    private static Result run(HttpClient httpClient, String baseUrl, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        String path = PATHS[ThreadLocalRandom.current().nextInt(PATHS.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            result.record(System.nanoTime() - start, response.statusCode() < 400);
+                        } catch (Exception exception) {
+                            result.record(System.nanoTime() - start, false);
+                        }
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        }
+    }
+
+    private static String post(HttpClient httpClient, String url, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static String get(HttpClient httpClient, String url) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    /**
+     * Extracts the values of the "id" fields of a JSON document without a JSON library.
+     */
+    private static List<Long> ids(String json) {
+        List<Long> ids = new ArrayList<>();
+        int index = json.indexOf("\"id\":");
+        while (index >= 0) {
+            int start = index + 5;
+            int end = start;
+            while (end < json.length() && Character.isDigit(json.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                ids.add(Long.parseLong(json.substring(start, end)));
+            }
+            index = json.indexOf("\"id\":", end);
+        }
+        return ids;
+    }
+
+    /**
+     * The latencies and errors recorded by one client, or by all clients once merged.
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private int errors;
+
+        private void record(long latencyNanos, boolean success) {
+            if (this.count == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+            }
+            this.latencies[this.count++] = latencyNanos;
+            if (!success) {
+                this.errors++;
+            }
+        }
+
+        private void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                this.record(other.latencies[i], true);
+            }
+            this.errors += other.errors;
+        }
+
+        private void print(int clients, int durationSeconds) {
+            long[] sorted = Arrays.copyOf(this.latencies, this.count);
+            Arrays.sort(sorted);
+            System.out.printf(Locale.ROOT, "clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+                    clients, durationSeconds, this.count, this.errors, this.count / (double) durationSeconds);
+            System.out.printf(Locale.ROOT, "latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.shop.mapper;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ShopMapper} implementations.
+ *
+ * This test class verifies that the generated {@link MapStructShopMapper} produces the same results
+ * as the {@link ModelMapperShopMapper} it replaces.
+ *
+ */
+public class ShopMapperTest {
+
+    private final ShopMapper generatedMapper = MappingEngine.GENERATED.create(new ModelMapper());
+    private final ShopMapper modelMapper = MappingEngine.MODEL_MAPPER.create(new ModelMapper());
+
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = new Product();
+        product.setId(1L);
+        product.setName("Test Product");
+        product.setCreationDate(LocalDateTime.of(2024, 5, 1, 10, 30));
+        product.setUnderSale(true);
+
+        subscriber = new Subscriber();
+        subscriber.setId(2L);
+        subscriber.setFirstName("John");
+        subscriber.setLastName("Doe");
+        subscriber.setJoinedDate(LocalDateTime.of(2024, 6, 1, 8, 0));
+
+        product.setSubscribers(new ArrayList<>(List.of(subscriber)));
+        subscriber.setProducts(new ArrayList<>(List.of(product)));
+    }
+
+    /**
+     * Tests that both engines map a product with its subscribers to the same view model.
+     */
+    @Test
+    public void testToProductViewModel() {
+        ProductViewModel result = generatedMapper.toProductViewModel(product);
+
+        assertEquals(modelMapper.toProductViewModel(product), result);
+        assertEquals(1L, result.getId());
+        assertTrue(result.isUnderSale());
+        assertEquals(1, result.getSubscribers().size());
+        assertEquals("Doe", result.getSubscribers().get(0).getLastName());
+    }
+
+    /**
+     * Tests that both engines map a product to the same popularity view model, without its subscribers.
+     */
+    @Test
+    public void testToProductPopularityViewModel() {
+        product.setSubscriberCount(1);
+
+        ProductPopularityViewModel result = generatedMapper.toProductPopularityViewModel(product);
+
+        assertEquals(modelMapper.toProductPopularityViewModel(product), result);
+        assertEquals(new ProductPopularityViewModel(1L, "Test Product", 1), result);
+    }
+
+    /**
+     * Tests that both engines map a subscriber with its products to the same view model.
+     */
+    @Test
+    public void testToSubscriberViewModel() {
+        SubscriberViewModel result = generatedMapper.toSubscriberViewModel(subscriber);
+
+        assertEquals(modelMapper.toSubscriberViewModel(subscriber), result);
+        assertEquals(1, result.getProducts().size());
+        assertEquals("Test Product", result.getProducts().get(0).getName());
+    }
+
+    /**
+     * Tests that both engines map the binding models to new entities without ids.
+     */
+    @Test
+    public void testBindingModelsToEntities() {
+        ProductAddBindingModel productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName("New Product");
+        productAddBindingModel.setIsUnderSale(true);
+
+        SubscriberAddBindingModel subscriberAddBindingModel = new SubscriberAddBindingModel();
+        subscriberAddBindingModel.setFirstName("Jane");
+        subscriberAddBindingModel.setLastName("Roe");
+
+        Product newProduct = generatedMapper.toProduct(productAddBindingModel);
+        Subscriber newSubscriber = generatedMapper.toSubscriber(subscriberAddBindingModel);
+
+        assertEquals(modelMapper.toProduct(productAddBindingModel), newProduct);
+        assertEquals(modelMapper.toSubscriber(subscriberAddBindingModel), newSubscriber);
+        assertNull(newProduct.getId());
+        assertTrue(newProduct.isUnderSale());
+        assertEquals("Roe", newSubscriber.getLastName());
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.example.shop.serialization;
+
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.ProductViewSubscriberModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SerializationEngine} implementations.
+ *
+ * This test class verifies that the Blackbird and hand-written engines write the same bytes as the reflection-based
+ * serializers, that the hand-written serializers write every property of the view models, and that the Smile format
+ * holds the same content in fewer bytes.
+ */
+public class ViewModelSerializersTest {
+
+    private static final List<Class<?>> HAND_WRITTEN_VIEW_MODELS = List.of(ProductViewModel.class,
+            ProductViewSubscriberModel.class, SubscriberViewModel.class, SubscriberViewProductModel.class,
+            ProductPopularityViewModel.class);
+
+    private final ObjectMapper reflection = json(SerializationEngine.REFLECTION);
+
+    /**
+     * Tests that every engine writes the same JSON for products, subscribers, popularity rankings and pages.
+     */
+    @Test
+    public void testEnginesWriteTheSameJson() throws Exception {
+        for (Object value : values()) {
+            String expected = reflection.writeValueAsString(value);
+            for (SerializationEngine engine : SerializationEngine.values()) {
+                assertEquals(expected, json(engine).writeValueAsString(value), engine.name());
+            }
+        }
+    }
+
+    /**
+     * Tests that the hand-written serializers write every property Jackson finds on the view models, in the same order.
+     * The properties are introspected from the classes rather than taken from sample values, so a property added to a
+     * view model fails this test until its hand-written serializer writes it.
+     */
+    @Test
+    public void testHandWrittenSerializersWriteEveryProperty() throws Exception {
+        ObjectMapper handWritten = json(SerializationEngine.HAND_WRITTEN);
+        for (Class<?> type : HAND_WRITTEN_VIEW_MODELS) {
+            List<String> properties = reflection.getSerializationConfig()
+                    .introspect(reflection.constructType(type))
+                    .findProperties().stream()
+                    .filter(BeanPropertyDefinition::couldSerialize)
+                    .map(BeanPropertyDefinition::getName)
+                    .toList();
+
+            JsonNode written = handWritten.readTree(handWritten.writeValueAsString(type.getDeclaredConstructor().newInstance()));
+            List<String> fields = new ArrayList<>();
+            for (Iterator<String> names = written.fieldNames(); names.hasNext(); ) {
+                fields.add(names.next());
+            }
+
+            assertFalse(properties.isEmpty(), type.getSimpleName());
+            assertEquals(properties, fields, type.getSimpleName());
+        }
+    }
+
+    /**
+     * Tests that the hand-written serializers write the fields of the view models and leave out the version.
+     */
+    @Test
+    public void testHandWrittenProduct() throws Exception {
+        ProductViewModel product = new ProductViewModel(1L, "Phone", LocalDateTime.of(2024, 5, 1, 10, 30), true,
+                List.of(new ProductViewSubscriberModel("John", null, LocalDateTime.of(2024, 6, 1, 8, 0))), 3L);
+
+        assertEquals("{\"id\":1,\"name\":\"Phone\",\"creationDate\":\"2024-05-01\","
+                        + "\"subscribers\":[{\"firstName\":\"John\",\"lastName\":null,\"joinedDate\":\"2024-06-01\"}],"
+                        + "\"underSale\":true}",
+                json(SerializationEngine.HAND_WRITTEN).writeValueAsString(product));
+    }
+
+    /**
+     * Tests that the Smile format decodes to the same content as the JSON format and is smaller.
+     */
+    @Test
+    public void testSmileIsSmallerWithTheSameContent() throws Exception {
+        ObjectMapper json = json(SerializationEngine.HAND_WRITTEN);
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(modules -> modules.addAll(SerializationEngine.HAND_WRITTEN.modules()))
+                .factory(new SmileFactory())
+                .build();
+        List<ProductViewModel> products = products(100, 10);
+
+        byte[] jsonBytes = json.writeValueAsBytes(products);
+        byte[] smileBytes = smile.writeValueAsBytes(products);
+
+        assertEquals(json.readTree(jsonBytes), smile.readTree(smileBytes));
+        assertTrue(smileBytes.length < jsonBytes.length,
+                smileBytes.length + " bytes of Smile, " + jsonBytes.length + " bytes of JSON");
+        assertEquals(new String(reflection.writeValueAsBytes(products), StandardCharsets.UTF_8),
+                new String(jsonBytes, StandardCharsets.UTF_8));
+    }
+
+    private static ObjectMapper json(SerializationEngine engine) {
+        return Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(modules -> modules.addAll(engine.modules()))
+                .build();
+    }
+
+    private static List<Object> values() {
+        List<SubscriberViewProductModel> subscriberProducts = new ArrayList<>();
+        subscriberProducts.add(new SubscriberViewProductModel(1L, "Phone \"X\"", LocalDateTime.of(2024, 5, 1, 10, 30), true));
+        subscriberProducts.add(null);
+        subscriberProducts.add(new SubscriberViewProductModel(null, null, null, false));
+
+        return List.of(
+                products(3, 2),
+                new ProductViewModel(),
+                new ProductViewModel(2L, "Laptop", null, false, new ArrayList<>(), 0L),
+                new SubscriberViewModel(3L, "Jane", "Doe", LocalDateTime.of(2023, 12, 31, 23, 59), subscriberProducts, 1L),
+                new SubscriberViewModel(),
+                new SubscriberViewModel(4L, "Old", "Date", LocalDateTime.of(999, 1, 9, 0, 0), List.of(), 0L),
+                new SubscriberViewModel(5L, "Far", "Date", LocalDateTime.of(12345, 10, 20, 0, 0), null, 0L),
+                List.of(new ProductPopularityViewModel(4L, "Tablet", 7), new ProductPopularityViewModel()),
+                new PageViewModel<>(products(2, 1), 2, "cursor"));
+    }
+
+    private static List<ProductViewModel> products(int count, int subscribersPerProduct) {
+        List<ProductViewModel> products = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            List<ProductViewSubscriberModel> subscribers = new ArrayList<>();
+            for (int j = 0; j < subscribersPerProduct; j++) {
+                subscribers.add(new ProductViewSubscriberModel("First" + j, "Last" + j, LocalDateTime.of(2024, 1, 1 + j, 12, 0)));
+            }
+            products.add(new ProductViewModel(i, "Product " + i, LocalDateTime.of(2024, 2, 1, 9, 0), i % 2 == 0, subscribers, 0L));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the deletes of {@link ProductServiceImpl} and {@link SubscriberServiceImpl} remove the join table rows
+ * of the deleted entities and leave the other links and counts intact.
+ *
+ * The delete chunk size is smaller than the number of matching products, so the bulk delete runs in several chunks.
+ */
+@SpringBootTest(properties = "shop.bulk.delete-chunk-size=4")
+public class BulkDeleteTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().minusDays(30);
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private List<Product> staleProducts;
+    private List<Product> keptProducts;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        staleProducts = new ArrayList<>();
+        keptProducts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            staleProducts.add(new Product("Stale " + i, CUTOFF.minusDays(i + 1), false, 0, new ArrayList<>()));
+            keptProducts.add(new Product("Recent " + i, CUTOFF.plusDays(i + 1), false, 0, new ArrayList<>()));
+            keptProducts.add(new Product("Active " + i, CUTOFF.minusDays(i + 1), true, 0, new ArrayList<>()));
+        }
+        staleProducts = productRepository.saveAll(staleProducts);
+        keptProducts = productRepository.saveAll(keptProducts);
+
+        List<Product> products = new ArrayList<>(staleProducts);
+        products.addAll(keptProducts.subList(0, 5));
+        subscriber = subscriberRepository.save(new Subscriber("First", "Last", LocalDateTime.now(), products));
+        productService.reconcileSubscriberCounts();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that deleting products by filter removes only the matching products and their join table rows, across chunks.
+     */
+    @Test
+    public void testDeleteProductsByFilter() {
+        assertEquals(30L, productService.getProductsTotalCount());
+
+        long deleted = productService.deleteProducts(false, CUTOFF);
+
+        assertEquals(10L, deleted);
+        assertEquals(20L, productService.getProductsTotalCount());
+        assertEquals(20L, productRepository.count());
+        assertTrue(staleProducts.stream().noneMatch(product -> productRepository.existsById(product.getId())));
+        assertEquals(5, subscriberService.getSubscriber(subscriber.getId()).getProducts().size());
+        assertEquals(0, productService.reconcileSubscriberCounts());
+    }
+
+    /**
+     * Tests that deleting a product with subscribers keeps the other products of its subscribers.
+     */
+    @Test
+    public void testDeleteProductKeepsOtherLinks() {
+        assertNotNull(productService.deleteProduct(staleProducts.get(0).getId()));
+
+        assertEquals(14, subscriberService.getSubscriber(subscriber.getId()).getProducts().size());
+        assertEquals(0, productService.reconcileSubscriberCounts());
+    }
+
+    /**
+     * Tests that deleting a subscriber removes its join table rows and decrements the subscriber counts of its products.
+     */
+    @Test
+    public void testDeleteSubscriberRemovesLinks() {
+        assertNotNull(subscriberService.deleteSubscriber(subscriber.getId()));
+
+        assertTrue(productRepository.findAll().stream().allMatch(product -> product.getSubscriberCount() == 0));
+        assertEquals(0, productService.reconcileSubscriberCounts());
+        assertEquals(0L, productService.getSoldProductsTotalCount());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.controler.ControllerUtils;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the bulk import of {@link ProductServiceImpl} inserts the products in JDBC batches
+ * and that the bulk payloads are validated item by item.
+ */
+@SpringBootTest(properties = {
+        "shop.bulk.batch-size=100",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class BulkImportTest {
+
+    private static final int PRODUCTS = 1000;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Validator validator;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Tests that importing products costs one statement per batch instead of one per product.
+     */
+    @Test
+    public void testAddProductsInsertsInBatches() {
+        List<ProductAddBindingModel> productAddBindingModels = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productAddBindingModels.add(productAddBindingModel("Product " + i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BulkItemViewModel> result = productService.addProducts(productAddBindingModels);
+
+        assertEquals(PRODUCTS, result.size());
+        assertEquals(PRODUCTS, result.stream().map(BulkItemViewModel::getId).distinct().count());
+        assertEquals(PRODUCTS, productRepository.count());
+        assertEquals(PRODUCTS, productService.getProductsTotalCount());
+        assertTrue(statistics.getPrepareStatementCount() < PRODUCTS / 10,
+                "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    /**
+     * Tests that an invalid item rejects the whole payload with the index and errors of the item.
+     */
+    @Test
+    public void testBulkValidationReportsInvalidItems() {
+        List<ProductAddBindingModel> productAddBindingModels = List.of(productAddBindingModel("Valid"), productAddBindingModel("X"));
+
+        ResponseEntity<Object> response = ControllerUtils.handleBulkValidationErrors(productAddBindingModels, 10, validator);
+
+        assertNotNull(response);
+        assertEquals(400, response.getStatusCode().value());
+        List<?> invalidItems = (List<?>) response.getBody();
+        assertEquals(1, invalidItems.size());
+        BulkItemViewModel invalidItem = (BulkItemViewModel) invalidItems.get(0);
+        assertEquals(1, invalidItem.getIndex());
+        assertTrue(invalidItem.getErrors().containsKey("name"));
+
+        assertNull(ControllerUtils.handleBulkValidationErrors(List.of(productAddBindingModel("Valid")), 10, validator));
+        assertEquals(400, ControllerUtils.handleBulkValidationErrors(productAddBindingModels, 1, validator).getStatusCode().value());
+        assertEquals(0, productRepository.count());
+    }
+
+    private static ProductAddBindingModel productAddBindingModel(String name) {
+        ProductAddBindingModel productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName(name);
+        productAddBindingModel.setIsUnderSale(true);
+        return productAddBindingModel;
+    }
+}
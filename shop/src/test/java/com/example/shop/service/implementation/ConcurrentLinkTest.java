@@ -0,0 +1,152 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that links of the same pair made at the same time by two requests insert one join row and report the second
+ * link as already linked.
+ *
+ * The first link is held in an open transaction until the second one has passed its existence check, so the second
+ * insert runs into the unique key of the join table once the first transaction commits.
+ */
+@SpringBootTest
+public class ConcurrentLinkTest {
+
+    private static final long RACE_DELAY_MILLIS = 300;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        subscriber = subscriberRepository.save(new Subscriber("John", "Doe", LocalDateTime.now(), new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that two concurrent single links of the same pair link it once and report the other as already linked.
+     */
+    @Test
+    public void testConcurrentSingleLinks() throws Exception {
+        SubscriptionResultViewModel second = race(
+                () -> subscriberService.addProductToSubscriber(subscriber.getId(), product.getId()),
+                () -> subscriberService.addProductToSubscriber(subscriber.getId(), product.getId()));
+
+        assertEquals(LinkStatus.ALREADY_LINKED, second.getStatus());
+        assertLinkedOnce();
+    }
+
+    /**
+     * Tests that a batch link racing a single link of one of its pairs reports that pair as already linked and still
+     * links the other pairs of its chunk.
+     */
+    @Test
+    public void testConcurrentBatchLink() throws Exception {
+        Product other = productRepository.save(new Product("Other", LocalDateTime.now(), true, 0, new ArrayList<>()));
+
+        List<SubscriptionResultViewModel> batch = race(
+                () -> subscriberService.addProductToSubscriber(subscriber.getId(), product.getId()),
+                () -> subscriberService.addProductsToSubscriber(subscriber.getId(), List.of(product.getId(), other.getId())));
+
+        assertEquals(LinkStatus.ALREADY_LINKED, batch.get(0).getStatus());
+        assertEquals(LinkStatus.LINKED, batch.get(1).getStatus());
+        assertEquals(1, productRepository.findById(other.getId()).orElseThrow().getSubscriberCount());
+        assertLinkedOnce();
+    }
+
+    /**
+     * Runs the first link in a transaction that stays open until the second link has been started, then commits it
+     * and waits for the second link.
+     *
+     * @return the result of the second link
+     */
+    private <T> T race(Supplier<?> first, Supplier<T> second) throws Exception {
+        CountDownLatch firstDone = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Object> firstResult = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Object result = first.get();
+            firstDone.countDown();
+            await(secondStarted);
+            sleep();
+            return result;
+        }));
+        await(firstDone);
+        CompletableFuture<T> secondResult = CompletableFuture.supplyAsync(() -> {
+            secondStarted.countDown();
+            return second.get();
+        });
+
+        firstResult.get(10, TimeUnit.SECONDS);
+        return secondResult.get(10, TimeUnit.SECONDS);
+    }
+
+    private void assertLinkedOnce() {
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM subscriber_product WHERE subscriber_id = ? AND product_id = ?",
+                Integer.class, subscriber.getId(), product.getId()));
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getSubscriberCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RACE_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
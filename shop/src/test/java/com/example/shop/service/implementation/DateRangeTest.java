@@ -0,0 +1,140 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.DateBucketViewModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.report.InvalidReportRequestException;
+import com.example.shop.service.report.TimeBucket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.sql.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the date range queries of {@link ProductServiceImpl} and {@link SubscriberServiceImpl}: the histograms counted
+ * per hour, day and month with one statement, the paged joined date range and the indexes serving both.
+ */
+@SpringBootTest(properties = "shop.report.max-buckets=100")
+public class DateRangeTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        List<LocalDateTime> dates = List.of(JANUARY.withHour(10).withMinute(15), JANUARY.withHour(10).withMinute(45),
+                JANUARY.withHour(12).withMinute(5), JANUARY.plusDays(1), JANUARY.plusMonths(1).plusDays(9));
+        List<Product> products = new ArrayList<>();
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < dates.size(); i++) {
+            products.add(new Product("Product " + i, dates.get(i), true, 0, new ArrayList<>()));
+            subscribers.add(new Subscriber("First " + i, "Last " + i, dates.get(i), new ArrayList<>()));
+        }
+        productRepository.saveAll(products);
+        subscriberRepository.saveAll(subscribers);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the products are counted per hour, day and month, including the empty buckets, with one statement each.
+     */
+    @Test
+    public void testProductHistograms() {
+        assertEquals(List.of(bucket(JANUARY.withHour(10), 2), bucket(JANUARY.withHour(11), 0), bucket(JANUARY.withHour(12), 1)),
+                assertMaxStatements(1, () -> productService.countProductsByCreationDate(JANUARY.withHour(10), JANUARY.withHour(13), TimeBucket.HOUR)));
+        assertEquals(List.of(bucket(JANUARY, 3), bucket(JANUARY.plusDays(1), 1)),
+                assertMaxStatements(1, () -> productService.countProductsByCreationDate(JANUARY, JANUARY.plusDays(2), TimeBucket.DAY)));
+        assertEquals(List.of(bucket(JANUARY, 4), bucket(JANUARY.plusMonths(1), 1), bucket(JANUARY.plusMonths(2), 0)),
+                assertMaxStatements(1, () -> productService.countProductsByCreationDate(JANUARY.plusHours(5), JANUARY.plusMonths(3), TimeBucket.MONTH)));
+    }
+
+    /**
+     * Tests that the start of the range is inclusive and its end exclusive, so adjacent ranges count every subscriber once.
+     */
+    @Test
+    public void testSubscriberHistogramRangeIsHalfOpen() {
+        List<DateBucketViewModel> first = subscriberService.countSubscribersByJoinedDate(JANUARY, JANUARY.plusDays(1), TimeBucket.DAY);
+        List<DateBucketViewModel> second = subscriberService.countSubscribersByJoinedDate(JANUARY.plusDays(1), JANUARY.plusDays(2), TimeBucket.DAY);
+
+        assertEquals(List.of(bucket(JANUARY, 3)), first);
+        assertEquals(List.of(bucket(JANUARY.plusDays(1), 1)), second);
+    }
+
+    /**
+     * Tests that an empty range and a range spanning more buckets than allowed are rejected.
+     */
+    @Test
+    public void testInvalidHistogramRanges() {
+        assertThrows(InvalidReportRequestException.class,
+                () -> productService.countProductsByCreationDate(JANUARY, JANUARY, TimeBucket.DAY));
+        assertThrows(InvalidReportRequestException.class,
+                () -> subscriberService.countSubscribersByJoinedDate(JANUARY, JANUARY.plusYears(1), TimeBucket.DAY));
+        assertEquals(12, subscriberService.countSubscribersByJoinedDate(JANUARY, JANUARY.plusYears(1), TimeBucket.MONTH).size());
+    }
+
+    /**
+     * Tests that the subscribers of a joined date range are paged with a cursor.
+     */
+    @Test
+    public void testSubscribersByJoinedDatePage() {
+        PageViewModel<SubscriberViewModel> first = subscriberService.getSubscribersByJoinedDateBetweenPage(JANUARY, JANUARY.plusDays(1),
+                new PageBindingModel(null, 3, "joinedDate,asc"));
+        PageViewModel<SubscriberViewModel> second = subscriberService.getSubscribersByJoinedDateBetweenPage(JANUARY, JANUARY.plusDays(1),
+                new PageBindingModel(first.getNextCursor(), 3, "joinedDate,asc"));
+
+        assertEquals(List.of("First 0", "First 1", "First 2"), first.getItems().stream().map(SubscriberViewModel::getFirstName).toList());
+        assertEquals(List.of("First 3"), second.getItems().stream().map(SubscriberViewModel::getFirstName).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    /**
+     * Tests that the range conditions on the creation and joined dates are served by their indexes.
+     */
+    @Test
+    public void testRangesUseIndexes() {
+        String productPlan = jdbcTemplate.queryForObject("EXPLAIN SELECT COUNT(*) FROM product WHERE creation_date >= ? AND creation_date < ?",
+                String.class, JANUARY, JANUARY.plusDays(1));
+        String subscriberPlan = jdbcTemplate.queryForObject("EXPLAIN SELECT COUNT(*) FROM subscriber WHERE joined_date >= ? AND joined_date < ?",
+                String.class, JANUARY, JANUARY.plusDays(1));
+
+        assertTrue(productPlan.toUpperCase().contains("IDX_PRODUCT_CREATION_DATE"), productPlan);
+        assertTrue(subscriberPlan.toUpperCase().contains("IDX_SUBSCRIBER_JOINED_DATE"), subscriberPlan);
+    }
+
+    private static DateBucketViewModel bucket(LocalDateTime start, long count) {
+        return new DateBucketViewModel(start, count);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductRankViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.popularity.Leaderboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.sql.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the popularity ranking of {@link ProductServiceImpl}: the in-memory leaderboard moved by the link, unlink and
+ * delete paths after they commit, read without any SQL statement, and verified against the product table.
+ */
+@SpringBootTest
+public class LeaderboardTest {
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        leaderboard.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+        leaderboard.rebuild();
+    }
+
+    /**
+     * Tests that links, unlinks and deletes move the products in the ranking, which is read without SQL.
+     */
+    @Test
+    public void testWritesMoveProductsInTheRanking() {
+        ProductViewModel first = productService.addProduct(productAddBindingModel("First"));
+        ProductViewModel second = productService.addProduct(productAddBindingModel("Second"));
+        ProductViewModel third = productService.addProduct(productAddBindingModel("Third"));
+        SubscriberViewModel john = subscriberService.addSubscriber(subscriberAddBindingModel("John"));
+        SubscriberViewModel jane = subscriberService.addSubscriber(subscriberAddBindingModel("Jane"));
+
+        subscriberService.addProductToSubscriber(john.getId(), second.getId());
+        productService.addSubscribersToProduct(first.getId(), List.of(john.getId(), jane.getId()));
+
+        List<ProductPopularityViewModel> top = assertMaxStatements(0, () -> productService.getTopProductsByPopularity(10));
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), ids(top));
+        assertEquals(List.of(2, 1, 0), top.stream().map(ProductPopularityViewModel::getSubscriberCount).toList());
+        ProductRankViewModel rank = assertMaxStatements(0, () -> productService.getProductRank(second.getId()));
+        assertEquals(2, rank.getRank());
+        assertEquals(3, rank.getRankedProducts());
+
+        subscriberService.deleteSubscriber(john.getId());
+        productService.removeSubscribersFromProduct(first.getId(), List.of(jane.getId()));
+        productService.deleteProduct(third.getId());
+
+        assertEquals(List.of(second.getId(), first.getId()), ids(productService.getTopProductsByPopularity(10)));
+        assertNull(productService.getProductRank(third.getId()));
+        assertEquals(0, leaderboard.verify());
+    }
+
+    /**
+     * Tests that a link rolled back is not ranked, and that counts changed directly in the table are repaired by a
+     * verification.
+     */
+    @Test
+    public void testRollbackIsNotRankedAndVerifyRepairsDrift() {
+        ProductViewModel product = productService.addProduct(productAddBindingModel("Product"));
+        SubscriberViewModel subscriber = subscriberService.addSubscriber(subscriberAddBindingModel("John"));
+        transactionTemplate.executeWithoutResult(status -> {
+            subscriberService.addProductToSubscriber(subscriber.getId(), product.getId());
+            status.setRollbackOnly();
+        });
+        assertEquals(0, productService.getProductRank(product.getId()).getSubscriberCount());
+
+        Product unranked = productRepository.save(new Product("Unranked", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        jdbcTemplate.update("UPDATE product SET subscriber_count = 7 WHERE id = ?", product.getId());
+
+        assertEquals(2, leaderboard.verify());
+        assertEquals(List.of(product.getId(), unranked.getId()), ids(productService.getTopProductsByPopularity(10)));
+        assertEquals(7, productService.getProductRank(product.getId()).getSubscriberCount());
+        assertEquals(0, leaderboard.verify());
+    }
+
+    private static List<Long> ids(List<ProductPopularityViewModel> products) {
+        return products.stream().map(ProductPopularityViewModel::getId).toList();
+    }
+
+    private static ProductAddBindingModel productAddBindingModel(String name) {
+        ProductAddBindingModel productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName(name);
+        productAddBindingModel.setIsUnderSale(true);
+        return productAddBindingModel;
+    }
+
+    private static SubscriberAddBindingModel subscriberAddBindingModel(String firstName) {
+        SubscriberAddBindingModel subscriberAddBindingModel = new SubscriberAddBindingModel();
+        subscriberAddBindingModel.setFirstName(firstName);
+        subscriberAddBindingModel.setLastName("Doe");
+        return subscriberAddBindingModel;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the batch link and unlink methods of {@link ProductServiceImpl} and {@link SubscriberServiceImpl}
+ * report the outcome of every pair, skip duplicates and keep the subscriber counts of the products in step.
+ *
+ * The chunk size is smaller than the requests, so every request is committed in several chunks.
+ */
+@SpringBootTest(properties = "shop.link.chunk-size=3")
+public class LinkBatchTest {
+
+    private static final int SUBSCRIBERS = 10;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private Product product;
+    private Product productNotUnderSale;
+    private List<Long> subscriberIds;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        productNotUnderSale = productRepository.save(new Product("Old Product", LocalDateTime.now(), false, 0, new ArrayList<>()));
+
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscribers.add(new Subscriber("First " + i, "Last " + i, LocalDateTime.now(), new ArrayList<>()));
+        }
+        subscriberIds = subscriberRepository.saveAll(subscribers).stream().map(Subscriber::getId).toList();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that adding many subscribers to a product links every existing subscriber once, across chunks.
+     */
+    @Test
+    public void testAddSubscribersToProduct() {
+        List<Long> ids = new ArrayList<>(subscriberIds);
+        ids.add(-1L);
+        ids.add(subscriberIds.get(0));
+
+        List<SubscriptionResultViewModel> results = productService.addSubscribersToProduct(product.getId(), ids);
+
+        assertEquals(SUBSCRIBERS + 1, results.size());
+        assertEquals(SUBSCRIBERS, results.stream().filter(result -> result.getStatus() == LinkStatus.LINKED).count());
+        assertEquals(LinkStatus.SUBSCRIBER_NOT_FOUND, results.get(SUBSCRIBERS).getStatus());
+        assertEquals(SUBSCRIBERS, subscriberCount(product));
+        assertEquals(SUBSCRIBERS, productService.getProduct(product.getId()).getSubscribers().size());
+    }
+
+    /**
+     * Tests that linking the same pairs again changes nothing and reports them as already linked.
+     */
+    @Test
+    public void testAddSubscribersToProductIsIdempotent() {
+        productService.addSubscribersToProduct(product.getId(), subscriberIds);
+
+        List<SubscriptionResultViewModel> results = productService.addSubscribersToProduct(product.getId(), subscriberIds);
+
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == LinkStatus.ALREADY_LINKED));
+        assertEquals(SUBSCRIBERS, subscriberCount(product));
+    }
+
+    /**
+     * Tests that adding many products to a subscriber skips the products that are missing or not under sale.
+     */
+    @Test
+    public void testAddProductsToSubscriber() {
+        Long subscriberId = subscriberIds.get(0);
+
+        List<SubscriptionResultViewModel> results = subscriberService.addProductsToSubscriber(subscriberId,
+                List.of(product.getId(), productNotUnderSale.getId(), -1L));
+
+        assertEquals(List.of(LinkStatus.LINKED, LinkStatus.PRODUCT_NOT_UNDER_SALE, LinkStatus.PRODUCT_NOT_FOUND),
+                results.stream().map(SubscriptionResultViewModel::getStatus).toList());
+        assertEquals(1, subscriberCount(product));
+        assertEquals(0, subscriberCount(productNotUnderSale));
+        assertEquals(1, subscriberService.getSubscriber(subscriberId).getProducts().size());
+    }
+
+    /**
+     * Tests that removing subscribers from a product unlinks the linked ones and reports the others.
+     */
+    @Test
+    public void testRemoveSubscribersFromProduct() {
+        productService.addSubscribersToProduct(product.getId(), subscriberIds.subList(0, 4));
+
+        List<SubscriptionResultViewModel> results = productService.removeSubscribersFromProduct(product.getId(), subscriberIds.subList(2, 6));
+
+        assertEquals(List.of(LinkStatus.UNLINKED, LinkStatus.UNLINKED, LinkStatus.NOT_LINKED, LinkStatus.NOT_LINKED),
+                results.stream().map(SubscriptionResultViewModel::getStatus).toList());
+        assertEquals(2, subscriberCount(product));
+        assertEquals(2, productService.getProduct(product.getId()).getSubscribers().size());
+    }
+
+    /**
+     * Tests that the batch methods return null when the product or subscriber of the path does not exist.
+     */
+    @Test
+    public void testBatchLinkWhenPathEntityNotFound() {
+        assertNull(productService.addSubscribersToProduct(-1L, subscriberIds));
+        assertNull(subscriberService.removeProductsFromSubscriber(-1L, List.of(product.getId())));
+    }
+
+    private int subscriberCount(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getSubscriberCount();
+    }
+}
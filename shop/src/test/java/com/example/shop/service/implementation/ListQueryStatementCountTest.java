@@ -0,0 +1,221 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.popularity.Leaderboard;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the list methods of {@link ProductServiceImpl} and {@link SubscriberServiceImpl} load the
+ * subscribers and products of the listed items with a constant number of SQL statements.
+ *
+ * The statements are counted through the Hibernate statistics against the in-memory database, with the second-level
+ * cache disabled so that every lookup reaches the database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shop.database.second-level-cache=false",
+        "shop.database.query-cache=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class ListQueryStatementCountTest {
+
+    private static final int PRODUCTS = 30;
+    private static final int SUBSCRIBERS = 20;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Product " + i, LocalDateTime.now(), i % 2 == 0, 0, new ArrayList<>()));
+        }
+        products = productRepository.saveAll(products);
+
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscribers.add(new Subscriber("First " + i, "Last " + i, LocalDateTime.now(), new ArrayList<>(products.subList(i, i + 5))));
+        }
+        subscriberRepository.saveAll(subscribers);
+        productService.reconcileSubscriberCounts();
+        leaderboard.verify();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that listing all products with their subscribers costs a single statement.
+     */
+    @Test
+    public void testGetAllProductsUsesOneStatement() {
+        List<ProductViewModel> result = productService.getAllProducts();
+
+        assertEquals(PRODUCTS, result.size());
+        assertTrue(result.stream().anyMatch(product -> !product.getSubscribers().isEmpty()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that the filtered product lists cost a single statement each.
+     */
+    @Test
+    public void testFilteredProductListsUseOneStatementEach() {
+        productService.getAllActiveProducts();
+        productService.getAllSoldProducts();
+        productService.getAllProductsByPopularity();
+        productService.getProductsByCreationDateBetween(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that listing all subscribers with their products costs a single statement.
+     */
+    @Test
+    public void testGetAllSubscribersUsesOneStatement() {
+        List<SubscriberViewModel> result = subscriberService.getAllSubscribers();
+
+        assertEquals(SUBSCRIBERS, result.size());
+        assertTrue(result.stream().allMatch(subscriber -> subscriber.getProducts().size() == 5));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that the lists are grouped from projection rows without loading any entity or collection,
+     * and that they hold the same subscribers and products as the entities mapped one by one.
+     */
+    @Test
+    public void testListsLoadNoEntities() {
+        List<ProductViewModel> products = productService.getAllProductsByPopularity();
+        List<SubscriberViewModel> subscribers = subscriberService.getAllSubscribers();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        for (ProductViewModel product : products) {
+            assertEquals(productService.getProduct(product.getId()).getSubscribers().size(), product.getSubscribers().size());
+        }
+        for (SubscriberViewModel subscriber : subscribers) {
+            assertEquals(Set.copyOf(subscriberService.getSubscriber(subscriber.getId()).getProducts()), Set.copyOf(subscriber.getProducts()));
+        }
+    }
+
+    /**
+     * Tests that a page of products and a page of subscribers load their collections in one batch.
+     */
+    @Test
+    public void testPagesLoadCollectionsInOneBatch() {
+        PageViewModel<ProductViewModel> products = productService.getProductsPage(new PageBindingModel(null, 25, null));
+        assertEquals(25, products.getSize());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PageViewModel<ProductViewModel> popular = productService.getProductsByPopularityPage(new PageBindingModel(null, 25, null));
+        assertEquals(25, popular.getSize());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PageViewModel<SubscriberViewModel> subscribers = subscriberService.getSubscribersPage(new PageBindingModel(null, 15, null));
+        assertEquals(15, subscribers.getSize());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that the top products by popularity are read from the leaderboard without any statement, in the order of the
+     * popularity query of the repository.
+     */
+    @Test
+    public void testTopProductsByPopularityUsesNoStatement() {
+        List<ProductPopularityViewModel> top = productService.getTopProductsByPopularity(10);
+
+        assertEquals(10, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getSubscriberCount() >= top.get(i).getSubscriberCount());
+        }
+        assertEquals(5, top.get(0).getSubscriberCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(productRepository.findAllByOrderBySubscriberCountDescIdDesc(Limit.of(10)).stream().map(Product::getId).toList(),
+                top.stream().map(ProductPopularityViewModel::getId).toList());
+    }
+
+    /**
+     * Tests that linking a product to a subscriber costs a constant number of statements without loading either collection,
+     * and that linking the same pair again is rejected by the existence check.
+     */
+    @Test
+    public void testAddProductToSubscriberDoesNotLoadCollections() {
+        Subscriber subscriber = subscriberRepository.findAll().get(0);
+        Product product = productRepository.findAllByOrderBySubscriberCountDescIdDesc(Limit.of(PRODUCTS)).stream()
+                .filter(Product::isUnderSale)
+                .filter(candidate -> candidate.getSubscriberCount() > 0)
+                .filter(candidate -> subscriberRepository.findWithProductsById(subscriber.getId()).orElseThrow().getProducts().stream()
+                        .noneMatch(linked -> linked.getId().equals(candidate.getId())))
+                .findFirst()
+                .orElseThrow();
+        statistics.clear();
+
+        SubscriptionResultViewModel linked = subscriberService.addProductToSubscriber(subscriber.getId(), product.getId());
+
+        assertEquals(LinkStatus.LINKED, linked.getStatus());
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(product.getSubscriberCount() + 1, productRepository.findById(product.getId()).orElseThrow().getSubscriberCount());
+
+        statistics.clear();
+        SubscriptionResultViewModel again = subscriberService.addProductToSubscriber(subscriber.getId(), product.getId());
+
+        assertEquals(LinkStatus.ALREADY_LINKED, again.getStatus());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(product.getSubscriberCount() + 1, productRepository.findById(product.getId()).orElseThrow().getSubscriberCount());
+    }
+
+}
@@ -0,0 +1,610 @@
+package com.example.shop.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.mapper.ShopMapper;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductPopularityViewModel;
+import com.example.shop.model.view.ProductSubscriberRow;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.bulk.BulkDeleter;
+import com.example.shop.service.bulk.BulkInserter;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.link.LinkBatcher;
+import com.example.shop.service.link.LinkPair;
+import com.example.shop.service.popularity.Leaderboard;
+import com.example.shop.service.search.NameIndex;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import com.example.shop.service.versioning.VersionMismatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Unit tests for the {@link ProductServiceImpl} class.
+ *
+ * This test class verifies the behavior of methods in {@link ProductServiceImpl},
+ * using mock objects for the dependencies such as {@link ProductRepository} and {@link ShopMapper}.
+ *
+ */
+public class ProductServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShopMapper shopMapper;
+
+    @Spy
+    private CounterCache counterCache = new CounterCache();
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private BulkDeleter bulkDeleter;
+
+    @Mock
+    private LinkBatcher linkBatcher;
+
+    @Mock
+    private NameIndex nameIndex;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private List<Subscriber> subscribers;
+
+    @Spy
+    private ShopProperties shopProperties = new ShopProperties();
+
+    @Spy
+    private ViewCache viewCache = new ViewCache(shopProperties);
+
+    @InjectMocks
+    private ProductServiceImpl productServiceImpl;
+
+    private Product product;
+    private ProductAddBindingModel productAddBindingModel;
+    private ProductViewModel productViewModel;
+    private List<ProductSubscriberRow> productRows;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName("Test Product");
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Test Product");
+        product.setCreationDate(LocalDateTime.now());
+        product.setSubscribers(new ArrayList<>());
+
+        productViewModel = new ProductViewModel();
+        productViewModel.setId(1L);
+        productViewModel.setName("Test Product");
+        productViewModel.setSubscribers(new ArrayList<>());
+
+        LocalDateTime joinedDate = LocalDateTime.now();
+        productRows = List.of(
+                new ProductSubscriberRow(1L, "Test Product", product.getCreationDate(), true, 0L, 1L, "John", "Doe", joinedDate),
+                new ProductSubscriberRow(1L, "Test Product", product.getCreationDate(), true, 0L, 2L, "Jane", "Doe", joinedDate));
+    }
+
+    /**
+     * Tests adding a new product and verifies that it is saved and mapped correctly.
+     */
+    @Test
+    public void testAddProduct() {
+        when(shopMapper.toProduct(productAddBindingModel)).thenReturn(product);
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        ProductViewModel result = productServiceImpl.addProduct(productAddBindingModel);
+
+        assertNotNull(result);
+        assertEquals(productViewModel.getId(), result.getId());
+        assertEquals(productViewModel.getName(), result.getName());
+
+        verify(shopMapper).toProduct(productAddBindingModel);
+        verify(productRepository).save(product);
+        verify(shopMapper).toProductViewModel(product);
+        verify(leaderboard).putProducts(List.of(product));
+    }
+
+    /**
+     * Tests retrieving a product by its ID when it exists.
+     */
+    @Test
+    public void testGetProductWhenProductExists() {
+        when(productRepository.findWithSubscribersById(1L)).thenReturn(Optional.of(product));
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        ProductViewModel result = productServiceImpl.getProduct(1L);
+
+        assertNotNull(result);
+        assertEquals(productViewModel.getId(), result.getId());
+        assertEquals(productViewModel.getName(), result.getName());
+
+        verify(productRepository).findWithSubscribersById(1L);
+        verify(shopMapper).toProductViewModel(product);
+    }
+
+    /**
+     * Tests retrieving a product by its ID when it does not exist.
+     */
+    @Test
+    public void testGetProductWhenProductDoesNotExist() {
+        when(productRepository.findWithSubscribersById(1L)).thenReturn(Optional.empty());
+
+        ProductViewModel result = productServiceImpl.getProduct(1L);
+
+        assertNull(result);
+
+        verify(productRepository).findWithSubscribersById(1L);
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests retrieving all products and verifies the list returned is correctly grouped from the rows.
+     */
+    @Test
+    public void testGetAllProducts() {
+        when(productRepository.findAllRows()).thenReturn(productRows);
+
+        List<ProductViewModel> result = productServiceImpl.getAllProducts();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(productViewModel.getId(), result.get(0).getId());
+        assertEquals(2, result.get(0).getSubscribers().size());
+
+        verify(productRepository).findAllRows();
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests retrieving all sold products and verifies the list returned is correctly grouped from the rows.
+     */
+    @Test
+    public void testGetAllSoldProducts() {
+        when(productRepository.findRowsWithAtLeastOneSubscriber()).thenReturn(productRows);
+
+        List<ProductViewModel> result = productServiceImpl.getAllSoldProducts();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(productViewModel.getId(), result.get(0).getId());
+        assertEquals(2, result.get(0).getSubscribers().size());
+
+        verify(productRepository).findRowsWithAtLeastOneSubscriber();
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests retrieving all active products and verifies the list returned is correctly grouped from the rows.
+     */
+    @Test
+    public void testGetAllActiveProducts() {
+        when(productRepository.findRowsByIsUnderSaleTrue()).thenReturn(productRows);
+
+        List<ProductViewModel> result = productServiceImpl.getAllActiveProducts();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(productViewModel.getId(), result.get(0).getId());
+        assertEquals(2, result.get(0).getSubscribers().size());
+
+        verify(productRepository).findRowsByIsUnderSaleTrue();
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests retrieving products by popularity and verifies the list returned is correctly grouped from the rows.
+     */
+    @Test
+    public void testGetAllProductsByPopularity() {
+        when(productRepository.findRowsOrderBySubscribersDesc()).thenReturn(productRows);
+
+        List<ProductViewModel> result = productServiceImpl.getAllProductsByPopularity();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(productViewModel.getId(), result.get(0).getId());
+        assertEquals(2, result.get(0).getSubscribers().size());
+
+        verify(productRepository).findRowsOrderBySubscribersDesc();
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests retrieving products by creation date range and verifies the list returned is correctly grouped from the rows.
+     */
+    @Test
+    public void testGetProductsByCreationDateBetween() {
+        LocalDateTime startDate = LocalDateTime.now().minusDays(1);
+        LocalDateTime endDate = LocalDateTime.now();
+
+        when(productRepository.findRowsByCreationDateBetween(startDate, endDate)).thenReturn(productRows);
+
+        List<ProductViewModel> result = productServiceImpl.getProductsByCreationDateBetween(startDate, endDate);
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(productViewModel.getId(), result.get(0).getId());
+        assertEquals(2, result.get(0).getSubscribers().size());
+
+        verify(productRepository).findRowsByCreationDateBetween(startDate, endDate);
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+    }
+
+    /**
+     * Tests updating a product and verifies that it is updated and mapped correctly.
+     */
+    @Test
+    public void testUpdateProductWhenProductExists() {
+        ProductUpdateBindingModel productUpdateBindingModel = new ProductUpdateBindingModel();
+        productUpdateBindingModel.setName("Updated Product");
+        productUpdateBindingModel.setIsUnderSale(true);
+
+        Product updatedProduct = new Product();
+        updatedProduct.setId(1L);
+        updatedProduct.setName("Updated Product");
+        updatedProduct.setUnderSale(true);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(updatedProduct);
+        when(shopMapper.toProductViewModel(updatedProduct)).thenReturn(productViewModel);
+
+        ProductViewModel result = productServiceImpl.updateProduct(1L, productUpdateBindingModel);
+
+        assertNotNull(result);
+        assertEquals(productViewModel.getId(), result.getId());
+
+        verify(productRepository).findById(1L);
+        verify(productRepository).saveAndFlush(product);
+        verify(shopMapper).toProductViewModel(updatedProduct);
+    }
+
+    /**
+     * Tests updating a product that does not exist.
+     */
+    @Test
+    public void testUpdateProductWhenNotExists() {
+        ProductUpdateBindingModel productUpdateBindingModel = new ProductUpdateBindingModel();
+
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ProductViewModel result = productServiceImpl.updateProduct(1L, productUpdateBindingModel);
+
+        assertNull(result);
+        verify(productRepository).findById(1L);
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    /**
+     * Tests that a conditional update of a product whose version changed is rejected without saving the product.
+     */
+    @Test
+    public void testUpdateProductWhenVersionDiffers() {
+        ProductUpdateBindingModel productUpdateBindingModel = new ProductUpdateBindingModel();
+        productUpdateBindingModel.setName("Updated Product");
+        productUpdateBindingModel.setIsUnderSale(true);
+        product.setVersion(3L);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        VersionMismatchException exception = assertThrows(VersionMismatchException.class,
+                () -> productServiceImpl.updateProduct(1L, productUpdateBindingModel, 2L));
+
+        assertEquals(3L, exception.getCurrentVersion());
+        assertEquals("Test Product", product.getName());
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    /**
+     * Tests deleting a product and verifies that it is deleted and the correct view model is returned.
+     */
+    @Test
+    public void testDeleteProductWhenExists() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findRowsById(1L)).thenReturn(List.of(
+                new ProductSubscriberRow(1L, "Test Product", product.getCreationDate(), true, 0L, null, null, null, null)));
+
+        ProductViewModel result = productServiceImpl.deleteProduct(1L);
+
+        assertEquals("Test Product", result.getName());
+        assertTrue(result.getSubscribers().isEmpty());
+        verify(productRepository).findById(1L);
+        verify(shopMapper, never()).toProductViewModel(any(Product.class));
+        verify(productRepository).deleteById(1L);
+        verify(productRepository, never()).deleteLinksOfProducts(any());
+        verify(leaderboard).removeProducts(List.of(1L));
+    }
+
+    /**
+     * Tests that deleting a product with subscribers reads their ids from the rows and removes its join table rows in bulk,
+     * without loading its subscribers or the product lists of the subscribers.
+     */
+    @Test
+    public void testDeleteProductWithSubscribersDeletesLinksInBulk() {
+        product.setSubscribers(subscribers);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findRowsById(1L)).thenReturn(productRows);
+
+        ProductViewModel result = productServiceImpl.deleteProduct(1L);
+
+        assertEquals(2, result.getSubscribers().size());
+        verify(productRepository).deleteLinksOfProducts(List.of(1L));
+        verify(productRepository).deleteById(1L);
+        verify(viewCache).invalidateSubscribers(List.of(1L, 2L));
+        verifyNoInteractions(subscribers);
+    }
+
+    /**
+     * Tests that deleting products by filter is delegated to the bulk deleter.
+     */
+    @Test
+    public void testDeleteProducts() {
+        LocalDateTime createdBefore = LocalDateTime.now();
+        when(bulkDeleter.deleteProducts(false, createdBefore)).thenReturn(3L);
+
+        assertEquals(3L, productServiceImpl.deleteProducts(false, createdBefore));
+    }
+
+    /**
+     * Tests deleting a product that does not exist.
+     */
+    @Test
+    public void testDeleteProductWhenNotExists() {
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ProductViewModel result = productServiceImpl.deleteProduct(1L);
+
+        assertNull(result);
+        verify(productRepository).findById(1L);
+        verify(productRepository, never()).deleteById(any(Long.class));
+    }
+
+    /**
+     * Tests that the total count of products is loaded once and then served from the counter cache.
+     */
+    @Test
+    public void testGetProductsTotalCountIsCached() {
+        when(productRepository.count()).thenReturn(5L);
+
+        assertEquals(5L, productServiceImpl.getProductsTotalCount());
+        assertEquals(5L, productServiceImpl.getProductsTotalCount());
+
+        verify(productRepository, times(1)).count();
+        verify(productRepository, never()).findAllRows();
+    }
+
+    /**
+     * Tests that the sold and active counts are computed with count queries instead of loading the products.
+     */
+    @Test
+    public void testGetSoldAndActiveProductsTotalCount() {
+        when(productRepository.countWithAtLeastOneSubscriber()).thenReturn(2L);
+        when(productRepository.countByIsUnderSaleTrue()).thenReturn(3L);
+
+        assertEquals(2L, productServiceImpl.getSoldProductsTotalCount());
+        assertEquals(3L, productServiceImpl.getActiveProductsTotalCount());
+
+        verify(productRepository).countWithAtLeastOneSubscriber();
+        verify(productRepository).countByIsUnderSaleTrue();
+        verify(productRepository, never()).findRowsWithAtLeastOneSubscriber();
+        verify(productRepository, never()).findRowsByIsUnderSaleTrue();
+    }
+
+    /**
+     * Tests that adding a product outside a transaction drops the cached counters so they are reloaded.
+     */
+    @Test
+    public void testAddProductRefreshesProductsTotalCount() {
+        when(productRepository.count()).thenReturn(1L, 2L);
+        when(shopMapper.toProduct(productAddBindingModel)).thenReturn(product);
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        assertEquals(1L, productServiceImpl.getProductsTotalCount());
+        productServiceImpl.addProduct(productAddBindingModel);
+        assertEquals(2L, productServiceImpl.getProductsTotalCount());
+
+        verify(productRepository, times(2)).count();
+    }
+
+    /**
+     * Tests that a page of products carries a cursor that continues the list after its last product.
+     */
+    @Test
+    public void testGetProductsPageReturnsCursorOfNextPage() {
+        Window<Product> window = Window.from(List.of(product), index -> ScrollPosition.forward(Map.of("name", "Test Product", "id", 1L)), true);
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        PageViewModel<ProductViewModel> firstPage = productServiceImpl.getProductsPage(new PageBindingModel(null, 1, "name,desc"));
+
+        assertEquals(1, firstPage.getSize());
+        assertNotNull(firstPage.getNextCursor());
+
+        productServiceImpl.getProductsPage(new PageBindingModel(firstPage.getNextCursor(), 1, null));
+
+        ArgumentCaptor<ScrollPosition> position = ArgumentCaptor.forClass(ScrollPosition.class);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(productRepository, times(2)).findAllBy(position.capture(), sort.capture(), eq(Limit.of(1)));
+
+        assertTrue(position.getAllValues().get(0).isInitial());
+        assertEquals(Map.of("name", "Test Product", "id", 1L), ((KeysetScrollPosition) position.getAllValues().get(1)).getKeys());
+        assertEquals(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id")), sort.getAllValues().get(1));
+    }
+
+    /**
+     * Tests that the last page of products has no cursor and that the page size is capped.
+     */
+    @Test
+    public void testGetActiveProductsPageCapsPageSize() {
+        Window<Product> window = Window.from(List.of(product), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+        when(productRepository.findByIsUnderSaleTrue(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        int maxSize = shopProperties.getPaging().getMaxSize();
+
+        PageViewModel<ProductViewModel> page = productServiceImpl.getActiveProductsPage(new PageBindingModel(null, 10_000, null));
+
+        assertNull(page.getNextCursor());
+        verify(productRepository).findByIsUnderSaleTrue(any(ScrollPosition.class), eq(Sort.by(Sort.Direction.ASC, "id")), eq(Limit.of(maxSize)));
+    }
+
+    /**
+     * Tests that a malformed cursor or an unsupported sort key is rejected.
+     */
+    @Test
+    public void testGetProductsPageWithInvalidParameters() {
+        assertThrows(InvalidPageRequestException.class, () -> productServiceImpl.getProductsPage(new PageBindingModel("not-a-cursor", null, null)));
+        assertThrows(InvalidPageRequestException.class, () -> productServiceImpl.getProductsPage(new PageBindingModel(null, null, "subscribers")));
+
+        verify(productRepository, never()).findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
+    }
+
+    /**
+     * Tests that the top products by popularity are read from the leaderboard and capped to the maximum page size.
+     */
+    @Test
+    public void testGetTopProductsByPopularity() {
+        ProductPopularityViewModel popularityViewModel = new ProductPopularityViewModel(1L, "Test Product", 3);
+        when(leaderboard.top(anyInt())).thenReturn(List.of(popularityViewModel));
+
+        int maxSize = shopProperties.getPaging().getMaxSize();
+
+        assertEquals(List.of(popularityViewModel), productServiceImpl.getTopProductsByPopularity(5));
+        productServiceImpl.getTopProductsByPopularity(10_000);
+        assertThrows(InvalidPageRequestException.class, () -> productServiceImpl.getTopProductsByPopularity(0));
+
+        verify(leaderboard).top(5);
+        verify(leaderboard).top(maxSize);
+        verify(productRepository, never()).findAllByOrderBySubscriberCountDescIdDesc(any(Limit.class));
+        verify(productRepository, never()).findRowsOrderBySubscribersDesc();
+    }
+
+    /**
+     * Tests that repairing drifted subscriber counts drops the cached count of sold products.
+     */
+    @Test
+    public void testReconcileSubscriberCountsInvalidatesSoldCount() {
+        when(productRepository.countWithAtLeastOneSubscriber()).thenReturn(1L, 2L);
+        when(productRepository.reconcileSubscriberCounts()).thenReturn(1);
+
+        assertEquals(1L, productServiceImpl.getSoldProductsTotalCount());
+        assertEquals(1, productServiceImpl.reconcileSubscriberCounts());
+        assertEquals(2L, productServiceImpl.getSoldProductsTotalCount());
+    }
+
+    /**
+     * Tests that adding many subscribers to a product links every subscriber with the product in one batch.
+     */
+    @Test
+    public void testAddSubscribersToProduct() {
+        List<SubscriptionResultViewModel> results = List.of(new SubscriptionResultViewModel(2L, 1L, LinkStatus.LINKED, null));
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(linkBatcher.link(List.of(new LinkPair(2L, 1L), new LinkPair(3L, 1L)))).thenReturn(results);
+
+        assertEquals(results, productServiceImpl.addSubscribersToProduct(1L, List.of(2L, 3L)));
+    }
+
+    /**
+     * Tests that removing subscribers from a missing product returns null without touching the links.
+     */
+    @Test
+    public void testRemoveSubscribersFromProductWhenProductNotFound() {
+        when(productRepository.existsById(1L)).thenReturn(false);
+
+        assertNull(productServiceImpl.removeSubscribersFromProduct(1L, List.of(2L)));
+        verify(linkBatcher, never()).unlink(any());
+    }
+
+    /**
+     * Tests that a product is loaded once and then served from the view cache until it is updated.
+     */
+    @Test
+    public void testGetProductIsCachedUntilUpdated() {
+        Subscriber subscriber = new Subscriber();
+        subscriber.setId(2L);
+        product.setSubscribers(new ArrayList<>(List.of(subscriber)));
+
+        ProductUpdateBindingModel productUpdateBindingModel = new ProductUpdateBindingModel();
+        productUpdateBindingModel.setName("Updated Product");
+        productUpdateBindingModel.setIsUnderSale(true);
+
+        when(productRepository.findWithSubscribersById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
+        when(shopMapper.toProductViewModel(product)).thenReturn(productViewModel);
+
+        assertSame(productViewModel, productServiceImpl.getProduct(1L));
+        assertSame(productViewModel, productServiceImpl.getProduct(1L));
+        verify(productRepository, times(1)).findWithSubscribersById(1L);
+
+        productServiceImpl.updateProduct(1L, productUpdateBindingModel);
+        productServiceImpl.getProduct(1L);
+
+        verify(productRepository, times(2)).findWithSubscribersById(1L);
+        verify(viewCache).invalidateSubscribers(List.of(2L));
+        assertEquals(1, viewCache.stats().get(0).getHitCount());
+    }
+
+    /**
+     * Tests that bulk added products are inserted together and reported with their ids in the order of the request.
+     */
+    @Test
+    public void testAddProducts() {
+        ProductAddBindingModel secondBindingModel = new ProductAddBindingModel();
+        secondBindingModel.setName("Second Product");
+        Product secondProduct = new Product();
+        secondProduct.setUnderSale(true);
+
+        when(shopMapper.toProduct(productAddBindingModel)).thenReturn(product);
+        when(shopMapper.toProduct(secondBindingModel)).thenReturn(secondProduct);
+        when(bulkInserter.insertAll(anyList())).thenReturn(List.of(7L, 8L));
+        when(productRepository.count()).thenReturn(2L);
+
+        List<BulkItemViewModel> result = productServiceImpl.addProducts(List.of(productAddBindingModel, secondBindingModel));
+
+        assertEquals(List.of(new BulkItemViewModel(0, 7L, null), new BulkItemViewModel(1, 8L, null)), result);
+        verify(bulkInserter).insertAll(List.of(product, secondProduct));
+        verify(productRepository, never()).save(any(Product.class));
+        assertNotNull(secondProduct.getCreationDate());
+        assertEquals(2L, productServiceImpl.getProductsTotalCount());
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.search.NameIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.sql.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the name search of {@link ProductServiceImpl} and {@link SubscriberServiceImpl}: the in-memory index kept up to
+ * date by the write paths after they commit, rebuilt from the tables, and searched without any SQL statement.
+ */
+@SpringBootTest
+public class SearchTest {
+
+    private static final PageBindingModel FIRST_PAGE = new PageBindingModel(null, null, null);
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private NameIndex nameIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        nameIndex.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+        nameIndex.rebuild();
+    }
+
+    /**
+     * Tests that added, renamed and deleted products are found, found under their new name and no longer found.
+     */
+    @Test
+    public void testProductWritesUpdateTheIndex() {
+        ProductViewModel product = productService.addProduct(productAddBindingModel("Quokka Plush"));
+        productService.addProducts(List.of(productAddBindingModel("Quokka Mug"), productAddBindingModel("Wombat Mug")));
+
+        assertEquals(List.of("Quokka Plush", "Quokka Mug"), names(productService.searchProducts("quokka", FIRST_PAGE).getItems()));
+
+        ProductUpdateBindingModel update = new ProductUpdateBindingModel();
+        update.setName("Platypus Plush");
+        update.setIsUnderSale(true);
+        productService.updateProduct(product.getId(), update);
+        assertEquals(List.of("Platypus Plush"), names(productService.searchProducts("platypus", FIRST_PAGE).getItems()));
+        assertEquals(List.of("Quokka Mug"), names(productService.searchProducts("quokka", FIRST_PAGE).getItems()));
+
+        productService.deleteProduct(product.getId());
+        assertTrue(productService.searchProducts("platypus", FIRST_PAGE).getItems().isEmpty());
+    }
+
+    /**
+     * Tests that subscribers are found by their first or last name, with a typo, and that the search reads no table.
+     */
+    @Test
+    public void testSubscriberSearchToleratesTyposWithoutSql() {
+        SubscriberViewModel subscriber = subscriberService.addSubscriber(subscriberAddBindingModel("Josephine", "Quimby"));
+        subscriberService.addSubscriber(subscriberAddBindingModel("Joseph", "Marlowe"));
+
+        List<SearchHitViewModel> hits = assertMaxStatements(0, () -> subscriberService.searchSubscribers("josephine quimbie", FIRST_PAGE).getItems());
+
+        assertEquals(List.of(subscriber.getId()), hits.stream().map(SearchHitViewModel::getId).toList());
+        assertEquals(List.of("Josephine Quimby", "Joseph Marlowe"), names(subscriberService.searchSubscribers("jose", FIRST_PAGE).getItems()));
+    }
+
+    /**
+     * Tests that a product added in a rolled back transaction is not indexed, and that rows written directly to the
+     * tables are indexed by a rebuild.
+     */
+    @Test
+    public void testRollbackIsNotIndexedAndRebuildReadsTheTables() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.addProduct(productAddBindingModel("Axolotl Lamp"));
+            status.setRollbackOnly();
+        });
+        productRepository.save(new Product("Capybara Lamp", LocalDateTime.now(), true, 0, new ArrayList<>()));
+
+        assertTrue(productService.searchProducts("lamp", FIRST_PAGE).getItems().isEmpty());
+
+        nameIndex.rebuild();
+        assertEquals(List.of("Capybara Lamp"), names(productService.searchProducts("lamp", FIRST_PAGE).getItems()));
+    }
+
+    private static List<String> names(List<SearchHitViewModel> hits) {
+        return hits.stream().map(SearchHitViewModel::getName).toList();
+    }
+
+    private static ProductAddBindingModel productAddBindingModel(String name) {
+        ProductAddBindingModel productAddBindingModel = new ProductAddBindingModel();
+        productAddBindingModel.setName(name);
+        productAddBindingModel.setIsUnderSale(true);
+        return productAddBindingModel;
+    }
+
+    private static SubscriberAddBindingModel subscriberAddBindingModel(String firstName, String lastName) {
+        SubscriberAddBindingModel subscriberAddBindingModel = new SubscriberAddBindingModel();
+        subscriberAddBindingModel.setFirstName(firstName);
+        subscriberAddBindingModel.setLastName(lastName);
+        return subscriberAddBindingModel;
+    }
+}
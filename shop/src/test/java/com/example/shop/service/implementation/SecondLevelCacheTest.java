@@ -0,0 +1,186 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.config.SecondLevelCacheConfig;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.CacheStatsViewModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.cache.SecondLevelCacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the second-level cache serves repeated lookups of products, subscribers and cached queries without
+ * reaching the database, and that the link paths writing past Hibernate leave no stale entry behind.
+ *
+ * Every lookup runs in its own transaction, so nothing is served from the persistence context.
+ */
+@SpringBootTest(properties = {
+        "shop.database.second-level-cache=true",
+        "shop.database.query-cache=true"
+})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Product product;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        product = productRepository.save(new Product("Product", LocalDateTime.now(), true, 0, new ArrayList<>()));
+        subscriber = subscriberRepository.save(new Subscriber("First", "Last", LocalDateTime.now(), new ArrayList<>()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests that looking up the same product in separate transactions reaches the database at most once.
+     */
+    @Test
+    public void testFindByIdIsServedFromCache() {
+        productName(product.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Product", productName(product.getId()));
+        }
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics(SecondLevelCacheConfig.PRODUCT_REGION).getHitCount() >= 3);
+    }
+
+    /**
+     * Tests that the cached collections and subscriber count reflect a single link made with a native insert.
+     */
+    @Test
+    public void testAddProductToSubscriberInvalidatesCachedCollections() {
+        assertEquals(0, productsOf(subscriber.getId()));
+        assertEquals(0, subscribersOf(product.getId()));
+        assertEquals(0, subscriberCount(product.getId()));
+
+        assertEquals(LinkStatus.LINKED, subscriberService.addProductToSubscriber(subscriber.getId(), product.getId()).getStatus());
+
+        assertEquals(1, productsOf(subscriber.getId()));
+        assertEquals(1, subscribersOf(product.getId()));
+        assertEquals(1, subscriberCount(product.getId()));
+    }
+
+    /**
+     * Tests that the cached collections and subscriber count reflect the batch links written with plain JDBC.
+     */
+    @Test
+    public void testBatchLinksInvalidateCachedCollections() {
+        Subscriber other = subscriberRepository.save(new Subscriber("Other", "Last", LocalDateTime.now(), new ArrayList<>()));
+        assertEquals(0, productsOf(subscriber.getId()));
+        assertEquals(0, subscribersOf(product.getId()));
+        assertEquals(0, subscriberCount(product.getId()));
+
+        productService.addSubscribersToProduct(product.getId(), List.of(subscriber.getId(), other.getId()));
+
+        assertEquals(1, productsOf(subscriber.getId()));
+        assertEquals(2, subscribersOf(product.getId()));
+        assertEquals(2, subscriberCount(product.getId()));
+
+        subscriberService.removeProductsFromSubscriber(subscriber.getId(), List.of(product.getId()));
+
+        assertEquals(0, productsOf(subscriber.getId()));
+        assertEquals(1, subscribersOf(product.getId()));
+        assertEquals(1, subscriberCount(product.getId()));
+    }
+
+    /**
+     * Tests that the cached projection query of the active products is served from the cache when repeated and reloaded once a product is added.
+     */
+    @Test
+    public void testQueryCacheIsInvalidatedByInsert() {
+        assertEquals(1, productService.getAllActiveProducts().size());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(1, productService.getAllActiveProducts().size());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+
+        productRepository.save(new Product("Second", LocalDateTime.now(), true, 0, new ArrayList<>()));
+
+        assertEquals(2, productService.getAllActiveProducts().size());
+    }
+
+    /**
+     * Tests that the statistics report every region of the second-level cache.
+     */
+    @Test
+    public void testStatsReportEveryRegion() {
+        productName(product.getId());
+        productName(product.getId());
+
+        List<String> names = secondLevelCacheStats.stats().stream().map(CacheStatsViewModel::getName).toList();
+
+        for (String region : SecondLevelCacheConfig.BOUNDED_REGIONS) {
+            assertTrue(names.contains("second-level:" + region), region);
+        }
+        CacheStatsViewModel products = secondLevelCacheStats.stats().stream()
+                .filter(stats -> stats.getName().equals("second-level:" + SecondLevelCacheConfig.PRODUCT_REGION))
+                .findFirst().orElseThrow();
+        assertTrue(products.getHitCount() >= 1);
+        assertTrue(products.getSize() >= 1);
+    }
+
+    private String productName(Long id) {
+        return transactionTemplate.execute(status -> productRepository.findById(id).orElseThrow().getName());
+    }
+
+    private int subscriberCount(Long id) {
+        return transactionTemplate.execute(status -> productRepository.findById(id).orElseThrow().getSubscriberCount());
+    }
+
+    private int productsOf(Long id) {
+        return transactionTemplate.execute(status -> subscriberRepository.findById(id).orElseThrow().getProducts().size());
+    }
+
+    private int subscribersOf(Long id) {
+        return transactionTemplate.execute(status -> productRepository.findById(id).orElseThrow().getSubscribers().size());
+    }
+}
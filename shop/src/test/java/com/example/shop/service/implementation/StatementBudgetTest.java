@@ -0,0 +1,220 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.ProductAddBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.ProductUpdateBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.search.NameIndex;
+import com.example.shop.service.export.ExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.sql.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the calls of {@link ProductServiceImpl} and {@link SubscriberServiceImpl} stay within a budget of SQL
+ * statements that does not depend on the number of rows, so an N+1 regression fails the build.
+ *
+ * The statements are counted at the DataSource, including those sent with plain JDBC, with the second-level cache
+ * disabled so that every lookup reaches the database.
+ */
+@SpringBootTest(properties = {
+        "shop.database.second-level-cache=false",
+        "shop.database.query-cache=false",
+        "shop.export.chunk-size=" + StatementBudgetTest.EXPORT_CHUNK_SIZE,
+        "shop.bulk.batch-size=" + StatementBudgetTest.BULK_BATCH_SIZE
+})
+public class StatementBudgetTest {
+
+    private static final int PRODUCTS = 30;
+    private static final int SUBSCRIBERS = 20;
+    static final int EXPORT_CHUNK_SIZE = 7;
+    static final int BULK_BATCH_SIZE = 7;
+    private static final int BULK_ITEMS = 3 * BULK_BATCH_SIZE + 1;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private SubscriberServiceImpl subscriberService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private NameIndex nameIndex;
+
+    private List<Product> products;
+    private List<Subscriber> subscribers;
+
+    @BeforeEach
+    public void setUp() {
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Product " + i, LocalDateTime.now(), i % 2 == 0, 0, new ArrayList<>()));
+        }
+        products = productRepository.saveAll(products);
+
+        subscribers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscribers.add(new Subscriber("First " + i, "Last " + i, LocalDateTime.now(), new ArrayList<>(products.subList(i, i + 5))));
+        }
+        subscribers = subscriberRepository.saveAll(subscribers);
+        productService.reconcileSubscriberCounts();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriberRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * Tests the budgets of the methods listing products and subscribers with their links.
+     */
+    @Test
+    public void testListBudgets() {
+        assertEquals(PRODUCTS, assertMaxStatements(1, () -> productService.getAllProducts()).size());
+        assertMaxStatements(1, () -> productService.getAllSoldProducts());
+        assertMaxStatements(1, () -> productService.getAllActiveProducts());
+        assertMaxStatements(1, () -> productService.getAllProductsByPopularity());
+        assertMaxStatements(1, () -> productService.getProductsByCreationDateBetween(LocalDateTime.now().minusDays(1), LocalDateTime.now()));
+        assertEquals(SUBSCRIBERS, assertMaxStatements(1, () -> subscriberService.getAllSubscribers()).size());
+    }
+
+    /**
+     * Tests the budgets of the paginated methods.
+     */
+    @Test
+    public void testPageBudgets() {
+        PageBindingModel page = new PageBindingModel(null, 10, null);
+
+        assertMaxStatements(2, () -> productService.getProductsPage(page));
+        assertMaxStatements(2, () -> productService.getSoldProductsPage(page));
+        assertMaxStatements(2, () -> productService.getActiveProductsPage(page));
+        assertMaxStatements(2, () -> productService.getProductsByPopularityPage(page));
+        assertMaxStatements(0, () -> productService.getTopProductsByPopularity(10));
+        assertMaxStatements(2, () -> subscriberService.getSubscribersPage(page));
+    }
+
+    /**
+     * Tests the budgets of the single-entity lookups and updates.
+     */
+    @Test
+    public void testSingleEntityBudgets() {
+        Long productId = products.get(5).getId();
+        Long subscriberId = subscribers.get(5).getId();
+        ProductUpdateBindingModel productUpdate = new ProductUpdateBindingModel();
+        productUpdate.setName("Renamed");
+        productUpdate.setIsUnderSale(true);
+        SubscriberUpdateBindingModel subscriberUpdate = new SubscriberUpdateBindingModel();
+        subscriberUpdate.setFirstName("Renamed");
+        subscriberUpdate.setLastName("Renamed");
+
+        assertMaxStatements(1, () -> productService.getProduct(productId));
+        assertMaxStatements(1, () -> subscriberService.getSubscriber(subscriberId));
+        assertMaxStatements(4, () -> productService.updateProduct(productId, productUpdate));
+        assertMaxStatements(4, () -> subscriberService.updateSubscriber(subscriberId, subscriberUpdate));
+        assertMaxStatements(1, () -> productService.getProductsTotalCount());
+        assertMaxStatements(1, () -> subscriberService.getSubscribersTotalCount());
+    }
+
+    /**
+     * Tests the budgets of the link and delete methods.
+     */
+    @Test
+    public void testLinkAndDeleteBudgets() {
+        Long productId = products.get(0).getId();
+        List<Long> subscriberIds = subscribers.stream().map(Subscriber::getId).toList();
+
+        assertMaxStatements(5, () -> subscriberService.addProductToSubscriber(subscriberIds.get(10), productId));
+        assertMaxStatements(7, () -> productService.addSubscribersToProduct(productId, subscriberIds));
+        assertMaxStatements(7, () -> productService.removeSubscribersFromProduct(productId, subscriberIds));
+        assertMaxStatements(5, () -> productService.deleteProduct(products.get(10).getId()));
+        assertMaxStatements(6, () -> subscriberService.deleteSubscriber(subscriberIds.get(15)));
+    }
+
+    /**
+     * Tests the budgets of the streaming exports, with more products and subscribers than the chunk size, in both
+     * formats.
+     */
+    @Test
+    public void testExportBudgets() {
+        for (ExportFormat format : ExportFormat.values()) {
+            assertEquals(PRODUCTS, assertMaxStatements(1, () -> exportProducts(format)), format.name());
+            assertEquals(SUBSCRIBERS, assertMaxStatements(1, () -> exportSubscribers(format)), format.name());
+        }
+    }
+
+    /**
+     * Tests the budgets of the bulk imports, with more products and subscribers than the batch size. A JDBC batch counts
+     * as one statement, so the budget is one batch per started chunk and one sequence lookup, whatever the number of rows
+     * in a chunk.
+     */
+    @Test
+    public void testBulkImportBudgets() {
+        List<ProductAddBindingModel> newProducts = new ArrayList<>();
+        List<SubscriberAddBindingModel> newSubscribers = new ArrayList<>();
+        for (int i = 0; i < BULK_ITEMS; i++) {
+            ProductAddBindingModel product = new ProductAddBindingModel();
+            product.setName("Imported " + i);
+            product.setIsUnderSale(i % 2 == 0);
+            newProducts.add(product);
+            SubscriberAddBindingModel subscriber = new SubscriberAddBindingModel();
+            subscriber.setFirstName("Imported " + i);
+            subscriber.setLastName("Imported " + i);
+            newSubscribers.add(subscriber);
+        }
+
+        int budget = (BULK_ITEMS + BULK_BATCH_SIZE - 1) / BULK_BATCH_SIZE + 1;
+        assertEquals(BULK_ITEMS, assertMaxStatements(budget, () -> productService.addProducts(newProducts)).size());
+        assertEquals(BULK_ITEMS, assertMaxStatements(budget, () -> subscriberService.addSubscribers(newSubscribers)).size());
+    }
+
+    /**
+     * Tests the budgets of the name searches, which are answered from the in-memory index without reading the tables.
+     */
+    @Test
+    public void testSearchBudgets() {
+        nameIndex.rebuild();
+        PageBindingModel page = new PageBindingModel(null, 10, null);
+
+        assertEquals(10, assertMaxStatements(0, () -> productService.searchProducts("product", page)).getItems().size());
+        assertEquals(10, assertMaxStatements(0, () -> subscriberService.searchSubscribers("first", page)).getItems().size());
+    }
+
+    private long exportProducts(ExportFormat format) {
+        try {
+            return productService.exportProducts(format, new ByteArrayOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long exportSubscribers(ExportFormat format) {
+        try {
+            return subscriberService.exportSubscribers(format, new ByteArrayOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.shop.service.implementation;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.controler.ControllerUtils;
+import com.example.shop.mapper.ShopMapper;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.bind.SubscriberAddBindingModel;
+import com.example.shop.model.bind.SubscriberUpdateBindingModel;
+import com.example.shop.model.entity.Product;
+import com.example.shop.model.entity.Subscriber;
+import com.example.shop.model.view.BulkItemViewModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.ProductViewModel;
+import com.example.shop.model.view.SubscriberProductRow;
+import com.example.shop.model.view.SubscriberViewModel;
+import com.example.shop.model.view.SubscriberViewProductModel;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.SubscriberRepository;
+import com.example.shop.service.bulk.BulkInserter;
+import com.example.shop.service.cache.CounterCache;
+import com.example.shop.service.cache.ViewCache;
+import com.example.shop.service.link.LinkBatcher;
+import com.example.shop.service.link.LinkPair;
+import com.example.shop.service.popularity.Leaderboard;
+import com.example.shop.service.search.NameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link SubscriberServiceImpl} class.
+ *
+ * This test class verifies the behavior of methods in {@link SubscriberServiceImpl},
+ * using mock objects for the dependencies such as {@link SubscriberRepository} and {@link ShopMapper}.
+ *
+ */
+public class SubscriberServiceImplTest {
+
+    @Mock
+    private SubscriberRepository subscriberRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShopMapper shopMapper;
+
+    @Spy
+    private CounterCache counterCache = new CounterCache();
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private LinkBatcher linkBatcher;
+
+    @Mock
+    private NameIndex nameIndex;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private List<Product> products;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ShopProperties shopProperties = new ShopProperties();
+
+    @Spy
+    private ViewCache viewCache = new ViewCache(shopProperties);
+
+    @InjectMocks
+    private SubscriberServiceImpl subscriberServiceImpl;
+
+    private Subscriber subscriber;
+    private SubscriberViewModel subscriberViewModel;
+    private Product product;
+    private ProductViewModel productViewModel;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        subscriber = new Subscriber();
+        subscriber.setId(1L);
+        subscriber.setFirstName("John");
+        subscriber.setLastName("Doe");
+        subscriber.setJoinedDate(LocalDateTime.now());
+        subscriber.setProducts(new ArrayList<>());
+
+        subscriberViewModel = new SubscriberViewModel();
+        subscriberViewModel.setId(1L);
+        subscriberViewModel.setFirstName("John");
+        subscriberViewModel.setLastName("Doe");
+        subscriberViewModel.setProducts(new ArrayList<>());
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Test Product");
+        product.setUnderSale(true);
+        product.setSubscribers(new ArrayList<>());
+
+        productViewModel = new ProductViewModel();
+        productViewModel.setId(1L);
+        productViewModel.setName("Test Product");
+        productViewModel.setSubscribers(new ArrayList<>());
+    }
+
+    /**
+     * Tests the addSubscriber() method.
+     */
+    @Test
+    public void testAddSubscriber() {
+        SubscriberAddBindingModel subscriberAddBindingModel = new SubscriberAddBindingModel();
+        subscriberAddBindingModel.setFirstName("John");
+        subscriberAddBindingModel.setLastName("Doe");
+
+        when(shopMapper.toSubscriber(subscriberAddBindingModel)).thenReturn(subscriber);
+        when(subscriberRepository.save(any(Subscriber.class))).thenReturn(subscriber);
+        when(shopMapper.toSubscriberViewModel(subscriber)).thenReturn(subscriberViewModel);
+
+        SubscriberViewModel result = subscriberServiceImpl.addSubscriber(subscriberAddBindingModel);
+
+        assertNotNull(result);
+        assertEquals(subscriberViewModel.getFirstName(), result.getFirstName());
+        verify(subscriberRepository).save(any(Subscriber.class));
+        verify(shopMapper).toSubscriber(subscriberAddBindingModel);
+        verify(shopMapper).toSubscriberViewModel(subscriber);
+    }
+
+    /**
+     * Tests the getSubscriber() method when the subscriber exists.
+     */
+    @Test
+    public void testGetSubscriberWhenExists() {
+        when(subscriberRepository.findWithProductsById(1L)).thenReturn(Optional.of(subscriber));
+        when(shopMapper.toSubscriberViewModel(subscriber)).thenReturn(subscriberViewModel);
+
+        SubscriberViewModel result = subscriberServiceImpl.getSubscriber(1L);
+
+        assertNotNull(result);
+        assertEquals(subscriberViewModel.getId(), result.getId());
+        verify(subscriberRepository).findWithProductsById(1L);
+        verify(shopMapper).toSubscriberViewModel(subscriber);
+    }
+
+    /**
+     * Tests the getSubscriber() method when the subscriber does not exist.
+     */
+    @Test
+    public void testGetSubscriberWhenNotExists() {
+        when(subscriberRepository.findWithProductsById(1L)).thenReturn(Optional.empty());
+
+        SubscriberViewModel result = subscriberServiceImpl.getSubscriber(1L);
+
+        assertNull(result);
+        verify(subscriberRepository).findWithProductsById(1L);
+        verify(shopMapper, never()).toSubscriberViewModel(any(Subscriber.class));
+    }
+
+    /**
+     * Tests that getAllSubscribers() groups the rows of the subscribers and their products, including a subscriber without products.
+     */
+    @Test
+    public void testGetAllSubscribers() {
+        LocalDateTime creationDate = LocalDateTime.now();
+        List<SubscriberProductRow> rows = List.of(
+                new SubscriberProductRow(1L, "John", "Doe", subscriber.getJoinedDate(), 0L, 1L, "First", creationDate, true),
+                new SubscriberProductRow(1L, "John", "Doe", subscriber.getJoinedDate(), 0L, 2L, "Second", creationDate, false),
+                new SubscriberProductRow(2L, "Jane", "Doe", subscriber.getJoinedDate(), 0L, null, null, null, null));
+
+        when(subscriberRepository.findAllRows()).thenReturn(rows);
+
+        List<SubscriberViewModel> result = subscriberServiceImpl.getAllSubscribers();
+
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertEquals(subscriberViewModel.getId(), result.get(0).getId());
+        assertEquals(List.of(1L, 2L), result.get(0).getProducts().stream().map(SubscriberViewProductModel::getId).toList());
+        assertTrue(result.get(1).getProducts().isEmpty());
+        verify(subscriberRepository).findAllRows();
+        verify(shopMapper, never()).toSubscriberViewModel(any(Subscriber.class));
+    }
+
+    /**
+     * Tests the updateSubscriber() method when the subscriber exists.
+     */
+    @Test
+    public void testUpdateSubscriberWhenExists() {
+        SubscriberUpdateBindingModel subscriberUpdateBindingModel = new SubscriberUpdateBindingModel();
+        subscriberUpdateBindingModel.setFirstName("Updated Name");
+        subscriberUpdateBindingModel.setLastName("Updated Last Name");
+
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(subscriberRepository.saveAndFlush(any(Subscriber.class))).thenReturn(subscriber);
+        when(shopMapper.toSubscriberViewModel(subscriber)).thenReturn(subscriberViewModel);
+
+        SubscriberViewModel result = subscriberServiceImpl.updateSubscriber(1L, subscriberUpdateBindingModel);
+
+        assertNotNull(result);
+        verify(subscriberRepository).findById(1L);
+        verify(subscriberRepository).saveAndFlush(subscriber);
+        verify(shopMapper).toSubscriberViewModel(subscriber);
+    }
+
+    /**
+     * Tests the deleteSubscriber() method when the subscriber exists.
+     */
+    @Test
+    public void testDeleteSubscriberWhenExists() {
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(subscriberRepository.findRowsById(1L)).thenReturn(List.of(
+                new SubscriberProductRow(1L, "John", "Doe", subscriber.getJoinedDate(), 0L, null, null, null, null)));
+
+        SubscriberViewModel result = subscriberServiceImpl.deleteSubscriber(1L);
+
+        assertEquals("John", result.getFirstName());
+        assertTrue(result.getProducts().isEmpty());
+        verify(subscriberRepository).findById(1L);
+        verify(subscriberRepository).deleteById(1L);
+        verify(subscriberRepository, never()).deleteLinksOfSubscriber(anyLong());
+        verify(shopMapper, never()).toSubscriberViewModel(any(Subscriber.class));
+    }
+
+    /**
+     * Tests that deleting a subscriber with products decrements the subscriber count of those products.
+     */
+    @Test
+    public void testDeleteSubscriberWithProductsDecrementsSubscriberCount() {
+        subscriber.setProducts(products);
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(subscriberRepository.findRowsById(1L)).thenReturn(List.of(
+                new SubscriberProductRow(1L, "John", "Doe", subscriber.getJoinedDate(), 0L, product.getId(), "First", LocalDateTime.now(), true)));
+
+        SubscriberViewModel result = subscriberServiceImpl.deleteSubscriber(1L);
+
+        assertEquals(1, result.getProducts().size());
+        verify(productRepository).decrementSubscriberCountOfSubscriberProducts(1L);
+        verify(subscriberRepository).deleteLinksOfSubscriber(1L);
+        verify(subscriberRepository).deleteById(1L);
+        verify(leaderboard).adjustCounts(Map.of(product.getId(), -1));
+        verifyNoInteractions(products);
+    }
+
+    /**
+     * Tests the deleteSubscriber() method when the subscriber does not exist.
+     */
+    @Test
+    public void testDeleteSubscriberWhenNotExists() {
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.empty());
+
+        SubscriberViewModel result = subscriberServiceImpl.deleteSubscriber(1L);
+
+        assertNull(result);
+        verify(subscriberRepository).findById(1L);
+        verify(subscriberRepository, never()).deleteById(anyLong());
+        verify(productRepository, never()).decrementSubscriberCountOfSubscriberProducts(anyLong());
+        verify(shopMapper, never()).toSubscriberViewModel(any(Subscriber.class));
+    }
+
+    /**
+     * Tests the addProductToSubscriber() method when subscriber and product both exist and product is under sale.
+     */
+    @Test
+    public void testAddProductToSubscriberSuccess() {
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(subscriberRepository.insertLink(1L, 1L)).thenReturn(1);
+
+        SubscriptionResultViewModel result = subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+
+        assertEquals(LinkStatus.LINKED, result.getStatus());
+        assertEquals(1L, result.getSubscriberId());
+        assertEquals(1L, result.getProductId());
+        verify(subscriberRepository).insertLink(1L, 1L);
+        verify(productRepository).incrementSubscriberCount(1L);
+        verify(subscriberRepository, never()).save(any(Subscriber.class));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(counterCache).invalidate(CounterCache.Counter.SOLD_PRODUCTS);
+        verify(leaderboard).adjustCounts(Map.of(1L, 1));
+    }
+
+    /**
+     * Tests that adding a product to a subscriber invalidates the cached view models of both of them.
+     */
+    @Test
+    public void testAddProductToSubscriberInvalidatesBothViewModels() {
+        when(subscriberRepository.findWithProductsById(1L)).thenReturn(Optional.of(subscriber));
+        when(shopMapper.toSubscriberViewModel(subscriber)).thenReturn(subscriberViewModel);
+        viewCache.getSubscriber(1L, () -> subscriberViewModel);
+        viewCache.getProduct(1L, () -> productViewModel);
+
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(subscriberRepository.insertLink(1L, 1L)).thenReturn(1);
+
+        subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+        subscriberServiceImpl.getSubscriber(1L);
+
+        verify(viewCache).invalidateSubscribers(List.of(1L));
+        verify(viewCache).invalidateProducts(List.of(1L));
+        verify(subscriberRepository).findWithProductsById(1L);
+    }
+
+    /**
+     * Tests the addProductToSubscriber() method when the product is already linked to the subscriber.
+     */
+    @Test
+    public void testAddProductToSubscriberWhenAlreadyLinked() {
+        product.setSubscriberCount(1);
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(subscriberRepository.insertLink(1L, 1L)).thenReturn(0);
+
+        SubscriptionResultViewModel result = subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+
+        assertEquals(LinkStatus.ALREADY_LINKED, result.getStatus());
+        verify(productRepository, never()).incrementSubscriberCount(anyLong());
+        verify(viewCache, never()).invalidateSubscribers(any());
+        verify(counterCache, never()).invalidate(any());
+    }
+
+    /**
+     * Tests the addProductToSubscriber() method when the product is not under sale.
+     */
+    @Test
+    public void testAddProductToSubscriberWhenProductNotUnderSale() {
+        product.setUnderSale(false);
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        SubscriptionResultViewModel result = subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+
+        assertEquals(LinkStatus.PRODUCT_NOT_UNDER_SALE, result.getStatus());
+        assertEquals("Product Test Product is not under sale.", result.getMessage());
+        verify(subscriberRepository).findById(1L);
+        verify(productRepository).findById(1L);
+        verify(subscriberRepository, never()).insertLink(anyLong(), anyLong());
+        verify(productRepository, never()).incrementSubscriberCount(anyLong());
+    }
+
+    /**
+     * Tests the addProductToSubscriber() method when subscriber does not exist.
+     */
+    @Test
+    public void testAddProductToSubscriberWhenSubscriberNotFound() {
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.empty());
+
+        SubscriptionResultViewModel result = subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+
+        assertEquals(LinkStatus.SUBSCRIBER_NOT_FOUND, result.getStatus());
+        assertEquals(String.format(ControllerUtils.SUBSCRIBER_NOT_FOUND, 1L), result.getMessage());
+        verify(subscriberRepository).findById(1L);
+        verify(productRepository, never()).findById(anyLong());
+        verify(subscriberRepository, never()).insertLink(anyLong(), anyLong());
+    }
+
+    /**
+     * Tests the addProductToSubscriber() method when product does not exist.
+     */
+    @Test
+    public void testAddProductToSubscriberWhenProductNotFound() {
+        when(subscriberRepository.findById(1L)).thenReturn(Optional.of(subscriber));
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        SubscriptionResultViewModel result = subscriberServiceImpl.addProductToSubscriber(1L, 1L);
+
+        assertEquals(LinkStatus.PRODUCT_NOT_FOUND, result.getStatus());
+        assertEquals(String.format(ControllerUtils.PRODUCT_NOT_FOUND, 1L), result.getMessage());
+        verify(subscriberRepository).findById(1L);
+        verify(productRepository).findById(1L);
+        verify(subscriberRepository, never()).insertLink(anyLong(), anyLong());
+    }
+
+    /**
+     * Tests that adding many products to a subscriber links the subscriber with every product in one batch.
+     */
+    @Test
+    public void testAddProductsToSubscriber() {
+        List<SubscriptionResultViewModel> results = List.of(new SubscriptionResultViewModel(1L, 2L, LinkStatus.LINKED, null));
+        when(subscriberRepository.existsById(1L)).thenReturn(true);
+        when(linkBatcher.link(List.of(new LinkPair(1L, 2L), new LinkPair(1L, 3L)))).thenReturn(results);
+
+        assertEquals(results, subscriberServiceImpl.addProductsToSubscriber(1L, List.of(2L, 3L)));
+    }
+
+    /**
+     * Tests that removing products from a missing subscriber returns null without touching the links.
+     */
+    @Test
+    public void testRemoveProductsFromSubscriberWhenSubscriberNotFound() {
+        when(subscriberRepository.existsById(1L)).thenReturn(false);
+
+        assertNull(subscriberServiceImpl.removeProductsFromSubscriber(1L, List.of(2L)));
+        verify(linkBatcher, never()).unlink(any());
+    }
+
+    /**
+     * Tests that the total count of subscribers is loaded once and then served from the counter cache.
+     */
+    @Test
+    public void testGetSubscribersTotalCountIsCached() {
+        when(subscriberRepository.count()).thenReturn(7L);
+
+        assertEquals(7L, subscriberServiceImpl.getSubscribersTotalCount());
+        assertEquals(7L, subscriberServiceImpl.getSubscribersTotalCount());
+
+        verify(subscriberRepository, times(1)).count();
+        verify(subscriberRepository, never()).findAllRows();
+    }
+
+    /**
+     * Tests the getSubscribersPage() method.
+     */
+    @Test
+    public void testGetSubscribersPage() {
+        Window<Subscriber> window = Window.from(List.of(subscriber), index -> ScrollPosition.forward(Map.of("lastName", "Doe", "id", 1L)), true);
+        when(subscriberRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+        when(shopMapper.toSubscriberViewModel(subscriber)).thenReturn(subscriberViewModel);
+
+        PageViewModel<SubscriberViewModel> result = subscriberServiceImpl.getSubscribersPage(new PageBindingModel(null, 1, "lastName"));
+
+        assertEquals(1, result.getSize());
+        assertEquals(subscriberViewModel.getId(), result.getItems().get(0).getId());
+        assertNotNull(result.getNextCursor());
+        verify(subscriberRepository).findAllBy(any(ScrollPosition.class),
+                eq(Sort.by(Sort.Direction.ASC, "lastName").and(Sort.by(Sort.Direction.ASC, "id"))), eq(Limit.of(1)));
+    }
+
+    /**
+     * Tests that bulk added subscribers are inserted together and reported with their ids in the order of the request.
+     */
+    @Test
+    public void testAddSubscribers() {
+        SubscriberAddBindingModel subscriberAddBindingModel = new SubscriberAddBindingModel();
+        subscriberAddBindingModel.setFirstName("John");
+        subscriberAddBindingModel.setLastName("Doe");
+
+        when(shopMapper.toSubscriber(subscriberAddBindingModel)).thenReturn(subscriber);
+        when(bulkInserter.insertAll(anyList())).thenReturn(List.of(5L));
+
+        List<BulkItemViewModel> result = subscriberServiceImpl.addSubscribers(List.of(subscriberAddBindingModel));
+
+        assertEquals(List.of(new BulkItemViewModel(0, 5L, null)), result);
+        verify(bulkInserter).insertAll(List.of(subscriber));
+        verify(subscriberRepository, never()).save(any(Subscriber.class));
+        assertNotNull(subscriber.getJoinedDate());
+    }
+
+}
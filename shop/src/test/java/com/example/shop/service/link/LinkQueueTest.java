@@ -0,0 +1,181 @@
+package com.example.shop.service.link;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.view.LinkRequestState;
+import com.example.shop.model.view.LinkRequestViewModel;
+import com.example.shop.model.view.LinkStatus;
+import com.example.shop.model.view.SubscriptionResultViewModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the {@link LinkQueue} class.
+ *
+ * This test class verifies that a full queue rejects links instead of growing, that a failed batch is retried after a
+ * growing delay and its links stay pending in the journal until they are written, and that the links left in the journal by a stopped queue
+ * are written when the next queue starts, using a mock {@link LinkBatcher}.
+ */
+public class LinkQueueTest {
+
+    @Mock
+    private LinkBatcher linkBatcher;
+
+    @TempDir
+    private Path directory;
+
+    private ShopProperties shopProperties;
+    private LinkQueue linkQueue;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        shopProperties = new ShopProperties();
+        shopProperties.getLink().getAsync().setCapacity(1);
+        shopProperties.getLink().getAsync().setMaxDelay(Duration.ZERO);
+        shopProperties.getLink().getAsync().setRetryDelay(Duration.ofMillis(10));
+        shopProperties.getLink().getAsync().setJournal(directory.resolve("links.journal"));
+        when(linkBatcher.link(anyList())).thenAnswer(invocation -> {
+            List<LinkPair> pairs = invocation.getArgument(0);
+            return pairs.stream().map(pair -> new SubscriptionResultViewModel(pair.subscriberId(), pair.productId(), LinkStatus.LINKED, "Linked.")).toList();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (linkQueue != null && linkQueue.isRunning()) {
+            linkQueue.stop();
+        }
+    }
+
+    /**
+     * Tests that a link submitted while the writer is busy and the queue is full is rejected.
+     */
+    @Test
+    public void testFullQueueRejectsLinks() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return List.of();
+        }).when(linkBatcher).link(anyList());
+        linkQueue = new LinkQueue(linkBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+
+        linkQueue.submit(1L, 1L);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        linkQueue.submit(1L, 2L);
+
+        assertThrows(LinkQueueFullException.class, () -> linkQueue.submit(1L, 3L));
+        release.countDown();
+    }
+
+    /**
+     * Tests that the links still queued when the queue stopped without writing them are written by the next queue.
+     */
+    @Test
+    public void testJournaledLinksAreRecovered() throws Exception {
+        Path journal = shopProperties.getLink().getAsync().getJournal();
+        Files.writeString(journal, "Q a 1 1\nQ b 1 2\nD a\n");
+
+        linkQueue = new LinkQueue(linkBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+        linkQueue.stop();
+
+        LinkRequestViewModel recovered = linkQueue.get("b");
+        assertEquals(LinkRequestState.DONE, recovered.getState());
+        assertEquals(LinkStatus.LINKED, recovered.getResult().getStatus());
+        assertNull(linkQueue.get("a"));
+        verify(linkBatcher).link(List.of(new LinkPair(1L, 2L)));
+        assertEquals(List.of("Q b 1 2", "D b"), Files.readAllLines(journal));
+    }
+
+    /**
+     * Tests that the links of a failed batch are queued again and marked as done in the journal once written.
+     */
+    @Test
+    public void testFailedBatchIsRetried() throws Exception {
+        Path journal = shopProperties.getLink().getAsync().getJournal();
+        when(linkBatcher.link(anyList()))
+                .thenThrow(new IllegalStateException("Database unavailable."))
+                .thenReturn(List.of(new SubscriptionResultViewModel(1L, 2L, LinkStatus.LINKED, "Linked.")));
+        linkQueue = new LinkQueue(linkBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+
+        String trackingId = linkQueue.submit(1L, 2L).getTrackingId();
+        linkQueue.stop();
+
+        assertEquals(LinkRequestState.DONE, linkQueue.get(trackingId).getState());
+        verify(linkBatcher, times(2)).link(List.of(new LinkPair(1L, 2L)));
+        assertEquals(List.of("Q " + trackingId + " 1 2", "D " + trackingId), Files.readAllLines(journal));
+    }
+
+    /**
+     * Tests that a link failing in every attempt is reported as failed, stays pending in the journal and is written by
+     * the next queue.
+     */
+    @Test
+    public void testFailedLinksStayPendingInJournal() throws Exception {
+        Path journal = shopProperties.getLink().getAsync().getJournal();
+        LinkBatcher failingBatcher = mock(LinkBatcher.class);
+        when(failingBatcher.link(anyList())).thenThrow(new IllegalStateException("Database unavailable."));
+        linkQueue = new LinkQueue(failingBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+
+        String trackingId = linkQueue.submit(1L, 2L).getTrackingId();
+        linkQueue.stop();
+
+        assertEquals(LinkRequestState.FAILED, linkQueue.get(trackingId).getState());
+        verify(failingBatcher, times(shopProperties.getLink().getAsync().getMaxAttempts())).link(anyList());
+        assertEquals(List.of("Q " + trackingId + " 1 2"), Files.readAllLines(journal));
+
+        linkQueue = new LinkQueue(linkBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+        linkQueue.stop();
+
+        assertEquals(LinkRequestState.DONE, linkQueue.get(trackingId).getState());
+        verify(linkBatcher).link(List.of(new LinkPair(1L, 2L)));
+    }
+
+    /**
+     * Tests that a link outlives an outage of the database that is shorter than the backoff of its attempts, which
+     * would all fail within milliseconds if a failed batch were tried again at once.
+     */
+    @Test
+    public void testLinkSurvivesBriefOutage() throws Exception {
+        shopProperties.getLink().getAsync().setRetryDelay(Duration.ofMillis(100));
+        long outageEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(250);
+        LinkBatcher recoveringBatcher = mock(LinkBatcher.class);
+        when(recoveringBatcher.link(anyList())).thenAnswer(invocation -> {
+            if (System.nanoTime() < outageEnd) {
+                throw new IllegalStateException("Database unavailable.");
+            }
+            return List.of(new SubscriptionResultViewModel(1L, 2L, LinkStatus.LINKED, "Linked."));
+        });
+        linkQueue = new LinkQueue(recoveringBatcher, shopProperties, new SimpleMeterRegistry());
+        linkQueue.start();
+
+        String trackingId = linkQueue.submit(1L, 2L).getTrackingId();
+        linkQueue.stop();
+
+        assertEquals(LinkRequestState.DONE, linkQueue.get(trackingId).getState());
+        assertEquals(LinkStatus.LINKED, linkQueue.get(trackingId).getResult().getStatus());
+        verify(recoveringBatcher, atMost(shopProperties.getLink().getAsync().getMaxAttempts())).link(anyList());
+    }
+}
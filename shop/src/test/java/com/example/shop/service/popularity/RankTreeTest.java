@@ -0,0 +1,84 @@
+package com.example.shop.service.popularity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link RankTree} class.
+ *
+ * This test class verifies the ranks and the top of the tree against a sorted list after random insertions, moves and
+ * removals.
+ */
+public class RankTreeTest {
+
+    private static final Comparator<long[]> RANKING = Comparator.<long[]>comparingLong(entry -> -entry[1])
+            .thenComparingLong(entry -> -entry[0]);
+
+    /**
+     * Tests that the ranks and the top of the tree follow the subscriber count and then the id, both descending.
+     */
+    @Test
+    public void testRankAndTopFollowTheRanking() {
+        RankTree tree = new RankTree();
+        tree.insert(1L, 3);
+        tree.insert(2L, 5);
+        tree.insert(3L, 3);
+        tree.insert(4L, 0);
+
+        assertEquals(List.of(2L, 3L, 1L), tree.top(3));
+        assertEquals(List.of(2L, 3L, 1L, 4L), tree.top(10));
+        assertEquals(1, tree.rank(2L, 5));
+        assertEquals(3, tree.rank(1L, 3));
+        assertEquals(4, tree.rank(4L, 0));
+        assertEquals(0, tree.rank(4L, 1));
+
+        tree.remove(2L, 5);
+        tree.insert(2L, 1);
+
+        assertEquals(List.of(3L, 1L, 2L, 4L), tree.top(10));
+        assertEquals(4, tree.size());
+        assertTrue(new RankTree().top(5).isEmpty());
+    }
+
+    /**
+     * Tests the tree against a sorted list after many random changes.
+     */
+    @Test
+    public void testRandomChangesMatchSortedList() {
+        Random random = new Random(42);
+        RankTree tree = new RankTree();
+        Map<Long, Integer> counts = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(300);
+            Integer count = counts.get(id);
+            if (count != null) {
+                tree.remove(id, count);
+                counts.remove(id);
+            }
+            if (count == null || random.nextInt(4) > 0) {
+                int newCount = random.nextInt(20);
+                tree.insert(id, newCount);
+                counts.put(id, newCount);
+            }
+        }
+
+        List<long[]> sorted = new ArrayList<>();
+        counts.forEach((id, count) -> sorted.add(new long[] {id, count}));
+        sorted.sort(RANKING);
+
+        assertEquals(sorted.size(), tree.size());
+        assertEquals(sorted.stream().limit(25).map(entry -> entry[0]).toList(), tree.top(25));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, tree.rank(sorted.get(i)[0], (int) sorted.get(i)[1]));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.shop.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.shop.config.ShopProperties;
+import com.example.shop.model.bind.PageBindingModel;
+import com.example.shop.model.view.PageViewModel;
+import com.example.shop.model.view.SearchHitViewModel;
+import com.example.shop.service.paging.InvalidPageRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for the {@link SearchIndex} and {@link SearchQuery} classes.
+ *
+ * This test class verifies the exact, prefix and typo-tolerant matching of the index, the ranking of the hits,
+ * the removal of texts and the paging of the hits with a cursor.
+ */
+public class SearchIndexTest {
+
+    private SearchIndex index;
+    private ShopProperties.Paging paging;
+
+    @BeforeEach
+    public void setUp() {
+        index = new SearchIndex();
+        index.put(1L, "Wireless Keyboard");
+        index.put(2L, "Wired Keyboard");
+        index.put(3L, "Keyboard Cover");
+        index.put(4L, "Crème Brûlée Torch");
+        index.put(5L, "Wireless Mouse");
+        paging = new ShopProperties.Paging();
+    }
+
+    /**
+     * Tests that an exact match ranks before a prefix match, which ranks before a typo.
+     */
+    @Test
+    public void testExactPrefixAndTypoRanking() {
+        index.put(6L, "Mousepad");
+        index.put(7L, "Moose Call");
+
+        assertEquals(List.of(5L, 6L, 7L), ids(index.search(List.of("mouse"), null, 10)));
+        assertEquals(List.of(2L), ids(index.search(List.of("wired"), null, 10)));
+        assertEquals(List.of(1L, 5L, 2L), ids(index.search(List.of("wirel"), null, 10)));
+        assertEquals(List.of(1L), ids(index.search(SearchIndex.terms("keybaord wirless"), null, 10)));
+    }
+
+    /**
+     * Tests that a typo is found in and for words whose bigrams repeat, such as a dropped or doubled syllable letter.
+     */
+    @Test
+    public void testTypoWithRepeatedBigrams() {
+        index.put(6L, "Banana Split");
+        index.put(7L, "Mississippi Mud");
+
+        assertEquals(List.of(6L), ids(index.search(List.of("anana"), null, 10)));
+        assertEquals(List.of(6L), ids(index.search(List.of("bnana"), null, 10)));
+        assertEquals(List.of(6L), ids(index.search(List.of("bananna"), null, 10)));
+        assertEquals(List.of(7L), ids(index.search(List.of("misisippi"), null, 10)));
+        assertEquals(List.of(7L), ids(index.search(List.of("ississippi"), null, 10)));
+    }
+
+    /**
+     * Tests that case and accents are ignored and that short terms only match exactly or as a prefix.
+     */
+    @Test
+    public void testFoldingAndShortTerms() {
+        assertEquals(List.of(4L), ids(index.search(SearchIndex.terms("CREME brulee"), null, 10)));
+        assertEquals(List.of(), ids(index.search(List.of("ky"), null, 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search(List.of("ke"), null, 10)));
+    }
+
+    /**
+     * Tests that a replaced or removed text is no longer found.
+     */
+    @Test
+    public void testPutReplacesAndRemoveAllRemoves() {
+        index.put(3L, "Mouse Pad");
+        index.removeAll(List.of(5L));
+
+        assertEquals(List.of(1L, 2L), ids(index.search(List.of("keyboard"), null, 10)));
+        assertEquals(List.of(3L), ids(index.search(List.of("mouse"), null, 10)));
+        assertEquals(List.of(), ids(index.search(List.of("cover"), null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Tests that the pages of a search follow each other without gaps or repeats.
+     */
+    @Test
+    public void testPagingWithCursor() {
+        PageViewModel<SearchHitViewModel> first = SearchQuery.of("keyboard", new PageBindingModel(null, 2, null), paging).search(index);
+        PageViewModel<SearchHitViewModel> second = SearchQuery.of("keyboard", new PageBindingModel(first.getNextCursor(), 2, null), paging).search(index);
+
+        assertEquals(List.of(1L, 2L), first.getItems().stream().map(SearchHitViewModel::getId).toList());
+        assertEquals(List.of(3L), second.getItems().stream().map(SearchHitViewModel::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    /**
+     * Tests that queries without terms or with too many terms, and foreign cursors, are rejected.
+     */
+    @Test
+    public void testInvalidQueries() {
+        PageBindingModel firstPage = new PageBindingModel(null, null, null);
+        assertThrows(InvalidSearchRequestException.class, () -> SearchQuery.of(" -- ", firstPage, paging));
+        assertThrows(InvalidSearchRequestException.class, () -> SearchQuery.of("a b c d e f g h i", firstPage, paging));
+        assertThrows(InvalidPageRequestException.class, () -> SearchQuery.of("keyboard", new PageBindingModel("not-a-cursor", null, null), paging));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
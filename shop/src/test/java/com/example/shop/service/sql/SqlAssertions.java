@@ -0,0 +1,46 @@
+package com.example.shop.service.sql;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the number of SQL statements executed by a call, counted by the proxied DataSource.
+ * A budget is an upper bound, so a change that adds a query per row, such as an N+1 load, fails the test
+ * while a change that saves statements does not.
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    /**
+     * Runs the call and asserts that it executed at most the given number of SQL statements.
+     *
+     * @param maxStatements the largest number of statements the call may execute
+     * @param call          the call to measure
+     * @param <T>           the type of the result of the call
+     * @return the result of the call
+     */
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> call) {
+        try (SqlStatistics.Scope scope = SqlStatistics.open()) {
+            T result = call.get();
+            assertTrue(scope.getStatements() <= maxStatements, () -> String.format(
+                    "Expected at most %d SQL statements but %d were executed.", maxStatements, scope.getStatements()));
+            return result;
+        }
+    }
+
+    /**
+     * Runs the call and asserts that it executed at most the given number of SQL statements.
+     *
+     * @param maxStatements the largest number of statements the call may execute
+     * @param call          the call to measure
+     */
+    public static void assertMaxStatements(int maxStatements, Runnable call) {
+        assertMaxStatements(maxStatements, () -> {
+            call.run();
+            return null;
+        });
+    }
+}